@@ -0,0 +1,77 @@
+package com.prueba.dev.benchmarks;
+
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aritmética de saldos con BigDecimal sobre 1000 movimientos: aplicar el efecto
+ * de cada uno como en el cálculo de saldo y validar débitos contra el saldo.
+ * Los valores llegan de JSON con la escala con que los escribió el cliente
+ * ("25" o "25.50"), así que se compara una escala uniforme contra una mixta, que
+ * obliga a reescalar en cada suma. La suma en centavos con long es la referencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AritmeticaSaldoBenchmark {
+
+    private static final int MOVIMIENTOS = 1_000;
+
+    @Param({"UNIFORME", "MIXTA"})
+    private String escala;
+
+    private String[] tipos;
+    private BigDecimal[] valores;
+    private long[] centavos;
+    private BigDecimal saldoInicial;
+
+    @Setup
+    public void preparar() {
+        tipos = new String[MOVIMIENTOS];
+        valores = new BigDecimal[MOVIMIENTOS];
+        centavos = new long[MOVIMIENTOS];
+        saldoInicial = new BigDecimal("100000.00");
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            tipos[i] = i % 3 == 0 ? "RETIRO" : "DEPOSITO";
+            boolean entero = "MIXTA".equals(escala) && i % 2 == 0;
+            valores[i] = entero ? BigDecimal.valueOf(10 + i % 90) : BigDecimal.valueOf(1_000 + i % 9_000, 2);
+            long magnitud = valores[i].movePointRight(2).longValueExact();
+            centavos[i] = "RETIRO".equals(tipos[i]) ? -magnitud : magnitud;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal aplicarEfectos() {
+        BigDecimal saldo = saldoInicial;
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            saldo = saldo.add(CuentaService.efectoEnSaldo(tipos[i], valores[i]));
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public BigDecimal validarDebitos() {
+        BigDecimal saldo = saldoInicial;
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            if (saldo.compareTo(valores[i]) >= 0) {
+                saldo = saldo.subtract(valores[i]);
+            }
+        }
+        return saldo;
+    }
+
+    @Benchmark
+    public long aplicarEfectosEnCentavos() {
+        long saldo = 10_000_000L;
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            saldo += centavos[i];
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,67 @@
+package com.prueba.dev.benchmarks;
+
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import com.prueba.dev.eventos.binario.FormatoEventos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación JMH del convertidor de eventos en binario contra JSON de Jackson
+ * (Jackson2JsonMessageConverter) para CuentaCreadaEvent: serializar, deserializar
+ * y tamaño del mensaje. Su método main además imprime el tamaño de cada formato.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConvertidorEventosBenchmark {
+
+    @Param({"JSON", "BINARIO"})
+    private FormatoEventos formato;
+
+    private ConvertidorEventos convertidor;
+    private CuentaCreadaEvent evento;
+    private Message mensaje;
+
+    @Setup
+    public void preparar() {
+        convertidor = ConvertidorEventos.estandar(formato);
+        evento = new CuentaCreadaEvent(48_213L, 1_204_877L, "478758-2291");
+        mensaje = convertidor.toMessage(evento, new MessageProperties());
+        // Lo que hace el listener antes de convertir: el tipo sale del parámetro del método
+        mensaje.getMessageProperties().setInferredArgumentType(CuentaCreadaEvent.class);
+    }
+
+    @Benchmark
+    public Message serializar() {
+        return convertidor.toMessage(evento, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializar() {
+        return convertidor.fromMessage(mensaje);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+                .include(ConvertidorEventosBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+        for (FormatoEventos formato : FormatoEventos.values()) {
+            Message mensaje = ConvertidorEventos.estandar(formato)
+                    .toMessage(new CuentaCreadaEvent(48_213L, 1_204_877L, "478758-2291"), new MessageProperties());
+            System.out.printf("%s: cuerpo de %d bytes, encabezados %s%n", formato, mensaje.getBody().length,
+                    mensaje.getMessageProperties().getHeaders());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.prueba.dev.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.Collection;
+
+/**
+ * Punto de entrada del jar de benchmarks.
+ * Ejecuta los benchmarks elegidos dos veces, primero sin perfilador y después con
+ * el de asignaciones (-prof gc), e imprime ambos resúmenes: el primero da los
+ * tiempos sin la sobrecarga del perfilador y el segundo los bytes asignados por
+ * operación. Acepta las mismas opciones que la línea de comandos de JMH, por
+ * ejemplo una expresión regular con los benchmarks a ejecutar.
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea;
+        try {
+            linea = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Opciones inválidas: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        Options sinPerfilador = new OptionsBuilder().parent(linea).build();
+        Options conAsignaciones = new OptionsBuilder().parent(linea).addProfiler(GCProfiler.class).build();
+
+        Collection<RunResult> tiempos = new Runner(sinPerfilador).run();
+        Collection<RunResult> asignaciones = new Runner(conAsignaciones).run();
+
+        var salida = OutputFormatFactory.createFormatInstance(System.out, VerboseMode.NORMAL);
+        salida.println("");
+        salida.println("Sin perfilador:");
+        salida.endRun(tiempos);
+        salida.println("");
+        salida.println("Con -prof gc:");
+        salida.endRun(asignaciones);
+    }
+}
@@ -0,0 +1,65 @@
+package com.prueba.dev.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.respuestas.GenericResponse;
+import com.prueba.dev.respuestas.RespuestaLegadaAdvice;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de GenericResponse con una página de movimientos: el formato por
+ * defecto, con los datos anidados en data, contra el formato anterior, donde
+ * {@link RespuestaLegadaAdvice} serializa los datos a texto en message y la
+ * respuesta se vuelve a serializar con ese texto escapado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenericResponseBenchmark {
+
+    private static final MediaType TIPO_LEGADO = MediaType.parseMediaType(GenericResponse.TIPO_LEGADO);
+
+    @Param({"1", "50", "500"})
+    private int movimientos;
+
+    private ObjectMapper objectMapper;
+    private RespuestaLegadaAdvice advice;
+    private PaginaDTO<MovimientoDTO> pagina;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        advice = new RespuestaLegadaAdvice(objectMapper);
+        List<MovimientoDTO> elementos = new ArrayList<>(movimientos);
+        for (int i = 0; i < movimientos; i++) {
+            elementos.add(new MovimientoDTO((long) i + 1, 1L, LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i),
+                    "DEPOSITO", new BigDecimal("25.50"), new BigDecimal("1000.00").add(BigDecimal.valueOf(i))));
+        }
+        pagina = new PaginaDTO<>(elementos, "siguiente", movimientos);
+    }
+
+    @Benchmark
+    public byte[] anidado() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GenericResponse.conDatos(pagina));
+    }
+
+    @Benchmark
+    public byte[] legado() throws JsonProcessingException {
+        // El advice reemplaza data por message en la misma respuesta, así que se crea una por invocación
+        Object respuesta = advice.beforeBodyWrite(GenericResponse.conDatos(pagina), null, TIPO_LEGADO, null, null, null);
+        return objectMapper.writeValueAsBytes(respuesta);
+    }
+}
@@ -0,0 +1,94 @@
+package com.prueba.dev.benchmarks;
+
+import com.prueba.dev.cuentas.application.dto.CuentaDTO;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.service.CuentaApplicationService;
+import com.prueba.dev.cuentas.application.service.MovimientoApplicationService;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import com.prueba.dev.cuentas.domain.service.MovimientoService;
+import com.prueba.dev.cuentas.infrastructure.clientes.DirectorioClientes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo de entidades a DTO en los servicios de aplicación: las cuentas de un
+ * cliente, completadas con la réplica local de clientes, y una página de
+ * movimientos con su cursor, primera y siguiente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeoDtoBenchmark {
+
+    private static final long CLIENTE_ID = 48_213L;
+
+    /**
+     * Cuentas del cliente y tamaño de la página de movimientos.
+     */
+    @Param({"10", "500"})
+    private int elementos;
+
+    private CuentaApplicationService cuentaApplicationService;
+    private MovimientoApplicationService movimientoApplicationService;
+    private Long cuentaId;
+    private String cursor;
+
+    @Setup
+    public void preparar() {
+        PuertosEnMemoria.Cuentas cuentas = new PuertosEnMemoria.Cuentas();
+        BigDecimal saldo = new BigDecimal("1000.00");
+        for (int i = 0; i < elementos; i++) {
+            cuentas.save(new Cuenta(CLIENTE_ID, "4787" + i, i % 2 == 0 ? "Ahorros" : "Corriente", saldo, saldo, "ACTIVA"));
+        }
+        cuentaId = 1L;
+
+        PuertosEnMemoria.Movimientos movimientos = new PuertosEnMemoria.Movimientos();
+        List<Movimiento> filas = new ArrayList<>();
+        for (int i = 0; i < elementos * 3; i++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", new BigDecimal("25.50"), saldo.add(BigDecimal.valueOf(i)));
+            movimiento.setFecha(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+            filas.add(movimiento);
+        }
+        movimientos.saveAll(filas);
+
+        DirectorioClientes directorio = new DirectorioClientes(Jackson2ObjectMapperBuilder.json().build(),
+                new SimpleMeterRegistry(), "http://localhost:8081", false);
+        directorio.registrar(new ClienteReplicado(CLIENTE_ID, "Jose Lema", "ACTIVO"));
+
+        // Las consultas no usan resúmenes, outbox ni transacciones programáticas (solo los lotes)
+        CuentaService cuentaService = new CuentaService(cuentas, movimientos, new PuertosEnMemoria.Checkpoints(null), null);
+        cuentaApplicationService = new CuentaApplicationService(cuentaService, null, null, directorio, false);
+        movimientoApplicationService = new MovimientoApplicationService(new MovimientoService(movimientos, cuentaService),
+                null, null, Jackson2ObjectMapperBuilder.json().build(), 500, 10_000);
+        cursor = movimientoApplicationService.getMovimientosByCuentaId(cuentaId, null, elementos).getSiguienteCursor();
+    }
+
+    @Benchmark
+    public List<CuentaDTO> cuentasDeCliente() {
+        return cuentaApplicationService.getCuentasByClienteId(CLIENTE_ID);
+    }
+
+    @Benchmark
+    public PaginaDTO<MovimientoDTO> primeraPaginaMovimientos() {
+        return movimientoApplicationService.getMovimientosByCuentaId(cuentaId, null, elementos);
+    }
+
+    @Benchmark
+    public PaginaDTO<MovimientoDTO> siguientePaginaMovimientos() {
+        return movimientoApplicationService.getMovimientosByCuentaId(cuentaId, cursor, elementos);
+    }
+}
@@ -0,0 +1,249 @@
+package com.prueba.dev.benchmarks;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Puertos de repositorio en memoria para medir los servicios sin base de datos.
+ * Solo implementan las consultas que usan los benchmarks; las demás operaciones
+ * lanzan UnsupportedOperationException.
+ */
+final class PuertosEnMemoria {
+
+    private PuertosEnMemoria() {}
+
+    /**
+     * Cuentas indexadas por ID y por cliente.
+     */
+    static class Cuentas implements CuentaRepositoryPort {
+
+        private final Map<Long, Cuenta> porId = new HashMap<>();
+        private final Map<Long, List<Cuenta>> porCliente = new HashMap<>();
+
+        @Override
+        public Cuenta save(Cuenta cuenta) {
+            if (cuenta.getId() == null) {
+                cuenta.setId((long) porId.size() + 1);
+            }
+            porId.put(cuenta.getId(), cuenta);
+            porCliente.computeIfAbsent(cuenta.getClienteId(), id -> new ArrayList<>()).add(cuenta);
+            return cuenta;
+        }
+
+        @Override
+        public Optional<Cuenta> findById(Long id) {
+            return Optional.ofNullable(porId.get(id));
+        }
+
+        @Override
+        public List<Cuenta> findByClienteId(Long clienteId) {
+            return new ArrayList<>(porCliente.getOrDefault(clienteId, List.of()));
+        }
+
+        @Override
+        public List<Cuenta> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsById(Long id) {
+            return porId.containsKey(id);
+        }
+
+        @Override
+        public Optional<Cuenta> findByNumeroCuenta(String numeroCuenta) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Cuenta> findPagina(Long despuesDeId, int limite) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<BigDecimal> acreditarSaldo(Long id, BigDecimal valor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<BigDecimal> debitarSaldo(Long id, BigDecimal valor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Cuenta> findByIdParaActualizar(Long id) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Historial de movimientos de una sola cuenta, con IDs consecutivos desde 1
+     * en orden de fecha, como los deja la base de datos al insertar.
+     */
+    static class Movimientos implements MovimientoRepositoryPort {
+
+        private final List<Movimiento> historial = new ArrayList<>();
+
+        @Override
+        public List<Movimiento> saveAll(List<Movimiento> movimientos) {
+            for (Movimiento movimiento : movimientos) {
+                save(movimiento);
+            }
+            return movimientos;
+        }
+
+        @Override
+        public Movimiento save(Movimiento movimiento) {
+            movimiento.setId((long) historial.size() + 1);
+            historial.add(movimiento);
+            return movimiento;
+        }
+
+        @Override
+        public List<Movimiento> findByCuentaIdAndIdGreaterThan(Long cuentaId, Long movimientoId) {
+            // Con IDs consecutivos desde 1, el movimiento de ID n está en la posición n - 1
+            int desde = (int) Math.min(movimientoId, historial.size());
+            return new ArrayList<>(historial.subList(desde, historial.size()));
+        }
+
+        @Override
+        public List<Movimiento> findPaginaByCuentaId(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite) {
+            List<Movimiento> pagina = new ArrayList<>(limite);
+            int posicion = movimientoId == null ? historial.size() : (int) Math.min(movimientoId - 1, historial.size());
+            for (int i = posicion - 1; i >= 0 && pagina.size() < limite; i--) {
+                pagina.add(historial.get(i));
+            }
+            return pagina;
+        }
+
+        @Override
+        public Optional<Movimiento> findById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findAll() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findByCuentaId(Long cuentaId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findByCuentaIdOrderByFechaDesc(Long cuentaId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, LocalDateTime inicio, LocalDateTime fin) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findPagina(LocalDateTime fecha, Long movimientoId, int limite) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Stream<Movimiento> stream(Long cuentaId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Long> findCuentaIdsConMovimientosAnterioresA(LocalDateTime corte) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Movimiento> findArchivables(Long cuentaId, LocalDateTime corte, Long hastaId, int limite) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteAllById(List<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Punto de control fijo: cada lectura devuelve una copia, así que el cálculo
+     * de saldo reprocesa siempre los mismos movimientos posteriores.
+     * Sin punto de control, cada cálculo reprocesa el historial completo.
+     */
+    static class Checkpoints implements SaldoCheckpointRepositoryPort {
+
+        private final SaldoCheckpoint fijo;
+
+        Checkpoints(SaldoCheckpoint fijo) {
+            this.fijo = fijo;
+        }
+
+        @Override
+        public Optional<SaldoCheckpoint> findByCuentaId(Long cuentaId) {
+            return fijo == null
+                    ? Optional.empty()
+                    : Optional.of(new SaldoCheckpoint(fijo.getCuentaId(), fijo.getUltimoMovimientoId(), fijo.getSaldo()));
+        }
+
+        @Override
+        public SaldoCheckpoint save(SaldoCheckpoint checkpoint) {
+            return checkpoint;
+        }
+
+        @Override
+        public boolean avanzarDesde(Long cuentaId, Long desde, Long hasta, BigDecimal efecto) {
+            return true;
+        }
+
+        @Override
+        public void deleteByCuentaId(Long cuentaId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean avanzar(Long cuentaId, Long movimientoId, BigDecimal efecto) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean ajustar(Long cuentaId, Long movimientoId, BigDecimal diferencia) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
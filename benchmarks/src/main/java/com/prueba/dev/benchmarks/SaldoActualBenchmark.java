@@ -0,0 +1,79 @@
+package com.prueba.dev.benchmarks;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CuentaService.calcularSaldoActual sobre historiales de distinto largo con puertos
+ * en memoria. Sin punto de control mide el primer cálculo de una cuenta, que
+ * reprocesa todo el historial; con punto de control, el caso habitual de unos
+ * pocos movimientos posteriores al último checkpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaldoActualBenchmark {
+
+    private static final int POSTERIORES_AL_CHECKPOINT = 16;
+
+    @Param({"10", "1000", "100000"})
+    private int movimientos;
+
+    @Param({"false", "true"})
+    private boolean conCheckpoint;
+
+    private CuentaService cuentaService;
+    private Long cuentaId;
+
+    @Setup
+    public void preparar() {
+        PuertosEnMemoria.Cuentas cuentas = new PuertosEnMemoria.Cuentas();
+        BigDecimal saldoInicial = new BigDecimal("1000.00");
+        cuentaId = cuentas.save(new Cuenta(1L, "478758", "Ahorros", saldoInicial, saldoInicial, "ACTIVA")).getId();
+
+        PuertosEnMemoria.Movimientos historial = new PuertosEnMemoria.Movimientos();
+        List<Movimiento> filas = new ArrayList<>(movimientos);
+        BigDecimal saldo = saldoInicial;
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < movimientos; i++) {
+            boolean deposito = i % 3 != 0;
+            BigDecimal valor = BigDecimal.valueOf(1_000 + i % 9_000, 2);
+            saldo = deposito ? saldo.add(valor) : saldo.subtract(valor);
+            Movimiento movimiento = new Movimiento(cuentaId, deposito ? "DEPOSITO" : "RETIRO", valor, saldo);
+            movimiento.setFecha(fecha.plusMinutes(i));
+            filas.add(movimiento);
+        }
+        historial.saveAll(filas);
+
+        SaldoCheckpoint checkpoint = null;
+        if (conCheckpoint) {
+            int incluidos = Math.max(0, movimientos - POSTERIORES_AL_CHECKPOINT);
+            BigDecimal saldoCheckpoint = incluidos == 0 ? saldoInicial : filas.get(incluidos - 1).getSaldo();
+            checkpoint = new SaldoCheckpoint(cuentaId, (long) incluidos, saldoCheckpoint);
+        }
+
+        // El cálculo de saldo no usa los resúmenes diarios
+        cuentaService = new CuentaService(cuentas, historial, new PuertosEnMemoria.Checkpoints(checkpoint), null);
+
+        if (cuentaService.calcularSaldoActual(cuentaId).compareTo(saldo) != 0) {
+            throw new IllegalStateException("El saldo calculado no coincide con el del último movimiento");
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calcularSaldoActual() {
+        return cuentaService.calcularSaldoActual(cuentaId);
+    }
+}
@@ -1,18 +1,27 @@
 package com.prueba.dev.clientes.application.service;
 
-import com.prueba.dev.clientes.application.dto.request.ClienteRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.prueba.dev.clientes.application.dto.ClienteDTO;
+import com.prueba.dev.clientes.application.dto.request.ClienteRequest;
 import com.prueba.dev.clientes.domain.model.Cliente;
+import com.prueba.dev.clientes.domain.model.ClienteResumen;
 import com.prueba.dev.clientes.domain.model.Persona;
 import com.prueba.dev.clientes.domain.service.ClienteService;
 import com.prueba.dev.clientes.domain.service.PersonaService;
+import com.prueba.dev.eventos.ClienteEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio de aplicación para operaciones de clientes.
@@ -24,12 +33,22 @@ public class ClienteApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClienteApplicationService.class);
 
+    /** Tipo de contenido de la exportación de la réplica: un objeto JSON por línea. */
+    public static final String FORMATO_NDJSON = "application/x-ndjson";
+
+    private static final int TAMANIO_BUFFER_EXPORTACION = 64 * 1024;
+
     private final ClienteService clienteService;
     private final PersonaService personaService;
+    private final ClienteEventPublisher clienteEventPublisher;
+    private final ObjectWriter escritorEvento;
 
-    public ClienteApplicationService(ClienteService clienteService, PersonaService personaService) {
+    public ClienteApplicationService(ClienteService clienteService, PersonaService personaService,
+                                     ClienteEventPublisher clienteEventPublisher, ObjectMapper objectMapper) {
         this.clienteService = clienteService;
         this.personaService = personaService;
+        this.clienteEventPublisher = clienteEventPublisher;
+        this.escritorEvento = objectMapper.writerFor(ClienteEvent.class);
     }
 
     /**
@@ -45,6 +64,8 @@ public class ClienteApplicationService {
 
         Cliente savedCliente = clienteService.createCliente(cliente);
         logger.info("Cliente creado exitosamente con ID: {}", savedCliente.getId());
+        clienteEventPublisher.publicar(new ClienteEvent(ClienteEvent.CREADO, savedCliente.getId(),
+                savedCliente.getPersona().getNombre(), savedCliente.getEstado()));
 
         return new ClienteDTO(
                 savedCliente.getId(),
@@ -124,6 +145,8 @@ public class ClienteApplicationService {
 
         Cliente updatedCliente = clienteService.updateCliente(id, cliente);
         logger.info("Cliente actualizado exitosamente con ID: {}", updatedCliente.getId());
+        clienteEventPublisher.publicar(new ClienteEvent(ClienteEvent.ACTUALIZADO, updatedCliente.getId(),
+                updatedCliente.getPersona().getNombre(), updatedCliente.getEstado()));
 
         return new ClienteDTO(
                 updatedCliente.getId(),
@@ -148,5 +171,33 @@ public class ClienteApplicationService {
         logger.info("Eliminando cliente con ID: {}", id);
         clienteService.deleteCliente(id);
         logger.info("Cliente eliminado exitosamente con ID: {}", id);
+        clienteEventPublisher.publicar(new ClienteEvent(ClienteEvent.ELIMINADO, id, null, null));
+    }
+
+    /**
+     * Exporta el ID, nombre y estado de todos los clientes en NDJSON, una línea por cliente en orden de ID.
+     * Es la fuente con la que cuentas reconstruye su réplica; las filas se escriben a medida que se leen.
+     * @param salida El destino de la exportación; no se cierra.
+     * @return Número de clientes exportados.
+     * @throws IOException Si falla la escritura en la salida.
+     */
+    @Transactional(readOnly = true)
+    public long exportarReplica(OutputStream salida) throws IOException {
+        logger.info("Exportando réplica de clientes");
+        OutputStream buffer = new BufferedOutputStream(salida, TAMANIO_BUFFER_EXPORTACION);
+        long exportados = 0;
+        try (Stream<ClienteResumen> resumenes = clienteService.streamResumenes()) {
+            Iterator<ClienteResumen> iterador = resumenes.iterator();
+            while (iterador.hasNext()) {
+                ClienteResumen resumen = iterador.next();
+                buffer.write(escritorEvento.writeValueAsBytes(
+                        new ClienteEvent(ClienteEvent.ACTUALIZADO, resumen.id(), resumen.nombre(), resumen.estado())));
+                buffer.write('\n');
+                exportados++;
+            }
+        }
+        buffer.flush();
+        logger.info("Clientes exportados para la réplica: {}", exportados);
+        return exportados;
     }
 }
\ No newline at end of file
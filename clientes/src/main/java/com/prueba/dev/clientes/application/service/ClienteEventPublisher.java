@@ -0,0 +1,74 @@
+package com.prueba.dev.clientes.application.service;
+
+import com.prueba.dev.clientes.config.RabbitConfig;
+import com.prueba.dev.eventos.ClienteEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Publica los cambios de clientes hacia el microservicio de cuentas.
+ * El envío ocurre después de confirmar la transacción, para no anunciar
+ * cambios que luego se revierten. El envío no espera al broker: su confirmación
+ * llega después por la correlación del evento. Un evento rechazado, sin ruta o
+ * que no se pudo enviar se registra y se pierde; cuentas lo recupera al
+ * reconstruir su réplica desde la exportación completa.
+ */
+@Component
+public class ClienteEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteEventPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public ClienteEventPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publica un evento de cliente al confirmarse la transacción en curso, o de inmediato si no hay una.
+     * @param event El evento a publicar.
+     */
+    public void publicar(ClienteEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enviar(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enviar(event);
+            }
+        });
+    }
+
+    private void enviar(ClienteEvent event) {
+        CorrelationData correlacion = new CorrelationData(UUID.randomUUID().toString());
+        correlacion.getFuture().whenComplete((confirm, error) -> {
+            if (error != null || !confirm.isAck()) {
+                logger.warn("El broker no confirmó el evento de cliente {} para cliente ID {}: {}", event.getTipo(),
+                        event.getClienteId(), error != null ? error.getMessage() : confirm.getReason());
+            } else if (correlacion.getReturned() != null) {
+                logger.warn("Evento de cliente {} para cliente ID {} sin ruta: {}", event.getTipo(),
+                        event.getClienteId(), correlacion.getReturned().getReplyText());
+            } else {
+                logger.debug("Evento de cliente {} confirmado para cliente ID: {}", event.getTipo(), event.getClienteId());
+            }
+        });
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.CUENTA_EXCHANGE_NAME, RabbitConfig.CLIENTE_EVENTOS_ROUTING_KEY,
+                    event, correlacion);
+            logger.info("Evento de cliente {} enviado para cliente ID: {}", event.getTipo(), event.getClienteId());
+        } catch (AmqpException e) {
+            logger.warn("No se pudo enviar el evento de cliente {} para cliente ID {}: {}",
+                    event.getTipo(), event.getClienteId(), e.getMessage());
+        }
+    }
+}
@@ -1,44 +1,78 @@
 package com.prueba.dev.clientes.application.service;
 
-import com.prueba.dev.clientes.application.dto.event.CuentaCreadaEvent;
-import com.prueba.dev.clientes.domain.model.Cliente;
-import com.prueba.dev.clientes.domain.service.ClienteService;
+import com.prueba.dev.clientes.config.RabbitConfig;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Listener para eventos de cuentas desde el microservicio de cuentas.
+ * Recibe los eventos por lotes; la concurrencia, el prefetch y el tamaño
+ * del lote se configuran en clientes.consumo-cuentas.
  */
 @Component
 public class CuentaEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(CuentaEventListener.class);
 
-    private final ClienteService clienteService;
+    private final CuentaEventosService cuentaEventosService;
+    private final Timer lotes;
+    private final DistributionSummary tamanioLote;
+    private final Counter fallos;
+    private final Counter aplicados;
+    private final Counter duplicados;
+    private final Counter descartados;
 
-    public CuentaEventListener(ClienteService clienteService) {
-        this.clienteService = clienteService;
+    public CuentaEventListener(CuentaEventosService cuentaEventosService, MeterRegistry meterRegistry) {
+        this.cuentaEventosService = cuentaEventosService;
+        this.lotes = Timer.builder("clientes.cuentas.lote")
+                .description("Duración del procesamiento de un lote de eventos de cuentas")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tamanioLote = DistributionSummary.builder("clientes.cuentas.lote.tamanio")
+                .description("Eventos de cuentas recibidos por lote").baseUnit("eventos").register(meterRegistry);
+        this.fallos = Counter.builder("clientes.cuentas.lote.fallos")
+                .description("Intentos fallidos de procesar un lote de eventos de cuentas").register(meterRegistry);
+        this.aplicados = Counter.builder("clientes.cuentas.eventos")
+                .description("Eventos de cuentas procesados").tag("resultado", "aplicado").register(meterRegistry);
+        this.duplicados = Counter.builder("clientes.cuentas.eventos")
+                .description("Eventos de cuentas procesados").tag("resultado", "duplicado").register(meterRegistry);
+        this.descartados = Counter.builder("clientes.cuentas.eventos")
+                .description("Eventos de cuentas procesados").tag("resultado", "descartado").register(meterRegistry);
     }
 
     /**
-     * Procesa el evento de cuenta creada.
-     * @param event El evento recibido.
+     * Procesa un lote de eventos de cuenta creada.
+     * Un error reintenta el lote completo; si fallan todos los intentos, sus
+     * eventos pasan a la cola de mensajes muertos.
+     * @param events Los eventos recibidos.
      */
-    @RabbitListener(queues = "cliente.queue")
-    public void handleCuentaCreada(CuentaCreadaEvent event) {
-        logger.info("Recibido evento de cuenta creada: Cliente ID {}, Cuenta ID {}, Número de cuenta {}",
-                event.getClienteId(), event.getCuentaId(), event.getNumeroCuenta());
-
-        // Actualizar el número de cuentas del cliente
+    @RabbitListener(queues = RabbitConfig.QUEUE_NAME, containerFactory = RabbitConfig.CUENTA_EVENTOS_CONTAINER_FACTORY)
+    public void handleCuentasCreadas(List<CuentaCreadaEvent> events) {
+        tamanioLote.record(events.size());
+        Timer.Sample muestra = Timer.start();
+        CuentaEventosService.ResultadoLote resultado;
         try {
-            Cliente cliente = clienteService.getClienteById(event.getClienteId());
-            cliente.setNumeroCuentas(cliente.getNumeroCuentas() + 1);
-            clienteService.updateCliente(event.getClienteId(), cliente);
-            logger.info("Actualizado número de cuentas para cliente ID {}: {}", event.getClienteId(), cliente.getNumeroCuentas());
-        } catch (Exception e) {
-            logger.error("Error al actualizar el número de cuentas para cliente ID {}: {}", event.getClienteId(), e.getMessage());
+            resultado = cuentaEventosService.procesarLote(events);
+        } catch (RuntimeException e) {
+            fallos.increment();
+            logger.error("Error al procesar un lote de {} eventos de cuentas: {}", events.size(), e.getMessage());
+            throw e;
+        } finally {
+            muestra.stop(lotes);
         }
+        aplicados.increment(resultado.aplicados());
+        duplicados.increment(resultado.duplicados());
+        descartados.increment(resultado.descartados());
+        logger.info("Lote de {} eventos de cuentas: {} aplicados, {} duplicados, {} descartados",
+                events.size(), resultado.aplicados(), resultado.duplicados(), resultado.descartados());
     }
-}
\ No newline at end of file
+}
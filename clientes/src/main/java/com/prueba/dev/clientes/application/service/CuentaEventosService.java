@@ -0,0 +1,99 @@
+package com.prueba.dev.clientes.application.service;
+
+import com.prueba.dev.clientes.domain.model.CuentaRecibida;
+import com.prueba.dev.clientes.domain.port.InboxCuentaRepositoryPort;
+import com.prueba.dev.clientes.domain.service.ClienteService;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Servicio de aplicación que aplica los eventos de cuentas creadas a los contadores de clientes.
+ * Procesa un lote en una transacción: descarta las cuentas ya registradas en la
+ * bandeja de entrada, registra las nuevas y suma por cliente con un UPDATE
+ * atómico. Si la transacción falla, el lote completo vuelve a la cola y al
+ * reintentarse la bandeja descarta lo que ya se había aplicado.
+ */
+@Service
+public class CuentaEventosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaEventosService.class);
+
+    private final ClienteService clienteService;
+    private final InboxCuentaRepositoryPort inboxCuentaRepository;
+
+    public CuentaEventosService(ClienteService clienteService, InboxCuentaRepositoryPort inboxCuentaRepository) {
+        this.clienteService = clienteService;
+        this.inboxCuentaRepository = inboxCuentaRepository;
+    }
+
+    /**
+     * Resultado de un lote.
+     * @param aplicados Eventos que sumaron al contador de su cliente.
+     * @param duplicados Eventos de cuentas ya registradas, en la bandeja o repetidas en el lote.
+     * @param descartados Eventos sin datos suficientes o de clientes que no existen.
+     */
+    public record ResultadoLote(int aplicados, int duplicados, int descartados) {}
+
+    /**
+     * Aplica un lote de eventos de cuenta creada.
+     * @param events Los eventos en el orden recibido.
+     * @return Cuántos eventos se aplicaron, se repetían o se descartaron.
+     */
+    @Transactional
+    public ResultadoLote procesarLote(List<CuentaCreadaEvent> events) {
+        int descartados = 0;
+        Map<Long, CuentaCreadaEvent> porCuenta = new LinkedHashMap<>();
+        for (CuentaCreadaEvent event : events) {
+            if (event == null || event.getCuentaId() == null || event.getClienteId() == null) {
+                logger.warn("Evento de cuenta creada sin cuenta o cliente, se descarta");
+                descartados++;
+            } else {
+                porCuenta.putIfAbsent(event.getCuentaId(), event);
+            }
+        }
+        int duplicados = events.size() - descartados - porCuenta.size();
+        if (porCuenta.isEmpty()) {
+            return new ResultadoLote(0, duplicados, descartados);
+        }
+
+        Set<Long> registradas = inboxCuentaRepository.findRegistradas(porCuenta.keySet());
+        duplicados += registradas.size();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<CuentaRecibida> nuevas = new ArrayList<>(porCuenta.size() - registradas.size());
+        // Orden por cliente: dos lotes concurrentes bloquean las filas en el mismo orden y no se interbloquean
+        Map<Long, Integer> incrementos = new TreeMap<>();
+        for (CuentaCreadaEvent event : porCuenta.values()) {
+            if (!registradas.contains(event.getCuentaId())) {
+                nuevas.add(new CuentaRecibida(event.getCuentaId(), event.getClienteId(), ahora));
+                incrementos.merge(event.getClienteId(), 1, Integer::sum);
+            }
+        }
+        if (nuevas.isEmpty()) {
+            return new ResultadoLote(0, duplicados, descartados);
+        }
+        inboxCuentaRepository.insertar(nuevas);
+
+        int aplicados = 0;
+        for (Map.Entry<Long, Integer> incremento : incrementos.entrySet()) {
+            if (clienteService.incrementarNumeroCuentas(incremento.getKey(), incremento.getValue())) {
+                aplicados += incremento.getValue();
+            } else {
+                // La cuenta queda registrada: un reintento del mismo evento tampoco debe sumar
+                logger.warn("Cliente ID {} no encontrado, se descartan {} cuentas", incremento.getKey(), incremento.getValue());
+                descartados += incremento.getValue();
+            }
+        }
+        return new ResultadoLote(aplicados, duplicados, descartados);
+    }
+}
@@ -0,0 +1,102 @@
+package com.prueba.dev.clientes.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del consumo por lotes de eventos de cuentas (prefijo clientes.consumo-cuentas).
+ */
+@Component
+@ConfigurationProperties(prefix = "clientes.consumo-cuentas")
+public class ConsumoCuentasProperties {
+
+    /** Consumidores con los que arranca el listener. */
+    private int concurrencia = 2;
+
+    /** Consumidores que el listener puede abrir cuando la cola crece. */
+    private int concurrenciaMaxima = 4;
+
+    /** Mensajes sin confirmar que RabbitMQ entrega a cada consumidor; debe cubrir al menos un lote. */
+    private int prefetch = 250;
+
+    /** Eventos que se procesan juntos en una transacción. */
+    private int tamanioLote = 100;
+
+    /** Espera por más eventos antes de procesar un lote incompleto. */
+    private Duration esperaLote = Duration.ofMillis(200);
+
+    /** Intentos de procesar un lote, contando el primero, antes de enviarlo a la cola de mensajes muertos. */
+    private int intentos = 3;
+
+    /** Espera antes del primer reintento; se duplica en cada uno. */
+    private Duration esperaReintento = Duration.ofSeconds(1);
+
+    /** Espera máxima entre reintentos. */
+    private Duration esperaReintentoMaxima = Duration.ofSeconds(10);
+
+    public int getConcurrencia() {
+        return concurrencia;
+    }
+
+    public void setConcurrencia(int concurrencia) {
+        this.concurrencia = concurrencia;
+    }
+
+    public int getConcurrenciaMaxima() {
+        return concurrenciaMaxima;
+    }
+
+    public void setConcurrenciaMaxima(int concurrenciaMaxima) {
+        this.concurrenciaMaxima = concurrenciaMaxima;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(int prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public int getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(int tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+
+    public Duration getEsperaLote() {
+        return esperaLote;
+    }
+
+    public void setEsperaLote(Duration esperaLote) {
+        this.esperaLote = esperaLote;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public Duration getEsperaReintento() {
+        return esperaReintento;
+    }
+
+    public void setEsperaReintento(Duration esperaReintento) {
+        this.esperaReintento = esperaReintento;
+    }
+
+    public Duration getEsperaReintentoMaxima() {
+        return esperaReintentoMaxima;
+    }
+
+    public void setEsperaReintentoMaxima(Duration esperaReintentoMaxima) {
+        this.esperaReintentoMaxima = esperaReintentoMaxima;
+    }
+}
@@ -0,0 +1,46 @@
+package com.prueba.dev.clientes.config;
+
+import com.prueba.dev.conexiones.DataSourceLimitado;
+import com.prueba.dev.conexiones.LimiteConexiones;
+import com.prueba.dev.conexiones.MedidoresConexiones;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración activa solo con hilos virtuales (perfil virtual en Java 21).
+ * Las solicitudes HTTP y los consumidores de RabbitMQ ya los usa Spring Boot;
+ * aquí se limita el acceso al pool de conexiones, con el módulo conexiones, para que
+ * la concurrencia sin tope de los hilos no se traduzca en esperas largas dentro de Hikari.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    /**
+     * Envuelve el DataSource en un {@link DataSourceLimitado} con tantos permisos
+     * como conexiones tiene el pool, o clientes.hilos-virtuales.max-conexiones si se define.
+     * @param environment El entorno, leído sin inyección porque el post-procesador se crea antes que los demás beans.
+     * @return El post-procesador.
+     */
+    @Bean
+    public static BeanPostProcessor limiteConexiones(Environment environment) {
+        return new LimiteConexiones(environment, "clientes.hilos-virtuales");
+    }
+
+    /**
+     * Expone la fila de espera por conexiones.
+     * @param dataSource El DataSource ya envuelto.
+     * @return Los medidores clientes.conexiones.en_espera y clientes.conexiones.en_uso.
+     */
+    @Bean
+    public MeterBinder medidoresConexiones(DataSource dataSource) {
+        return new MedidoresConexiones(dataSource, "clientes.conexiones");
+    }
+}
@@ -1,9 +1,14 @@
 package com.prueba.dev.clientes.config;
 
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import com.prueba.dev.eventos.binario.FormatoEventos;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,6 +22,13 @@ public class RabbitConfig {
     public static final String QUEUE_NAME = "cliente.queue";
     public static final String EXCHANGE_NAME = "cliente.exchange";
     public static final String ROUTING_KEY = "cliente.routingkey";
+    // Lotes de eventos de cuentas que agotaron sus reintentos
+    public static final String DLQ_NAME = "cliente.dlq";
+    public static final String DLX_NAME = "cliente.dlx";
+    public static final String CUENTA_EVENTOS_CONTAINER_FACTORY = "cuentaEventosContainerFactory";
+    // Exchange declarado por cuentas, donde se publican los cambios de clientes para su réplica
+    public static final String CUENTA_EXCHANGE_NAME = "cuenta.exchange";
+    public static final String CLIENTE_EVENTOS_ROUTING_KEY = "cuenta.cliente.routingkey";
 
     /**
      * Define la cola para mensajes de clientes.
@@ -48,23 +60,95 @@ public class RabbitConfig {
     }
 
     /**
-     * Configura el RabbitTemplate con convertidor JSON.
+     * Define la cola de mensajes muertos, donde quedan los eventos de lotes que
+     * fallaron en todos sus intentos para revisarlos o reenviarlos a mano.
+     * @return La cola configurada.
+     */
+    @Bean
+    public Queue clienteDeadLetterQueue() {
+        return new Queue(DLQ_NAME, true);
+    }
+
+    /**
+     * Define el exchange de mensajes muertos.
+     * @return El exchange configurado.
+     */
+    @Bean
+    public DirectExchange clienteDeadLetterExchange() {
+        return new DirectExchange(DLX_NAME);
+    }
+
+    /**
+     * Define el binding entre la cola y el exchange de mensajes muertos.
+     * @param clienteDeadLetterQueue La cola.
+     * @param clienteDeadLetterExchange El exchange.
+     * @return El binding configurado.
+     */
+    @Bean
+    public Binding clienteDeadLetterBinding(Queue clienteDeadLetterQueue, DirectExchange clienteDeadLetterExchange) {
+        return BindingBuilder.bind(clienteDeadLetterQueue).to(clienteDeadLetterExchange).with(ROUTING_KEY);
+    }
+
+    /**
+     * Configura el RabbitTemplate con el convertidor de eventos.
+     * Con mandatory, un evento sin cola de destino vuelve como devuelto en su correlación.
      * @param connectionFactory La fábrica de conexiones.
+     * @param convertidorEventos El convertidor de eventos.
      * @return El RabbitTemplate configurado.
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, ConvertidorEventos convertidorEventos) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter());
+        rabbitTemplate.setMessageConverter(convertidorEventos);
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 
     /**
-     * Convertidor de mensajes JSON.
+     * Fábrica de listeners por lotes para los eventos de cuentas.
+     * Cada consumidor junta hasta tamanio-lote mensajes, o los que lleguen
+     * durante espera-lote, y los entrega en una sola llamada. Si el lote falla,
+     * se reintenta con espera exponencial hasta intentos veces y después sus
+     * mensajes pasan a la cola de mensajes muertos, en lugar de volver a la cola
+     * indefinidamente.
+     * @param configurer Aplica la configuración spring.rabbitmq.listener.simple.
+     * @param connectionFactory La fábrica de conexiones.
+     * @param properties Concurrencia, prefetch, tamaño de lote y reintentos.
+     * @param convertidorEventos El convertidor de eventos.
+     * @param rabbitTemplate Publica los mensajes muertos.
+     * @return La fábrica configurada.
+     */
+    @Bean(CUENTA_EVENTOS_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory cuentaEventosContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            ConsumoCuentasProperties properties, ConvertidorEventos convertidorEventos, RabbitTemplate rabbitTemplate) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(convertidorEventos);
+        factory.setConcurrentConsumers(properties.getConcurrencia());
+        factory.setMaxConcurrentConsumers(properties.getConcurrenciaMaxima());
+        factory.setPrefetchCount(Math.max(properties.getPrefetch(), properties.getTamanioLote()));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getTamanioLote());
+        factory.setReceiveTimeout(properties.getEsperaLote().toMillis());
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(properties.getIntentos())
+                .backOffOptions(properties.getEsperaReintento().toMillis(), 2.0, properties.getEsperaReintentoMaxima().toMillis())
+                .recoverer(new RecuperadorLotes(rabbitTemplate, DLX_NAME, ROUTING_KEY))
+                .build());
+        return factory;
+    }
+
+    /**
+     * Convertidor de eventos: publica en el formato de clientes.mensajeria.formato
+     * y recibe JSON o binario según el content-type de cada mensaje.
+     * Es el único MessageConverter del contexto, así que también lo usan los listeners.
+     * @param formato Formato de publicación; JSON por omisión.
      * @return El convertidor configurado.
      */
     @Bean
-    public Jackson2JsonMessageConverter jackson2JsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public ConvertidorEventos convertidorEventos(@Value("${clientes.mensajeria.formato:json}") FormatoEventos formato) {
+        return ConvertidorEventos.estandar(formato);
     }
 }
\ No newline at end of file
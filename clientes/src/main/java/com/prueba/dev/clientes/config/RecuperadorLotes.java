@@ -0,0 +1,30 @@
+package com.prueba.dev.clientes.config;
+
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+
+import java.util.List;
+
+/**
+ * Recuperador de lotes que agotaron sus reintentos: republica cada mensaje del
+ * lote en el exchange de mensajes muertos, con la traza del error en sus
+ * cabeceras. El interceptor de reintentos solo recupera lotes con un
+ * MessageBatchRecoverer; con cualquier otro el lote se confirmaría y se perdería.
+ */
+public class RecuperadorLotes implements MessageBatchRecoverer {
+
+    private final RepublishMessageRecoverer republicador;
+
+    public RecuperadorLotes(AmqpTemplate amqpTemplate, String exchange, String routingKey) {
+        this.republicador = new RepublishMessageRecoverer(amqpTemplate, exchange, routingKey);
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        for (Message message : messages) {
+            republicador.recover(message, cause);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.prueba.dev.clientes.domain.model;
+
+/**
+ * Datos de un cliente que se replican a otros microservicios.
+ * @param id El ID del cliente.
+ * @param nombre El nombre de la persona asociada.
+ * @param estado El estado del cliente.
+ */
+public record ClienteResumen(Long id, String nombre, String estado) {}
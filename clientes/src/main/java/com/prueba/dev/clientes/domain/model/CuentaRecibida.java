@@ -0,0 +1,81 @@
+package com.prueba.dev.clientes.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cuenta cuyo evento de creación ya se aplicó al contador del cliente.
+ * Es la bandeja de entrada de los eventos de cuentas: RabbitMQ puede entregar
+ * un evento más de una vez y solo el primero debe sumar. Siempre se inserta,
+ * de modo que dos consumidores que reciben la misma cuenta chocan en la clave primaria.
+ */
+@Entity
+@Table(name = "inbox_cuenta")
+public class CuentaRecibida implements Persistable<Long> {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Column(name = "fecha_recepcion", nullable = false)
+    private LocalDateTime fechaRecepcion;
+
+    @Transient
+    private boolean nuevo = true;
+
+    // Constructor vacío para JPA
+    public CuentaRecibida() {}
+
+    // Constructor con parámetros
+    public CuentaRecibida(Long cuentaId, Long clienteId, LocalDateTime fechaRecepcion) {
+        this.cuentaId = cuentaId;
+        this.clienteId = clienteId;
+        this.fechaRecepcion = fechaRecepcion;
+    }
+
+    @Override
+    public Long getId() {
+        return cuentaId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nuevo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.nuevo = false;
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public LocalDateTime getFechaRecepcion() {
+        return fechaRecepcion;
+    }
+
+    public void setFechaRecepcion(LocalDateTime fechaRecepcion) {
+        this.fechaRecepcion = fechaRecepcion;
+    }
+}
@@ -1,8 +1,10 @@
 package com.prueba.dev.clientes.domain.port;
 
 import com.prueba.dev.clientes.domain.model.Cliente;
+import com.prueba.dev.clientes.domain.model.ClienteResumen;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Puerto para operaciones de repositorio de clientes.
@@ -42,4 +44,18 @@ public interface ClienteRepositoryPort {
      * @return true si existe, false en caso contrario.
      */
     boolean existsById(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Recorre el ID, nombre y estado de todos los clientes sin cargarlos en memoria.
+     * @return Stream de resúmenes en orden de ID; debe cerrarse dentro de una transacción.
+     */
+    Stream<ClienteResumen> streamResumenes();
+
+    /**
+     * Suma cuentas al contador de un cliente con una sola sentencia atómica.
+     * @param id El ID del cliente.
+     * @param cantidad Cuentas a sumar.
+     * @return Número de filas actualizadas: 0 si el cliente no existe.
+     */
+    int incrementarNumeroCuentas(Long id, int cantidad);
+}
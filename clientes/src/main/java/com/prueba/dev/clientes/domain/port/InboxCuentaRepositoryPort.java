@@ -0,0 +1,29 @@
+package com.prueba.dev.clientes.domain.port;
+
+import com.prueba.dev.clientes.domain.model.CuentaRecibida;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puerto para la bandeja de entrada de eventos de cuentas.
+ * Define las operaciones de acceso a datos para descartar eventos repetidos.
+ */
+public interface InboxCuentaRepositoryPort {
+
+    /**
+     * Filtra las cuentas ya registradas.
+     * @param cuentaIds Los IDs de cuenta a consultar.
+     * @return Los IDs de la colección que ya están en la bandeja.
+     */
+    Set<Long> findRegistradas(Collection<Long> cuentaIds);
+
+    /**
+     * Inserta las cuentas y las envía de inmediato a la base de datos.
+     * Falla con una violación de integridad si alguna ya existe; si otra
+     * transacción insertó la misma cuenta sin confirmar, espera a que termine.
+     * @param cuentas Las cuentas a insertar.
+     */
+    void insertar(List<CuentaRecibida> cuentas);
+}
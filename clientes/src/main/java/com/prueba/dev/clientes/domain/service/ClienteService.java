@@ -3,6 +3,7 @@ package com.prueba.dev.clientes.domain.service;
 import com.prueba.dev.clientes.domain.exception.ClienteNotFoundException;
 import com.prueba.dev.clientes.domain.exception.PersonaNotFoundException;
 import com.prueba.dev.clientes.domain.model.Cliente;
+import com.prueba.dev.clientes.domain.model.ClienteResumen;
 import com.prueba.dev.clientes.domain.model.Persona;
 import com.prueba.dev.clientes.domain.port.ClienteRepositoryPort;
 import com.prueba.dev.clientes.domain.port.PersonaRepositoryPort;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Servicio de dominio para operaciones de clientes.
@@ -67,6 +69,15 @@ public class ClienteService {
         return clienteRepository.findAll();
     }
 
+    /**
+     * Recorre el ID, nombre y estado de todos los clientes.
+     * @return Stream de resúmenes en orden de ID; debe cerrarse dentro de una transacción.
+     */
+    public Stream<ClienteResumen> streamResumenes() {
+        logger.info("Recorriendo resúmenes de clientes");
+        return clienteRepository.streamResumenes();
+    }
+
     /**
      * Actualiza un cliente existente.
      * @param id El ID del cliente a actualizar.
@@ -85,6 +96,18 @@ public class ClienteService {
         return updatedCliente;
     }
 
+    /**
+     * Suma cuentas al contador de un cliente sin leerlo antes, de modo que los
+     * incrementos de varios consumidores sobre el mismo cliente no se pisan.
+     * @param id El ID del cliente.
+     * @param cantidad Cuentas a sumar.
+     * @return true si el cliente existe y se actualizó.
+     */
+    public boolean incrementarNumeroCuentas(Long id, int cantidad) {
+        logger.info("Incrementando en {} el número de cuentas del cliente con ID: {}", cantidad, id);
+        return clienteRepository.incrementarNumeroCuentas(id, cantidad) > 0;
+    }
+
     /**
      * Elimina un cliente por su ID.
      * @param id El ID del cliente a eliminar.
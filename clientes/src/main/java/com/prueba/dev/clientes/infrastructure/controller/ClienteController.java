@@ -1,19 +1,23 @@
 package com.prueba.dev.clientes.infrastructure.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prueba.dev.clientes.application.dto.request.ClienteRequest;
-import com.prueba.dev.clientes.application.dto.response.GenericResponse;
 import com.prueba.dev.clientes.application.dto.ClienteDTO;
 import com.prueba.dev.clientes.application.service.ClienteApplicationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.respuestas.GenericResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -46,15 +50,41 @@ public class ClienteController {
         try {
             logger.info("Solicitud POST para crear cliente");
             ClienteDTO cliente = clienteApplicationService.createCliente(request);
-            String clienteJson = objectMapper.writeValueAsString(cliente);
             logger.info("Cliente creado exitosamente con ID: {}", cliente.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(new GenericResponse(true, clienteJson));
+            return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(cliente));
         } catch (Exception e) {
             logger.error("Error al crear cliente: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al crear cliente: " + e.getMessage()));
         }
     }
 
+    /**
+     * Exporta el ID, nombre y estado de todos los clientes en NDJSON para reconstruir réplicas.
+     * @param response La respuesta HTTP donde se escribe cada cliente a medida que se lee.
+     * @throws IOException Si falla la escritura después de iniciada la exportación.
+     */
+    @GetMapping(value = "/replica", produces = ClienteApplicationService.FORMATO_NDJSON)
+    @Operation(summary = "Exportar réplica de clientes", description = "Exporta ID, nombre y estado de todos los clientes en NDJSON")
+    public void exportarReplica(HttpServletResponse response) throws IOException {
+        logger.info("Solicitud GET para exportar la réplica de clientes");
+        response.setContentType(ClienteApplicationService.FORMATO_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            clienteApplicationService.exportarReplica(response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar la réplica de clientes: {}", e.getMessage());
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(),
+                    new GenericResponse(false, "Error al exportar la réplica de clientes: " + e.getMessage()));
+        }
+    }
+
     /**
      * Obtiene un cliente por su ID.
      * @param id El ID del cliente.
@@ -66,8 +96,7 @@ public class ClienteController {
         try {
             logger.info("Solicitud GET para cliente con ID: {}", id);
             ClienteDTO cliente = clienteApplicationService.getClienteById(id);
-            String clienteJson = objectMapper.writeValueAsString(cliente);
-            return ResponseEntity.ok(new GenericResponse(true, clienteJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(cliente));
         } catch (Exception e) {
             logger.error("Error al obtener cliente: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse(false, "Cliente no encontrado: " + e.getMessage()));
@@ -84,8 +113,7 @@ public class ClienteController {
         try {
             logger.info("Solicitud GET para todos los clientes");
             List<ClienteDTO> clientes = clienteApplicationService.getAllClientes();
-            String clientesJson = objectMapper.writeValueAsString(clientes);
-            return ResponseEntity.ok(new GenericResponse(true, clientesJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(clientes));
         } catch (Exception e) {
             logger.error("Error al obtener clientes: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al obtener clientes: " + e.getMessage()));
@@ -104,9 +132,8 @@ public class ClienteController {
         try {
             logger.info("Solicitud PUT para actualizar cliente con ID: {}", id);
             ClienteDTO cliente = clienteApplicationService.updateCliente(id, request);
-            String clienteJson = objectMapper.writeValueAsString(cliente);
             logger.info("Cliente actualizado exitosamente con ID: {}", cliente.getId());
-            return ResponseEntity.ok(new GenericResponse(true, clienteJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(cliente));
         } catch (Exception e) {
             logger.error("Error al actualizar cliente: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al actualizar cliente: " + e.getMessage()));
@@ -126,9 +153,8 @@ public class ClienteController {
             logger.info("Solicitud PATCH para cliente con ID: {}", id);
             // Para simplificar, usamos el mismo método de update
             ClienteDTO cliente = clienteApplicationService.updateCliente(id, request);
-            String clienteJson = objectMapper.writeValueAsString(cliente);
             logger.info("Cliente actualizado parcialmente con ID: {}", cliente.getId());
-            return ResponseEntity.ok(new GenericResponse(true, clienteJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(cliente));
         } catch (Exception e) {
             logger.error("Error al actualizar parcialmente cliente: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al actualizar parcialmente cliente: " + e.getMessage()));
@@ -1,10 +1,9 @@
 package com.prueba.dev.clientes.infrastructure.controller;
 
 import com.prueba.dev.clientes.application.dto.request.PersonaRequest;
-import com.prueba.dev.clientes.application.dto.response.GenericResponse;
 import com.prueba.dev.clientes.application.dto.PersonaDTO;
 import com.prueba.dev.clientes.application.service.PersonaApplicationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.respuestas.GenericResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -28,11 +27,9 @@ public class PersonaController {
     private static final Logger logger = LoggerFactory.getLogger(PersonaController.class);
 
     private final PersonaApplicationService personaApplicationService;
-    private final ObjectMapper objectMapper;
 
-    public PersonaController(PersonaApplicationService personaApplicationService, ObjectMapper objectMapper) {
+    public PersonaController(PersonaApplicationService personaApplicationService) {
         this.personaApplicationService = personaApplicationService;
-        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,9 +43,8 @@ public class PersonaController {
         try {
             logger.info("Solicitud POST para crear persona");
             PersonaDTO persona = personaApplicationService.createPersona(request);
-            String personaJson = objectMapper.writeValueAsString(persona);
             logger.info("Persona creada exitosamente con ID: {}", persona.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(new GenericResponse(true, personaJson));
+            return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(persona));
         } catch (Exception e) {
             logger.error("Error al crear persona: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al crear persona: " + e.getMessage()));
@@ -66,8 +62,7 @@ public class PersonaController {
         try {
             logger.info("Solicitud GET para persona con ID: {}", id);
             PersonaDTO persona = personaApplicationService.getPersonaById(id);
-            String personaJson = objectMapper.writeValueAsString(persona);
-            return ResponseEntity.ok(new GenericResponse(true, personaJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(persona));
         } catch (Exception e) {
             logger.error("Error al obtener persona: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse(false, "Persona no encontrada: " + e.getMessage()));
@@ -84,8 +79,7 @@ public class PersonaController {
         try {
             logger.info("Solicitud GET para todas las personas");
             List<PersonaDTO> personas = personaApplicationService.getAllPersonas();
-            String personasJson = objectMapper.writeValueAsString(personas);
-            return ResponseEntity.ok(new GenericResponse(true, personasJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(personas));
         } catch (Exception e) {
             logger.error("Error al obtener personas: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al obtener personas: " + e.getMessage()));
@@ -104,9 +98,8 @@ public class PersonaController {
         try {
             logger.info("Solicitud PUT para actualizar persona con ID: {}", id);
             PersonaDTO persona = personaApplicationService.updatePersona(id, request);
-            String personaJson = objectMapper.writeValueAsString(persona);
             logger.info("Persona actualizada exitosamente con ID: {}", persona.getId());
-            return ResponseEntity.ok(new GenericResponse(true, personaJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(persona));
         } catch (Exception e) {
             logger.error("Error al actualizar persona: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al actualizar persona: " + e.getMessage()));
@@ -126,9 +119,8 @@ public class PersonaController {
             logger.info("Solicitud PATCH para persona con ID: {}", id);
             // Para simplificar, usamos el mismo método de update
             PersonaDTO persona = personaApplicationService.updatePersona(id, request);
-            String personaJson = objectMapper.writeValueAsString(persona);
             logger.info("Persona actualizada parcialmente con ID: {}", persona.getId());
-            return ResponseEntity.ok(new GenericResponse(true, personaJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(persona));
         } catch (Exception e) {
             logger.error("Error al actualizar parcialmente persona: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al actualizar parcialmente persona: " + e.getMessage()));
@@ -1,6 +1,7 @@
 package com.prueba.dev.clientes.infrastructure.persistence.adapter;
 
 import com.prueba.dev.clientes.domain.model.Cliente;
+import com.prueba.dev.clientes.domain.model.ClienteResumen;
 import com.prueba.dev.clientes.domain.port.ClienteRepositoryPort;
 import com.prueba.dev.clientes.infrastructure.persistence.jpa.ClienteRepository;
 import org.slf4j.Logger;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Adaptador para el repositorio de clientes.
@@ -54,4 +56,16 @@ public class ClienteRepositoryAdapter implements ClienteRepositoryPort {
         logger.debug("Verificando existencia de cliente con ID: {}", id);
         return clienteRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Stream<ClienteResumen> streamResumenes() {
+        logger.debug("Recorriendo resúmenes de clientes");
+        return clienteRepository.streamResumenes();
+    }
+
+    @Override
+    public int incrementarNumeroCuentas(Long id, int cantidad) {
+        logger.debug("Incrementando en {} el número de cuentas del cliente con ID: {}", cantidad, id);
+        return clienteRepository.incrementarNumeroCuentas(id, cantidad);
+    }
+}
@@ -0,0 +1,41 @@
+package com.prueba.dev.clientes.infrastructure.persistence.adapter;
+
+import com.prueba.dev.clientes.domain.model.CuentaRecibida;
+import com.prueba.dev.clientes.domain.port.InboxCuentaRepositoryPort;
+import com.prueba.dev.clientes.infrastructure.persistence.jpa.InboxCuentaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Adaptador para la bandeja de entrada de eventos de cuentas.
+ * Implementa el puerto de repositorio utilizando JPA.
+ */
+@Component
+public class InboxCuentaRepositoryAdapter implements InboxCuentaRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboxCuentaRepositoryAdapter.class);
+
+    private final InboxCuentaRepository inboxCuentaRepository;
+
+    public InboxCuentaRepositoryAdapter(InboxCuentaRepository inboxCuentaRepository) {
+        this.inboxCuentaRepository = inboxCuentaRepository;
+    }
+
+    @Override
+    public Set<Long> findRegistradas(Collection<Long> cuentaIds) {
+        logger.debug("Consultando {} cuentas en la bandeja de entrada", cuentaIds.size());
+        return new HashSet<>(inboxCuentaRepository.findCuentaIdsIn(cuentaIds));
+    }
+
+    @Override
+    public void insertar(List<CuentaRecibida> cuentas) {
+        logger.debug("Insertando {} cuentas en la bandeja de entrada", cuentas.size());
+        inboxCuentaRepository.saveAllAndFlush(cuentas);
+    }
+}
@@ -1,14 +1,47 @@
 package com.prueba.dev.clientes.infrastructure.persistence.jpa;
 
 import com.prueba.dev.clientes.domain.model.Cliente;
+import com.prueba.dev.clientes.domain.model.ClienteResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 /**
  * Repositorio JPA para la entidad Cliente.
  * Proporciona operaciones CRUD básicas y personalizadas.
  */
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-    // Métodos personalizados si son necesarios
-}
\ No newline at end of file
+
+    /**
+     * Recorre el ID, nombre y estado de todos los clientes en orden de ID con un cursor del servidor.
+     * Es una proyección: las filas no quedan en el contexto de persistencia.
+     * @return Stream de resúmenes; debe cerrarse y consumirse dentro de una transacción.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.prueba.dev.clientes.domain.model.ClienteResumen(c.id, p.nombre, c.estado) " +
+            "FROM Cliente c JOIN c.persona p ORDER BY c.id")
+    Stream<ClienteResumen> streamResumenes();
+
+    /**
+     * Suma al contador de cuentas en la base de datos, sin leer antes el cliente.
+     * La fila queda bloqueada hasta el fin de la transacción, así que los
+     * incrementos concurrentes se aplican uno tras otro y ninguno se pierde.
+     * @param id El ID del cliente.
+     * @param cantidad Cuentas a sumar.
+     * @return Número de filas actualizadas: 0 si el cliente no existe.
+     */
+    @Modifying
+    @Query("UPDATE Cliente c SET c.numeroCuentas = c.numeroCuentas + :cantidad WHERE c.id = :id")
+    int incrementarNumeroCuentas(@Param("id") Long id, @Param("cantidad") int cantidad);
+}
@@ -0,0 +1,25 @@
+package com.prueba.dev.clientes.infrastructure.persistence.jpa;
+
+import com.prueba.dev.clientes.domain.model.CuentaRecibida;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad CuentaRecibida.
+ */
+@Repository
+public interface InboxCuentaRepository extends JpaRepository<CuentaRecibida, Long> {
+
+    /**
+     * Obtiene solo los IDs, sin cargar las entidades en el contexto de persistencia.
+     * @param cuentaIds Los IDs de cuenta a consultar.
+     * @return Los IDs que ya existen.
+     */
+    @Query("SELECT c.cuentaId FROM CuentaRecibida c WHERE c.cuentaId IN :cuentaIds")
+    List<Long> findCuentaIdsIn(@Param("cuentaIds") Collection<Long> cuentaIds);
+}
@@ -0,0 +1,90 @@
+package com.prueba.dev.clientes.application.service;
+
+import com.prueba.dev.clientes.domain.model.CuentaRecibida;
+import com.prueba.dev.clientes.domain.port.InboxCuentaRepositoryPort;
+import com.prueba.dev.clientes.domain.service.ClienteService;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CuentaEventosServiceTest {
+
+    @Mock
+    private ClienteService clienteService;
+
+    @Mock
+    private InboxCuentaRepositoryPort inboxCuentaRepositoryPort;
+
+    @InjectMocks
+    private CuentaEventosService cuentaEventosService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clienteService.incrementarNumeroCuentas(anyLong(), anyInt())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void procesarLote_SumaUnaVezPorClienteYDescartaRepetidos() {
+        when(inboxCuentaRepositoryPort.findRegistradas(anyCollection())).thenReturn(Set.of(12L));
+
+        CuentaEventosService.ResultadoLote resultado = cuentaEventosService.procesarLote(List.of(
+                new CuentaCreadaEvent(2L, 10L, "C-10"),
+                new CuentaCreadaEvent(1L, 11L, "C-11"),
+                new CuentaCreadaEvent(2L, 10L, "C-10"),
+                new CuentaCreadaEvent(1L, 12L, "C-12"),
+                new CuentaCreadaEvent(2L, 13L, "C-13")));
+
+        assertEquals(new CuentaEventosService.ResultadoLote(3, 2, 0), resultado);
+        ArgumentCaptor<List<CuentaRecibida>> nuevas = ArgumentCaptor.forClass(List.class);
+        verify(inboxCuentaRepositoryPort).insertar(nuevas.capture());
+        assertEquals(List.of(10L, 11L, 13L), nuevas.getValue().stream().map(CuentaRecibida::getCuentaId).toList());
+        // Un UPDATE por cliente, en orden de ID
+        InOrder orden = inOrder(clienteService);
+        orden.verify(clienteService).incrementarNumeroCuentas(1L, 1);
+        orden.verify(clienteService).incrementarNumeroCuentas(2L, 2);
+        verifyNoMoreInteractions(clienteService);
+    }
+
+    @Test
+    void procesarLote_LoteYaAplicado_NoActualizaClientes() {
+        when(inboxCuentaRepositoryPort.findRegistradas(anyCollection())).thenReturn(Set.of(10L, 11L));
+
+        CuentaEventosService.ResultadoLote resultado = cuentaEventosService.procesarLote(List.of(
+                new CuentaCreadaEvent(1L, 10L, "C-10"),
+                new CuentaCreadaEvent(1L, 11L, "C-11")));
+
+        assertEquals(new CuentaEventosService.ResultadoLote(0, 2, 0), resultado);
+        verify(inboxCuentaRepositoryPort, never()).insertar(anyList());
+        verifyNoInteractions(clienteService);
+    }
+
+    @Test
+    void procesarLote_EventosIncompletosOClienteInexistente_SeDescartan() {
+        when(inboxCuentaRepositoryPort.findRegistradas(anyCollection())).thenReturn(Set.of());
+        when(clienteService.incrementarNumeroCuentas(99L, 1)).thenReturn(false);
+
+        CuentaEventosService.ResultadoLote resultado = cuentaEventosService.procesarLote(Arrays.asList(
+                new CuentaCreadaEvent(null, 10L, "C-10"),
+                null,
+                new CuentaCreadaEvent(99L, 11L, "C-11"),
+                new CuentaCreadaEvent(1L, 12L, "C-12")));
+
+        assertEquals(new CuentaEventosService.ResultadoLote(1, 0, 3), resultado);
+        verify(inboxCuentaRepositoryPort).insertar(argThat(nuevas -> nuevas.size() == 2));
+    }
+}
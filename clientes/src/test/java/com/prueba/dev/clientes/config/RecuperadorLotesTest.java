@@ -0,0 +1,78 @@
+package com.prueba.dev.clientes.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecuperadorLotesTest {
+
+    @Mock
+    private AmqpTemplate amqpTemplate;
+
+    @Mock
+    private ProxyMethodInvocation invocacion;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        MockitoAnnotations.openMocks(this);
+        // El interceptor usa el método invocado como etiqueta del reintento
+        when(invocacion.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocacion.invocableClone()).thenReturn(invocacion);
+    }
+
+    @Test
+    void loteQueFallaEnTodosLosIntentos_PasaMensajePorMensajeALaColaDeMuertos() throws Throwable {
+        List<Message> lote = List.of(mensaje("{\"cuentaId\":10}"), mensaje("{\"cuentaId\":11}"));
+        when(invocacion.getArguments()).thenReturn(new Object[]{null, lote});
+        when(invocacion.proceed()).thenThrow(new IllegalStateException("base de datos caída"));
+        RetryOperationsInterceptor reintentos = RetryInterceptorBuilder.stateless()
+                .maxAttempts(3)
+                .backOffOptions(1, 2.0, 5)
+                .recoverer(new RecuperadorLotes(amqpTemplate, RabbitConfig.DLX_NAME, RabbitConfig.ROUTING_KEY))
+                .build();
+
+        reintentos.invoke(invocacion);
+
+        verify(invocacion, times(3)).proceed();
+        ArgumentCaptor<Message> publicados = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate, times(2)).send(eq(RabbitConfig.DLX_NAME), eq(RabbitConfig.ROUTING_KEY), publicados.capture());
+        assertEquals("{\"cuentaId\":10}", new String(publicados.getAllValues().get(0).getBody(), StandardCharsets.UTF_8));
+        assertEquals("{\"cuentaId\":11}", new String(publicados.getAllValues().get(1).getBody(), StandardCharsets.UTF_8));
+        assertNotNull(publicados.getValue().getMessageProperties().getHeaders().get("x-exception-message"));
+    }
+
+    @Test
+    void loteQueSeRecuperaEnUnReintento_NoPasaALaColaDeMuertos() throws Throwable {
+        when(invocacion.getArguments()).thenReturn(new Object[]{null, List.of(mensaje("{\"cuentaId\":10}"))});
+        when(invocacion.proceed()).thenThrow(new IllegalStateException("bloqueo")).thenReturn(null);
+        RetryOperationsInterceptor reintentos = RetryInterceptorBuilder.stateless()
+                .maxAttempts(3)
+                .backOffOptions(1, 2.0, 5)
+                .recoverer(new RecuperadorLotes(amqpTemplate, RabbitConfig.DLX_NAME, RabbitConfig.ROUTING_KEY))
+                .build();
+
+        reintentos.invoke(invocacion);
+
+        verify(invocacion, times(2)).proceed();
+        verifyNoInteractions(amqpTemplate);
+    }
+
+    private static Message mensaje(String cuerpo) {
+        return new Message(cuerpo.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    }
+}
@@ -1,8 +1,8 @@
 package com.prueba.dev.clientes.integration;
 
-import com.prueba.dev.clientes.application.dto.response.GenericResponse;
 import com.prueba.dev.clientes.application.dto.PersonaDTO;
 import com.prueba.dev.clientes.application.dto.ClienteDTO;
+import com.prueba.dev.respuestas.GenericResponse;
 import org.junit.jupiter.api.Test;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,7 +46,7 @@ public class ClienteIntegrationTest {
         GenericResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), GenericResponse.class);
         assertTrue(response.isStatus());
 
-        PersonaDTO createdPersona = objectMapper.readValue(response.getMessage(), PersonaDTO.class);
+        PersonaDTO createdPersona = objectMapper.convertValue(response.getData(), PersonaDTO.class);
         assertNotNull(createdPersona.getId());
         assertEquals("Juan", createdPersona.getNombre());
 
@@ -68,7 +68,7 @@ public class ClienteIntegrationTest {
                 .andReturn();
 
         GenericResponse personaResponse = objectMapper.readValue(personaResult.getResponse().getContentAsString(), GenericResponse.class);
-        PersonaDTO createdPersona = objectMapper.readValue(personaResponse.getMessage(), PersonaDTO.class);
+        PersonaDTO createdPersona = objectMapper.convertValue(personaResponse.getData(), PersonaDTO.class);
 
         // Crear cliente
         ClienteDTO clienteDTO = new ClienteDTO(createdPersona.getId(), "password123", "ACTIVO");
@@ -82,7 +82,7 @@ public class ClienteIntegrationTest {
         GenericResponse clienteResponse = objectMapper.readValue(clienteResult.getResponse().getContentAsString(), GenericResponse.class);
         assertTrue(clienteResponse.isStatus());
 
-        ClienteDTO createdCliente = objectMapper.readValue(clienteResponse.getMessage(), ClienteDTO.class);
+        ClienteDTO createdCliente = objectMapper.convertValue(clienteResponse.getData(), ClienteDTO.class);
         assertNotNull(createdCliente.getId());
         assertEquals("ACTIVO", createdCliente.getEstado());
 
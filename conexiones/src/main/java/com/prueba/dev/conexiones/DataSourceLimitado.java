@@ -0,0 +1,108 @@
+package com.prueba.dev.conexiones;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita las conexiones prestadas con un semáforo justo.
+ * Con hilos virtuales puede haber miles de solicitudes a la vez y todas
+ * compiten por el pool: el semáforo las ordena en una fila FIFO antes de
+ * llegar a Hikari y falla rápido cuando la espera excede el máximo, en lugar
+ * de dejar que cada hilo agote el connectionTimeout del pool.
+ * El permiso se devuelve al cerrar la conexión.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final int maximo;
+    private final Duration espera;
+
+    public DataSourceLimitado(DataSource dataSource, int maximo, Duration espera) {
+        super(dataSource);
+        this.permisos = new Semaphore(maximo, true);
+        this.maximo = maximo;
+        this.espera = espera;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return prestar(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        return prestar(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * @return Hilos esperando un permiso de conexión.
+     */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    /**
+     * @return Conexiones prestadas en este momento.
+     */
+    public int getEnUso() {
+        return maximo - permisos.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Sin conexión disponible tras " + espera
+                        + ": " + permisos.getQueueLength() + " hilos en espera");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera de conexión interrumpida", e);
+        }
+    }
+
+    private Connection prestar(Apertura apertura) throws SQLException {
+        Connection conexion;
+        try {
+            conexion = apertura.abrir();
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+        AtomicBoolean cerrada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            if (cerrada.compareAndSet(false, true)) {
+                                permisos.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Apertura {
+        Connection abrir() throws SQLException;
+    }
+}
@@ -0,0 +1,47 @@
+package com.prueba.dev.conexiones;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Post-procesador que envuelve el DataSource en un {@link DataSourceLimitado}.
+ * Por defecto hay tantos permisos como conexiones tiene el pool y se espera
+ * hasta 5 segundos; cada servicio lo ajusta con &lt;prefijo&gt;.max-conexiones
+ * y &lt;prefijo&gt;.espera-conexion.
+ */
+public class LimiteConexiones implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteConexiones.class);
+
+    private final Environment environment;
+    private final String prefijo;
+
+    /**
+     * @param environment El entorno, leído sin inyección porque el post-procesador se crea antes que los demás beans.
+     * @param prefijo Prefijo de las propiedades del servicio, por ejemplo cuentas.hilos-virtuales.
+     */
+    public LimiteConexiones(Environment environment, String prefijo) {
+        this.environment = environment;
+        this.prefijo = prefijo;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof DataSourceLimitado) {
+            return bean;
+        }
+        // Sin maximum-pool-size, Hikari informa -1 hasta arrancar el pool y después usa 10
+        int pool = bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0
+                ? hikari.getMaximumPoolSize() : 10;
+        int maximo = environment.getProperty(prefijo + ".max-conexiones", Integer.class, pool);
+        Duration espera = environment.getProperty(prefijo + ".espera-conexion", Duration.class, Duration.ofSeconds(5));
+        logger.info("Conexiones de {} limitadas a {} con espera máxima de {}", beanName, maximo, espera);
+        return new DataSourceLimitado(dataSource, maximo, espera);
+    }
+}
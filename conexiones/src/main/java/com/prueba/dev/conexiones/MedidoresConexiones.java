@@ -0,0 +1,36 @@
+package com.prueba.dev.conexiones;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import javax.sql.DataSource;
+
+/**
+ * Expone la fila de espera por conexiones como &lt;prefijo&gt;.en_espera y &lt;prefijo&gt;.en_uso.
+ * Si el DataSource no está limitado no registra nada.
+ */
+public class MedidoresConexiones implements MeterBinder {
+
+    private final DataSource dataSource;
+    private final String prefijo;
+
+    /**
+     * @param dataSource El DataSource ya envuelto.
+     * @param prefijo Prefijo de los medidores, por ejemplo cuentas.conexiones.
+     */
+    public MedidoresConexiones(DataSource dataSource, String prefijo) {
+        this.dataSource = dataSource;
+        this.prefijo = prefijo;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (dataSource instanceof DataSourceLimitado limitado) {
+            Gauge.builder(prefijo + ".en_espera", limitado, DataSourceLimitado::getEnEspera)
+                    .description("Hilos esperando un permiso de conexión").register(registry);
+            Gauge.builder(prefijo + ".en_uso", limitado, DataSourceLimitado::getEnUso)
+                    .description("Conexiones prestadas bajo el límite del semáforo").register(registry);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.prueba.dev.conexiones;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DataSourceLimitadoTest {
+
+    private DataSource pool;
+    private DataSourceLimitado limitado;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        limitado = new DataSourceLimitado(pool, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_SinPermisos_FallaConExcepcionTransitoria() throws SQLException {
+        limitado.getConnection();
+        limitado.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> limitado.getConnection());
+        assertEquals(2, limitado.getEnUso());
+    }
+
+    @Test
+    void close_DevuelveElPermisoUnaSolaVez() throws SQLException {
+        Connection conexion = limitado.getConnection();
+
+        conexion.close();
+        conexion.close();
+
+        assertEquals(0, limitado.getEnUso());
+        limitado.getConnection();
+        limitado.getConnection();
+        assertThrows(SQLTransientConnectionException.class, () -> limitado.getConnection());
+    }
+
+    @Test
+    void getConnection_ErrorDelPool_DevuelveElPermiso() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool cerrado"));
+
+        assertThrows(SQLException.class, () -> limitado.getConnection());
+
+        assertEquals(0, limitado.getEnUso());
+    }
+}
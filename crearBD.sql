@@ -44,6 +44,19 @@ CREATE TABLE cliente (
 -- Índice para mejorar consultas por persona
 CREATE INDEX idx_cliente_persona_id ON cliente (persona_id);
 
+-- ============================================================
+-- TABLE: inbox_cuenta
+-- Cuentas cuyo evento de creación ya sumó al contador del cliente;
+-- descarta las entregas repetidas de RabbitMQ
+-- ============================================================
+DROP TABLE IF EXISTS inbox_cuenta;
+
+CREATE TABLE inbox_cuenta (
+    cuenta_id BIGINT PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    fecha_recepcion DATETIME(6) NOT NULL
+);
+
 -- ============================================================
 -- TABLE: cuenta
 -- ============================================================
@@ -74,18 +87,117 @@ CREATE INDEX idx_cuenta_numero ON cuenta (numero_cuenta);
 DROP TABLE IF EXISTS movimiento;
 
 CREATE TABLE movimiento (
-    movimiento_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    movimiento_id BIGINT PRIMARY KEY,
     cuenta_id BIGINT NOT NULL,
     fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     tipo_movimiento VARCHAR(50) NOT NULL 
         CHECK (tipo_movimiento IN ('DEPOSITO', 'RETIRO', 'TRANSFERENCIA')),
     valor DECIMAL(15,2) NOT NULL,
     saldo DECIMAL(15,2) NOT NULL,
+    transferencia_id VARCHAR(36),
 
     FOREIGN KEY (cuenta_id) REFERENCES cuenta(cuenta_id)
 );
 
 -- Índices optimizados
 CREATE INDEX idx_movimiento_cuenta_id ON movimiento (cuenta_id);
+CREATE INDEX idx_movimiento_transferencia ON movimiento (transferencia_id);
 CREATE INDEX idx_movimiento_fecha ON movimiento (fecha);
 CREATE INDEX idx_movimiento_cuenta_fecha ON movimiento (cuenta_id, fecha);
+-- InnoDB agrega la clave primaria al final de cada índice secundario: idx_movimiento_fecha e
+-- idx_movimiento_cuenta_fecha resuelven la paginación por keyset sobre (fecha, movimiento_id).
+
+-- Secuencia de IDs de movimiento (MySQL no tiene secuencias: Hibernate usa esta tabla).
+-- Los IDs se reservan en bloques de 50 para permitir INSERT por lotes.
+DROP TABLE IF EXISTS movimiento_seq;
+
+CREATE TABLE movimiento_seq (
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO movimiento_seq (next_val) SELECT COALESCE(MAX(movimiento_id), 0) + 1 FROM movimiento;
+
+-- ============================================================
+-- TABLE: saldo_checkpoint
+-- ============================================================
+DROP TABLE IF EXISTS saldo_checkpoint;
+
+CREATE TABLE saldo_checkpoint (
+    cuenta_id BIGINT PRIMARY KEY,
+    ultimo_movimiento_id BIGINT NOT NULL,
+    saldo DECIMAL(15,2) NOT NULL,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (cuenta_id) REFERENCES cuenta(cuenta_id)
+);
+
+-- Índice para recorrer solo los movimientos posteriores al checkpoint
+CREATE INDEX idx_movimiento_cuenta_id_movimiento ON movimiento (cuenta_id, movimiento_id);
+
+-- ============================================================
+-- TABLE: ledger_offset
+-- Última secuencia del WAL persistida por cada partición del ledger en memoria
+-- ============================================================
+DROP TABLE IF EXISTS ledger_offset;
+
+CREATE TABLE ledger_offset (
+    particion INT PRIMARY KEY,
+    secuencia BIGINT NOT NULL
+);
+
+-- ============================================================
+-- TABLE: idempotencia
+-- Respuestas registradas por Idempotency-Key para responder reintentos sin repostear
+-- ============================================================
+DROP TABLE IF EXISTS idempotencia;
+
+CREATE TABLE idempotencia (
+    clave VARCHAR(100) PRIMARY KEY,
+    operacion VARCHAR(50) NOT NULL,
+    huella VARCHAR(255) NOT NULL,
+    respuesta TEXT,
+    fecha_creacion DATETIME NOT NULL,
+    fecha_expiracion DATETIME NOT NULL,
+    INDEX idx_idempotencia_expiracion (fecha_expiracion)
+);
+
+-- ============================================================
+-- TABLE: outbox_evento
+-- Eventos registrados en la misma transacción que el cambio que los origina;
+-- el relay los publica en RabbitMQ y los elimina al recibir la confirmación
+-- ============================================================
+DROP TABLE IF EXISTS outbox_evento;
+
+CREATE TABLE outbox_evento (
+    evento_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    tipo VARCHAR(255) NOT NULL,
+    tipo_contenido VARCHAR(100) NOT NULL,
+    payload LONGBLOB NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL
+);
+
+-- ============================================================
+-- TABLE: resumen_diario
+-- Cantidad y total de movimientos por cuenta, día y tipo; se actualiza al postear
+-- y sirve los reportes agregados sin recorrer la tabla de movimientos
+-- ============================================================
+DROP TABLE IF EXISTS resumen_diario;
+
+CREATE TABLE resumen_diario (
+    cuenta_id BIGINT NOT NULL,
+    fecha DATE NOT NULL,
+    tipo_movimiento VARCHAR(50) NOT NULL,
+    cantidad BIGINT NOT NULL,
+    total DECIMAL(17,2) NOT NULL,
+    PRIMARY KEY (cuenta_id, fecha, tipo_movimiento),
+
+    FOREIGN KEY (cuenta_id) REFERENCES cuenta(cuenta_id)
+);
+
+-- Carga inicial a partir de los movimientos existentes
+INSERT INTO resumen_diario (cuenta_id, fecha, tipo_movimiento, cantidad, total)
+SELECT cuenta_id, DATE(fecha), tipo_movimiento, COUNT(*), SUM(valor)
+FROM movimiento
+GROUP BY cuenta_id, DATE(fecha), tipo_movimiento;
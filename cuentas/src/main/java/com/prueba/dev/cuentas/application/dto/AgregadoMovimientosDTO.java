@@ -0,0 +1,106 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * DTO con los totales de un grupo de movimientos de una consulta analítica.
+ */
+public class AgregadoMovimientosDTO {
+
+    private Long cuentaId;
+    private YearMonth mes;
+    private String tipoCuenta;
+    private String tipoMovimiento;
+    private long cantidad;
+    private BigDecimal total;
+    private BigDecimal promedio;
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+
+    public AgregadoMovimientosDTO() {}
+
+    public AgregadoMovimientosDTO(Long cuentaId, YearMonth mes, String tipoCuenta, String tipoMovimiento, long cantidad, BigDecimal total, BigDecimal promedio, BigDecimal minimo, BigDecimal maximo) {
+        this.cuentaId = cuentaId;
+        this.mes = mes;
+        this.tipoCuenta = tipoCuenta;
+        this.tipoMovimiento = tipoMovimiento;
+        this.cantidad = cantidad;
+        this.total = total;
+        this.promedio = promedio;
+        this.minimo = minimo;
+        this.maximo = maximo;
+    }
+
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public YearMonth getMes() {
+        return mes;
+    }
+
+    public void setMes(YearMonth mes) {
+        this.mes = mes;
+    }
+
+    public String getTipoCuenta() {
+        return tipoCuenta;
+    }
+
+    public void setTipoCuenta(String tipoCuenta) {
+        this.tipoCuenta = tipoCuenta;
+    }
+
+    public String getTipoMovimiento() {
+        return tipoMovimiento;
+    }
+
+    public void setTipoMovimiento(String tipoMovimiento) {
+        this.tipoMovimiento = tipoMovimiento;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getPromedio() {
+        return promedio;
+    }
+
+    public void setPromedio(BigDecimal promedio) {
+        this.promedio = promedio;
+    }
+
+    public BigDecimal getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(BigDecimal minimo) {
+        this.minimo = minimo;
+    }
+
+    public BigDecimal getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(BigDecimal maximo) {
+        this.maximo = maximo;
+    }
+}
@@ -0,0 +1,46 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una consulta analítica y la fecha de la copia sobre la que se calculó.
+ */
+public class AnaliticaDTO {
+
+    private LocalDateTime fechaCarga;
+    private int filas;
+    private List<AgregadoMovimientosDTO> grupos;
+
+    public AnaliticaDTO() {}
+
+    public AnaliticaDTO(LocalDateTime fechaCarga, int filas, List<AgregadoMovimientosDTO> grupos) {
+        this.fechaCarga = fechaCarga;
+        this.filas = filas;
+        this.grupos = grupos;
+    }
+
+    public LocalDateTime getFechaCarga() {
+        return fechaCarga;
+    }
+
+    public void setFechaCarga(LocalDateTime fechaCarga) {
+        this.fechaCarga = fechaCarga;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public void setFilas(int filas) {
+        this.filas = filas;
+    }
+
+    public List<AgregadoMovimientosDTO> getGrupos() {
+        return grupos;
+    }
+
+    public void setGrupos(List<AgregadoMovimientosDTO> grupos) {
+        this.grupos = grupos;
+    }
+}
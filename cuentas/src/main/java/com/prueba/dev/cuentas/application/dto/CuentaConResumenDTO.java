@@ -0,0 +1,35 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO para cuenta con sus movimientos resumidos por periodo.
+ */
+public class CuentaConResumenDTO {
+
+    private CuentaDTO cuenta;
+    private List<ResumenPeriodoDTO> periodos;
+
+    public CuentaConResumenDTO() {}
+
+    public CuentaConResumenDTO(CuentaDTO cuenta, List<ResumenPeriodoDTO> periodos) {
+        this.cuenta = cuenta;
+        this.periodos = periodos;
+    }
+
+    public CuentaDTO getCuenta() {
+        return cuenta;
+    }
+
+    public void setCuenta(CuentaDTO cuenta) {
+        this.cuenta = cuenta;
+    }
+
+    public List<ResumenPeriodoDTO> getPeriodos() {
+        return periodos;
+    }
+
+    public void setPeriodos(List<ResumenPeriodoDTO> periodos) {
+        this.periodos = periodos;
+    }
+}
@@ -1,5 +1,7 @@
 package com.prueba.dev.cuentas.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 
 /**
@@ -15,6 +17,12 @@ public class CuentaDTO {
     private String estado;
     private BigDecimal saldoActual;
 
+    // Datos de la réplica local de clientes; se omiten si el cliente no está replicado
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteNombre;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteEstado;
+
     public CuentaDTO() {}
 
     public CuentaDTO(Long id, Long clienteId, String numeroCuenta, String tipoCuenta, BigDecimal saldoInicial, String estado, BigDecimal saldoActual) {
@@ -82,4 +90,20 @@ public class CuentaDTO {
     public void setSaldoActual(BigDecimal saldoActual) {
         this.saldoActual = saldoActual;
     }
-}
\ No newline at end of file
+
+    public String getClienteNombre() {
+        return clienteNombre;
+    }
+
+    public void setClienteNombre(String clienteNombre) {
+        this.clienteNombre = clienteNombre;
+    }
+
+    public String getClienteEstado() {
+        return clienteEstado;
+    }
+
+    public void setClienteEstado(String clienteEstado) {
+        this.clienteEstado = clienteEstado;
+    }
+}
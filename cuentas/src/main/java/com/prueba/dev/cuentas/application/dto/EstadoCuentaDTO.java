@@ -1,5 +1,7 @@
 package com.prueba.dev.cuentas.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -8,6 +10,11 @@ import java.util.List;
 public class EstadoCuentaDTO {
 
     private Long clienteId;
+    // Tomados de la réplica de clientes, si el cliente está replicado
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteNombre;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteEstado;
     private List<CuentaConMovimientosDTO> cuentas;
 
     public EstadoCuentaDTO() {}
@@ -32,4 +39,20 @@ public class EstadoCuentaDTO {
     public void setCuentas(List<CuentaConMovimientosDTO> cuentas) {
         this.cuentas = cuentas;
     }
-}
\ No newline at end of file
+
+    public String getClienteNombre() {
+        return clienteNombre;
+    }
+
+    public void setClienteNombre(String clienteNombre) {
+        this.clienteNombre = clienteNombre;
+    }
+
+    public String getClienteEstado() {
+        return clienteEstado;
+    }
+
+    public void setClienteEstado(String clienteEstado) {
+        this.clienteEstado = clienteEstado;
+    }
+}
@@ -0,0 +1,68 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+
+import java.util.List;
+
+/**
+ * DTO para el reporte de estado de cuenta agregado por día o por mes.
+ */
+public class EstadoCuentaResumidoDTO {
+
+    private Long clienteId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteNombre;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clienteEstado;
+    private AgrupacionResumen agrupacion;
+    private List<CuentaConResumenDTO> cuentas;
+
+    public EstadoCuentaResumidoDTO() {}
+
+    public EstadoCuentaResumidoDTO(Long clienteId, AgrupacionResumen agrupacion, List<CuentaConResumenDTO> cuentas) {
+        this.clienteId = clienteId;
+        this.agrupacion = agrupacion;
+        this.cuentas = cuentas;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public AgrupacionResumen getAgrupacion() {
+        return agrupacion;
+    }
+
+    public void setAgrupacion(AgrupacionResumen agrupacion) {
+        this.agrupacion = agrupacion;
+    }
+
+    public List<CuentaConResumenDTO> getCuentas() {
+        return cuentas;
+    }
+
+    public void setCuentas(List<CuentaConResumenDTO> cuentas) {
+        this.cuentas = cuentas;
+    }
+
+    public String getClienteNombre() {
+        return clienteNombre;
+    }
+
+    public void setClienteNombre(String clienteNombre) {
+        this.clienteNombre = clienteNombre;
+    }
+
+    public String getClienteEstado() {
+        return clienteEstado;
+    }
+
+    public void setClienteEstado(String clienteEstado) {
+        this.clienteEstado = clienteEstado;
+    }
+}
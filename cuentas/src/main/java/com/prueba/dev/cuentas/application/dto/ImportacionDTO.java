@@ -0,0 +1,128 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO con el progreso de una importación de movimientos históricos.
+ */
+public class ImportacionDTO {
+
+    private String id;
+    private String formato;
+    private String estado;
+    private long filasLeidas;
+    private long filasImportadas;
+    private long filasRechazadas;
+    private double filasPorSegundo;
+    private int cuentasActualizadas;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private List<String> errores;
+
+    public ImportacionDTO() {}
+
+    public ImportacionDTO(String id, String formato, String estado, long filasLeidas, long filasImportadas,
+                          long filasRechazadas, double filasPorSegundo, int cuentasActualizadas,
+                          LocalDateTime inicio, LocalDateTime fin, List<String> errores) {
+        this.id = id;
+        this.formato = formato;
+        this.estado = estado;
+        this.filasLeidas = filasLeidas;
+        this.filasImportadas = filasImportadas;
+        this.filasRechazadas = filasRechazadas;
+        this.filasPorSegundo = filasPorSegundo;
+        this.cuentasActualizadas = cuentasActualizadas;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.errores = errores;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFormato() {
+        return formato;
+    }
+
+    public void setFormato(String formato) {
+        this.formato = formato;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public void setFilasLeidas(long filasLeidas) {
+        this.filasLeidas = filasLeidas;
+    }
+
+    public long getFilasImportadas() {
+        return filasImportadas;
+    }
+
+    public void setFilasImportadas(long filasImportadas) {
+        this.filasImportadas = filasImportadas;
+    }
+
+    public long getFilasRechazadas() {
+        return filasRechazadas;
+    }
+
+    public void setFilasRechazadas(long filasRechazadas) {
+        this.filasRechazadas = filasRechazadas;
+    }
+
+    public double getFilasPorSegundo() {
+        return filasPorSegundo;
+    }
+
+    public void setFilasPorSegundo(double filasPorSegundo) {
+        this.filasPorSegundo = filasPorSegundo;
+    }
+
+    public int getCuentasActualizadas() {
+        return cuentasActualizadas;
+    }
+
+    public void setCuentasActualizadas(int cuentasActualizadas) {
+        this.cuentasActualizadas = cuentasActualizadas;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    public void setFin(LocalDateTime fin) {
+        this.fin = fin;
+    }
+
+    public List<String> getErrores() {
+        return errores;
+    }
+
+    public void setErrores(List<String> errores) {
+        this.errores = errores;
+    }
+}
@@ -0,0 +1,66 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con el resultado de un elemento de un lote de movimientos.
+ * Los aceptados informan el movimiento creado; los rechazados, el motivo.
+ */
+public class ItemLoteDTO {
+
+    private int indice;
+    private Long movimientoId;
+    private Long cuentaId;
+    private BigDecimal saldo;
+    private String motivo;
+
+    public ItemLoteDTO() {}
+
+    public ItemLoteDTO(int indice, Long movimientoId, Long cuentaId, BigDecimal saldo, String motivo) {
+        this.indice = indice;
+        this.movimientoId = movimientoId;
+        this.cuentaId = cuentaId;
+        this.saldo = saldo;
+        this.motivo = motivo;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Long getMovimientoId() {
+        return movimientoId;
+    }
+
+    public void setMovimientoId(Long movimientoId) {
+        this.movimientoId = movimientoId;
+    }
+
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public void setMotivo(String motivo) {
+        this.motivo = motivo;
+    }
+}
@@ -0,0 +1,47 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con una página de resultados y el cursor para pedir la siguiente.
+ * El cursor es opaco y se envía tal cual en el parámetro cursor; es null en la última página.
+ */
+public class PaginaDTO<T> {
+
+    private List<T> elementos = new ArrayList<>();
+    private String siguienteCursor;
+    private int limite;
+
+    public PaginaDTO() {}
+
+    public PaginaDTO(List<T> elementos, String siguienteCursor, int limite) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+        this.limite = limite;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+}
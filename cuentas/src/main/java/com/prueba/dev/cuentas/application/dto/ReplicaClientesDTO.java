@@ -0,0 +1,43 @@
+package com.prueba.dev.cuentas.application.dto;
+
+/**
+ * DTO con el estado de la réplica local de clientes.
+ */
+public class ReplicaClientesDTO {
+
+    private boolean cargado;
+    private int clientes;
+    private long bytes;
+
+    public ReplicaClientesDTO() {}
+
+    public ReplicaClientesDTO(boolean cargado, int clientes, long bytes) {
+        this.cargado = cargado;
+        this.clientes = clientes;
+        this.bytes = bytes;
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    public void setCargado(boolean cargado) {
+        this.cargado = cargado;
+    }
+
+    public int getClientes() {
+        return clientes;
+    }
+
+    public void setClientes(int clientes) {
+        this.clientes = clientes;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
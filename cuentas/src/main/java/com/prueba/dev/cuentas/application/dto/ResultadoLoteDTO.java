@@ -0,0 +1,56 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de la carga de un lote de movimientos.
+ */
+public class ResultadoLoteDTO {
+
+    private int totalAceptados;
+    private int totalRechazados;
+    private List<ItemLoteDTO> aceptados = new ArrayList<>();
+    private List<ItemLoteDTO> rechazados = new ArrayList<>();
+
+    public ResultadoLoteDTO() {}
+
+    public ResultadoLoteDTO(List<ItemLoteDTO> aceptados, List<ItemLoteDTO> rechazados) {
+        this.aceptados = aceptados;
+        this.rechazados = rechazados;
+        this.totalAceptados = aceptados.size();
+        this.totalRechazados = rechazados.size();
+    }
+
+    public int getTotalAceptados() {
+        return totalAceptados;
+    }
+
+    public void setTotalAceptados(int totalAceptados) {
+        this.totalAceptados = totalAceptados;
+    }
+
+    public int getTotalRechazados() {
+        return totalRechazados;
+    }
+
+    public void setTotalRechazados(int totalRechazados) {
+        this.totalRechazados = totalRechazados;
+    }
+
+    public List<ItemLoteDTO> getAceptados() {
+        return aceptados;
+    }
+
+    public void setAceptados(List<ItemLoteDTO> aceptados) {
+        this.aceptados = aceptados;
+    }
+
+    public List<ItemLoteDTO> getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(List<ItemLoteDTO> rechazados) {
+        this.rechazados = rechazados;
+    }
+}
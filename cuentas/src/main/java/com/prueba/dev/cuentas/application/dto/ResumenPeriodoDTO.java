@@ -0,0 +1,100 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO con los totales de una cuenta en un periodo (día o mes) y sus saldos de apertura y cierre.
+ */
+public class ResumenPeriodoDTO {
+
+    private LocalDate periodo;
+    private long depositos;
+    private BigDecimal totalDepositos = BigDecimal.ZERO;
+    private long retiros;
+    private BigDecimal totalRetiros = BigDecimal.ZERO;
+    private long transferencias;
+    private BigDecimal totalTransferencias = BigDecimal.ZERO;
+    private BigDecimal saldoApertura;
+    private BigDecimal saldoCierre;
+
+    public ResumenPeriodoDTO() {}
+
+    public ResumenPeriodoDTO(LocalDate periodo, BigDecimal saldoApertura) {
+        this.periodo = periodo;
+        this.saldoApertura = saldoApertura;
+        this.saldoCierre = saldoApertura;
+    }
+
+    public LocalDate getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(LocalDate periodo) {
+        this.periodo = periodo;
+    }
+
+    public long getDepositos() {
+        return depositos;
+    }
+
+    public void setDepositos(long depositos) {
+        this.depositos = depositos;
+    }
+
+    public BigDecimal getTotalDepositos() {
+        return totalDepositos;
+    }
+
+    public void setTotalDepositos(BigDecimal totalDepositos) {
+        this.totalDepositos = totalDepositos;
+    }
+
+    public long getRetiros() {
+        return retiros;
+    }
+
+    public void setRetiros(long retiros) {
+        this.retiros = retiros;
+    }
+
+    public BigDecimal getTotalRetiros() {
+        return totalRetiros;
+    }
+
+    public void setTotalRetiros(BigDecimal totalRetiros) {
+        this.totalRetiros = totalRetiros;
+    }
+
+    public long getTransferencias() {
+        return transferencias;
+    }
+
+    public void setTransferencias(long transferencias) {
+        this.transferencias = transferencias;
+    }
+
+    public BigDecimal getTotalTransferencias() {
+        return totalTransferencias;
+    }
+
+    public void setTotalTransferencias(BigDecimal totalTransferencias) {
+        this.totalTransferencias = totalTransferencias;
+    }
+
+    public BigDecimal getSaldoApertura() {
+        return saldoApertura;
+    }
+
+    public void setSaldoApertura(BigDecimal saldoApertura) {
+        this.saldoApertura = saldoApertura;
+    }
+
+    public BigDecimal getSaldoCierre() {
+        return saldoCierre;
+    }
+
+    public void setSaldoCierre(BigDecimal saldoCierre) {
+        this.saldoCierre = saldoCierre;
+    }
+}
@@ -0,0 +1,118 @@
+package com.prueba.dev.cuentas.application.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el estado de un trabajo asíncrono de estado de cuenta.
+ */
+public class TrabajoReporteDTO {
+
+    private String id;
+    private Long clienteId;
+    private LocalDate fechaInicio;
+    private LocalDate fechaFin;
+    private String estado;
+    private long movimientos;
+    private long bytesComprimidos;
+    private LocalDateTime creado;
+    private LocalDateTime terminado;
+    private String error;
+
+    public TrabajoReporteDTO() {}
+
+    public TrabajoReporteDTO(String id, Long clienteId, LocalDate fechaInicio, LocalDate fechaFin, String estado,
+                             long movimientos, long bytesComprimidos, LocalDateTime creado, LocalDateTime terminado,
+                             String error) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.fechaInicio = fechaInicio;
+        this.fechaFin = fechaFin;
+        this.estado = estado;
+        this.movimientos = movimientos;
+        this.bytesComprimidos = bytesComprimidos;
+        this.creado = creado;
+        this.terminado = terminado;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public void setFechaInicio(LocalDate fechaInicio) {
+        this.fechaInicio = fechaInicio;
+    }
+
+    public LocalDate getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDate fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public long getMovimientos() {
+        return movimientos;
+    }
+
+    public void setMovimientos(long movimientos) {
+        this.movimientos = movimientos;
+    }
+
+    public long getBytesComprimidos() {
+        return bytesComprimidos;
+    }
+
+    public void setBytesComprimidos(long bytesComprimidos) {
+        this.bytesComprimidos = bytesComprimidos;
+    }
+
+    public LocalDateTime getCreado() {
+        return creado;
+    }
+
+    public void setCreado(LocalDateTime creado) {
+        this.creado = creado;
+    }
+
+    public LocalDateTime getTerminado() {
+        return terminado;
+    }
+
+    public void setTerminado(LocalDateTime terminado) {
+        this.terminado = terminado;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
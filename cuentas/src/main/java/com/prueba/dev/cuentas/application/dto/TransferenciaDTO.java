@@ -0,0 +1,43 @@
+package com.prueba.dev.cuentas.application.dto;
+
+/**
+ * DTO para representar una transferencia con sus dos movimientos.
+ */
+public class TransferenciaDTO {
+
+    private String transferenciaId;
+    private MovimientoDTO debito;
+    private MovimientoDTO credito;
+
+    public TransferenciaDTO() {}
+
+    public TransferenciaDTO(String transferenciaId, MovimientoDTO debito, MovimientoDTO credito) {
+        this.transferenciaId = transferenciaId;
+        this.debito = debito;
+        this.credito = credito;
+    }
+
+    public String getTransferenciaId() {
+        return transferenciaId;
+    }
+
+    public void setTransferenciaId(String transferenciaId) {
+        this.transferenciaId = transferenciaId;
+    }
+
+    public MovimientoDTO getDebito() {
+        return debito;
+    }
+
+    public void setDebito(MovimientoDTO debito) {
+        this.debito = debito;
+    }
+
+    public MovimientoDTO getCredito() {
+        return credito;
+    }
+
+    public void setCredito(MovimientoDTO credito) {
+        this.credito = credito;
+    }
+}
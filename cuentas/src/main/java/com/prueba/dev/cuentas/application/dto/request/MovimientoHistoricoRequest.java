@@ -0,0 +1,60 @@
+package com.prueba.dev.cuentas.application.dto.request;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO para una fila de la importación de movimientos históricos (NDJSON o CSV).
+ * Las restricciones se validan sobre el movimiento construido a partir de la fila.
+ */
+public class MovimientoHistoricoRequest {
+
+    private Long cuentaId;
+    private LocalDateTime fecha;
+    private String tipoMovimiento;
+    private BigDecimal valor;
+
+    // Constructor vacío
+    public MovimientoHistoricoRequest() {}
+
+    // Constructor con parámetros
+    public MovimientoHistoricoRequest(Long cuentaId, LocalDateTime fecha, String tipoMovimiento, BigDecimal valor) {
+        this.cuentaId = cuentaId;
+        this.fecha = fecha;
+        this.tipoMovimiento = tipoMovimiento;
+        this.valor = valor;
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+
+    public String getTipoMovimiento() {
+        return tipoMovimiento;
+    }
+
+    public void setTipoMovimiento(String tipoMovimiento) {
+        this.tipoMovimiento = tipoMovimiento;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
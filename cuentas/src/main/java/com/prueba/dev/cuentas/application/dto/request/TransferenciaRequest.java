@@ -0,0 +1,55 @@
+package com.prueba.dev.cuentas.application.dto.request;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+/**
+ * DTO para la solicitud de una transferencia entre cuentas.
+ */
+public class TransferenciaRequest {
+
+    @NotNull(message = "La cuenta de origen es obligatoria")
+    private Long cuentaOrigenId;
+
+    @NotNull(message = "La cuenta de destino es obligatoria")
+    private Long cuentaDestinoId;
+
+    @NotNull(message = "El valor es obligatorio")
+    @DecimalMin(value = "0.01", message = "El valor debe ser mayor a 0")
+    private BigDecimal valor;
+
+    // Constructor vacío
+    public TransferenciaRequest() {}
+
+    // Constructor con parámetros
+    public TransferenciaRequest(Long cuentaOrigenId, Long cuentaDestinoId, BigDecimal valor) {
+        this.cuentaOrigenId = cuentaOrigenId;
+        this.cuentaDestinoId = cuentaDestinoId;
+        this.valor = valor;
+    }
+
+    // Getters y Setters
+    public Long getCuentaOrigenId() {
+        return cuentaOrigenId;
+    }
+
+    public void setCuentaOrigenId(Long cuentaOrigenId) {
+        this.cuentaOrigenId = cuentaOrigenId;
+    }
+
+    public Long getCuentaDestinoId() {
+        return cuentaDestinoId;
+    }
+
+    public void setCuentaDestinoId(Long cuentaDestinoId) {
+        this.cuentaDestinoId = cuentaDestinoId;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
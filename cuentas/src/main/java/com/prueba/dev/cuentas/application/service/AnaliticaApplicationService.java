@@ -0,0 +1,71 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.application.dto.AgregadoMovimientosDTO;
+import com.prueba.dev.cuentas.application.dto.AnaliticaDTO;
+import com.prueba.dev.cuentas.domain.model.ConsultaAnalitica;
+import com.prueba.dev.cuentas.domain.model.DimensionAnalitica;
+import com.prueba.dev.cuentas.domain.port.AnaliticaMovimientosPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio de aplicación para consultas analíticas de movimientos.
+ * Las consultas no abren transacciones: se resuelven sobre la copia del motor analítico,
+ * que solo existe con cuentas.analitica.habilitado=true.
+ */
+@Service
+public class AnaliticaApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnaliticaApplicationService.class);
+
+    private AnaliticaMovimientosPort analitica;
+
+    /**
+     * Configura el motor analítico. Sin motor, las consultas fallan como no disponibles.
+     * @param analitica El motor analítico.
+     */
+    @Autowired(required = false)
+    public void setAnalitica(AnaliticaMovimientosPort analitica) {
+        this.analitica = analitica;
+    }
+
+    /**
+     * Agrega los movimientos que cumplen los filtros.
+     * @param fechaInicio Fecha de inicio, o null.
+     * @param fechaFin Fecha de fin incluida, o null.
+     * @param cuentaId El ID de la cuenta, o null para todas.
+     * @param tipoMovimiento Tipo de movimiento, o null para todos.
+     * @param tipoCuenta Tipo de cuenta, o null para todos.
+     * @param agrupacion Dimensiones de agrupación; vacía para un único total.
+     * @return Los grupos con sus totales.
+     * @throws IllegalStateException si la analítica está deshabilitada o la copia aún no se cargó.
+     */
+    public AnaliticaDTO agregar(LocalDate fechaInicio, LocalDate fechaFin, Long cuentaId, String tipoMovimiento,
+                                String tipoCuenta, List<DimensionAnalitica> agrupacion) {
+        if (fechaInicio != null && fechaFin != null && fechaInicio.isAfter(fechaFin)) {
+            throw new IllegalArgumentException("La fecha de inicio no puede ser posterior a la fecha de fin");
+        }
+        if (analitica == null) {
+            throw new IllegalStateException("la analítica está deshabilitada");
+        }
+        Set<DimensionAnalitica> dimensiones = agrupacion == null || agrupacion.isEmpty()
+                ? EnumSet.noneOf(DimensionAnalitica.class) : EnumSet.copyOf(agrupacion);
+        logger.info("Consulta analítica agrupada por {} entre {} y {}", dimensiones, fechaInicio, fechaFin);
+
+        List<AgregadoMovimientosDTO> grupos = analitica.agregar(
+                        new ConsultaAnalitica(fechaInicio, fechaFin, cuentaId, tipoMovimiento, tipoCuenta, dimensiones))
+                .stream()
+                .map(agregado -> new AgregadoMovimientosDTO(agregado.cuentaId(), agregado.mes(), agregado.tipoCuenta(),
+                        agregado.tipoMovimiento(), agregado.cantidad(), agregado.total(), agregado.promedio(),
+                        agregado.minimo(), agregado.maximo()))
+                .toList();
+        return new AnaliticaDTO(analitica.getFechaCarga(), analitica.getFilas(), grupos);
+    }
+}
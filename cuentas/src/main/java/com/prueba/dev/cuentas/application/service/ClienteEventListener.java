@@ -0,0 +1,44 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.config.RabbitConfig;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
+import com.prueba.dev.eventos.ClienteEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener para eventos de clientes desde el microservicio de clientes.
+ * Mantiene al día la réplica local de clientes.
+ */
+@Component
+public class ClienteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteEventListener.class);
+
+    private final DirectorioClientesPort directorioClientes;
+
+    public ClienteEventListener(DirectorioClientesPort directorioClientes) {
+        this.directorioClientes = directorioClientes;
+    }
+
+    /**
+     * Aplica un evento de cliente a la réplica.
+     * @param event El evento recibido.
+     */
+    @RabbitListener(queues = RabbitConfig.CLIENTE_EVENTOS_QUEUE_NAME)
+    public void handleClienteEvent(ClienteEvent event) {
+        logger.debug("Recibido evento de cliente {} para cliente ID {}", event.getTipo(), event.getClienteId());
+        if (event.getClienteId() == null) {
+            logger.warn("Evento de cliente {} sin ID descartado", event.getTipo());
+            return;
+        }
+        if (ClienteEvent.ELIMINADO.equals(event.getTipo())) {
+            directorioClientes.eliminar(event.getClienteId());
+        } else {
+            directorioClientes.registrar(new ClienteReplicado(event.getClienteId(), event.getNombre(), event.getEstado()));
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.prueba.dev.cuentas.application.service;
 
-import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
 import com.prueba.dev.cuentas.application.dto.CuentaDTO;
 import com.prueba.dev.cuentas.application.dto.EstadoCuentaDTO;
+import com.prueba.dev.cuentas.application.dto.EstadoCuentaResumidoDTO;
 import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
-import com.prueba.dev.cuentas.application.dto.event.CuentaCreadaEvent;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.TransferenciaDTO;
+import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
+import com.prueba.dev.cuentas.application.dto.request.TransferenciaRequest;
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
 import com.prueba.dev.cuentas.domain.service.CuentaService;
+import com.prueba.dev.cuentas.domain.service.ResumenDiarioService;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,20 +40,32 @@ public class CuentaApplicationService {
     private static final Logger logger = LoggerFactory.getLogger(CuentaApplicationService.class);
 
     private final CuentaService cuentaService;
-    private final RabbitTemplate rabbitTemplate;
+    private final ResumenDiarioService resumenDiarioService;
+    private final OutboxService outboxService;
+    private final DirectorioClientesPort directorioClientes;
+    private final boolean validarClientes;
 
-    public CuentaApplicationService(CuentaService cuentaService, RabbitTemplate rabbitTemplate) {
+    public CuentaApplicationService(CuentaService cuentaService, ResumenDiarioService resumenDiarioService,
+                                    OutboxService outboxService, DirectorioClientesPort directorioClientes,
+                                    @Value("${cuentas.clientes.validar:false}") boolean validarClientes) {
         this.cuentaService = cuentaService;
-        this.rabbitTemplate = rabbitTemplate;
+        this.resumenDiarioService = resumenDiarioService;
+        this.outboxService = outboxService;
+        this.directorioClientes = directorioClientes;
+        this.validarClientes = validarClientes;
     }
 
     /**
      * Crea una nueva cuenta.
+     * Con cuentas.clientes.validar=true, el cliente debe estar activo en la réplica local.
      * @param request La solicitud con los datos de la cuenta.
      * @return La respuesta con la cuenta creada.
      */
     public CuentaDTO createCuenta(CuentaRequest request) {
         logger.info("Creando cuenta para cliente ID: {}", request.getClienteId());
+        if (validarClientes) {
+            validarCliente(request.getClienteId());
+        }
 
         Cuenta cuenta = new Cuenta(
                 request.getClienteId(),
@@ -56,12 +79,12 @@ public class CuentaApplicationService {
         Cuenta savedCuenta = cuentaService.createCuenta(cuenta);
         logger.info("Cuenta creada exitosamente con ID: {}", savedCuenta.getId());
 
-        // Enviar evento asíncrono al microservicio de clientes
+        // Evento asíncrono al microservicio de clientes: se registra en el outbox y el relay lo publica al confirmar
         CuentaCreadaEvent event = new CuentaCreadaEvent(savedCuenta.getClienteId(), savedCuenta.getId(), savedCuenta.getNumeroCuenta());
-        rabbitTemplate.convertAndSend("cliente.exchange", "cliente.routingkey", event);
-        logger.info("Evento de cuenta creada enviado para cliente ID: {}", savedCuenta.getClienteId());
+        outboxService.registrar("cliente.exchange", "cliente.routingkey", event);
+        logger.info("Evento de cuenta creada registrado para cliente ID: {}", savedCuenta.getClienteId());
 
-        return new CuentaDTO(
+        return conCliente(new CuentaDTO(
                 savedCuenta.getId(),
                 savedCuenta.getClienteId(),
                 savedCuenta.getNumeroCuenta(),
@@ -69,7 +92,7 @@ public class CuentaApplicationService {
                 savedCuenta.getSaldoInicial(),
                 savedCuenta.getEstado(),
                 savedCuenta.getSaldo()
-        );
+        ));
     }
 
     /**
@@ -81,7 +104,7 @@ public class CuentaApplicationService {
     public CuentaDTO getCuentaById(Long id) {
         logger.info("Obteniendo cuenta con ID: {}", id);
         Cuenta cuenta = cuentaService.getCuentaById(id);
-        return new CuentaDTO(
+        return conCliente(new CuentaDTO(
                 cuenta.getId(),
                 cuenta.getClienteId(),
                 cuenta.getNumeroCuenta(),
@@ -89,28 +112,30 @@ public class CuentaApplicationService {
                 cuenta.getSaldoInicial(),
                 cuenta.getEstado(),
                 cuenta.getSaldo()
-        );
+        ));
     }
 
     /**
-     * Obtiene todas las cuentas.
-     * @return Lista de cuentas.
+     * Obtiene una página de cuentas ordenadas por ID.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de cuentas por página, o null para el valor por defecto.
+     * @return La página de cuentas con el cursor de la siguiente.
      */
     @Transactional(readOnly = true)
-    public List<CuentaDTO> getAllCuentas() {
-        logger.info("Obteniendo todas las cuentas");
-        List<Cuenta> cuentas = cuentaService.getAllCuentas();
-        return cuentas.stream()
-                .map(cuenta -> new CuentaDTO(
-                        cuenta.getId(),
-                        cuenta.getClienteId(),
-                        cuenta.getNumeroCuenta(),
-                        cuenta.getTipoCuenta(),
-                        cuenta.getSaldoInicial(),
-                        cuenta.getEstado(),
-                        cuenta.getSaldo()
-                ))
-                .collect(Collectors.toList());
+    public PaginaDTO<CuentaDTO> getCuentas(String cursor, Integer limite) {
+        int tamanio = CursorPaginacion.limite(limite);
+        Long despuesDeId = CursorPaginacion.aCuenta(cursor);
+        logger.info("Obteniendo página de {} cuentas posteriores a ID: {}", tamanio, despuesDeId);
+        List<Cuenta> cuentas = cuentaService.getCuentasPagina(despuesDeId, tamanio + 1);
+        return CursorPaginacion.pagina(cuentas, tamanio, cuenta -> conCliente(new CuentaDTO(
+                cuenta.getId(),
+                cuenta.getClienteId(),
+                cuenta.getNumeroCuenta(),
+                cuenta.getTipoCuenta(),
+                cuenta.getSaldoInicial(),
+                cuenta.getEstado(),
+                cuenta.getSaldo()
+        )), CursorPaginacion::deCuenta);
     }
 
     /**
@@ -123,7 +148,7 @@ public class CuentaApplicationService {
         logger.info("Obteniendo cuentas para cliente ID: {}", clienteId);
         List<Cuenta> cuentas = cuentaService.getCuentasByClienteId(clienteId);
         return cuentas.stream()
-                .map(cuenta -> new CuentaDTO(
+                .map(cuenta -> conCliente(new CuentaDTO(
                         cuenta.getId(),
                         cuenta.getClienteId(),
                         cuenta.getNumeroCuenta(),
@@ -131,7 +156,7 @@ public class CuentaApplicationService {
                         cuenta.getSaldoInicial(),
                         cuenta.getEstado(),
                         cuenta.getSaldo()
-                ))
+                )))
                 .collect(Collectors.toList());
     }
 
@@ -151,7 +176,7 @@ public class CuentaApplicationService {
         Cuenta updatedCuenta = cuentaService.updateCuenta(id, cuenta);
         logger.info("Cuenta actualizada exitosamente con ID: {}", updatedCuenta.getId());
 
-        return new CuentaDTO(
+        return conCliente(new CuentaDTO(
                 updatedCuenta.getId(),
                 updatedCuenta.getClienteId(),
                 updatedCuenta.getNumeroCuenta(),
@@ -159,7 +184,7 @@ public class CuentaApplicationService {
                 updatedCuenta.getSaldoInicial(),
                 updatedCuenta.getEstado(),
                 updatedCuenta.getSaldo()
-        );
+        ));
     }
 
     /**
@@ -178,6 +203,8 @@ public class CuentaApplicationService {
      * @param valor El valor a depositar.
      * @return El movimiento creado.
      */
+    // Un rechazo no deja escrituras propias, pero la transacción puede estar confirmando el grupo de otros posteos
+    @Transactional(noRollbackFor = {SaldoInsuficienteException.class, CuentaNotFoundException.class})
     public MovimientoDTO depositar(Long cuentaId, BigDecimal valor) {
         logger.info("Depositando {} en cuenta ID: {}", valor, cuentaId);
         var movimiento = cuentaService.depositar(cuentaId, valor);
@@ -197,6 +224,8 @@ public class CuentaApplicationService {
      * @param valor El valor a retirar.
      * @return El movimiento creado.
      */
+    // Un rechazo no deja escrituras propias, pero la transacción puede estar confirmando el grupo de otros posteos
+    @Transactional(noRollbackFor = {SaldoInsuficienteException.class, CuentaNotFoundException.class})
     public MovimientoDTO retirar(Long cuentaId, BigDecimal valor) {
         logger.info("Retirando {} de cuenta ID: {}", valor, cuentaId);
         var movimiento = cuentaService.retirar(cuentaId, valor);
@@ -210,6 +239,30 @@ public class CuentaApplicationService {
         );
     }
 
+    /**
+     * Transfiere un valor entre dos cuentas de forma atómica.
+     * @param request La solicitud con las cuentas y el valor.
+     * @return La transferencia con sus dos movimientos.
+     */
+    public TransferenciaDTO transferir(TransferenciaRequest request) {
+        logger.info("Transfiriendo {} de cuenta ID: {} a cuenta ID: {}", request.getValor(), request.getCuentaOrigenId(), request.getCuentaDestinoId());
+        List<Movimiento> movimientos = cuentaService.transferir(request.getCuentaOrigenId(), request.getCuentaDestinoId(), request.getValor());
+        Movimiento debito = movimientos.get(0);
+        Movimiento credito = movimientos.get(1);
+        return new TransferenciaDTO(debito.getTransferenciaId(), aMovimientoDTO(debito), aMovimientoDTO(credito));
+    }
+
+    private MovimientoDTO aMovimientoDTO(Movimiento movimiento) {
+        return new MovimientoDTO(
+                movimiento.getId(),
+                movimiento.getCuentaId(),
+                movimiento.getFecha(),
+                movimiento.getTipoMovimiento(),
+                movimiento.getValor(),
+                movimiento.getSaldo()
+        );
+    }
+
     /**
      * Genera el estado de cuenta para un cliente.
      * @param clienteId El ID del cliente.
@@ -217,8 +270,53 @@ public class CuentaApplicationService {
      * @param fechaFin Fecha de fin.
      * @return El estado de cuenta.
      */
+    @Transactional(readOnly = true)
     public EstadoCuentaDTO getEstadoCuenta(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin) {
         logger.info("Generando estado de cuenta para cliente ID: {}", clienteId);
-        return cuentaService.getEstadoCuenta(clienteId, fechaInicio, fechaFin);
+        EstadoCuentaDTO estadoCuenta = cuentaService.getEstadoCuenta(clienteId, fechaInicio, fechaFin);
+        directorioClientes.buscar(clienteId).ifPresent(cliente -> {
+            estadoCuenta.setClienteNombre(cliente.nombre());
+            estadoCuenta.setClienteEstado(cliente.estado());
+        });
+        return estadoCuenta;
+    }
+
+    /**
+     * Genera el estado de cuenta de un cliente agregado por día o por mes.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio.
+     * @param fechaFin Fecha de fin.
+     * @param agrupacion El periodo de agrupación.
+     * @return El estado de cuenta resumido.
+     */
+    @Transactional(readOnly = true)
+    public EstadoCuentaResumidoDTO getEstadoCuentaResumido(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin,
+                                                           AgrupacionResumen agrupacion) {
+        logger.info("Generando estado de cuenta resumido para cliente ID: {}", clienteId);
+        EstadoCuentaResumidoDTO estadoCuenta = resumenDiarioService.getEstadoCuentaResumido(clienteId, fechaInicio, fechaFin, agrupacion);
+        directorioClientes.buscar(clienteId).ifPresent(cliente -> {
+            estadoCuenta.setClienteNombre(cliente.nombre());
+            estadoCuenta.setClienteEstado(cliente.estado());
+        });
+        return estadoCuenta;
+    }
+
+    private void validarCliente(Long clienteId) {
+        if (!directorioClientes.isCargado()) {
+            throw new IllegalStateException("La réplica de clientes aún no está cargada");
+        }
+        ClienteReplicado cliente = directorioClientes.buscar(clienteId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado con ID: " + clienteId));
+        if (!cliente.activo()) {
+            throw new IllegalArgumentException("El cliente con ID " + clienteId + " está " + cliente.estado());
+        }
+    }
+
+    private CuentaDTO conCliente(CuentaDTO cuenta) {
+        directorioClientes.buscar(cuenta.getClienteId()).ifPresent(cliente -> {
+            cuenta.setClienteNombre(cliente.nombre());
+            cuenta.setClienteEstado(cliente.estado());
+        });
+        return cuenta;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.CuentaDTO;
+import com.prueba.dev.cuentas.application.dto.EstadoCuentaResumidoDTO;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.TransferenciaDTO;
+import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
+import com.prueba.dev.cuentas.application.dto.request.TransferenciaRequest;
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryReactivoPort;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Servicio de aplicación de cuentas para la pila reactiva.
+ * Las lecturas van por {@link CuentaRepositoryReactivoPort} sin ocupar hilos mientras
+ * esperan a la base de datos. Las escrituras delegan en {@link CuentaApplicationService}
+ * sobre el scheduler boundedElastic: el posteo necesita su transacción JPA, los
+ * bloqueos por cuenta y el outbox, y reescribirlo en R2DBC duplicaría esas reglas.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CuentaReactivoApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaReactivoApplicationService.class);
+
+    // Filas del estado de cuenta que se serializan juntas en un fragmento de la respuesta
+    private static final int FILAS_POR_FRAGMENTO = 256;
+
+    private final CuentaRepositoryReactivoPort cuentaRepository;
+    private final CuentaApplicationService cuentaApplicationService;
+    private final IdempotenciaService idempotenciaService;
+    private final DirectorioClientesPort directorioClientes;
+    private final ObjectMapper objectMapper;
+
+    public CuentaReactivoApplicationService(CuentaRepositoryReactivoPort cuentaRepository,
+                                            CuentaApplicationService cuentaApplicationService,
+                                            IdempotenciaService idempotenciaService,
+                                            DirectorioClientesPort directorioClientes, ObjectMapper objectMapper) {
+        this.cuentaRepository = cuentaRepository;
+        this.cuentaApplicationService = cuentaApplicationService;
+        this.idempotenciaService = idempotenciaService;
+        this.directorioClientes = directorioClientes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Crea una nueva cuenta.
+     * @param request La solicitud con los datos de la cuenta.
+     * @return La cuenta creada.
+     */
+    public Mono<CuentaDTO> createCuenta(CuentaRequest request) {
+        return bloqueante(() -> cuentaApplicationService.createCuenta(request));
+    }
+
+    /**
+     * Obtiene una cuenta por su ID.
+     * @param id El ID de la cuenta.
+     * @return La cuenta, o error CuentaNotFoundException si no existe.
+     */
+    public Mono<CuentaDTO> getCuentaById(Long id) {
+        logger.info("Obteniendo cuenta con ID: {}", id);
+        return cuentaRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + id)))
+                .map(this::aCuentaDTO);
+    }
+
+    /**
+     * Obtiene una página de cuentas ordenadas por ID.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de cuentas por página, o null para el valor por defecto.
+     * @return La página de cuentas con el cursor de la siguiente.
+     */
+    public Mono<PaginaDTO<CuentaDTO>> getCuentas(String cursor, Integer limite) {
+        return Mono.defer(() -> {
+            int tamanio = CursorPaginacion.limite(limite);
+            Long despuesDeId = CursorPaginacion.aCuenta(cursor);
+            logger.info("Obteniendo página de {} cuentas posteriores a ID: {}", tamanio, despuesDeId);
+            return cuentaRepository.findPagina(despuesDeId, tamanio + 1)
+                    .collectList()
+                    .map(cuentas -> CursorPaginacion.pagina(cuentas, tamanio, this::aCuentaDTO, CursorPaginacion::deCuenta));
+        });
+    }
+
+    /**
+     * Obtiene las cuentas de un cliente.
+     * @param clienteId El ID del cliente.
+     * @return Las cuentas del cliente, emitidas según la demanda.
+     */
+    public Flux<CuentaDTO> getCuentasByClienteId(Long clienteId) {
+        logger.info("Obteniendo cuentas para cliente ID: {}", clienteId);
+        return cuentaRepository.findByClienteId(clienteId).map(this::aCuentaDTO);
+    }
+
+    /**
+     * Actualiza una cuenta existente.
+     * @param id El ID de la cuenta a actualizar.
+     * @param request La solicitud con los nuevos datos.
+     * @return La cuenta actualizada.
+     */
+    public Mono<CuentaDTO> updateCuenta(Long id, CuentaRequest request) {
+        return bloqueante(() -> cuentaApplicationService.updateCuenta(id, request));
+    }
+
+    /**
+     * Elimina una cuenta por su ID.
+     * @param id El ID de la cuenta a eliminar.
+     * @return Completa al eliminarse la cuenta.
+     */
+    public Mono<Void> deleteCuenta(Long id) {
+        return bloqueante(() -> {
+            cuentaApplicationService.deleteCuenta(id);
+            return null;
+        }).then();
+    }
+
+    /**
+     * Realiza un depósito en una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param valor El valor a depositar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return El movimiento creado.
+     */
+    public Mono<MovimientoDTO> depositar(Long cuentaId, BigDecimal valor, String idempotencyKey) {
+        return bloqueante(() -> idempotenciaService.ejecutar(idempotencyKey, "DEPOSITO", huella(cuentaId, valor),
+                MovimientoDTO.class, () -> cuentaApplicationService.depositar(cuentaId, valor)));
+    }
+
+    /**
+     * Realiza un retiro de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param valor El valor a retirar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return El movimiento creado.
+     */
+    public Mono<MovimientoDTO> retirar(Long cuentaId, BigDecimal valor, String idempotencyKey) {
+        return bloqueante(() -> idempotenciaService.ejecutar(idempotencyKey, "RETIRO", huella(cuentaId, valor),
+                MovimientoDTO.class, () -> cuentaApplicationService.retirar(cuentaId, valor)));
+    }
+
+    /**
+     * Transfiere un valor entre dos cuentas de forma atómica.
+     * @param request La solicitud con las cuentas y el valor.
+     * @return La transferencia con sus dos movimientos.
+     */
+    public Mono<TransferenciaDTO> transferir(TransferenciaRequest request) {
+        return bloqueante(() -> cuentaApplicationService.transferir(request));
+    }
+
+    /**
+     * Genera el estado de cuenta resumido por día o por mes desde el resumen diario.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio.
+     * @param fechaFin Fecha de fin.
+     * @param agrupacion El periodo de agrupación.
+     * @return El estado de cuenta resumido.
+     */
+    public Mono<EstadoCuentaResumidoDTO> getEstadoCuentaResumido(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin,
+                                                                 AgrupacionResumen agrupacion) {
+        return bloqueante(() -> cuentaApplicationService.getEstadoCuentaResumido(clienteId, fechaInicio, fechaFin, agrupacion));
+    }
+
+    /**
+     * Genera el estado de cuenta de un cliente como fragmentos del JSON.
+     * El JSON tiene la misma forma que el reporte por streaming de la pila servlet.
+     * Las filas se piden a la base de datos a medida que el cliente HTTP consume los
+     * fragmentos, así que un cliente lento frena la lectura en lugar de acumular filas.
+     * Si la consulta falla antes del primer fragmento, el error llega antes de escribir nada.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio del rango.
+     * @param fechaFin Fecha de fin del rango.
+     * @param buffers Fábrica de buffers de la respuesta.
+     * @return Los fragmentos del reporte en orden.
+     */
+    public Flux<DataBuffer> escribirEstadoCuenta(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin,
+                                                 DataBufferFactory buffers) {
+        return Flux.defer(() -> {
+            ReporteFragmentado reporte;
+            try {
+                reporte = new ReporteFragmentado(clienteId, directorioClientes.buscar(clienteId).orElse(null));
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            return cuentaRepository.streamEstadoCuenta(clienteId, fechaInicio.atStartOfDay(), fechaFin.atTime(LocalTime.MAX))
+                    .buffer(FILAS_POR_FRAGMENTO)
+                    .map(filas -> reporte.escribir(filas, buffers))
+                    .concatWith(Mono.fromCallable(() -> reporte.terminar(buffers)))
+                    .doOnComplete(() -> logger.info("Estado de cuenta de cliente ID: {} escrito: {} cuentas, {} movimientos",
+                            clienteId, reporte.escritor.getCuentas(), reporte.escritor.getMovimientos()));
+        });
+    }
+
+    private CuentaDTO aCuentaDTO(Cuenta cuenta) {
+        CuentaDTO dto = new CuentaDTO(
+                cuenta.getId(),
+                cuenta.getClienteId(),
+                cuenta.getNumeroCuenta(),
+                cuenta.getTipoCuenta(),
+                cuenta.getSaldoInicial(),
+                cuenta.getEstado(),
+                cuenta.getSaldo()
+        );
+        directorioClientes.buscar(cuenta.getClienteId()).ifPresent(cliente -> {
+            dto.setClienteNombre(cliente.nombre());
+            dto.setClienteEstado(cliente.estado());
+        });
+        return dto;
+    }
+
+    private static String huella(Long cuentaId, BigDecimal valor) {
+        return cuentaId + ":" + valor.stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Ejecuta una operación bloqueante fuera de los hilos de eventos de Netty.
+     */
+    static <T> Mono<T> bloqueante(Callable<T> operacion) {
+        return Mono.fromCallable(operacion).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Estado de un reporte en curso: el generador escribe en un arreglo que se vacía
+     * en un buffer nuevo después de cada grupo de filas.
+     */
+    private final class ReporteFragmentado {
+
+        private final ByteArrayOutputStream pendiente = new ByteArrayOutputStream(16 * 1024);
+        private final JsonGenerator generador;
+        private final EscritorEstadoCuenta escritor;
+
+        ReporteFragmentado(Long clienteId, ClienteReplicado cliente) throws IOException {
+            this.generador = objectMapper.getFactory().createGenerator(pendiente, JsonEncoding.UTF8);
+            this.escritor = new EscritorEstadoCuenta(generador, clienteId, cliente);
+        }
+
+        DataBuffer escribir(List<FilaEstadoCuenta> filas, DataBufferFactory buffers) {
+            try {
+                for (FilaEstadoCuenta fila : filas) {
+                    escritor.escribir(fila);
+                }
+                return vaciar(buffers);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo escribir el estado de cuenta", e);
+            }
+        }
+
+        DataBuffer terminar(DataBufferFactory buffers) throws IOException {
+            escritor.terminar();
+            generador.close();
+            return vaciar(buffers);
+        }
+
+        private DataBuffer vaciar(DataBufferFactory buffers) throws IOException {
+            generador.flush();
+            DataBuffer buffer = buffers.wrap(pendiente.toByteArray());
+            pendiente.reset();
+            return buffer;
+        }
+    }
+}
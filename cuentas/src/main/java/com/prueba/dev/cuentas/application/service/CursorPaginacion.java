@@ -0,0 +1,128 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cursores opacos para la paginación por keyset.
+ * El cursor guarda la clave de orden del último elemento entregado, de modo que la
+ * página siguiente se obtiene con una búsqueda por índice en lugar de OFFSET.
+ */
+final class CursorPaginacion {
+
+    static final int LIMITE_POR_DEFECTO = 50;
+    static final int LIMITE_MAXIMO = 500;
+
+    private static final String PREFIJO_MOVIMIENTO = "m";
+    private static final String PREFIJO_CUENTA = "c";
+    private static final String SEPARADOR = "|";
+
+    private CursorPaginacion() {}
+
+    /**
+     * Posición de un movimiento en el orden (fecha, ID) descendente.
+     */
+    record PosicionMovimiento(LocalDateTime fecha, Long id) {}
+
+    /**
+     * Normaliza el límite pedido por el cliente.
+     * @param solicitado El límite pedido, o null.
+     * @return El límite a usar, como máximo {@link #LIMITE_MAXIMO}.
+     */
+    static int limite(Integer solicitado) {
+        if (solicitado == null) {
+            return LIMITE_POR_DEFECTO;
+        }
+        if (solicitado < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor a cero");
+        }
+        return Math.min(solicitado, LIMITE_MAXIMO);
+    }
+
+    static String deMovimiento(Movimiento movimiento) {
+        return codificar(PREFIJO_MOVIMIENTO + SEPARADOR + movimiento.getFecha() + SEPARADOR + movimiento.getId());
+    }
+
+    static String deCuenta(Cuenta cuenta) {
+        return codificar(PREFIJO_CUENTA + SEPARADOR + cuenta.getId());
+    }
+
+    /**
+     * Lee un cursor de movimientos.
+     * @param cursor El cursor recibido, o null para la primera página.
+     * @return La posición del último movimiento entregado, o null.
+     */
+    static PosicionMovimiento aMovimiento(String cursor) {
+        String[] partes = decodificar(cursor, PREFIJO_MOVIMIENTO, 3);
+        if (partes == null) {
+            return null;
+        }
+        try {
+            return new PosicionMovimiento(LocalDateTime.parse(partes[1]), Long.valueOf(partes[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Lee un cursor de cuentas.
+     * @param cursor El cursor recibido, o null para la primera página.
+     * @return El ID de la última cuenta entregada, o null.
+     */
+    static Long aCuenta(String cursor) {
+        String[] partes = decodificar(cursor, PREFIJO_CUENTA, 2);
+        if (partes == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(partes[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas.
+     * Se leen limite + 1 filas: si llega la fila extra, hay página siguiente.
+     * @param filas Las filas leídas, hasta limite + 1.
+     * @param limite El tamaño de la página.
+     * @param aDTO Conversión de cada fila.
+     * @param cursor Cursor de una fila.
+     * @return La página con el cursor de la siguiente, o null si es la última.
+     */
+    static <E, T> PaginaDTO<T> pagina(List<E> filas, int limite, Function<E, T> aDTO, Function<E, String> cursor) {
+        boolean haySiguiente = filas.size() > limite;
+        List<E> pagina = haySiguiente ? filas.subList(0, limite) : filas;
+        String siguiente = haySiguiente ? cursor.apply(pagina.get(pagina.size() - 1)) : null;
+        return new PaginaDTO<>(pagina.stream().map(aDTO).collect(Collectors.toList()), siguiente, limite);
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificar(String cursor, String prefijo, int partesEsperadas) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        if (partes.length != partesEsperadas || !prefijo.equals(partes[0])) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        return partes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.prueba.dev.cuentas.application.dto.CuentaDTO;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+
+import java.io.IOException;
+
+/**
+ * Escribe el JSON del estado de cuenta fila por fila, agrupando por cuenta.
+ * Lo comparten el reporte por streaming de la pila servlet y el de la pila reactiva,
+ * para que ambos produzcan exactamente la misma forma: GenericResponse con un
+ * EstadoCuentaDTO en data.
+ */
+final class EscritorEstadoCuenta {
+
+    private final JsonGenerator generador;
+    private Long cuentaActual;
+    private int cuentas;
+    private long movimientos;
+
+    /**
+     * Escribe el encabezado del reporte.
+     * @param generador El generador JSON de destino; no se cierra.
+     * @param clienteId El ID del cliente.
+     * @param cliente El cliente en la réplica local, o null si no se conoce.
+     * @throws IOException Si falla la escritura.
+     */
+    EscritorEstadoCuenta(JsonGenerator generador, Long clienteId, ClienteReplicado cliente) throws IOException {
+        this.generador = generador;
+        generador.writeStartObject();
+        generador.writeBooleanField("status", true);
+        generador.writeObjectFieldStart("data");
+        generador.writeNumberField("clienteId", clienteId);
+        if (cliente != null) {
+            generador.writeStringField("clienteNombre", cliente.nombre());
+            generador.writeStringField("clienteEstado", cliente.estado());
+        }
+        generador.writeArrayFieldStart("cuentas");
+    }
+
+    /**
+     * Escribe una fila; las filas deben llegar ordenadas por cuenta.
+     * @param fila La fila del estado de cuenta.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribir(FilaEstadoCuenta fila) throws IOException {
+        if (!fila.cuentaId().equals(cuentaActual)) {
+            if (cuentaActual != null) {
+                cerrarCuenta();
+            }
+            abrirCuenta(fila);
+            cuentaActual = fila.cuentaId();
+            cuentas++;
+        }
+        if (fila.tieneMovimiento()) {
+            generador.writeObject(new MovimientoDTO(fila.movimientoId(), fila.cuentaId(), fila.fecha(),
+                    fila.tipoMovimiento(), fila.valor(), fila.saldo()));
+            movimientos++;
+        }
+    }
+
+    /**
+     * Cierra la última cuenta y el reporte.
+     * @throws IOException Si falla la escritura.
+     */
+    void terminar() throws IOException {
+        if (cuentaActual != null) {
+            cerrarCuenta();
+        }
+        generador.writeEndArray();
+        generador.writeEndObject();
+        generador.writeEndObject();
+    }
+
+    int getCuentas() {
+        return cuentas;
+    }
+
+    long getMovimientos() {
+        return movimientos;
+    }
+
+    private void abrirCuenta(FilaEstadoCuenta fila) throws IOException {
+        generador.writeStartObject();
+        generador.writeFieldName("cuenta");
+        generador.writeObject(new CuentaDTO(fila.cuentaId(), fila.clienteId(), fila.numeroCuenta(), fila.tipoCuenta(),
+                fila.saldoInicial(), fila.estado(), fila.saldoActual()));
+        generador.writeArrayFieldStart("movimientos");
+    }
+
+    private void cerrarCuenta() throws IOException {
+        generador.writeEndArray();
+        generador.writeEndObject();
+    }
+}
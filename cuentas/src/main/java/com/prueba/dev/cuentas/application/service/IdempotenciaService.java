@@ -0,0 +1,202 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.RegistroIdempotencia;
+import com.prueba.dev.cuentas.domain.port.IdempotenciaRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de aplicación para operaciones idempotentes con Idempotency-Key.
+ * Un reintento con la misma clave devuelve la respuesta original sin volver a
+ * ejecutar el posteo ni tomar bloqueos: primero se busca en una caché acotada
+ * en memoria y luego en la tabla de deduplicación. La primera ejecución inserta
+ * el registro antes de postear y en la misma transacción, de modo que dos
+ * solicitudes simultáneas con la misma clave no pueden postear ambas.
+ */
+@Service
+public class IdempotenciaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaService.class);
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 100;
+    private static final long PURGA_CADA_FALLOS = 1000;
+
+    private final IdempotenciaRepositoryPort idempotenciaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Map<String, Entrada> cache;
+    private final Counter aciertosMemoria;
+    private final Counter aciertosBaseDatos;
+    private final Counter fallos;
+    private final AtomicLong fallosDesdePurga = new AtomicLong();
+
+    public IdempotenciaService(IdempotenciaRepositoryPort idempotenciaRepository, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${cuentas.idempotencia.ttl:24h}") Duration ttl,
+                               @Value("${cuentas.idempotencia.capacidad-cache:10000}") int capacidadCache) {
+        this.idempotenciaRepository = idempotenciaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        // LRU acotado: las claves menos usadas salen de memoria y siguen disponibles en la tabla
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > capacidadCache;
+            }
+        };
+        this.aciertosMemoria = Counter.builder("cuentas.idempotencia.solicitudes")
+                .description("Solicitudes con Idempotency-Key").tag("resultado", "acierto_memoria").register(meterRegistry);
+        this.aciertosBaseDatos = Counter.builder("cuentas.idempotencia.solicitudes")
+                .description("Solicitudes con Idempotency-Key").tag("resultado", "acierto_bd").register(meterRegistry);
+        this.fallos = Counter.builder("cuentas.idempotencia.solicitudes")
+                .description("Solicitudes con Idempotency-Key").tag("resultado", "fallo").register(meterRegistry);
+        meterRegistry.gauge("cuentas.idempotencia.cache.tamanio", cache, this::tamanioCache);
+    }
+
+    /**
+     * Ejecuta una operación una sola vez por Idempotency-Key.
+     * Sin clave, la operación se ejecuta directamente. Las operaciones que fallan
+     * no se registran: un reintento con la misma clave vuelve a intentarlo.
+     * @param clave El Idempotency-Key enviado por el cliente, o null.
+     * @param operacion El nombre de la operación.
+     * @param huella Resumen de los parámetros de la solicitud.
+     * @param tipo El tipo de la respuesta.
+     * @param accion La operación a ejecutar.
+     * @return La respuesta de la operación, original si la clave ya se había usado.
+     */
+    public <T> T ejecutar(String clave, String operacion, String huella, Class<T> tipo, Supplier<T> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+        if (clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new IllegalArgumentException("El Idempotency-Key no puede exceder " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+
+        Entrada entrada;
+        synchronized (cache) {
+            entrada = cache.get(clave);
+        }
+        if (entrada != null && !entrada.fechaExpiracion.isBefore(ahora)) {
+            aciertosMemoria.increment();
+            return responder(clave, entrada, operacion, huella, tipo);
+        }
+
+        Optional<RegistroIdempotencia> existente = idempotenciaRepository.findByClave(clave);
+        if (existente.isPresent() && existente.get().getRespuesta() != null && !existente.get().expirado(ahora)) {
+            aciertosBaseDatos.increment();
+            return responder(clave, cachear(existente.get()), operacion, huella, tipo);
+        }
+
+        fallos.increment();
+        try {
+            AtomicReference<RuntimeException> rechazo = new AtomicReference<>();
+            T resultado = transactionTemplate.execute(status -> {
+                if (existente.isPresent()) {
+                    idempotenciaRepository.deleteByClave(clave);
+                }
+                idempotenciaRepository.insertar(new RegistroIdempotencia(clave, operacion, huella, ahora.plus(ttl)));
+                T valor;
+                try {
+                    valor = accion.get();
+                } catch (SaldoInsuficienteException | CuentaNotFoundException e) {
+                    // Los rechazos no revierten la transacción (puede confirmar un grupo de posteos): se libera la clave
+                    idempotenciaRepository.deleteByClave(clave);
+                    rechazo.set(e);
+                    return null;
+                }
+                idempotenciaRepository.registrarRespuesta(clave, escribir(valor));
+                return valor;
+            });
+            if (rechazo.get() != null) {
+                throw rechazo.get();
+            }
+            synchronized (cache) {
+                cache.put(clave, new Entrada(operacion, huella, escribir(resultado), ahora.plus(ttl)));
+            }
+            purgarSiCorresponde(ahora);
+            return resultado;
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud con la misma clave se confirmó primero: se devuelve su respuesta
+            logger.info("Idempotency-Key {} registrada por una solicitud concurrente", clave);
+            RegistroIdempotencia original = idempotenciaRepository.findByClave(clave)
+                    .filter(registro -> registro.getRespuesta() != null)
+                    .orElseThrow(() -> new IllegalStateException("Hay una solicitud en curso con el Idempotency-Key " + clave));
+            aciertosBaseDatos.increment();
+            return responder(clave, cachear(original), operacion, huella, tipo);
+        }
+    }
+
+    private <T> T responder(String clave, Entrada entrada, String operacion, String huella, Class<T> tipo) {
+        if (!entrada.operacion.equals(operacion) || !entrada.huella.equals(huella)) {
+            throw new IllegalArgumentException("El Idempotency-Key " + clave + " ya se usó con otra solicitud");
+        }
+        logger.info("Respuesta original devuelta para Idempotency-Key {}", clave);
+        try {
+            return objectMapper.readValue(entrada.respuesta, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta registrada para el Idempotency-Key " + clave, e);
+        }
+    }
+
+    private Entrada cachear(RegistroIdempotencia registro) {
+        Entrada entrada = new Entrada(registro.getOperacion(), registro.getHuella(), registro.getRespuesta(), registro.getFechaExpiracion());
+        synchronized (cache) {
+            cache.put(registro.getClave(), entrada);
+        }
+        return entrada;
+    }
+
+    private String escribir(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo registrar la respuesta idempotente", e);
+        }
+    }
+
+    private void purgarSiCorresponde(LocalDateTime ahora) {
+        if (fallosDesdePurga.incrementAndGet() % PURGA_CADA_FALLOS != 0) {
+            return;
+        }
+        try {
+            Integer eliminados = transactionTemplate.execute(status -> idempotenciaRepository.deleteExpirados(ahora));
+            logger.info("Registros de idempotencia expirados eliminados: {}", eliminados);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron purgar los registros de idempotencia expirados: {}", e.getMessage());
+        }
+    }
+
+    private double tamanioCache(Map<String, Entrada> cache) {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Respuesta registrada en memoria para una clave.
+     */
+    private record Entrada(String operacion, String huella, String respuesta, LocalDateTime fechaExpiracion) {}
+}
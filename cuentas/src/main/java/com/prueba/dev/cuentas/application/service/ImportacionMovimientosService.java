@@ -0,0 +1,363 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.prueba.dev.cuentas.application.dto.ImportacionDTO;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoHistoricoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de aplicación para importar movimientos históricos por streaming.
+ * Lee NDJSON o CSV fila a fila, valida cada fila contra las restricciones de
+ * Movimiento e inserta por tramos con INSERT por lotes, de modo que la memoria
+ * no depende del tamaño del archivo. El saldo de cada cuenta se actualiza una
+ * sola vez al final de la importación.
+ */
+@Service
+public class ImportacionMovimientosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionMovimientosService.class);
+
+    public static final String FORMATO_NDJSON = "application/x-ndjson";
+    public static final String FORMATO_CSV = "text/csv";
+
+    private static final int MAXIMO_ERRORES = 100;
+    private static final int MAXIMO_IMPORTACIONES = 50;
+    private static final long INTERVALO_LOG_FILAS = 100_000;
+
+    private final CuentaService cuentaService;
+    private final CuentaRepositoryPort cuentaRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader lectorJson;
+    private final ObjectReader lectorCsv;
+    private final int tamanioTramo;
+
+    // Últimas importaciones, en curso o terminadas, para consultar su progreso
+    private final Map<String, Progreso> importaciones = Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Progreso> eldest) {
+                    return size() > MAXIMO_IMPORTACIONES;
+                }
+            });
+
+    public ImportacionMovimientosService(CuentaService cuentaService, CuentaRepositoryPort cuentaRepository,
+                                         Validator validator, PlatformTransactionManager transactionManager,
+                                         ObjectMapper objectMapper,
+                                         @Value("${cuentas.batch.tamanio-tramo:500}") int tamanioTramo) {
+        this.cuentaService = cuentaService;
+        this.cuentaRepository = cuentaRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lectorJson = objectMapper.readerFor(MovimientoHistoricoRequest.class);
+        CsvMapper csvMapper = CsvMapper.builder().addModule(new JavaTimeModule()).build();
+        this.lectorCsv = csvMapper.readerFor(MovimientoHistoricoRequest.class).with(CsvSchema.emptySchema().withHeader());
+        this.tamanioTramo = tamanioTramo;
+    }
+
+    /**
+     * Importa movimientos históricos leyendo la entrada de forma incremental.
+     * Las filas de una misma cuenta deben venir en orden cronológico: el saldo de
+     * cada movimiento se calcula acumulando sobre el saldo actual de la cuenta.
+     * @param id Identificador de la importación; si es nulo se genera uno.
+     * @param formato FORMATO_NDJSON o FORMATO_CSV.
+     * @param entrada El contenido a importar.
+     * @return El resultado de la importación.
+     */
+    public ImportacionDTO importar(String id, String formato, InputStream entrada) {
+        String importacionId = id != null ? id : UUID.randomUUID().toString();
+        if (!FORMATO_NDJSON.equals(formato) && !FORMATO_CSV.equals(formato)) {
+            throw new IllegalArgumentException("Formato no soportado: " + formato);
+        }
+        Progreso progreso = new Progreso(importacionId, formato);
+        importaciones.put(importacionId, progreso);
+        logger.info("Iniciando importación {} en formato {}", importacionId, formato);
+
+        // Estado acotado por el número de cuentas, no por el número de filas
+        Map<Long, BigDecimal> saldos = new HashMap<>();
+        Set<Long> cuentasInexistentes = new HashSet<>();
+        Map<Long, BigDecimal> netosConfirmados = new HashMap<>();
+        Set<Long> cuentasAcreditadas = new HashSet<>();
+        List<Movimiento> tramo = new ArrayList<>(tamanioTramo);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            LectorFilas lector = FORMATO_NDJSON.equals(formato) ? lectorNdjson(reader) : lectorCsv(reader);
+            while (true) {
+                MovimientoHistoricoRequest fila;
+                long numero = progreso.leidas.incrementAndGet();
+                try {
+                    fila = lector.siguiente();
+                } catch (IllegalArgumentException e) {
+                    progreso.rechazar(numero, e.getMessage());
+                    continue;
+                }
+                if (fila == null) {
+                    progreso.leidas.decrementAndGet();
+                    break;
+                }
+
+                Optional<Movimiento> movimiento = construir(fila, numero, saldos, cuentasInexistentes, progreso);
+                movimiento.ifPresent(tramo::add);
+                if (tramo.size() >= tamanioTramo) {
+                    confirmarTramo(tramo, saldos, netosConfirmados, progreso);
+                }
+                if (numero % INTERVALO_LOG_FILAS == 0) {
+                    logger.info("Importación {}: {} filas leídas, {} filas/s", importacionId, numero, progreso.filasPorSegundo());
+                }
+            }
+            confirmarTramo(tramo, saldos, netosConfirmados, progreso);
+
+            // El saldo de cada cuenta se actualiza una sola vez con el neto importado
+            aplicarNetos(netosConfirmados, cuentasAcreditadas);
+            progreso.terminar("COMPLETADA", cuentasAcreditadas.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Importación {} interrumpida: {}", importacionId, e.getMessage());
+            progreso.agregarError("Importación interrumpida: " + e.getMessage());
+            // Lo ya confirmado se conserva: se aplican los netos pendientes para mantener saldos consistentes
+            try {
+                aplicarNetos(netosConfirmados, cuentasAcreditadas);
+            } catch (RuntimeException pendiente) {
+                logger.error("Importación {}: netos sin aplicar en cuentas {}: {}", importacionId,
+                        netosConfirmados.keySet(), pendiente.getMessage());
+                progreso.agregarError("Netos sin aplicar en cuentas " + netosConfirmados.keySet() + ": " + pendiente.getMessage());
+            }
+            progreso.terminar("FALLIDA", cuentasAcreditadas.size());
+        }
+
+        logger.info("Importación {} finalizada: {} importadas, {} rechazadas, {} filas/s", importacionId,
+                progreso.importadas.get(), progreso.rechazadas.get(), progreso.filasPorSegundo());
+        return progreso.aDTO();
+    }
+
+    /**
+     * Obtiene el progreso de una importación en curso o reciente.
+     * @param id El ID de la importación.
+     * @return Un Optional con el progreso si se encuentra.
+     */
+    public Optional<ImportacionDTO> getImportacion(String id) {
+        return Optional.ofNullable(importaciones.get(id)).map(Progreso::aDTO);
+    }
+
+    /**
+     * Obtiene el progreso de las importaciones en curso o recientes.
+     * @return Lista de importaciones.
+     */
+    public List<ImportacionDTO> getImportaciones() {
+        synchronized (importaciones) {
+            return importaciones.values().stream().map(Progreso::aDTO).collect(Collectors.toList());
+        }
+    }
+
+    private Optional<Movimiento> construir(MovimientoHistoricoRequest fila, long numero, Map<Long, BigDecimal> saldos,
+                                           Set<Long> cuentasInexistentes, Progreso progreso) {
+        if (fila.getFecha() == null) {
+            progreso.rechazar(numero, "La fecha es obligatoria");
+            return Optional.empty();
+        }
+        BigDecimal saldoAnterior = BigDecimal.ZERO;
+        if (fila.getCuentaId() != null && fila.getValor() != null) {
+            saldoAnterior = saldoDe(fila.getCuentaId(), saldos, cuentasInexistentes);
+            if (saldoAnterior == null) {
+                progreso.rechazar(numero, "Cuenta no encontrada con ID: " + fila.getCuentaId());
+                return Optional.empty();
+            }
+        }
+        BigDecimal nuevoSaldo = fila.getValor() == null ? null
+                : saldoAnterior.add(CuentaService.efectoEnSaldo(fila.getTipoMovimiento(), fila.getValor()));
+
+        Movimiento movimiento = new Movimiento(fila.getCuentaId(), fila.getTipoMovimiento(), fila.getValor(), nuevoSaldo);
+        movimiento.setFecha(fila.getFecha());
+        Set<ConstraintViolation<Movimiento>> violaciones = validator.validate(movimiento);
+        if (!violaciones.isEmpty()) {
+            progreso.rechazar(numero, violaciones.iterator().next().getMessage());
+            return Optional.empty();
+        }
+        saldos.put(fila.getCuentaId(), nuevoSaldo);
+        return Optional.of(movimiento);
+    }
+
+    private BigDecimal saldoDe(Long cuentaId, Map<Long, BigDecimal> saldos, Set<Long> cuentasInexistentes) {
+        BigDecimal saldo = saldos.get(cuentaId);
+        if (saldo != null || cuentasInexistentes.contains(cuentaId)) {
+            return saldo;
+        }
+        saldo = cuentaRepository.findById(cuentaId).map(Cuenta::getSaldo).orElse(null);
+        if (saldo == null) {
+            cuentasInexistentes.add(cuentaId);
+        } else {
+            saldos.put(cuentaId, saldo);
+        }
+        return saldo;
+    }
+
+    private void confirmarTramo(List<Movimiento> tramo, Map<Long, BigDecimal> saldos,
+                                Map<Long, BigDecimal> netosConfirmados, Progreso progreso) {
+        if (tramo.isEmpty()) {
+            return;
+        }
+        Map<Long, BigDecimal> netos = new HashMap<>();
+        for (Movimiento movimiento : tramo) {
+            netos.merge(movimiento.getCuentaId(),
+                    CuentaService.efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor()), BigDecimal::add);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> cuentaService.registrarHistorico(tramo));
+            netos.forEach((cuentaId, neto) -> netosConfirmados.merge(cuentaId, neto, BigDecimal::add));
+            progreso.importadas.addAndGet(tramo.size());
+        } catch (RuntimeException e) {
+            logger.error("Error al confirmar tramo de {} movimientos: {}", tramo.size(), e.getMessage());
+            // El tramo no se guardó: se descuenta su efecto de los saldos acumulados
+            netos.forEach((cuentaId, neto) -> saldos.computeIfPresent(cuentaId, (id, saldo) -> saldo.subtract(neto)));
+            progreso.rechazadas.addAndGet(tramo.size());
+            progreso.agregarError("Tramo de " + tramo.size() + " movimientos rechazado: " + e.getMessage());
+        }
+        tramo.clear();
+    }
+
+    /**
+     * Acredita cada neto en su propia transacción y lo quita de los pendientes en
+     * cuanto se confirma. Si una cuenta falla, las anteriores ya no están en el mapa,
+     * así que un nuevo intento solo aplica la que falló y las siguientes.
+     */
+    private void aplicarNetos(Map<Long, BigDecimal> pendientes, Set<Long> acreditadas) {
+        Iterator<Map.Entry<Long, BigDecimal>> iterador = pendientes.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<Long, BigDecimal> neto = iterador.next();
+            transactionTemplate.executeWithoutResult(status -> cuentaService.acreditarImportacion(neto.getKey(), neto.getValue()));
+            iterador.remove();
+            acreditadas.add(neto.getKey());
+        }
+    }
+
+    private LectorFilas lectorNdjson(BufferedReader reader) {
+        return () -> {
+            String linea;
+            do {
+                linea = reader.readLine();
+                if (linea == null) {
+                    return null;
+                }
+            } while (linea.isBlank());
+            try {
+                return lectorJson.readValue(linea);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private LectorFilas lectorCsv(BufferedReader reader) throws IOException {
+        MappingIterator<MovimientoHistoricoRequest> iterador = lectorCsv.readValues(reader);
+        return () -> {
+            try {
+                return iterador.hasNextValue() ? iterador.nextValue() : null;
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("CSV inválido: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Fuente incremental de filas; devuelve null al terminar la entrada.
+     * Una fila ilegible se informa con IllegalArgumentException y la lectura continúa.
+     */
+    @FunctionalInterface
+    private interface LectorFilas {
+        MovimientoHistoricoRequest siguiente() throws IOException;
+    }
+
+    /**
+     * Progreso de una importación, actualizado por el hilo que la ejecuta
+     * y consultado concurrentemente por los endpoints de progreso.
+     */
+    private static final class Progreso {
+        private final String id;
+        private final String formato;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final long inicioNanos = System.nanoTime();
+        private final AtomicLong leidas = new AtomicLong();
+        private final AtomicLong importadas = new AtomicLong();
+        private final AtomicLong rechazadas = new AtomicLong();
+        private final List<String> errores = Collections.synchronizedList(new ArrayList<>());
+        private volatile String estado = "EN_CURSO";
+        private volatile LocalDateTime fin;
+        private volatile long finNanos;
+        private volatile int cuentasActualizadas;
+
+        private Progreso(String id, String formato) {
+            this.id = id;
+            this.formato = formato;
+        }
+
+        private void rechazar(long fila, String motivo) {
+            rechazadas.incrementAndGet();
+            agregarError("Fila " + fila + ": " + motivo);
+        }
+
+        private void agregarError(String error) {
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add(error);
+            }
+        }
+
+        private void terminar(String estadoFinal, int cuentas) {
+            cuentasActualizadas = cuentas;
+            fin = LocalDateTime.now();
+            finNanos = System.nanoTime();
+            estado = estadoFinal;
+        }
+
+        private double filasPorSegundo() {
+            long hasta = fin != null ? finNanos : System.nanoTime();
+            double segundos = (hasta - inicioNanos) / 1_000_000_000.0;
+            return segundos > 0 ? Math.round(leidas.get() / segundos) : 0;
+        }
+
+        private ImportacionDTO aDTO() {
+            List<String> copiaErrores;
+            synchronized (errores) {
+                copiaErrores = new ArrayList<>(errores);
+            }
+            return new ImportacionDTO(id, formato, estado, leidas.get(), importadas.get(), rechazadas.get(),
+                    filasPorSegundo(), cuentasActualizadas, inicio, fin, copiaErrores);
+        }
+    }
+}
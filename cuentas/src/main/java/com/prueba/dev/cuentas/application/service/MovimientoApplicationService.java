@@ -1,17 +1,38 @@
 package com.prueba.dev.cuentas.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.application.dto.ItemLoteDTO;
 import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.ResultadoLoteDTO;
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
 import com.prueba.dev.cuentas.domain.service.MovimientoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio de aplicación para operaciones de movimientos.
@@ -23,10 +44,25 @@ public class MovimientoApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(MovimientoApplicationService.class);
 
+    private static final int TAMANIO_BUFFER_EXPORTACION = 64 * 1024;
+
     private final MovimientoService movimientoService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioTramo;
+    private final int maximoLote;
+    private final ObjectWriter escritorMovimiento;
 
-    public MovimientoApplicationService(MovimientoService movimientoService) {
+    public MovimientoApplicationService(MovimientoService movimientoService, Validator validator,
+                                        PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                        @Value("${cuentas.batch.tamanio-tramo:500}") int tamanioTramo,
+                                        @Value("${cuentas.batch.maximo-lote:10000}") int maximoLote) {
         this.movimientoService = movimientoService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanioTramo = tamanioTramo;
+        this.maximoLote = maximoLote;
+        this.escritorMovimiento = objectMapper.writerFor(MovimientoDTO.class);
     }
 
     /**
@@ -34,6 +70,8 @@ public class MovimientoApplicationService {
      * @param request La solicitud con los datos del movimiento.
      * @return El movimiento creado.
      */
+    // Igual que en depósitos y retiros: rechazar este movimiento no debe revertir su group commit
+    @Transactional(noRollbackFor = {SaldoInsuficienteException.class, CuentaNotFoundException.class})
     public MovimientoDTO createMovimiento(MovimientoRequest request) {
         logger.info("Creando movimiento para cuenta ID: {}", request.getCuentaId());
 
@@ -57,6 +95,65 @@ public class MovimientoApplicationService {
         );
     }
 
+    /**
+     * Crea un lote de movimientos.
+     * Cada tramo se confirma en su propia transacción: un error en un tramo
+     * rechaza sus elementos sin deshacer los tramos ya confirmados.
+     * @param requests Las solicitudes con los datos de los movimientos.
+     * @return Los elementos aceptados y rechazados, por posición en el lote.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoLoteDTO createMovimientos(List<MovimientoRequest> requests) {
+        logger.info("Creando lote de {} movimientos", requests.size());
+        if (requests.size() > maximoLote) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + maximoLote + " movimientos");
+        }
+
+        ResultadoLote resultado = new ResultadoLote();
+        for (int inicio = 0; inicio < requests.size(); inicio += tamanioTramo) {
+            List<MovimientoRequest> tramo = requests.subList(inicio, Math.min(inicio + tamanioTramo, requests.size()));
+
+            // Los elementos inválidos se rechazan sin llegar a la base de datos
+            List<Movimiento> validos = new ArrayList<>(tramo.size());
+            List<Integer> posiciones = new ArrayList<>(tramo.size());
+            for (int i = 0; i < tramo.size(); i++) {
+                MovimientoRequest request = tramo.get(i);
+                Set<ConstraintViolation<MovimientoRequest>> violaciones = request == null ? Set.of() : validator.validate(request);
+                if (request == null || !violaciones.isEmpty()) {
+                    resultado.rechazar(inicio + i, request == null ? "Movimiento vacío" : violaciones.iterator().next().getMessage());
+                    continue;
+                }
+                validos.add(new Movimiento(request.getCuentaId(), request.getTipoMovimiento(), request.getValor(), BigDecimal.ZERO));
+                posiciones.add(inicio + i);
+            }
+            if (validos.isEmpty()) {
+                continue;
+            }
+
+            try {
+                ResultadoLote tramoResultado = transactionTemplate.execute(status -> movimientoService.createMovimientos(validos));
+                tramoResultado.getAceptados().forEach((i, movimiento) -> resultado.aceptar(posiciones.get(i), movimiento));
+                tramoResultado.getRechazados().forEach((i, motivo) -> resultado.rechazar(posiciones.get(i), motivo));
+            } catch (RuntimeException e) {
+                logger.error("Error al registrar el tramo que inicia en {}: {}", inicio, e.getMessage());
+                posiciones.forEach(posicion -> resultado.rechazar(posicion, "Error al registrar el tramo: " + e.getMessage()));
+            }
+        }
+
+        List<ItemLoteDTO> aceptados = resultado.getAceptados().entrySet().stream()
+                .map(e -> new ItemLoteDTO(e.getKey(), e.getValue().getId(), e.getValue().getCuentaId(), e.getValue().getSaldo(), null))
+                .collect(Collectors.toList());
+        List<ItemLoteDTO> rechazados = resultado.getRechazados().entrySet().stream()
+                .map(e -> new ItemLoteDTO(e.getKey(), null, cuentaIdDe(requests.get(e.getKey())), null, e.getValue()))
+                .collect(Collectors.toList());
+        logger.info("Lote creado: {} aceptados, {} rechazados", aceptados.size(), rechazados.size());
+        return new ResultadoLoteDTO(aceptados, rechazados);
+    }
+
+    private static Long cuentaIdDe(MovimientoRequest request) {
+        return request == null ? null : request.getCuentaId();
+    }
+
     /**
      * Obtiene un movimiento por su ID.
      * @param id El ID del movimiento.
@@ -77,44 +174,76 @@ public class MovimientoApplicationService {
     }
 
     /**
-     * Obtiene todos los movimientos.
-     * @return Lista de movimientos.
+     * Obtiene una página de movimientos del más reciente al más antiguo.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos por página, o null para el valor por defecto.
+     * @return La página de movimientos con el cursor de la siguiente.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoDTO> getAllMovimientos() {
-        logger.info("Obteniendo todos los movimientos");
-        List<Movimiento> movimientos = movimientoService.getAllMovimientos();
-        return movimientos.stream()
-                .map(movimiento -> new MovimientoDTO(
-                        movimiento.getId(),
-                        movimiento.getCuentaId(),
-                        movimiento.getFecha(),
-                        movimiento.getTipoMovimiento(),
-                        movimiento.getValor(),
-                        movimiento.getSaldo()
-                ))
-                .collect(Collectors.toList());
+    public PaginaDTO<MovimientoDTO> getMovimientos(String cursor, Integer limite) {
+        int tamanio = CursorPaginacion.limite(limite);
+        CursorPaginacion.PosicionMovimiento posicion = CursorPaginacion.aMovimiento(cursor);
+        logger.info("Obteniendo página de {} movimientos", tamanio);
+        List<Movimiento> movimientos = posicion == null
+                ? movimientoService.getMovimientosPagina(null, null, tamanio + 1)
+                : movimientoService.getMovimientosPagina(posicion.fecha(), posicion.id(), tamanio + 1);
+        return CursorPaginacion.pagina(movimientos, tamanio, this::aMovimientoDTO, CursorPaginacion::deMovimiento);
     }
 
     /**
-     * Obtiene movimientos por cuenta ID.
+     * Obtiene una página de movimientos de una cuenta del más reciente al más antiguo.
      * @param cuentaId El ID de la cuenta.
-     * @return Lista de movimientos de la cuenta.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos por página, o null para el valor por defecto.
+     * @return La página de movimientos con el cursor de la siguiente.
      */
     @Transactional(readOnly = true)
-    public List<MovimientoDTO> getMovimientosByCuentaId(Long cuentaId) {
-        logger.info("Obteniendo movimientos para cuenta ID: {}", cuentaId);
-        List<Movimiento> movimientos = movimientoService.getMovimientosByCuentaId(cuentaId);
-        return movimientos.stream()
-                .map(movimiento -> new MovimientoDTO(
-                        movimiento.getId(),
-                        movimiento.getCuentaId(),
-                        movimiento.getFecha(),
-                        movimiento.getTipoMovimiento(),
-                        movimiento.getValor(),
-                        movimiento.getSaldo()
-                ))
-                .collect(Collectors.toList());
+    public PaginaDTO<MovimientoDTO> getMovimientosByCuentaId(Long cuentaId, String cursor, Integer limite) {
+        int tamanio = CursorPaginacion.limite(limite);
+        CursorPaginacion.PosicionMovimiento posicion = CursorPaginacion.aMovimiento(cursor);
+        logger.info("Obteniendo página de {} movimientos para cuenta ID: {}", tamanio, cuentaId);
+        List<Movimiento> movimientos = posicion == null
+                ? movimientoService.getMovimientosByCuentaIdPagina(cuentaId, null, null, tamanio + 1)
+                : movimientoService.getMovimientosByCuentaIdPagina(cuentaId, posicion.fecha(), posicion.id(), tamanio + 1);
+        return CursorPaginacion.pagina(movimientos, tamanio, this::aMovimientoDTO, CursorPaginacion::deMovimiento);
+    }
+
+    /**
+     * Exporta movimientos en NDJSON, una línea por movimiento en orden de ID.
+     * Las filas se leen con un cursor del servidor y se escriben a medida que llegan,
+     * así que la memoria no depende del número de movimientos.
+     * @param cuentaId El ID de la cuenta, o null para exportar todos los movimientos.
+     * @param salida El destino de la exportación; no se cierra.
+     * @return Número de movimientos exportados.
+     * @throws IOException Si falla la escritura en la salida.
+     */
+    @Transactional(readOnly = true)
+    public long exportarMovimientos(Long cuentaId, OutputStream salida) throws IOException {
+        logger.info("Exportando movimientos, cuenta ID: {}", cuentaId);
+        OutputStream buffer = new BufferedOutputStream(salida, TAMANIO_BUFFER_EXPORTACION);
+        long exportados = 0;
+        try (Stream<Movimiento> movimientos = movimientoService.streamMovimientos(cuentaId)) {
+            Iterator<Movimiento> iterador = movimientos.iterator();
+            while (iterador.hasNext()) {
+                buffer.write(escritorMovimiento.writeValueAsBytes(aMovimientoDTO(iterador.next())));
+                buffer.write('\n');
+                exportados++;
+            }
+        }
+        buffer.flush();
+        logger.info("Movimientos exportados: {}", exportados);
+        return exportados;
+    }
+
+    private MovimientoDTO aMovimientoDTO(Movimiento movimiento) {
+        return new MovimientoDTO(
+                movimiento.getId(),
+                movimiento.getCuentaId(),
+                movimiento.getFecha(),
+                movimiento.getTipoMovimiento(),
+                movimiento.getValor(),
+                movimiento.getSaldo()
+        );
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.ResultadoLoteDTO;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.exception.MovimientoNotFoundException;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryReactivoPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Servicio de aplicación de movimientos para la pila reactiva.
+ * Consultas y exportación leen por R2DBC; crear, actualizar y eliminar pasan por
+ * {@link MovimientoApplicationService}, que recalcula el saldo de la cuenta en la
+ * misma transacción.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MovimientoReactivoApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoReactivoApplicationService.class);
+
+    // Líneas NDJSON por buffer: agrupar evita un write y un flush de Netty por movimiento
+    private static final int LINEAS_POR_FRAGMENTO = 256;
+
+    private final MovimientoRepositoryReactivoPort movimientoRepository;
+    private final MovimientoApplicationService movimientoApplicationService;
+    private final IdempotenciaService idempotenciaService;
+    private final ObjectWriter escritorMovimiento;
+
+    public MovimientoReactivoApplicationService(MovimientoRepositoryReactivoPort movimientoRepository,
+                                                MovimientoApplicationService movimientoApplicationService,
+                                                IdempotenciaService idempotenciaService, ObjectMapper objectMapper) {
+        this.movimientoRepository = movimientoRepository;
+        this.movimientoApplicationService = movimientoApplicationService;
+        this.idempotenciaService = idempotenciaService;
+        this.escritorMovimiento = objectMapper.writerFor(MovimientoDTO.class);
+    }
+
+    /**
+     * Crea un nuevo movimiento.
+     * @param request La solicitud con los datos del movimiento.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return El movimiento creado.
+     */
+    public Mono<MovimientoDTO> createMovimiento(MovimientoRequest request, String idempotencyKey) {
+        String huella = request.getCuentaId() + ":" + request.getTipoMovimiento() + ":"
+                + (request.getValor() == null ? null : request.getValor().stripTrailingZeros().toPlainString());
+        return CuentaReactivoApplicationService.bloqueante(() -> idempotenciaService.ejecutar(idempotencyKey, "MOVIMIENTO",
+                huella, MovimientoDTO.class, () -> movimientoApplicationService.createMovimiento(request)));
+    }
+
+    /**
+     * Crea un lote de movimientos.
+     * @param requests Las solicitudes con los datos de los movimientos.
+     * @return Los elementos aceptados y rechazados, por posición en el lote.
+     */
+    public Mono<ResultadoLoteDTO> createMovimientos(List<MovimientoRequest> requests) {
+        return CuentaReactivoApplicationService.bloqueante(() -> movimientoApplicationService.createMovimientos(requests));
+    }
+
+    /**
+     * Obtiene un movimiento por su ID.
+     * @param id El ID del movimiento.
+     * @return El movimiento, o error MovimientoNotFoundException si no existe.
+     */
+    public Mono<MovimientoDTO> getMovimientoById(Long id) {
+        logger.info("Obteniendo movimiento con ID: {}", id);
+        return movimientoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new MovimientoNotFoundException("Movimiento no encontrado con ID: " + id)))
+                .map(MovimientoReactivoApplicationService::aMovimientoDTO);
+    }
+
+    /**
+     * Obtiene una página de movimientos del más reciente al más antiguo.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos por página, o null para el valor por defecto.
+     * @return La página de movimientos con el cursor de la siguiente.
+     */
+    public Mono<PaginaDTO<MovimientoDTO>> getMovimientos(String cursor, Integer limite) {
+        return Mono.defer(() -> {
+            int tamanio = CursorPaginacion.limite(limite);
+            CursorPaginacion.PosicionMovimiento posicion = CursorPaginacion.aMovimiento(cursor);
+            logger.info("Obteniendo página de {} movimientos", tamanio);
+            Flux<Movimiento> movimientos = posicion == null
+                    ? movimientoRepository.findPagina(null, null, tamanio + 1)
+                    : movimientoRepository.findPagina(posicion.fecha(), posicion.id(), tamanio + 1);
+            return pagina(movimientos, tamanio);
+        });
+    }
+
+    /**
+     * Obtiene una página de movimientos de una cuenta del más reciente al más antiguo.
+     * @param cuentaId El ID de la cuenta.
+     * @param cursor El cursor devuelto por la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos por página, o null para el valor por defecto.
+     * @return La página de movimientos con el cursor de la siguiente.
+     */
+    public Mono<PaginaDTO<MovimientoDTO>> getMovimientosByCuentaId(Long cuentaId, String cursor, Integer limite) {
+        return Mono.defer(() -> {
+            int tamanio = CursorPaginacion.limite(limite);
+            CursorPaginacion.PosicionMovimiento posicion = CursorPaginacion.aMovimiento(cursor);
+            logger.info("Obteniendo página de {} movimientos para cuenta ID: {}", tamanio, cuentaId);
+            Flux<Movimiento> movimientos = posicion == null
+                    ? movimientoRepository.findPaginaByCuentaId(cuentaId, null, null, tamanio + 1)
+                    : movimientoRepository.findPaginaByCuentaId(cuentaId, posicion.fecha(), posicion.id(), tamanio + 1);
+            return pagina(movimientos, tamanio);
+        });
+    }
+
+    /**
+     * Exporta movimientos en NDJSON, una línea por movimiento en orden de ID.
+     * Los movimientos se leen de la base de datos a medida que el cliente consume
+     * la respuesta, de a un fragmento de líneas por vez.
+     * @param cuentaId El ID de la cuenta, o null para exportar todos los movimientos.
+     * @param buffers Fábrica de buffers de la respuesta.
+     * @return Los fragmentos de la exportación en orden.
+     */
+    public Flux<DataBuffer> exportarMovimientos(Long cuentaId, DataBufferFactory buffers) {
+        logger.info("Exportando movimientos, cuenta ID: {}", cuentaId);
+        return movimientoRepository.stream(cuentaId)
+                .buffer(LINEAS_POR_FRAGMENTO)
+                .map(movimientos -> {
+                    ByteArrayOutputStream lineas = new ByteArrayOutputStream(movimientos.size() * 128);
+                    for (Movimiento movimiento : movimientos) {
+                        try {
+                            lineas.writeBytes(escritorMovimiento.writeValueAsBytes(aMovimientoDTO(movimiento)));
+                        } catch (JsonProcessingException e) {
+                            throw new IllegalStateException("No se pudo serializar el movimiento " + movimiento.getId(), e);
+                        }
+                        lineas.write('\n');
+                    }
+                    return buffers.wrap(lineas.toByteArray());
+                });
+    }
+
+    /**
+     * Actualiza un movimiento existente.
+     * @param id El ID del movimiento a actualizar.
+     * @param request La solicitud con los nuevos datos.
+     * @return El movimiento actualizado.
+     */
+    public Mono<MovimientoDTO> updateMovimiento(Long id, MovimientoRequest request) {
+        return CuentaReactivoApplicationService.bloqueante(() -> movimientoApplicationService.updateMovimiento(id, request));
+    }
+
+    /**
+     * Elimina un movimiento por su ID.
+     * @param id El ID del movimiento a eliminar.
+     * @return Completa al eliminarse el movimiento.
+     */
+    public Mono<Void> deleteMovimiento(Long id) {
+        return CuentaReactivoApplicationService.bloqueante(() -> {
+            movimientoApplicationService.deleteMovimiento(id);
+            return null;
+        }).then();
+    }
+
+    private static Mono<PaginaDTO<MovimientoDTO>> pagina(Flux<Movimiento> movimientos, int tamanio) {
+        return movimientos.collectList()
+                .map(filas -> CursorPaginacion.pagina(filas, tamanio, MovimientoReactivoApplicationService::aMovimientoDTO,
+                        CursorPaginacion::deMovimiento));
+    }
+
+    private static MovimientoDTO aMovimientoDTO(Movimiento movimiento) {
+        return new MovimientoDTO(
+                movimiento.getId(),
+                movimiento.getCuentaId(),
+                movimiento.getFecha(),
+                movimiento.getTipoMovimiento(),
+                movimiento.getValor(),
+                movimiento.getSaldo()
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.domain.model.EventoOutbox;
+import com.prueba.dev.cuentas.domain.port.OutboxRepositoryPort;
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de aplicación para publicar eventos mediante la tabla outbox.
+ * Registrar un evento es un INSERT en la transacción del llamador: no toca el
+ * broker, de modo que su latencia no se suma a la operación y un rollback
+ * descarta también el evento. El relay del outbox lo publica después.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxRepositoryPort outboxRepository;
+    private final ConvertidorEventos convertidorEventos;
+
+    public OutboxService(OutboxRepositoryPort outboxRepository, ConvertidorEventos convertidorEventos) {
+        this.outboxRepository = outboxRepository;
+        this.convertidorEventos = convertidorEventos;
+    }
+
+    /**
+     * Registra un evento para publicarlo cuando se confirme la transacción en curso.
+     * @param exchange El exchange de destino.
+     * @param routingKey La routing key.
+     * @param evento El evento; se serializa en el formato de publicación configurado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String exchange, String routingKey, Object evento) {
+        Message mensaje = convertidorEventos.toMessage(evento, new MessageProperties());
+        EventoOutbox registrado = outboxRepository.guardar(new EventoOutbox(exchange, routingKey, evento.getClass().getName(),
+                mensaje.getMessageProperties().getContentType(), mensaje.getBody()));
+        logger.debug("Evento {} registrado en el outbox con ID: {}", evento.getClass().getSimpleName(), registrado.getId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.application.dto.ClienteReplicadoDTO;
+import com.prueba.dev.cuentas.application.dto.ReplicaClientesDTO;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio de aplicación para consultar y reconstruir la réplica local de clientes.
+ */
+@Service
+public class ReplicaClientesApplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaClientesApplicationService.class);
+
+    private final DirectorioClientesPort directorioClientes;
+
+    public ReplicaClientesApplicationService(DirectorioClientesPort directorioClientes) {
+        this.directorioClientes = directorioClientes;
+    }
+
+    /**
+     * @return Si la réplica está cargada, cuántos clientes tiene y cuánta memoria reserva.
+     */
+    public ReplicaClientesDTO getEstado() {
+        return new ReplicaClientesDTO(directorioClientes.isCargado(), directorioClientes.getTamanio(),
+                directorioClientes.getBytes());
+    }
+
+    /**
+     * Obtiene un cliente de la réplica.
+     * @param clienteId El ID del cliente.
+     * @return El cliente replicado.
+     */
+    public ClienteReplicadoDTO getCliente(Long clienteId) {
+        ClienteReplicado cliente = directorioClientes.buscar(clienteId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente no replicado con ID: " + clienteId));
+        return new ClienteReplicadoDTO(cliente.id(), cliente.nombre(), cliente.estado());
+    }
+
+    /**
+     * Recarga la réplica completa desde la exportación del microservicio de clientes.
+     * @return El estado de la réplica ya reconstruida.
+     */
+    public ReplicaClientesDTO reconstruir() {
+        long leidos = directorioClientes.reconstruir();
+        logger.info("Réplica de clientes reconstruida con {} clientes", leidos);
+        return getEstado();
+    }
+}
@@ -0,0 +1,69 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de aplicación que escribe el estado de cuenta por streaming.
+ * Lee las cuentas del cliente y sus movimientos con una sola consulta ordenada
+ * por cuenta y escribe cada fila en el JSON a medida que llega, agrupando por
+ * cuenta sin armar el reporte completo en memoria. El JSON resultante tiene la
+ * misma forma que GenericResponse con un EstadoCuentaDTO en data.
+ */
+@Service
+public class ReporteEstadoCuentaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporteEstadoCuentaService.class);
+
+    private final CuentaService cuentaService;
+    private final ObjectMapper objectMapper;
+    private final DirectorioClientesPort directorioClientes;
+
+    public ReporteEstadoCuentaService(CuentaService cuentaService, ObjectMapper objectMapper,
+                                      DirectorioClientesPort directorioClientes) {
+        this.cuentaService = cuentaService;
+        this.objectMapper = objectMapper;
+        this.directorioClientes = directorioClientes;
+    }
+
+    /**
+     * Escribe el estado de cuenta de un cliente en la salida.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio del rango.
+     * @param fechaFin Fecha de fin del rango.
+     * @param salida El destino del reporte; no se cierra.
+     * @return Número de movimientos escritos.
+     * @throws IOException Si falla la escritura en la salida.
+     */
+    @Transactional(readOnly = true)
+    public long escribirEstadoCuenta(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin, OutputStream salida) throws IOException {
+        EscritorEstadoCuenta escritor;
+        try (Stream<FilaEstadoCuenta> filas = cuentaService.streamEstadoCuenta(clienteId, fechaInicio, fechaFin);
+             JsonGenerator generador = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            escritor = new EscritorEstadoCuenta(generador, clienteId, directorioClientes.buscar(clienteId).orElse(null));
+            Iterator<FilaEstadoCuenta> iterador = filas.iterator();
+            while (iterador.hasNext()) {
+                escritor.escribir(iterador.next());
+            }
+            escritor.terminar();
+        }
+        logger.info("Estado de cuenta de cliente ID: {} escrito: {} cuentas, {} movimientos", clienteId,
+                escritor.getCuentas(), escritor.getMovimientos());
+        return escritor.getMovimientos();
+    }
+}
@@ -0,0 +1,269 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.application.dto.TrabajoReporteDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servicio de aplicación para generar estados de cuenta de forma asíncrona.
+ * Cada trabajo se encola en un pool acotado de hilos, escribe el reporte por
+ * streaming en un archivo gzip del disco local y queda disponible para descargarlo
+ * hasta que vence su retención. Mientras un trabajo no termina, una nueva solicitud
+ * para el mismo cliente y rango recibe el mismo trabajo en lugar de generar otro.
+ * Los trabajos vencidos y sus archivos se purgan periódicamente, haya o no nuevas solicitudes.
+ */
+@Service
+public class TrabajoReporteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrabajoReporteService.class);
+
+    public static final String PENDIENTE = "PENDIENTE";
+    public static final String EN_CURSO = "EN_CURSO";
+    public static final String COMPLETADO = "COMPLETADO";
+    public static final String FALLIDO = "FALLIDO";
+
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final ReporteEstadoCuentaService reporteEstadoCuentaService;
+    private final Path directorio;
+    private final Duration retencion;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService purgador;
+    private final Map<String, Trabajo> trabajos = new LinkedHashMap<>();
+    private final Map<Solicitud, Trabajo> enCurso = new HashMap<>();
+
+    public TrabajoReporteService(ReporteEstadoCuentaService reporteEstadoCuentaService, MeterRegistry meterRegistry,
+                                 @Value("${cuentas.reportes.directorio:data/reportes}") String directorio,
+                                 @Value("${cuentas.reportes.hilos:2}") int hilos,
+                                 @Value("${cuentas.reportes.capacidad-cola:100}") int capacidadCola,
+                                 @Value("${cuentas.reportes.retencion:1h}") Duration retencion,
+                                 @Value("${cuentas.reportes.intervalo-purga:5m}") Duration intervaloPurga,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean hilosVirtuales) {
+        this.reporteEstadoCuentaService = reporteEstadoCuentaService;
+        this.directorio = Paths.get(directorio);
+        this.retencion = retencion;
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de reportes " + directorio, e);
+        }
+        // Cola acotada: con el pool saturado se rechaza el trabajo en lugar de acumular memoria.
+        // Con hilos virtuales el pool sigue limitando cuántos reportes se generan a la vez
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacidadCola),
+                fabricaHilos(hilosVirtuales));
+        meterRegistry.gauge("cuentas.reportes.trabajos.encolados", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("cuentas.reportes.trabajos.activos", executor, ThreadPoolExecutor::getActiveCount);
+        this.purgador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "reporte-purga");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long intervalo = intervaloPurga.toMillis();
+        purgador.scheduleWithFixedDelay(this::ejecutarPurga, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory fabricaHilos(boolean hilosVirtuales) {
+        if (hilosVirtuales && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return new VirtualThreadTaskExecutor("reporte-").getVirtualThreadFactory();
+        }
+        AtomicInteger numeroHilo = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "reporte-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Solicita la generación de un estado de cuenta.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio del rango.
+     * @param fechaFin Fecha de fin del rango.
+     * @return El trabajo creado, o el que ya estaba en curso para la misma solicitud.
+     * @throws java.util.concurrent.RejectedExecutionException Si la cola de trabajos está llena.
+     */
+    public TrabajoReporteDTO solicitar(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin) {
+        if (fechaFin.isBefore(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
+        }
+        Solicitud solicitud = new Solicitud(clienteId, fechaInicio, fechaFin);
+        Trabajo trabajo;
+        synchronized (trabajos) {
+            purgarVencidos();
+            Trabajo existente = enCurso.get(solicitud);
+            if (existente != null) {
+                logger.info("Reutilizando trabajo de reporte {} para cliente ID: {}", existente.id, clienteId);
+                return existente.aDTO();
+            }
+            trabajo = new Trabajo(UUID.randomUUID().toString(), solicitud);
+            // Se registra antes de encolar para que el hilo no pueda terminarlo sin estar en el mapa
+            trabajos.put(trabajo.id, trabajo);
+            enCurso.put(solicitud, trabajo);
+            try {
+                executor.execute(() -> generar(trabajo));
+            } catch (RuntimeException e) {
+                trabajos.remove(trabajo.id);
+                enCurso.remove(solicitud);
+                throw e;
+            }
+        }
+        logger.info("Trabajo de reporte {} encolado para cliente ID: {} entre {} y {}", trabajo.id, clienteId, fechaInicio, fechaFin);
+        return trabajo.aDTO();
+    }
+
+    /**
+     * Obtiene el estado de un trabajo.
+     * @param id El ID del trabajo.
+     * @return El estado, o vacío si no existe o ya venció.
+     */
+    public Optional<TrabajoReporteDTO> getTrabajo(String id) {
+        synchronized (trabajos) {
+            return Optional.ofNullable(trabajos.get(id)).map(Trabajo::aDTO);
+        }
+    }
+
+    /**
+     * Obtiene el archivo gzip de un trabajo completado.
+     * @param id El ID del trabajo.
+     * @return La ruta del archivo, o vacío si el trabajo no existe o no ha terminado bien.
+     */
+    public Optional<Path> getResultado(String id) {
+        synchronized (trabajos) {
+            Trabajo trabajo = trabajos.get(id);
+            if (trabajo == null || !COMPLETADO.equals(trabajo.estado)) {
+                return Optional.empty();
+            }
+            return Optional.of(trabajo.archivo);
+        }
+    }
+
+    private void generar(Trabajo trabajo) {
+        trabajo.estado = EN_CURSO;
+        Solicitud solicitud = trabajo.solicitud;
+        Path temporal = directorio.resolve(trabajo.id + ".json.gz.tmp");
+        try {
+            try (OutputStream salida = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal), TAMANIO_BUFFER), TAMANIO_BUFFER)) {
+                trabajo.movimientos = reporteEstadoCuentaService.escribirEstadoCuenta(solicitud.clienteId(),
+                        solicitud.fechaInicio(), solicitud.fechaFin(), salida);
+            }
+            Files.move(temporal, trabajo.archivo, StandardCopyOption.ATOMIC_MOVE);
+            trabajo.bytes = Files.size(trabajo.archivo);
+            trabajo.terminar(COMPLETADO, null);
+            logger.info("Trabajo de reporte {} completado: {} movimientos, {} bytes", trabajo.id, trabajo.movimientos, trabajo.bytes);
+        } catch (Exception e) {
+            logger.error("Error en trabajo de reporte {}: {}", trabajo.id, e.getMessage());
+            borrar(temporal);
+            trabajo.terminar(FALLIDO, e.getMessage());
+        } finally {
+            synchronized (trabajos) {
+                enCurso.remove(solicitud, trabajo);
+            }
+        }
+    }
+
+    private void ejecutarPurga() {
+        try {
+            synchronized (trabajos) {
+                purgarVencidos();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error al purgar trabajos de reporte vencidos: {}", e.getMessage(), e);
+        }
+    }
+
+    private void purgarVencidos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        Iterator<Trabajo> iterador = trabajos.values().iterator();
+        while (iterador.hasNext()) {
+            Trabajo trabajo = iterador.next();
+            if (trabajo.terminado != null && trabajo.terminado.isBefore(limite)) {
+                iterador.remove();
+                borrar(trabajo.archivo);
+                logger.debug("Trabajo de reporte {} vencido", trabajo.id);
+            }
+        }
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el archivo de reporte {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        purgador.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Cliente y rango de un estado de cuenta; identifica solicitudes duplicadas.
+     */
+    private record Solicitud(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin) {}
+
+    /**
+     * Estado de un trabajo, actualizado por el hilo que lo genera.
+     */
+    private final class Trabajo {
+        private final String id;
+        private final Solicitud solicitud;
+        private final Path archivo;
+        private final LocalDateTime creado = LocalDateTime.now();
+        private volatile String estado = PENDIENTE;
+        private volatile long movimientos;
+        private volatile long bytes;
+        private volatile LocalDateTime terminado;
+        private volatile String error;
+
+        private Trabajo(String id, Solicitud solicitud) {
+            this.id = id;
+            this.solicitud = solicitud;
+            this.archivo = directorio.resolve(id + ".json.gz");
+        }
+
+        private void terminar(String estadoFinal, String mensaje) {
+            error = mensaje;
+            terminado = LocalDateTime.now();
+            estado = estadoFinal;
+        }
+
+        private TrabajoReporteDTO aDTO() {
+            return new TrabajoReporteDTO(id, solicitud.clienteId(), solicitud.fechaInicio(), solicitud.fechaFin(), estado,
+                    movimientos, bytes, creado, terminado, error);
+        }
+    }
+}
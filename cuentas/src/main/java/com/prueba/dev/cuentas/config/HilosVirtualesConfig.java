@@ -0,0 +1,47 @@
+package com.prueba.dev.cuentas.config;
+
+import com.prueba.dev.conexiones.DataSourceLimitado;
+import com.prueba.dev.conexiones.LimiteConexiones;
+import com.prueba.dev.conexiones.MedidoresConexiones;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Ajustes para atender con hilos virtuales (spring.threads.virtual.enabled=true, Java 21).
+ * Spring Boot ya ejecuta en hilos virtuales las solicitudes HTTP, los listeners
+ * de RabbitMQ y las tareas programadas; aquí se protege el pool de conexiones,
+ * que sigue siendo finito aunque los hilos no lo sean.
+ * Se activa con el perfil virtual.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    /**
+     * Envuelve el DataSource en un {@link DataSourceLimitado} con tantos permisos
+     * como conexiones tiene el pool, o cuentas.hilos-virtuales.max-conexiones si se define.
+     * @param environment El entorno, leído sin inyección porque el post-procesador se crea antes que los demás beans.
+     * @return El post-procesador.
+     */
+    @Bean
+    public static BeanPostProcessor limiteConexiones(Environment environment) {
+        return new LimiteConexiones(environment, "cuentas.hilos-virtuales");
+    }
+
+    /**
+     * Expone la fila de espera por conexiones.
+     * @param dataSource El DataSource ya envuelto.
+     * @return Los medidores cuentas.conexiones.en_espera y cuentas.conexiones.en_uso.
+     */
+    @Bean
+    public MeterBinder medidoresConexiones(DataSource dataSource) {
+        return new MedidoresConexiones(dataSource, "cuentas.conexiones");
+    }
+}
@@ -1,9 +1,11 @@
 package com.prueba.dev.cuentas.config;
 
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import com.prueba.dev.eventos.binario.FormatoEventos;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,6 +19,9 @@ public class RabbitConfig {
     public static final String QUEUE_NAME = "cuenta.queue";
     public static final String EXCHANGE_NAME = "cuenta.exchange";
     public static final String ROUTING_KEY = "cuenta.routingkey";
+    // Cambios de clientes que publica el microservicio de clientes para la réplica local
+    public static final String CLIENTE_EVENTOS_QUEUE_NAME = "cuenta.cliente.queue";
+    public static final String CLIENTE_EVENTOS_ROUTING_KEY = "cuenta.cliente.routingkey";
 
     /**
      * Define la cola para mensajes de cuentas.
@@ -48,23 +53,50 @@ public class RabbitConfig {
     }
 
     /**
-     * Configura el RabbitTemplate con convertidor JSON.
+     * Define la cola de eventos de clientes.
+     * @return La cola configurada.
+     */
+    @Bean
+    public Queue clienteEventosQueue() {
+        return new Queue(CLIENTE_EVENTOS_QUEUE_NAME, true);
+    }
+
+    /**
+     * Define el binding de los eventos de clientes con el exchange de cuentas.
+     * @param clienteEventosQueue La cola de eventos de clientes.
+     * @param cuentaExchange El exchange.
+     * @return El binding configurado.
+     */
+    @Bean
+    public Binding clienteEventosBinding(Queue clienteEventosQueue, DirectExchange cuentaExchange) {
+        return BindingBuilder.bind(clienteEventosQueue).to(cuentaExchange).with(CLIENTE_EVENTOS_ROUTING_KEY);
+    }
+
+    /**
+     * Configura el RabbitTemplate con el convertidor de eventos.
+     * Los mensajes son mandatory: uno que no llega a ninguna cola vuelve al
+     * publicador en lugar de descartarse sin aviso.
      * @param connectionFactory La fábrica de conexiones.
+     * @param convertidorEventos El convertidor de eventos.
      * @return El RabbitTemplate configurado.
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, ConvertidorEventos convertidorEventos) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter());
+        rabbitTemplate.setMessageConverter(convertidorEventos);
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
 
     /**
-     * Convertidor de mensajes JSON.
+     * Convertidor de eventos: publica en el formato de cuentas.mensajeria.formato
+     * y recibe JSON o binario según el content-type de cada mensaje.
+     * Es el único MessageConverter del contexto, así que también lo usan los listeners.
+     * @param formato Formato de publicación; JSON por omisión.
      * @return El convertidor configurado.
      */
     @Bean
-    public Jackson2JsonMessageConverter jackson2JsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public ConvertidorEventos convertidorEventos(@Value("${cuentas.mensajeria.formato:json}") FormatoEventos formato) {
+        return ConvertidorEventos.estandar(formato);
     }
 }
\ No newline at end of file
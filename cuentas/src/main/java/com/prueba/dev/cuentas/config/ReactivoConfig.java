@@ -0,0 +1,83 @@
+package com.prueba.dev.cuentas.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Infraestructura de la pila reactiva, activa solo cuando la aplicación arranca
+ * como WebFlux (perfil reactivo, spring.main.web-application-type=reactive).
+ * El pool R2DBC no se publica como bean ConnectionFactory: con uno en el contexto
+ * Spring Boot deja de configurar el DataSource y, con él, JPA, del que siguen
+ * dependiendo las escrituras. Por la misma razón la auto-configuración R2DBC está
+ * excluida en application.yml. La pila reactiva solo lee, así que tampoco necesita
+ * un TransactionManager reactivo.
+ * Los controladores que no devuelven tipos reactivos (analítica, réplica de clientes)
+ * se ejecutan en boundedElastic para no bloquear los hilos de eventos de Netty.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivoConfig implements WebFluxConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactivoConfig.class);
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClient(ReactivoProperties properties) {
+        if (properties.getUrl() == null) {
+            throw new IllegalStateException("La pila reactiva requiere cuentas.reactivo.url");
+        }
+        ConnectionFactoryOptions.Builder opciones = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsuario() != null) {
+            opciones.option(ConnectionFactoryOptions.USER, properties.getUsuario());
+        }
+        if (properties.getContrasenia() != null) {
+            opciones.option(ConnectionFactoryOptions.PASSWORD, properties.getContrasenia());
+        }
+        ConnectionFactory conexiones = ConnectionFactories.get(opciones.build());
+        logger.info("Pool R2DBC de {} a {} conexiones", properties.getPoolInicial(), properties.getPoolMaximo());
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(conexiones)
+                .initialSize(properties.getPoolInicial())
+                .maxSize(properties.getPoolMaximo())
+                .maxAcquireTime(properties.getEsperaConexion())
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    public void cerrarPool() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(new TaskExecutorAdapter(tarea -> Schedulers.boundedElastic().schedule(tarea)));
+    }
+
+    /**
+     * Netty en lugar del Tomcat que trae la pila servlet: con ambos en el classpath
+     * Spring Boot elegiría Tomcat también para WebFlux.
+     * @return La fábrica del servidor reactivo.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,79 @@
+package com.prueba.dev.cuentas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la pila reactiva (prefijo cuentas.reactivo).
+ * La conexión R2DBC apunta a la misma base de datos que el DataSource de JPA.
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.reactivo")
+public class ReactivoProperties {
+
+    /** URL R2DBC, por ejemplo r2dbc:mysql://mysql:3306/pruebadev. */
+    private String url;
+
+    private String usuario;
+
+    private String contrasenia;
+
+    /** Conexiones abiertas al iniciar el pool. */
+    private int poolInicial = 5;
+
+    /** Máximo de conexiones del pool; las consultas que no alcanzan una esperan sin bloquear hilos. */
+    private int poolMaximo = 20;
+
+    /** Espera máxima por una conexión libre antes de fallar la consulta. */
+    private Duration esperaConexion = Duration.ofSeconds(5);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(String usuario) {
+        this.usuario = usuario;
+    }
+
+    public String getContrasenia() {
+        return contrasenia;
+    }
+
+    public void setContrasenia(String contrasenia) {
+        this.contrasenia = contrasenia;
+    }
+
+    public int getPoolInicial() {
+        return poolInicial;
+    }
+
+    public void setPoolInicial(int poolInicial) {
+        this.poolInicial = poolInicial;
+    }
+
+    public int getPoolMaximo() {
+        return poolMaximo;
+    }
+
+    public void setPoolMaximo(int poolMaximo) {
+        this.poolMaximo = poolMaximo;
+    }
+
+    public Duration getEsperaConexion() {
+        return esperaConexion;
+    }
+
+    public void setEsperaConexion(Duration esperaConexion) {
+        this.esperaConexion = esperaConexion;
+    }
+}
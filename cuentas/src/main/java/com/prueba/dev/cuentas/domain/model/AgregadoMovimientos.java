@@ -0,0 +1,20 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Totales de un grupo de movimientos en una consulta analítica.
+ * Las dimensiones por las que no se agrupó quedan en null.
+ */
+public record AgregadoMovimientos(
+        Long cuentaId,
+        YearMonth mes,
+        String tipoCuenta,
+        String tipoMovimiento,
+        long cantidad,
+        BigDecimal total,
+        BigDecimal promedio,
+        BigDecimal minimo,
+        BigDecimal maximo) {
+}
@@ -0,0 +1,21 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Periodo en que se agrupan los movimientos del estado de cuenta resumido.
+ */
+public enum AgrupacionResumen {
+
+    DIA,
+    MES;
+
+    /**
+     * Obtiene el primer día del periodo al que pertenece una fecha.
+     * @param fecha La fecha.
+     * @return La misma fecha por día, o el primer día de su mes.
+     */
+    public LocalDate periodo(LocalDate fecha) {
+        return this == MES ? fecha.withDayOfMonth(1) : fecha;
+    }
+}
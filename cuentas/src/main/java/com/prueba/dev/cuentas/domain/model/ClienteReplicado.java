@@ -0,0 +1,19 @@
+package com.prueba.dev.cuentas.domain.model;
+
+/**
+ * Datos de un cliente tomados de la réplica local del microservicio de clientes.
+ * @param id El ID del cliente.
+ * @param nombre El nombre del cliente.
+ * @param estado El estado del cliente: ACTIVO, INACTIVO o BLOQUEADO.
+ */
+public record ClienteReplicado(Long id, String nombre, String estado) {
+
+    public static final String ESTADO_ACTIVO = "ACTIVO";
+
+    /**
+     * @return true si el cliente puede abrir cuentas.
+     */
+    public boolean activo() {
+        return ESTADO_ACTIVO.equals(estado);
+    }
+}
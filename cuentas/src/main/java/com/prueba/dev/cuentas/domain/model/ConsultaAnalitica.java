@@ -0,0 +1,21 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Consulta analítica sobre el histórico de movimientos: filtros opcionales
+ * (null significa sin filtro) y dimensiones de agrupación.
+ */
+public record ConsultaAnalitica(
+        LocalDate desde,
+        LocalDate hasta,
+        Long cuentaId,
+        String tipoMovimiento,
+        String tipoCuenta,
+        Set<DimensionAnalitica> agrupacion) {
+
+    public boolean agrupaPor(DimensionAnalitica dimension) {
+        return agrupacion.contains(dimension);
+    }
+}
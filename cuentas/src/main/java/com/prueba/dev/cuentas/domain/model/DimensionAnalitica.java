@@ -0,0 +1,11 @@
+package com.prueba.dev.cuentas.domain.model;
+
+/**
+ * Dimensiones por las que se pueden agrupar las consultas analíticas de movimientos.
+ */
+public enum DimensionAnalitica {
+    CUENTA,
+    MES,
+    TIPO_CUENTA,
+    TIPO_MOVIMIENTO
+}
@@ -0,0 +1,112 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ.
+ * Se inserta en la misma transacción que el cambio que lo origina, así que solo
+ * existe si ese cambio se confirmó; el relay lo publica y luego lo elimina.
+ */
+@Entity
+@Table(name = "outbox_evento")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "evento_id")
+    private Long id;
+
+    @Column(name = "exchange", nullable = false, length = 100)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    // Clase del evento, enviada en el encabezado de tipo del convertidor JSON
+    @Column(name = "tipo", nullable = false, length = 255)
+    private String tipo;
+
+    // Content-type del cuerpo: JSON o el formato binario de eventos
+    @Column(name = "tipo_contenido", nullable = false, length = 100)
+    private String tipoContenido;
+
+    // Cuerpo del mensaje ya serializado, tal como se envía
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    // Constructor vacío para JPA
+    public EventoOutbox() {}
+
+    // Constructor con parámetros
+    public EventoOutbox(String exchange, String routingKey, String tipo, String tipoContenido, byte[] payload) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.tipo = tipo;
+        this.tipoContenido = tipoContenido;
+        this.payload = payload;
+        this.fechaCreacion = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public void setRoutingKey(String routingKey) {
+        this.routingKey = routingKey;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public void setTipoContenido(String tipoContenido) {
+        this.tipoContenido = tipoContenido;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+}
@@ -0,0 +1,27 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del estado de cuenta: una cuenta del cliente junto con uno de sus movimientos.
+ * Las cuentas sin movimientos en el rango llegan en una sola fila con movimientoId nulo.
+ */
+public record FilaEstadoCuenta(
+        Long cuentaId,
+        Long clienteId,
+        String numeroCuenta,
+        String tipoCuenta,
+        BigDecimal saldoInicial,
+        String estado,
+        BigDecimal saldoActual,
+        Long movimientoId,
+        LocalDateTime fecha,
+        String tipoMovimiento,
+        BigDecimal valor,
+        BigDecimal saldo) {
+
+    public boolean tieneMovimiento() {
+        return movimientoId != null;
+    }
+}
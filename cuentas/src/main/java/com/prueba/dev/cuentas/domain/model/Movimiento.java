@@ -13,8 +13,10 @@ import java.time.LocalDateTime;
 @Table(name = "movimiento")
 public class Movimiento {
 
+    // Generador pooled: los IDs se reservan por bloques y los INSERT pueden agruparse en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimiento_seq")
+    @SequenceGenerator(name = "movimiento_seq", sequenceName = "movimiento_seq", allocationSize = 50)
     @Column(name = "movimiento_id")
     private Long id;
 
@@ -40,6 +42,10 @@ public class Movimiento {
     @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
     private BigDecimal saldo;
 
+    // Enlaza los dos movimientos (débito y crédito) de una transferencia
+    @Column(name = "transferencia_id", length = 36, updatable = false)
+    private String transferenciaId;
+
     // Constructor vacío para JPA
     public Movimiento() {}
 
@@ -100,4 +106,12 @@ public class Movimiento {
     public void setSaldo(BigDecimal saldo) {
         this.saldo = saldo;
     }
+
+    public String getTransferenciaId() {
+        return transferenciaId;
+    }
+
+    public void setTransferenciaId(String transferenciaId) {
+        this.transferenciaId = transferenciaId;
+    }
 }
\ No newline at end of file
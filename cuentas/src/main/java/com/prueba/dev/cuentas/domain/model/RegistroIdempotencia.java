@@ -0,0 +1,127 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de una operación ejecutada con un Idempotency-Key.
+ * Guarda la respuesta original para devolverla ante reintentos del cliente.
+ * Siempre se inserta (nunca se fusiona), de modo que dos solicitudes con la
+ * misma clave chocan en la clave primaria y solo una ejecuta la operación.
+ */
+@Entity
+@Table(name = "idempotencia")
+public class RegistroIdempotencia implements Persistable<String> {
+
+    @Id
+    @Column(name = "clave", length = 100)
+    private String clave;
+
+    @Column(name = "operacion", nullable = false, length = 50)
+    private String operacion;
+
+    // Resumen de los parámetros, para detectar una clave reutilizada con otra solicitud
+    @Column(name = "huella", nullable = false, length = 255)
+    private String huella;
+
+    @Lob
+    @Column(name = "respuesta")
+    private String respuesta;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_expiracion", nullable = false)
+    private LocalDateTime fechaExpiracion;
+
+    @Transient
+    private boolean nuevo = true;
+
+    // Constructor vacío para JPA
+    public RegistroIdempotencia() {}
+
+    // Constructor con parámetros
+    public RegistroIdempotencia(String clave, String operacion, String huella, LocalDateTime fechaExpiracion) {
+        this.clave = clave;
+        this.operacion = operacion;
+        this.huella = huella;
+        this.fechaCreacion = LocalDateTime.now();
+        this.fechaExpiracion = fechaExpiracion;
+    }
+
+    /**
+     * Indica si el registro expiró en la fecha dada.
+     * @param ahora La fecha de referencia.
+     * @return true si ya no debe usarse.
+     */
+    public boolean expirado(LocalDateTime ahora) {
+        return fechaExpiracion.isBefore(ahora);
+    }
+
+    @Override
+    public String getId() {
+        return clave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nuevo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.nuevo = false;
+    }
+
+    // Getters y Setters
+    public String getClave() {
+        return clave;
+    }
+
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    public String getOperacion() {
+        return operacion;
+    }
+
+    public void setOperacion(String operacion) {
+        this.operacion = operacion;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public void setHuella(String huella) {
+        this.huella = huella;
+    }
+
+    public String getRespuesta() {
+        return respuesta;
+    }
+
+    public void setRespuesta(String respuesta) {
+        this.respuesta = respuesta;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaExpiracion() {
+        return fechaExpiracion;
+    }
+
+    public void setFechaExpiracion(LocalDateTime fechaExpiracion) {
+        this.fechaExpiracion = fechaExpiracion;
+    }
+}
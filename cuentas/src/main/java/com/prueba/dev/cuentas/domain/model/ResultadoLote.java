@@ -0,0 +1,52 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resultado de registrar un lote de movimientos.
+ * Cada elemento se identifica por su posición en el lote recibido.
+ */
+public class ResultadoLote {
+
+    private final Map<Integer, Movimiento> aceptados = new TreeMap<>();
+    private final Map<Integer, String> rechazados = new TreeMap<>();
+    private final Map<Integer, RuntimeException> errores = new HashMap<>();
+
+    public void aceptar(int indice, Movimiento movimiento) {
+        aceptados.put(indice, movimiento);
+    }
+
+    public void rechazar(int indice, String motivo) {
+        rechazados.put(indice, motivo);
+    }
+
+    /**
+     * Rechaza un elemento conservando la excepción que lo causó.
+     * @param indice La posición del elemento.
+     * @param error La causa del rechazo.
+     */
+    public void rechazar(int indice, RuntimeException error) {
+        rechazados.put(indice, error.getMessage());
+        errores.put(indice, error);
+    }
+
+    /**
+     * Obtiene la excepción que rechazó un elemento.
+     * @param indice La posición del elemento.
+     * @return La excepción original, o una genérica con el motivo si no se conservó.
+     */
+    public RuntimeException getError(int indice) {
+        RuntimeException error = errores.get(indice);
+        return error != null ? error : new IllegalStateException(rechazados.get(indice));
+    }
+
+    public Map<Integer, Movimiento> getAceptados() {
+        return aceptados;
+    }
+
+    public Map<Integer, String> getRechazados() {
+        return rechazados;
+    }
+}
@@ -0,0 +1,159 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Resumen diario de movimientos de una cuenta por tipo de movimiento.
+ * Guarda la cantidad y el total de los movimientos del día; se mantiene de forma
+ * incremental al registrar, modificar o eliminar movimientos, para que los reportes
+ * agregados no tengan que recorrer la tabla de movimientos.
+ */
+@Entity
+@Table(name = "resumen_diario")
+@IdClass(ResumenDiario.Clave.class)
+public class ResumenDiario {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @Id
+    @Column(name = "fecha")
+    private LocalDate fecha;
+
+    @Id
+    @Column(name = "tipo_movimiento", length = 50)
+    private String tipoMovimiento;
+
+    @Column(name = "cantidad", nullable = false)
+    private long cantidad;
+
+    @Column(name = "total", nullable = false, precision = 17, scale = 2)
+    private BigDecimal total;
+
+    // Constructor vacío para JPA
+    public ResumenDiario() {}
+
+    // Constructor con parámetros
+    public ResumenDiario(Long cuentaId, LocalDate fecha, String tipoMovimiento, long cantidad, BigDecimal total) {
+        this.cuentaId = cuentaId;
+        this.fecha = fecha;
+        this.tipoMovimiento = tipoMovimiento;
+        this.cantidad = cantidad;
+        this.total = total;
+    }
+
+    // Totales de una cuenta y tipo sin fecha, para sumas sobre un rango
+    public ResumenDiario(Long cuentaId, String tipoMovimiento, long cantidad, BigDecimal total) {
+        this(cuentaId, null, tipoMovimiento, cantidad, total);
+    }
+
+    /**
+     * Agrupa movimientos en incrementos de resumen por cuenta, día y tipo.
+     * Los incrementos salen ordenados por su clave, de modo que transacciones
+     * concurrentes actualicen las filas del resumen siempre en el mismo orden.
+     * @param movimientos Los movimientos a acumular.
+     * @param signo 1 para sumar los movimientos, -1 para restarlos.
+     * @return Los incrementos a aplicar.
+     */
+    public static List<ResumenDiario> agrupar(Collection<Movimiento> movimientos, int signo) {
+        Map<Clave, ResumenDiario> incrementos = new TreeMap<>(Clave.ORDEN);
+        for (Movimiento movimiento : movimientos) {
+            Clave clave = new Clave(movimiento.getCuentaId(), movimiento.getFecha().toLocalDate(), movimiento.getTipoMovimiento());
+            ResumenDiario incremento = incrementos.computeIfAbsent(clave, c ->
+                    new ResumenDiario(c.cuentaId, c.fecha, c.tipoMovimiento, 0, BigDecimal.ZERO));
+            incremento.cantidad += signo;
+            incremento.total = incremento.total.add(signo < 0 ? movimiento.getValor().negate() : movimiento.getValor());
+        }
+        return List.copyOf(incrementos.values());
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public String getTipoMovimiento() {
+        return tipoMovimiento;
+    }
+
+    public void setTipoMovimiento(String tipoMovimiento) {
+        this.tipoMovimiento = tipoMovimiento;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    /**
+     * Clave compuesta del resumen: cuenta, día y tipo de movimiento.
+     */
+    public static class Clave implements Serializable {
+
+        static final Comparator<Clave> ORDEN = Comparator.comparing((Clave c) -> c.cuentaId)
+                .thenComparing(c -> c.fecha)
+                .thenComparing(c -> c.tipoMovimiento);
+
+        private Long cuentaId;
+        private LocalDate fecha;
+        private String tipoMovimiento;
+
+        public Clave() {}
+
+        public Clave(Long cuentaId, LocalDate fecha, String tipoMovimiento) {
+            this.cuentaId = cuentaId;
+            this.fecha = fecha;
+            this.tipoMovimiento = tipoMovimiento;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Clave clave)) {
+                return false;
+            }
+            return Objects.equals(cuentaId, clave.cuentaId) && Objects.equals(fecha, clave.fecha)
+                    && Objects.equals(tipoMovimiento, clave.tipoMovimiento);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cuentaId, fecha, tipoMovimiento);
+        }
+    }
+}
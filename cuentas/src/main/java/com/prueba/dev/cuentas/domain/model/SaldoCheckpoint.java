@@ -0,0 +1,86 @@
+package com.prueba.dev.cuentas.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Punto de control del saldo de una cuenta.
+ * Guarda el saldo resultante de aplicar todos los movimientos hasta el último
+ * movimiento registrado, para no reprocesar el historial completo.
+ */
+@Entity
+@Table(name = "saldo_checkpoint")
+public class SaldoCheckpoint {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @NotNull(message = "El último movimiento es obligatorio")
+    @Column(name = "ultimo_movimiento_id", nullable = false)
+    private Long ultimoMovimientoId;
+
+    @NotNull(message = "El saldo es obligatorio")
+    @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    // Constructor vacío para JPA
+    public SaldoCheckpoint() {}
+
+    // Constructor con parámetros
+    public SaldoCheckpoint(Long cuentaId, Long ultimoMovimientoId, BigDecimal saldo) {
+        this.cuentaId = cuentaId;
+        this.ultimoMovimientoId = ultimoMovimientoId;
+        this.saldo = saldo;
+        this.fechaActualizacion = LocalDateTime.now();
+    }
+
+    /**
+     * Avanza el punto de control aplicando un movimiento posterior.
+     * @param movimientoId El ID del movimiento aplicado.
+     * @param efecto El efecto con signo del movimiento sobre el saldo.
+     */
+    public void avanzar(Long movimientoId, BigDecimal efecto) {
+        this.saldo = this.saldo.add(efecto);
+        this.ultimoMovimientoId = Math.max(this.ultimoMovimientoId, movimientoId);
+        this.fechaActualizacion = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Long cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public Long getUltimoMovimientoId() {
+        return ultimoMovimientoId;
+    }
+
+    public void setUltimoMovimientoId(Long ultimoMovimientoId) {
+        this.ultimoMovimientoId = ultimoMovimientoId;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+}
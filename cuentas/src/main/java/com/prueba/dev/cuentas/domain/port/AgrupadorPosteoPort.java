@@ -0,0 +1,24 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Puerto para agrupar posteos concurrentes sobre una misma cuenta.
+ * Los movimientos que llegan casi al mismo tiempo se aplican juntos en una sola
+ * transacción, con un único bloqueo y una única actualización de saldo por grupo.
+ */
+public interface AgrupadorPosteoPort {
+
+    /**
+     * Registra un movimiento junto con los demás que esperan sobre la misma cuenta.
+     * @param movimiento El movimiento a registrar; su saldo se calcula al aplicar el grupo.
+     * @param aplicarGrupo Aplica en la transacción actual un grupo de movimientos de una
+     *                     misma cuenta, en orden, y devuelve el resultado de cada uno.
+     * @return El movimiento registrado, con el saldo resultante.
+     */
+    Movimiento postear(Movimiento movimiento, Function<List<Movimiento>, ResultadoLote> aplicarGrupo);
+}
@@ -0,0 +1,33 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.AgregadoMovimientos;
+import com.prueba.dev.cuentas.domain.model.ConsultaAnalitica;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Puerto para consultas analíticas sobre el histórico de movimientos.
+ * Las consultas se resuelven sobre una copia que se refresca periódicamente,
+ * fuera de la base de datos transaccional.
+ */
+public interface AnaliticaMovimientosPort {
+
+    /**
+     * Filtra y agrega los movimientos.
+     * @param consulta Los filtros y las dimensiones de agrupación.
+     * @return Un agregado por grupo, ordenados por cuenta, mes y tipos.
+     * @throws IllegalStateException si la copia aún no se cargó.
+     */
+    List<AgregadoMovimientos> agregar(ConsultaAnalitica consulta);
+
+    /**
+     * @return Fecha de la copia consultada, o null si aún no se cargó.
+     */
+    LocalDateTime getFechaCarga();
+
+    /**
+     * @return Cantidad de movimientos en la copia consultada.
+     */
+    int getFilas();
+}
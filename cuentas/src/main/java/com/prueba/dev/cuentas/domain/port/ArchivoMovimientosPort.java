@@ -0,0 +1,36 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Puerto para el archivo de movimientos antiguos (nivel frío).
+ * Los movimientos archivados son inmutables y se consultan por cuenta y rango de fechas.
+ */
+public interface ArchivoMovimientosPort {
+
+    /**
+     * Indica si la cuenta tiene movimientos archivados.
+     * @param cuentaId El ID de la cuenta.
+     * @return true si hay al menos un segmento de la cuenta.
+     */
+    boolean tieneMovimientos(Long cuentaId);
+
+    /**
+     * Obtiene los movimientos archivados de una cuenta en un rango de fechas.
+     * @param cuentaId El ID de la cuenta.
+     * @param inicio Fecha inicial incluida, o null para no acotar.
+     * @param fin Fecha final incluida, o null para no acotar.
+     * @return Movimientos ordenados por fecha e ID.
+     */
+    List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, LocalDateTime inicio, LocalDateTime fin);
+
+    /**
+     * Guarda movimientos de una cuenta en un segmento nuevo.
+     * Al volver, el segmento está en disco y visible para las consultas.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientos Movimientos de la cuenta ordenados por fecha e ID.
+     */
+    void archivar(Long cuentaId, List<Movimiento> movimientos);
+}
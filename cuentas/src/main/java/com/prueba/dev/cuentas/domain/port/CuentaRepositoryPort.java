@@ -1,8 +1,12 @@
 package com.prueba.dev.cuentas.domain.port;
 
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Puerto para operaciones de repositorio de cuentas.
@@ -56,4 +60,55 @@ public interface CuentaRepositoryPort {
      * @return Lista de cuentas del cliente.
      */
     List<Cuenta> findByClienteId(Long clienteId);
+
+    /**
+     * Obtiene una página de cuentas ordenadas por ID.
+     * La página empieza después del ID dado, con una búsqueda por clave primaria
+     * en lugar de OFFSET; sin ID se obtiene la primera página.
+     * @param despuesDeId El ID de la última cuenta de la página anterior, o null.
+     * @param limite Máximo de cuentas a obtener.
+     * @return Cuentas ordenadas por ID.
+     */
+    List<Cuenta> findPagina(Long despuesDeId, int limite);
+
+    /**
+     * Recorre las cuentas de un cliente con sus movimientos en un rango de fechas.
+     * Las filas llegan ordenadas por cuenta, fecha e ID del movimiento.
+     * @param clienteId El ID del cliente.
+     * @param inicio Inicio del rango.
+     * @param fin Fin del rango.
+     * @return Stream de filas; debe cerrarse y consumirse dentro de una transacción.
+     */
+    Stream<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin);
+
+    /**
+     * Acredita un valor al saldo de la cuenta en una sola sentencia UPDATE.
+     * @param id El ID de la cuenta.
+     * @param valor El valor a acreditar.
+     * @return El nuevo saldo, o vacío si la cuenta no existe.
+     */
+    Optional<BigDecimal> acreditarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Debita un valor del saldo de la cuenta con un UPDATE condicional,
+     * aplicado solo si el saldo es suficiente.
+     * @param id El ID de la cuenta.
+     * @param valor El valor a debitar.
+     * @return El nuevo saldo, o vacío si la cuenta no existe o el saldo es insuficiente.
+     */
+    Optional<BigDecimal> debitarSaldo(Long id, BigDecimal valor);
+
+    /**
+     * Lee el saldo confirmado de la cuenta directamente en la base de datos, sin caché.
+     * @param id El ID de la cuenta.
+     * @return Un Optional con el saldo si la cuenta existe.
+     */
+    Optional<BigDecimal> findSaldoById(Long id);
+
+    /**
+     * Busca una cuenta bloqueando su fila hasta el fin de la transacción.
+     * @param id El ID de la cuenta.
+     * @return Un Optional con la cuenta si se encuentra.
+     */
+    Optional<Cuenta> findByIdParaActualizar(Long id);
 }
\ No newline at end of file
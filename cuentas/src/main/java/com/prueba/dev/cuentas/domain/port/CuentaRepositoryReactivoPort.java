@@ -0,0 +1,56 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variante reactiva del puerto de cuentas, para la pila WebFlux.
+ * Cubre las lecturas; las escrituras siguen pasando por {@link CuentaRepositoryPort}
+ * para conservar en una sola transacción el saldo, los puntos de control y el resumen diario.
+ * Los Flux respetan la demanda del suscriptor: las filas se leen a medida que se piden.
+ */
+public interface CuentaRepositoryReactivoPort {
+
+    /**
+     * Busca una cuenta por su ID.
+     * @param id El ID de la cuenta.
+     * @return La cuenta, o vacío si no existe.
+     */
+    Mono<Cuenta> findById(Long id);
+
+    /**
+     * Busca una cuenta por su número.
+     * @param numeroCuenta El número de la cuenta.
+     * @return La cuenta, o vacío si no existe.
+     */
+    Mono<Cuenta> findByNumeroCuenta(String numeroCuenta);
+
+    /**
+     * Busca las cuentas de un cliente.
+     * @param clienteId El ID del cliente.
+     * @return Las cuentas del cliente ordenadas por ID.
+     */
+    Flux<Cuenta> findByClienteId(Long clienteId);
+
+    /**
+     * Obtiene una página de cuentas ordenadas por ID, empezando después del ID dado.
+     * @param despuesDeId El ID de la última cuenta de la página anterior, o null.
+     * @param limite Máximo de cuentas a obtener.
+     * @return Cuentas ordenadas por ID.
+     */
+    Flux<Cuenta> findPagina(Long despuesDeId, int limite);
+
+    /**
+     * Recorre las cuentas de un cliente con sus movimientos en un rango de fechas,
+     * incluidos los que ya pasaron al archivo.
+     * @param clienteId El ID del cliente.
+     * @param inicio Inicio del rango.
+     * @param fin Fin del rango.
+     * @return Filas ordenadas por cuenta, fecha e ID del movimiento.
+     */
+    Flux<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin);
+}
@@ -0,0 +1,55 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+
+import java.util.Optional;
+
+/**
+ * Puerto para la réplica local de clientes.
+ * Se alimenta con los eventos que publica el microservicio de clientes y se
+ * reconstruye desde su exportación completa, de modo que validar o enriquecer
+ * con datos del cliente no requiere una llamada síncrona entre servicios.
+ */
+public interface DirectorioClientesPort {
+
+    /**
+     * Busca un cliente en la réplica.
+     * @param clienteId El ID del cliente.
+     * @return Un Optional con el cliente si está replicado.
+     */
+    Optional<ClienteReplicado> buscar(Long clienteId);
+
+    /**
+     * Agrega o reemplaza un cliente en la réplica.
+     * @param cliente Los datos completos del cliente.
+     */
+    void registrar(ClienteReplicado cliente);
+
+    /**
+     * Quita un cliente de la réplica.
+     * @param clienteId El ID del cliente eliminado.
+     */
+    void eliminar(Long clienteId);
+
+    /**
+     * Reemplaza la réplica por la exportación completa del microservicio de clientes.
+     * Los eventos recibidos mientras se carga se aplican sobre la nueva réplica antes de publicarla.
+     * @return Número de clientes cargados desde la exportación.
+     */
+    long reconstruir();
+
+    /**
+     * @return true si la réplica se cargó completa al menos una vez.
+     */
+    boolean isCargado();
+
+    /**
+     * @return Número de clientes en la réplica.
+     */
+    int getTamanio();
+
+    /**
+     * @return Memoria reservada por la réplica, en bytes.
+     */
+    long getBytes();
+}
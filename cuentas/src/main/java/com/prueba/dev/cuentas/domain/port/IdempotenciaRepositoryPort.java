@@ -0,0 +1,49 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.RegistroIdempotencia;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Puerto para operaciones de repositorio de registros de idempotencia.
+ * Define las operaciones de acceso a datos para la tabla de deduplicación.
+ */
+public interface IdempotenciaRepositoryPort {
+
+    /**
+     * Busca un registro por su clave.
+     * @param clave El Idempotency-Key.
+     * @return Un Optional con el registro si se encuentra.
+     */
+    Optional<RegistroIdempotencia> findByClave(String clave);
+
+    /**
+     * Inserta un registro nuevo y lo envía de inmediato a la base de datos.
+     * Falla con una violación de integridad si la clave ya existe; si otra
+     * transacción insertó la misma clave sin confirmar, espera a que termine.
+     * @param registro El registro a insertar.
+     * @return El registro insertado.
+     */
+    RegistroIdempotencia insertar(RegistroIdempotencia registro);
+
+    /**
+     * Guarda la respuesta de un registro insertado en la transacción actual.
+     * @param clave El Idempotency-Key.
+     * @param respuesta La respuesta serializada.
+     */
+    void registrarRespuesta(String clave, String respuesta);
+
+    /**
+     * Elimina un registro por su clave.
+     * @param clave El Idempotency-Key.
+     */
+    void deleteByClave(String clave);
+
+    /**
+     * Elimina los registros expirados.
+     * @param ahora La fecha de referencia.
+     * @return Número de registros eliminados.
+     */
+    int deleteExpirados(LocalDateTime ahora);
+}
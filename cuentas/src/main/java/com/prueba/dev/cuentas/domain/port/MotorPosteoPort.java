@@ -0,0 +1,28 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import java.math.BigDecimal;
+
+/**
+ * Puerto para motores de posteo alternativos.
+ * Cuando hay un motor configurado, los movimientos se validan y aplican en él
+ * en lugar de actualizar el saldo directamente en base de datos.
+ */
+public interface MotorPosteoPort {
+
+    /**
+     * Valida y registra un movimiento sobre una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param tipoMovimiento DEPOSITO, RETIRO o TRANSFERENCIA.
+     * @param valor El valor del movimiento.
+     * @return El movimiento aceptado, con el saldo resultante.
+     */
+    Movimiento postear(Long cuentaId, String tipoMovimiento, BigDecimal valor);
+
+    /**
+     * Descarta el saldo que el motor conserva para una cuenta, para que lo vuelva
+     * a leer del repositorio después de una corrección hecha fuera del motor.
+     * @param cuentaId El ID de la cuenta.
+     */
+    void invalidar(Long cuentaId);
+}
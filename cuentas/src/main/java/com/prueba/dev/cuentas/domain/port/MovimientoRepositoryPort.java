@@ -1,8 +1,10 @@
 package com.prueba.dev.cuentas.domain.port;
 
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Puerto para operaciones de repositorio de movimientos.
@@ -65,4 +67,71 @@ public interface MovimientoRepositoryPort {
      * @return Lista de movimientos en el rango.
      */
     List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, java.time.LocalDateTime inicio, java.time.LocalDateTime fin);
-}
\ No newline at end of file
+
+    /**
+     * Busca los movimientos de una cuenta posteriores a un movimiento dado.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID del último movimiento ya considerado.
+     * @return Lista de movimientos con ID mayor, ordenados por ID.
+     */
+    List<Movimiento> findByCuentaIdAndIdGreaterThan(Long cuentaId, Long movimientoId);
+
+    /**
+     * Obtiene una página de movimientos del más reciente al más antiguo.
+     * La página empieza después de la posición (fecha, ID) dada, con una búsqueda
+     * por índice en lugar de OFFSET; sin posición se obtiene la primera página.
+     * @param fecha La fecha del último movimiento de la página anterior, o null.
+     * @param movimientoId El ID del último movimiento de la página anterior, o null.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    List<Movimiento> findPagina(LocalDateTime fecha, Long movimientoId, int limite);
+
+    /**
+     * Obtiene una página de movimientos de una cuenta del más reciente al más antiguo.
+     * @param cuentaId El ID de la cuenta.
+     * @param fecha La fecha del último movimiento de la página anterior, o null.
+     * @param movimientoId El ID del último movimiento de la página anterior, o null.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    List<Movimiento> findPaginaByCuentaId(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite);
+
+    /**
+     * Recorre movimientos en orden de ID sin cargarlos todos en memoria.
+     * Cada movimiento se desacopla del contexto de persistencia al leerse.
+     * @param cuentaId El ID de la cuenta, o null para todos los movimientos.
+     * @return Stream de movimientos; debe cerrarse y consumirse dentro de una transacción.
+     */
+    Stream<Movimiento> stream(Long cuentaId);
+
+    /**
+     * Guarda varios movimientos; los INSERT se envían por lotes JDBC.
+     * @param movimientos Los movimientos a guardar.
+     * @return Los movimientos guardados.
+     */
+    List<Movimiento> saveAll(List<Movimiento> movimientos);
+
+    /**
+     * Obtiene las cuentas que tienen movimientos anteriores a una fecha.
+     * @param corte La fecha de corte.
+     * @return Los IDs de las cuentas.
+     */
+    List<Long> findCuentaIdsConMovimientosAnterioresA(LocalDateTime corte);
+
+    /**
+     * Obtiene movimientos de una cuenta candidatos a archivarse.
+     * @param cuentaId El ID de la cuenta.
+     * @param corte Solo movimientos con fecha anterior a esta.
+     * @param hastaId Solo movimientos con ID menor o igual a este.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Movimientos ordenados por fecha e ID.
+     */
+    List<Movimiento> findArchivables(Long cuentaId, LocalDateTime corte, Long hastaId, int limite);
+
+    /**
+     * Elimina varios movimientos con una sola sentencia.
+     * @param ids Los IDs de los movimientos.
+     */
+    void deleteAllById(List<Long> ids);
+}
@@ -0,0 +1,48 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variante reactiva del puerto de movimientos, para la pila WebFlux.
+ * Solo lecturas: registrar un movimiento cambia el saldo de la cuenta y lo
+ * hace {@link MovimientoRepositoryPort} dentro de la transacción del posteo.
+ */
+public interface MovimientoRepositoryReactivoPort {
+
+    /**
+     * Busca un movimiento por su ID.
+     * @param id El ID del movimiento.
+     * @return El movimiento, o vacío si no existe.
+     */
+    Mono<Movimiento> findById(Long id);
+
+    /**
+     * Obtiene una página de movimientos en orden (fecha, ID) descendente.
+     * @param fecha Fecha del último movimiento de la página anterior, o null para la primera.
+     * @param movimientoId ID del último movimiento de la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Movimientos del más reciente al más antiguo.
+     */
+    Flux<Movimiento> findPagina(LocalDateTime fecha, Long movimientoId, int limite);
+
+    /**
+     * Obtiene una página de movimientos de una cuenta en orden (fecha, ID) descendente.
+     * @param cuentaId El ID de la cuenta.
+     * @param fecha Fecha del último movimiento de la página anterior, o null para la primera.
+     * @param movimientoId ID del último movimiento de la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Movimientos de la cuenta del más reciente al más antiguo.
+     */
+    Flux<Movimiento> findPaginaByCuentaId(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite);
+
+    /**
+     * Recorre movimientos en orden de ID.
+     * @param cuentaId El ID de la cuenta, o null para todos los movimientos.
+     * @return Los movimientos, leídos según la demanda.
+     */
+    Flux<Movimiento> stream(Long cuentaId);
+}
@@ -0,0 +1,36 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Puerto para la tabla outbox de eventos pendientes de publicar.
+ */
+public interface OutboxRepositoryPort {
+
+    /**
+     * Inserta un evento en la transacción en curso.
+     * @param evento El evento a publicar.
+     * @return El evento con su ID asignado.
+     */
+    EventoOutbox guardar(EventoOutbox evento);
+
+    /**
+     * Lee los eventos pendientes más antiguos.
+     * @param limite Máximo de eventos a leer.
+     * @return Eventos ordenados por ID, es decir, en orden de inserción.
+     */
+    List<EventoOutbox> findPendientes(int limite);
+
+    /**
+     * Elimina los eventos ya publicados.
+     * @param ids Los IDs de los eventos.
+     */
+    void deleteAllById(List<Long> ids);
+
+    /**
+     * @return Número de eventos pendientes.
+     */
+    long contarPendientes();
+}
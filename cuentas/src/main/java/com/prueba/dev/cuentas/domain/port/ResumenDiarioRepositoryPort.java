@@ -0,0 +1,36 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Puerto para operaciones de repositorio del resumen diario de movimientos.
+ * Define las operaciones de acceso a datos para los resúmenes por cuenta y día.
+ */
+public interface ResumenDiarioRepositoryPort {
+
+    /**
+     * Suma incrementos al resumen, creando las filas que aún no existen.
+     * Los incrementos conmutan, así que transacciones concurrentes pueden aplicarlos en cualquier orden.
+     * @param incrementos Los incrementos por cuenta, día y tipo.
+     */
+    void acumular(List<ResumenDiario> incrementos);
+
+    /**
+     * Obtiene los resúmenes diarios de las cuentas de un cliente en un rango.
+     * @param clienteId El ID del cliente.
+     * @param inicio Primer día del rango.
+     * @param fin Último día del rango.
+     * @return Resúmenes ordenados por cuenta y día.
+     */
+    List<ResumenDiario> findByClienteIdAndFechaBetween(Long clienteId, LocalDate inicio, LocalDate fin);
+
+    /**
+     * Suma los resúmenes anteriores a un día, por cuenta y tipo, para calcular el saldo de apertura.
+     * @param clienteId El ID del cliente.
+     * @param fecha El día desde el que se excluyen los resúmenes.
+     * @return Totales por cuenta y tipo, sin fecha.
+     */
+    List<ResumenDiario> sumarAnterioresA(Long clienteId, LocalDate fecha);
+}
@@ -0,0 +1,61 @@
+package com.prueba.dev.cuentas.domain.port;
+
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Puerto para operaciones de repositorio de puntos de control de saldo.
+ * Define las operaciones de acceso a datos para checkpoints.
+ */
+public interface SaldoCheckpointRepositoryPort {
+
+    /**
+     * Guarda un punto de control.
+     * @param checkpoint El punto de control a guardar.
+     * @return El punto de control guardado.
+     */
+    SaldoCheckpoint save(SaldoCheckpoint checkpoint);
+
+    /**
+     * Busca el punto de control de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @return Un Optional con el punto de control si existe.
+     */
+    Optional<SaldoCheckpoint> findByCuentaId(Long cuentaId);
+
+    /**
+     * Elimina el punto de control de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     */
+    void deleteByCuentaId(Long cuentaId);
+
+    /**
+     * Avanza el punto de control con un movimiento nuevo, si aún no lo incluye.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID del movimiento.
+     * @param efecto El efecto con signo del movimiento sobre el saldo.
+     * @return true si el punto de control fue actualizado.
+     */
+    boolean avanzar(Long cuentaId, Long movimientoId, BigDecimal efecto);
+
+    /**
+     * Avanza el punto de control sobre un tramo de movimientos, solo si nadie
+     * lo movió desde que fue leído.
+     * @param cuentaId El ID de la cuenta.
+     * @param desde El último movimiento leído del punto de control.
+     * @param hasta El último movimiento del tramo aplicado.
+     * @param efecto El efecto con signo acumulado del tramo.
+     * @return true si el punto de control fue actualizado.
+     */
+    boolean avanzarDesde(Long cuentaId, Long desde, Long hasta, BigDecimal efecto);
+
+    /**
+     * Corrige el saldo del punto de control si ya incluye el movimiento dado.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID del movimiento modificado o eliminado.
+     * @param diferencia La diferencia con signo sobre el saldo.
+     * @return true si el punto de control fue actualizado.
+     */
+    boolean ajustar(Long cuentaId, Long movimientoId, BigDecimal diferencia);
+}
\ No newline at end of file
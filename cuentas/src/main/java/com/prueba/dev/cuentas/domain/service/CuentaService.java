@@ -7,19 +7,36 @@ import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
 import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
 import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.port.AgrupadorPosteoPort;
 import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MotorPosteoPort;
 import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Servicio de dominio para operaciones de cuentas.
@@ -32,10 +49,39 @@ public class CuentaService {
 
     private final CuentaRepositoryPort cuentaRepository;
     private final MovimientoRepositoryPort movimientoRepository;
+    private final SaldoCheckpointRepositoryPort checkpointRepository;
+    private final ResumenDiarioRepositoryPort resumenRepository;
+    private MotorPosteoPort motorPosteo;
+    private AgrupadorPosteoPort agrupadorPosteo;
 
-    public CuentaService(CuentaRepositoryPort cuentaRepository, MovimientoRepositoryPort movimientoRepository) {
+    public CuentaService(CuentaRepositoryPort cuentaRepository, MovimientoRepositoryPort movimientoRepository,
+                         SaldoCheckpointRepositoryPort checkpointRepository, ResumenDiarioRepositoryPort resumenRepository) {
         this.cuentaRepository = cuentaRepository;
         this.movimientoRepository = movimientoRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.resumenRepository = resumenRepository;
+    }
+
+    /**
+     * Configura un motor de posteo alternativo (por ejemplo, el ledger en memoria).
+     * Sin motor, los movimientos se aplican con UPDATE condicionales en base de datos.
+     * @param motorPosteo El motor de posteo.
+     */
+    @Autowired(required = false)
+    public void setMotorPosteo(MotorPosteoPort motorPosteo) {
+        logger.info("Usando motor de posteo: {}", motorPosteo.getClass().getSimpleName());
+        this.motorPosteo = motorPosteo;
+    }
+
+    /**
+     * Configura el agrupador de posteos concurrentes por cuenta.
+     * Solo se usa cuando no hay motor de posteo configurado.
+     * @param agrupadorPosteo El agrupador de posteos.
+     */
+    @Autowired(required = false)
+    public void setAgrupadorPosteo(AgrupadorPosteoPort agrupadorPosteo) {
+        logger.info("Agrupando posteos concurrentes por cuenta con: {}", agrupadorPosteo.getClass().getSimpleName());
+        this.agrupadorPosteo = agrupadorPosteo;
     }
 
     /**
@@ -52,6 +98,7 @@ public class CuentaService {
         }
 
         Cuenta savedCuenta = cuentaRepository.save(cuenta);
+        checkpointRepository.save(new SaldoCheckpoint(savedCuenta.getId(), 0L, savedCuenta.getSaldoInicial()));
         logger.info("Cuenta creada con ID: {}", savedCuenta.getId());
         return savedCuenta;
     }
@@ -67,6 +114,18 @@ public class CuentaService {
                 .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + id));
     }
 
+    /**
+     * Obtiene una cuenta que se va a modificar y guardar.
+     * Se lee de la base de datos bloqueando la fila, no de la caché: guardar una
+     * copia cacheada podría volver a escribir un saldo anterior.
+     * @param id El ID de la cuenta.
+     * @return La cuenta encontrada.
+     */
+    private Cuenta getCuentaParaActualizar(Long id) {
+        return cuentaRepository.findByIdParaActualizar(id)
+                .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + id));
+    }
+
     /**
      * Obtiene todas las cuentas.
      * @return Lista de cuentas.
@@ -76,6 +135,17 @@ public class CuentaService {
         return cuentaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de cuentas ordenadas por ID.
+     * @param despuesDeId El ID de la última cuenta de la página anterior, o null para la primera.
+     * @param limite Máximo de cuentas a obtener.
+     * @return Lista de cuentas de la página.
+     */
+    public List<Cuenta> getCuentasPagina(Long despuesDeId, int limite) {
+        logger.info("Obteniendo {} cuentas posteriores a ID: {}", limite, despuesDeId);
+        return cuentaRepository.findPagina(despuesDeId, limite);
+    }
+
     /**
      * Obtiene cuentas por cliente ID.
      * @param clienteId El ID del cliente.
@@ -95,7 +165,7 @@ public class CuentaService {
     public Cuenta updateCuenta(Long id, Cuenta cuenta) {
         logger.info("Actualizando cuenta con ID: {}", id);
 
-        Cuenta existingCuenta = getCuentaById(id);
+        Cuenta existingCuenta = getCuentaParaActualizar(id);
         existingCuenta.setTipoCuenta(cuenta.getTipoCuenta());
         existingCuenta.setEstado(cuenta.getEstado());
 
@@ -115,27 +185,35 @@ public class CuentaService {
             throw new CuentaNotFoundException("Cuenta no encontrada con ID: " + id);
         }
 
+        checkpointRepository.deleteByCuentaId(id);
         cuentaRepository.deleteById(id);
         logger.info("Cuenta eliminada con ID: {}", id);
     }
 
     /**
      * Realiza un depósito en una cuenta.
+     * El saldo se actualiza con un único UPDATE atómico; el movimiento se inserta
+     * en la misma transacción del llamador.
      * @param cuentaId El ID de la cuenta.
      * @param valor El valor a depositar.
      * @return El movimiento creado.
      */
     public Movimiento depositar(Long cuentaId, BigDecimal valor) {
         logger.info("Depositando {} en cuenta ID: {}", valor, cuentaId);
+        if (motorPosteo != null) {
+            return motorPosteo.postear(cuentaId, "DEPOSITO", valor);
+        }
+        if (agrupadorPosteo != null) {
+            return agrupadorPosteo.postear(new Movimiento(cuentaId, "DEPOSITO", valor, BigDecimal.ZERO), this::registrarLote);
+        }
 
-        Cuenta cuenta = getCuentaById(cuentaId);
-        BigDecimal nuevoSaldo = cuenta.getSaldo().add(valor);
-        cuenta.setSaldo(nuevoSaldo);
-
-        cuentaRepository.save(cuenta);
+        BigDecimal nuevoSaldo = cuentaRepository.acreditarSaldo(cuentaId, valor)
+                .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
 
         Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", valor, nuevoSaldo);
         Movimiento savedMovimiento = movimientoRepository.save(movimiento);
+        registrarEnCheckpoint(savedMovimiento);
+        acumularResumen(List.of(savedMovimiento), 1);
 
         logger.info("Depósito realizado, nuevo saldo: {}", nuevoSaldo);
         return savedMovimiento;
@@ -143,66 +221,389 @@ public class CuentaService {
 
     /**
      * Realiza un retiro de una cuenta.
+     * El saldo se valida y descuenta con un único UPDATE condicional, por lo que
+     * retiros concurrentes no pueden dejar la cuenta en negativo.
      * @param cuentaId El ID de la cuenta.
      * @param valor El valor a retirar.
      * @return El movimiento creado.
      */
     public Movimiento retirar(Long cuentaId, BigDecimal valor) {
         logger.info("Retirando {} de cuenta ID: {}", valor, cuentaId);
-
-        Cuenta cuenta = getCuentaById(cuentaId);
-
-        if (cuenta.getSaldo().compareTo(valor) < 0) {
-            throw new SaldoInsuficienteException("Saldo insuficiente para el retiro. Saldo actual: " + cuenta.getSaldo());
+        if (motorPosteo != null) {
+            return motorPosteo.postear(cuentaId, "RETIRO", valor);
+        }
+        if (agrupadorPosteo != null) {
+            return agrupadorPosteo.postear(new Movimiento(cuentaId, "RETIRO", valor, BigDecimal.ZERO), this::registrarLote);
         }
 
-        BigDecimal nuevoSaldo = cuenta.getSaldo().subtract(valor);
-        cuenta.setSaldo(nuevoSaldo);
-
-        cuentaRepository.save(cuenta);
+        BigDecimal nuevoSaldo = cuentaRepository.debitarSaldo(cuentaId, valor)
+                .orElseThrow(() -> debitoRechazado(cuentaId, saldo -> "Saldo insuficiente para el retiro. Saldo actual: " + saldo));
 
         Movimiento movimiento = new Movimiento(cuentaId, "RETIRO", valor, nuevoSaldo);
         Movimiento savedMovimiento = movimientoRepository.save(movimiento);
+        registrarEnCheckpoint(savedMovimiento);
+        acumularResumen(List.of(savedMovimiento), 1);
 
         logger.info("Retiro realizado, nuevo saldo: {}", nuevoSaldo);
         return savedMovimiento;
     }
 
+    /**
+     * Transfiere un valor entre dos cuentas en la transacción actual.
+     * Las dos filas se bloquean siempre en orden de ID, de modo que transferencias
+     * cruzadas entre las mismas cuentas esperan en lugar de entrar en deadlock.
+     * El débito (TRANSFERENCIA) y el crédito (DEPOSITO) quedan enlazados por un ID común.
+     * @param cuentaOrigenId La cuenta que se debita.
+     * @param cuentaDestinoId La cuenta que se acredita.
+     * @param valor El valor a transferir.
+     * @return El movimiento de débito y el de crédito, en ese orden.
+     */
+    public List<Movimiento> transferir(Long cuentaOrigenId, Long cuentaDestinoId, BigDecimal valor) {
+        logger.info("Transfiriendo {} de cuenta ID: {} a cuenta ID: {}", valor, cuentaOrigenId, cuentaDestinoId);
+        if (cuentaOrigenId.equals(cuentaDestinoId)) {
+            throw new IllegalArgumentException("La cuenta de origen y la de destino deben ser distintas");
+        }
+        if (motorPosteo != null) {
+            // El ledger en memoria serializa por cuenta, no puede aplicar dos cuentas de forma atómica
+            throw new IllegalStateException("Las transferencias no están disponibles con el motor de posteo en memoria");
+        }
+
+        Long primera = Math.min(cuentaOrigenId, cuentaDestinoId);
+        Long segunda = Math.max(cuentaOrigenId, cuentaDestinoId);
+        for (Long cuentaId : List.of(primera, segunda)) {
+            cuentaRepository.findByIdParaActualizar(cuentaId)
+                    .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        }
+
+        BigDecimal saldoOrigen = cuentaRepository.debitarSaldo(cuentaOrigenId, valor)
+                .orElseThrow(() -> debitoRechazado(cuentaOrigenId, saldo -> "Saldo insuficiente para la transferencia. Saldo actual: " + saldo));
+        BigDecimal saldoDestino = cuentaRepository.acreditarSaldo(cuentaDestinoId, valor)
+                .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaDestinoId));
+
+        String transferenciaId = UUID.randomUUID().toString();
+        Movimiento debito = new Movimiento(cuentaOrigenId, "TRANSFERENCIA", valor, saldoOrigen);
+        debito.setTransferenciaId(transferenciaId);
+        Movimiento credito = new Movimiento(cuentaDestinoId, "DEPOSITO", valor, saldoDestino);
+        credito.setTransferenciaId(transferenciaId);
+
+        List<Movimiento> movimientos = movimientoRepository.saveAll(List.of(debito, credito));
+        movimientos.forEach(this::registrarEnCheckpoint);
+        acumularResumen(movimientos, 1);
+
+        logger.info("Transferencia {} realizada", transferenciaId);
+        return movimientos;
+    }
+
+    /**
+     * Registra un movimiento: aplica su efecto al saldo, lo guarda y avanza el punto de control.
+     * @param movimiento El movimiento a registrar; su saldo se calcula aquí.
+     * @return El movimiento registrado.
+     */
+    public Movimiento postearMovimiento(Movimiento movimiento) {
+        if (motorPosteo != null) {
+            return motorPosteo.postear(movimiento.getCuentaId(), movimiento.getTipoMovimiento(), movimiento.getValor());
+        }
+        if (agrupadorPosteo != null) {
+            return agrupadorPosteo.postear(movimiento, this::registrarLote);
+        }
+
+        // Validar y aplicar el movimiento al saldo en un único UPDATE condicional
+        BigDecimal nuevoSaldo = aplicarMovimiento(movimiento.getCuentaId(), movimiento.getTipoMovimiento(), movimiento.getValor());
+        movimiento.setSaldo(nuevoSaldo);
+
+        Movimiento savedMovimiento = movimientoRepository.save(movimiento);
+        registrarEnCheckpoint(savedMovimiento);
+        acumularResumen(List.of(savedMovimiento), 1);
+        return savedMovimiento;
+    }
+
+    /**
+     * Registra un tramo de movimientos en la transacción actual.
+     * Las cuentas se bloquean en orden de ID, los saldos se calculan en memoria
+     * recorriendo el tramo en orden y cada cuenta recibe un único UPDATE con el neto.
+     * Los movimientos que dejarían la cuenta en negativo se rechazan sin afectar al resto.
+     * @param movimientos Los movimientos del tramo; su saldo se calcula aquí.
+     * @return Los movimientos aceptados y los rechazados con su motivo, por posición en el tramo.
+     */
+    public ResultadoLote postearLote(List<Movimiento> movimientos) {
+        logger.info("Registrando lote de {} movimientos", movimientos.size());
+        if (motorPosteo != null) {
+            ResultadoLote resultado = new ResultadoLote();
+            // El motor ya agrupa los posteos por partición
+            for (int i = 0; i < movimientos.size(); i++) {
+                Movimiento movimiento = movimientos.get(i);
+                try {
+                    resultado.aceptar(i, motorPosteo.postear(movimiento.getCuentaId(), movimiento.getTipoMovimiento(), movimiento.getValor()));
+                } catch (RuntimeException e) {
+                    resultado.rechazar(i, e);
+                }
+            }
+            return resultado;
+        }
+        return registrarLote(movimientos);
+    }
+
+    /**
+     * Registra un tramo de movimientos con base de datos en la transacción actual.
+     * @param movimientos Los movimientos del tramo; su saldo se calcula aquí.
+     * @return Los movimientos aceptados y los rechazados, por posición en el tramo.
+     */
+    private ResultadoLote registrarLote(List<Movimiento> movimientos) {
+        ResultadoLote resultado = new ResultadoLote();
+
+        // Orden de bloqueo fijo para no provocar deadlocks entre lotes concurrentes
+        Map<Long, List<Integer>> porCuenta = new TreeMap<>();
+        for (int i = 0; i < movimientos.size(); i++) {
+            porCuenta.computeIfAbsent(movimientos.get(i).getCuentaId(), id -> new ArrayList<>()).add(i);
+        }
+
+        List<Movimiento> aceptados = new ArrayList<>(movimientos.size());
+        Map<Long, BigDecimal> netos = new HashMap<>();
+        for (Map.Entry<Long, List<Integer>> entrada : porCuenta.entrySet()) {
+            Long cuentaId = entrada.getKey();
+            Optional<Cuenta> cuenta = cuentaRepository.findByIdParaActualizar(cuentaId);
+            if (cuenta.isEmpty()) {
+                entrada.getValue().forEach(i -> resultado.rechazar(i, new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId)));
+                continue;
+            }
+            BigDecimal saldo = cuenta.get().getSaldo();
+            BigDecimal neto = BigDecimal.ZERO;
+            for (Integer i : entrada.getValue()) {
+                Movimiento movimiento = movimientos.get(i);
+                BigDecimal efecto = efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor());
+                if (saldo.add(efecto).signum() < 0) {
+                    resultado.rechazar(i, new SaldoInsuficienteException("Saldo no disponible"));
+                    continue;
+                }
+                saldo = saldo.add(efecto);
+                neto = neto.add(efecto);
+                movimiento.setSaldo(saldo);
+                aceptados.add(movimiento);
+                resultado.aceptar(i, movimiento);
+            }
+            if (neto.signum() != 0) {
+                cuentaRepository.acreditarSaldo(cuentaId, neto);
+                netos.put(cuentaId, neto);
+            }
+        }
+
+        // IDs pooled: los INSERT se agrupan y se envían al primer flush
+        movimientoRepository.saveAll(aceptados);
+        Map<Long, Long> ultimoMovimiento = new HashMap<>();
+        for (Movimiento movimiento : aceptados) {
+            ultimoMovimiento.merge(movimiento.getCuentaId(), movimiento.getId(), Math::max);
+        }
+        ultimoMovimiento.forEach((cuentaId, movimientoId) ->
+                avanzarCheckpoint(cuentaId, movimientoId, netos.getOrDefault(cuentaId, BigDecimal.ZERO)));
+        acumularResumen(aceptados, 1);
+
+        logger.info("Lote registrado: {} aceptados, {} rechazados", resultado.getAceptados().size(), resultado.getRechazados().size());
+        return resultado;
+    }
+
+    /**
+     * Inserta un tramo de movimientos históricos con su saldo ya calculado.
+     * No toca el saldo de las cuentas: se aplica una sola vez al terminar la importación
+     * con {@link #acreditarImportacion(Long, BigDecimal)}. Los puntos de control sí avanzan
+     * en la misma transacción para que el cálculo de saldo no cuente dos veces el tramo.
+     * @param movimientos Los movimientos del tramo.
+     */
+    public void registrarHistorico(List<Movimiento> movimientos) {
+        logger.debug("Registrando tramo histórico de {} movimientos", movimientos.size());
+        movimientoRepository.saveAll(movimientos);
+
+        Map<Long, Long> ultimoMovimiento = new HashMap<>();
+        Map<Long, BigDecimal> netos = new HashMap<>();
+        for (Movimiento movimiento : movimientos) {
+            ultimoMovimiento.merge(movimiento.getCuentaId(), movimiento.getId(), Math::max);
+            netos.merge(movimiento.getCuentaId(), efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor()), BigDecimal::add);
+        }
+        ultimoMovimiento.forEach((cuentaId, movimientoId) -> avanzarCheckpoint(cuentaId, movimientoId, netos.get(cuentaId)));
+        acumularResumen(movimientos, 1);
+    }
+
+    /**
+     * Aplica al saldo de la cuenta el efecto neto de los movimientos importados.
+     * @param cuentaId El ID de la cuenta.
+     * @param neto El efecto neto con signo.
+     */
+    public void acreditarImportacion(Long cuentaId, BigDecimal neto) {
+        logger.info("Aplicando neto importado de {} a cuenta ID: {}", neto, cuentaId);
+        if (neto.signum() != 0) {
+            cuentaRepository.acreditarSaldo(cuentaId, neto)
+                    .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        }
+        if (motorPosteo != null) {
+            motorPosteo.invalidar(cuentaId);
+        }
+    }
+
+    /**
+     * Aplica un movimiento al saldo de la cuenta según su tipo.
+     * DEPOSITO acredita; RETIRO y TRANSFERENCIA debitan si hay saldo suficiente.
+     * @param cuentaId El ID de la cuenta.
+     * @param tipoMovimiento El tipo de movimiento.
+     * @param valor El valor del movimiento.
+     * @return El saldo de la cuenta después del movimiento.
+     */
+    public BigDecimal aplicarMovimiento(Long cuentaId, String tipoMovimiento, BigDecimal valor) {
+        logger.debug("Aplicando {} de {} a cuenta ID: {}", tipoMovimiento, valor, cuentaId);
+        if ("DEPOSITO".equals(tipoMovimiento)) {
+            return cuentaRepository.acreditarSaldo(cuentaId, valor)
+                    .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        }
+        return cuentaRepository.debitarSaldo(cuentaId, valor)
+                .orElseThrow(() -> debitoRechazado(cuentaId, saldo -> "Saldo no disponible"));
+    }
+
+    /**
+     * Determina por qué un débito condicional no afectó ninguna fila.
+     * Solo se consulta la cuenta en el camino de error.
+     */
+    private RuntimeException debitoRechazado(Long cuentaId, Function<BigDecimal, String> mensaje) {
+        return cuentaRepository.findById(cuentaId)
+                .<RuntimeException>map(cuenta -> new SaldoInsuficienteException(mensaje.apply(cuenta.getSaldo())))
+                .orElseGet(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+    }
+
     /**
      * Calcula el saldo actual de una cuenta basado en sus movimientos.
+     * Parte del último punto de control y solo reprocesa los movimientos posteriores;
+     * si la cuenta aún no tiene punto de control, lo construye desde el saldo inicial.
      * @param cuentaId El ID de la cuenta.
      * @return El saldo actual.
      */
     public BigDecimal calcularSaldoActual(Long cuentaId) {
         logger.debug("Calculando saldo actual para cuenta ID: {}", cuentaId);
-        Cuenta cuenta = getCuentaById(cuentaId);
-        BigDecimal saldo = cuenta.getSaldoInicial();
 
-        List<Movimiento> movimientos = movimientoRepository.findByCuentaIdOrderByFechaDesc(cuentaId);
+        Optional<SaldoCheckpoint> existente = checkpointRepository.findByCuentaId(cuentaId);
+        SaldoCheckpoint checkpoint = existente
+                .orElseGet(() -> new SaldoCheckpoint(cuentaId, 0L, getCuentaById(cuentaId).getSaldoInicial()));
+        Long desde = checkpoint.getUltimoMovimientoId();
+        BigDecimal saldoBase = checkpoint.getSaldo();
+
+        List<Movimiento> movimientos = movimientoRepository.findByCuentaIdAndIdGreaterThan(cuentaId, desde);
         for (Movimiento movimiento : movimientos) {
-            if ("DEPOSITO".equals(movimiento.getTipoMovimiento())) {
-                saldo = saldo.add(movimiento.getValor());
-            } else if ("RETIRO".equals(movimiento.getTipoMovimiento()) || "TRANSFERENCIA".equals(movimiento.getTipoMovimiento())) {
-                saldo = saldo.subtract(movimiento.getValor());
-            }
+            checkpoint.avanzar(movimiento.getId(), efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor()));
         }
-        return saldo;
+
+        if (existente.isEmpty()) {
+            checkpointRepository.save(checkpoint);
+        } else if (!movimientos.isEmpty()) {
+            // Si otro posteo movió el checkpoint mientras tanto, se conserva el suyo
+            checkpointRepository.avanzarDesde(cuentaId, desde, checkpoint.getUltimoMovimientoId(), checkpoint.getSaldo().subtract(saldoBase));
+        }
+        logger.debug("Saldo de cuenta ID: {} calculado con {} movimientos posteriores al checkpoint", cuentaId, movimientos.size());
+        return checkpoint.getSaldo();
     }
 
     /**
-     * Actualiza el saldo de una cuenta.
+     * Avanza el punto de control de la cuenta con un movimiento recién registrado.
+     * Debe llamarse en la misma transacción que insertó el movimiento; si la cuenta
+     * no tiene punto de control, se construirá en el próximo cálculo de saldo.
+     * @param movimiento El movimiento guardado.
+     */
+    public void registrarEnCheckpoint(Movimiento movimiento) {
+        avanzarCheckpoint(movimiento.getCuentaId(), movimiento.getId(),
+                efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor()));
+    }
+
+    private void avanzarCheckpoint(Long cuentaId, Long movimientoId, BigDecimal efecto) {
+        // Con IDs reservados por bloques, otra instancia puede haber avanzado el checkpoint
+        // con un ID mayor: en ese caso el efecto se suma sin mover el último movimiento
+        if (!checkpointRepository.avanzar(cuentaId, movimientoId, efecto) && efecto.signum() != 0) {
+            checkpointRepository.ajustar(cuentaId, movimientoId, efecto);
+        }
+    }
+
+    /**
+     * Corrige el punto de control cuando cambia un movimiento que ya estaba incluido en él.
+     * Si el movimiento es posterior al checkpoint no hay nada que corregir.
+     * @param movimiento El movimiento modificado o eliminado.
+     * @param diferencia La diferencia con signo sobre el saldo.
+     */
+    public void ajustarCheckpoint(Movimiento movimiento, BigDecimal diferencia) {
+        if (diferencia.signum() != 0) {
+            checkpointRepository.ajustar(movimiento.getCuentaId(), movimiento.getId(), diferencia);
+        }
+    }
+
+    /**
+     * Suma o resta movimientos del resumen diario en la transacción actual.
+     * @param movimientos Los movimientos registrados o eliminados.
+     * @param signo 1 al registrar, -1 al eliminar.
+     */
+    public void acumularResumen(Collection<Movimiento> movimientos, int signo) {
+        if (!movimientos.isEmpty()) {
+            resumenRepository.acumular(ResumenDiario.agrupar(movimientos, signo));
+        }
+    }
+
+    /**
+     * Corrige el total del resumen diario cuando cambia el valor de un movimiento.
+     * @param movimiento El movimiento modificado.
+     * @param diferencia El valor nuevo menos el anterior.
+     */
+    public void corregirResumen(Movimiento movimiento, BigDecimal diferencia) {
+        if (diferencia.signum() != 0) {
+            resumenRepository.acumular(List.of(new ResumenDiario(movimiento.getCuentaId(), movimiento.getFecha().toLocalDate(),
+                    movimiento.getTipoMovimiento(), 0, diferencia)));
+        }
+    }
+
+    /**
+     * Calcula el efecto de un movimiento sobre el saldo.
+     * @param tipoMovimiento El tipo de movimiento.
+     * @param valor El valor del movimiento.
+     * @return El valor positivo para depósitos y negativo para retiros y transferencias.
+     */
+    public static BigDecimal efectoEnSaldo(String tipoMovimiento, BigDecimal valor) {
+        if ("DEPOSITO".equals(tipoMovimiento)) {
+            return valor;
+        } else if ("RETIRO".equals(tipoMovimiento) || "TRANSFERENCIA".equals(tipoMovimiento)) {
+            return valor.negate();
+        }
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * Corrige el saldo de una cuenta cuando cambia o se elimina un movimiento ya registrado.
+     * Solo aplica la diferencia con un UPDATE condicional, que bloquea la fila de la cuenta
+     * antes que el punto de control, en el mismo orden que los posteos. Una corrección que
+     * dejaría la cuenta en negativo se rechaza igual que un retiro.
      * @param cuentaId El ID de la cuenta.
-     * @param nuevoSaldo El nuevo saldo.
+     * @param diferencia La diferencia con signo sobre el saldo.
+     * @return El saldo de la cuenta después de la corrección.
+     */
+    public BigDecimal corregirSaldo(Long cuentaId, BigDecimal diferencia) {
+        logger.debug("Corrigiendo saldo de cuenta ID: {} en {}", cuentaId, diferencia);
+        BigDecimal nuevoSaldo = diferencia.signum() < 0
+                ? cuentaRepository.debitarSaldo(cuentaId, diferencia.negate())
+                        .orElseThrow(() -> debitoRechazado(cuentaId, saldo -> "Saldo insuficiente para la corrección. Saldo actual: " + saldo))
+                : cuentaRepository.acreditarSaldo(cuentaId, diferencia)
+                        .orElseThrow(() -> new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId));
+        if (motorPosteo != null) {
+            motorPosteo.invalidar(cuentaId);
+        }
+        return nuevoSaldo;
+    }
+
+    /**
+     * Recorre las cuentas de un cliente con sus movimientos en un rango de fechas, en una sola consulta.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio del rango.
+     * @param fechaFin Fecha de fin del rango, incluida completa.
+     * @return Stream de filas agrupadas por cuenta; debe cerrarse y consumirse dentro de una transacción.
      */
-    public void actualizarSaldoCuenta(Long cuentaId, BigDecimal nuevoSaldo) {
-        logger.debug("Actualizando saldo de cuenta ID: {} a {}", cuentaId, nuevoSaldo);
-        Cuenta cuenta = getCuentaById(cuentaId);
-        cuenta.setSaldo(nuevoSaldo);
-        cuentaRepository.save(cuenta);
+    public Stream<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin) {
+        logger.info("Recorriendo estado de cuenta para cliente ID: {} entre {} y {}", clienteId, fechaInicio, fechaFin);
+        return cuentaRepository.streamEstadoCuenta(clienteId, fechaInicio.atStartOfDay(), fechaFin.atTime(LocalTime.MAX));
     }
 
     /**
      * Genera el estado de cuenta para un cliente en un rango de fechas.
+     * Arma el reporte completo en memoria a partir de la misma consulta que
+     * {@link #streamEstadoCuenta}; para reportes grandes conviene recorrer las filas.
      * @param clienteId El ID del cliente.
      * @param fechaInicio Fecha de inicio del rango.
      * @param fechaFin Fecha de fin del rango.
@@ -211,23 +612,24 @@ public class CuentaService {
     public EstadoCuentaDTO getEstadoCuenta(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin) {
         logger.info("Generando estado de cuenta para cliente ID: {} entre {} y {}", clienteId, fechaInicio, fechaFin);
 
-        List<Cuenta> cuentas = cuentaRepository.findByClienteId(clienteId);
-
-        List<CuentaConMovimientosDTO> cuentasConMovimientos = cuentas.stream().map(cuenta -> {
-            LocalDateTime inicio = fechaInicio.atStartOfDay();
-            LocalDateTime fin = fechaFin.atTime(LocalTime.MAX);
-            List<Movimiento> movimientos = movimientoRepository.findByCuentaIdAndFechaBetween(cuenta.getId(), inicio, fin);
-
-            CuentaDTO cuentaDTO = new CuentaDTO(cuenta.getId(), cuenta.getClienteId(), cuenta.getNumeroCuenta(), cuenta.getTipoCuenta(), cuenta.getSaldoInicial(), cuenta.getEstado(), cuenta.getSaldo());
-            List<MovimientoDTO> movimientosDTO = movimientos.stream()
-                    .map(m -> new MovimientoDTO(m.getId(), m.getCuentaId(), m.getFecha(), m.getTipoMovimiento(), m.getValor(), m.getSaldo()))
-                    .collect(Collectors.toList());
-
-            return new CuentaConMovimientosDTO(cuentaDTO, movimientosDTO);
-        }).collect(Collectors.toList());
+        List<CuentaConMovimientosDTO> cuentasConMovimientos = new ArrayList<>();
+        try (Stream<FilaEstadoCuenta> filas = streamEstadoCuenta(clienteId, fechaInicio, fechaFin)) {
+            CuentaConMovimientosDTO actual = null;
+            for (FilaEstadoCuenta fila : (Iterable<FilaEstadoCuenta>) filas::iterator) {
+                if (actual == null || !actual.getCuenta().getId().equals(fila.cuentaId())) {
+                    actual = new CuentaConMovimientosDTO(new CuentaDTO(fila.cuentaId(), fila.clienteId(), fila.numeroCuenta(),
+                            fila.tipoCuenta(), fila.saldoInicial(), fila.estado(), fila.saldoActual()), new ArrayList<>());
+                    cuentasConMovimientos.add(actual);
+                }
+                if (fila.tieneMovimiento()) {
+                    actual.getMovimientos().add(new MovimientoDTO(fila.movimientoId(), fila.cuentaId(), fila.fecha(),
+                            fila.tipoMovimiento(), fila.valor(), fila.saldo()));
+                }
+            }
+        }
 
         EstadoCuentaDTO estadoCuenta = new EstadoCuentaDTO(clienteId, cuentasConMovimientos);
         logger.info("Estado de cuenta generado para cliente ID: {}", clienteId);
         return estadoCuenta;
     }
-}
\ No newline at end of file
+}
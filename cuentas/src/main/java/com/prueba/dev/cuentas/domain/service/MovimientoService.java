@@ -1,15 +1,17 @@
 package com.prueba.dev.cuentas.domain.service;
 
 import com.prueba.dev.cuentas.domain.exception.MovimientoNotFoundException;
-import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
 import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Servicio de dominio para operaciones de movimientos.
@@ -36,32 +38,22 @@ public class MovimientoService {
     public Movimiento createMovimiento(Movimiento movimiento) {
         logger.info("Creando movimiento para cuenta ID: {}", movimiento.getCuentaId());
 
-        // Calcular el saldo actual antes del movimiento
-        BigDecimal saldoActual = cuentaService.calcularSaldoActual(movimiento.getCuentaId());
-
-        // Verificar saldo suficiente para retiros
-        if (("RETIRO".equals(movimiento.getTipoMovimiento()) || "TRANSFERENCIA".equals(movimiento.getTipoMovimiento()))
-            && saldoActual.compareTo(movimiento.getValor()) < 0) {
-            throw new SaldoInsuficienteException("Saldo no disponible");
-        }
-
-        // Calcular el saldo después del movimiento
-        if ("DEPOSITO".equals(movimiento.getTipoMovimiento())) {
-            saldoActual = saldoActual.add(movimiento.getValor());
-        } else if ("RETIRO".equals(movimiento.getTipoMovimiento()) || "TRANSFERENCIA".equals(movimiento.getTipoMovimiento())) {
-            saldoActual = saldoActual.subtract(movimiento.getValor());
-        }
-        movimiento.setSaldo(saldoActual);
-
-        Movimiento savedMovimiento = movimientoRepository.save(movimiento);
+        Movimiento savedMovimiento = cuentaService.postearMovimiento(movimiento);
         logger.info("Movimiento creado con ID: {}", savedMovimiento.getId());
 
-        // Actualizar el saldo de la cuenta
-        cuentaService.actualizarSaldoCuenta(movimiento.getCuentaId(), saldoActual);
-
         return savedMovimiento;
     }
 
+    /**
+     * Crea un tramo de movimientos en la transacción actual.
+     * @param movimientos Los movimientos a crear.
+     * @return Los movimientos aceptados y los rechazados con su motivo.
+     */
+    public ResultadoLote createMovimientos(List<Movimiento> movimientos) {
+        logger.info("Creando lote de {} movimientos", movimientos.size());
+        return cuentaService.postearLote(movimientos);
+    }
+
     /**
      * Obtiene un movimiento por su ID.
      * @param id El ID del movimiento.
@@ -92,6 +84,41 @@ public class MovimientoService {
         return movimientoRepository.findByCuentaIdOrderByFechaDesc(cuentaId);
     }
 
+    /**
+     * Recorre los movimientos en orden de ID para exportarlos.
+     * @param cuentaId El ID de la cuenta, o null para todos los movimientos.
+     * @return Stream de movimientos; debe cerrarse y consumirse dentro de una transacción.
+     */
+    public Stream<Movimiento> streamMovimientos(Long cuentaId) {
+        logger.info("Recorriendo movimientos para exportar, cuenta ID: {}", cuentaId);
+        return movimientoRepository.stream(cuentaId);
+    }
+
+    /**
+     * Obtiene una página de movimientos del más reciente al más antiguo.
+     * @param fecha La fecha del último movimiento de la página anterior, o null para la primera.
+     * @param movimientoId El ID del último movimiento de la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Lista de movimientos de la página.
+     */
+    public List<Movimiento> getMovimientosPagina(LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.info("Obteniendo {} movimientos anteriores a ({}, {})", limite, fecha, movimientoId);
+        return movimientoRepository.findPagina(fecha, movimientoId, limite);
+    }
+
+    /**
+     * Obtiene una página de movimientos de una cuenta del más reciente al más antiguo.
+     * @param cuentaId El ID de la cuenta.
+     * @param fecha La fecha del último movimiento de la página anterior, o null para la primera.
+     * @param movimientoId El ID del último movimiento de la página anterior, o null para la primera.
+     * @param limite Máximo de movimientos a obtener.
+     * @return Lista de movimientos de la página.
+     */
+    public List<Movimiento> getMovimientosByCuentaIdPagina(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.info("Obteniendo {} movimientos de cuenta ID: {} anteriores a ({}, {})", limite, cuentaId, fecha, movimientoId);
+        return movimientoRepository.findPaginaByCuentaId(cuentaId, fecha, movimientoId, limite);
+    }
+
     /**
      * Actualiza un movimiento existente.
      * Solo permite actualizar el valor.
@@ -103,16 +130,20 @@ public class MovimientoService {
         logger.info("Actualizando movimiento con ID: {}", id);
 
         Movimiento existingMovimiento = getMovimientoById(id);
-        existingMovimiento.setValor(movimiento.getValor());
+        BigDecimal diferencia = CuentaService.efectoEnSaldo(existingMovimiento.getTipoMovimiento(), movimiento.getValor())
+                .subtract(CuentaService.efectoEnSaldo(existingMovimiento.getTipoMovimiento(), existingMovimiento.getValor()));
 
-        // Recalcular el saldo de la cuenta
-        BigDecimal nuevoSaldo = cuentaService.calcularSaldoActual(existingMovimiento.getCuentaId());
-        cuentaService.actualizarSaldoCuenta(existingMovimiento.getCuentaId(), nuevoSaldo);
+        // La cuenta se bloquea primero, igual que en los posteos, y solo recibe la diferencia
+        BigDecimal nuevoSaldo = cuentaService.corregirSaldo(existingMovimiento.getCuentaId(), diferencia);
 
+        BigDecimal valorAnterior = existingMovimiento.getValor();
+        existingMovimiento.setValor(movimiento.getValor());
         // Actualizar el saldo en el movimiento (aunque no se use directamente)
         existingMovimiento.setSaldo(nuevoSaldo);
 
         Movimiento updatedMovimiento = movimientoRepository.save(existingMovimiento);
+        cuentaService.ajustarCheckpoint(existingMovimiento, diferencia);
+        cuentaService.corregirResumen(existingMovimiento, movimiento.getValor().subtract(valorAnterior));
         logger.info("Movimiento actualizado con ID: {}", updatedMovimiento.getId());
         return updatedMovimiento;
     }
@@ -125,14 +156,15 @@ public class MovimientoService {
         logger.info("Eliminando movimiento con ID: {}", id);
 
         Movimiento movimiento = getMovimientoById(id);
-        Long cuentaId = movimiento.getCuentaId();
+        BigDecimal diferencia = CuentaService.efectoEnSaldo(movimiento.getTipoMovimiento(), movimiento.getValor()).negate();
 
-        movimientoRepository.deleteById(id);
+        // La cuenta se bloquea primero, igual que en los posteos, y solo recibe la diferencia
+        cuentaService.corregirSaldo(movimiento.getCuentaId(), diferencia);
 
-        // Recalcular el saldo de la cuenta después de eliminar el movimiento
-        BigDecimal nuevoSaldo = cuentaService.calcularSaldoActual(cuentaId);
-        cuentaService.actualizarSaldoCuenta(cuentaId, nuevoSaldo);
+        movimientoRepository.deleteById(id);
+        cuentaService.ajustarCheckpoint(movimiento, diferencia);
+        cuentaService.acumularResumen(List.of(movimiento), -1);
 
         logger.info("Movimiento eliminado con ID: {}", id);
     }
-}
\ No newline at end of file
+}
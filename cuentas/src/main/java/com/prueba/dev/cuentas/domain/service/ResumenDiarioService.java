@@ -0,0 +1,113 @@
+package com.prueba.dev.cuentas.domain.service;
+
+import com.prueba.dev.cuentas.application.dto.CuentaConResumenDTO;
+import com.prueba.dev.cuentas.application.dto.CuentaDTO;
+import com.prueba.dev.cuentas.application.dto.EstadoCuentaResumidoDTO;
+import com.prueba.dev.cuentas.application.dto.ResumenPeriodoDTO;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de dominio para el estado de cuenta agregado.
+ * Lee el resumen diario en lugar de los movimientos: el costo depende de los días
+ * con actividad y no de la cantidad de movimientos. El saldo de apertura de cada
+ * cuenta se obtiene sumando el resumen anterior al rango al saldo inicial.
+ */
+@Service
+public class ResumenDiarioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenDiarioService.class);
+
+    private final CuentaRepositoryPort cuentaRepository;
+    private final ResumenDiarioRepositoryPort resumenRepository;
+
+    public ResumenDiarioService(CuentaRepositoryPort cuentaRepository, ResumenDiarioRepositoryPort resumenRepository) {
+        this.cuentaRepository = cuentaRepository;
+        this.resumenRepository = resumenRepository;
+    }
+
+    /**
+     * Genera el estado de cuenta de un cliente agregado por día o por mes.
+     * Solo se listan los periodos con movimientos.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio del rango.
+     * @param fechaFin Fecha de fin del rango.
+     * @param agrupacion El periodo de agrupación.
+     * @return El estado de cuenta resumido.
+     */
+    public EstadoCuentaResumidoDTO getEstadoCuentaResumido(Long clienteId, LocalDate fechaInicio, LocalDate fechaFin,
+                                                           AgrupacionResumen agrupacion) {
+        logger.info("Generando estado de cuenta por {} para cliente ID: {} entre {} y {}", agrupacion, clienteId, fechaInicio, fechaFin);
+
+        Map<Long, BigDecimal> netosAnteriores = new HashMap<>();
+        for (ResumenDiario total : resumenRepository.sumarAnterioresA(clienteId, fechaInicio)) {
+            netosAnteriores.merge(total.getCuentaId(), CuentaService.efectoEnSaldo(total.getTipoMovimiento(), total.getTotal()), BigDecimal::add);
+        }
+        Map<Long, List<ResumenDiario>> porCuenta = new HashMap<>();
+        for (ResumenDiario resumen : resumenRepository.findByClienteIdAndFechaBetween(clienteId, fechaInicio, fechaFin)) {
+            porCuenta.computeIfAbsent(resumen.getCuentaId(), id -> new ArrayList<>()).add(resumen);
+        }
+
+        List<Cuenta> cuentas = new ArrayList<>(cuentaRepository.findByClienteId(clienteId));
+        cuentas.sort(Comparator.comparing(Cuenta::getId));
+        List<CuentaConResumenDTO> resultado = new ArrayList<>(cuentas.size());
+        for (Cuenta cuenta : cuentas) {
+            BigDecimal apertura = cuenta.getSaldoInicial().add(netosAnteriores.getOrDefault(cuenta.getId(), BigDecimal.ZERO));
+            List<ResumenPeriodoDTO> periodos = agrupar(porCuenta.getOrDefault(cuenta.getId(), List.of()), apertura, agrupacion);
+            resultado.add(new CuentaConResumenDTO(new CuentaDTO(cuenta.getId(), cuenta.getClienteId(), cuenta.getNumeroCuenta(),
+                    cuenta.getTipoCuenta(), cuenta.getSaldoInicial(), cuenta.getEstado(), cuenta.getSaldo()), periodos));
+        }
+        return new EstadoCuentaResumidoDTO(clienteId, agrupacion, resultado);
+    }
+
+    /**
+     * Acumula los resúmenes diarios de una cuenta, ya ordenados por día, en periodos.
+     * El cierre de cada periodo es la apertura del siguiente.
+     */
+    private static List<ResumenPeriodoDTO> agrupar(List<ResumenDiario> resumenes, BigDecimal apertura, AgrupacionResumen agrupacion) {
+        Map<LocalDate, ResumenPeriodoDTO> periodos = new LinkedHashMap<>();
+        BigDecimal saldo = apertura;
+        for (ResumenDiario resumen : resumenes) {
+            if (resumen.getCantidad() == 0) {
+                // Quedan filas en cero cuando se eliminan todos los movimientos de un día
+                continue;
+            }
+            BigDecimal saldoPrevio = saldo;
+            ResumenPeriodoDTO periodo = periodos.computeIfAbsent(agrupacion.periodo(resumen.getFecha()),
+                    fecha -> new ResumenPeriodoDTO(fecha, saldoPrevio));
+            switch (resumen.getTipoMovimiento()) {
+                case "DEPOSITO" -> {
+                    periodo.setDepositos(periodo.getDepositos() + resumen.getCantidad());
+                    periodo.setTotalDepositos(periodo.getTotalDepositos().add(resumen.getTotal()));
+                }
+                case "RETIRO" -> {
+                    periodo.setRetiros(periodo.getRetiros() + resumen.getCantidad());
+                    periodo.setTotalRetiros(periodo.getTotalRetiros().add(resumen.getTotal()));
+                }
+                case "TRANSFERENCIA" -> {
+                    periodo.setTransferencias(periodo.getTransferencias() + resumen.getCantidad());
+                    periodo.setTotalTransferencias(periodo.getTotalTransferencias().add(resumen.getTotal()));
+                }
+                default -> logger.warn("Tipo de movimiento desconocido en el resumen diario: {}", resumen.getTipoMovimiento());
+            }
+            saldo = saldo.add(CuentaService.efectoEnSaldo(resumen.getTipoMovimiento(), resumen.getTotal()));
+            periodo.setSaldoCierre(saldo);
+        }
+        return new ArrayList<>(periodos.values());
+    }
+}
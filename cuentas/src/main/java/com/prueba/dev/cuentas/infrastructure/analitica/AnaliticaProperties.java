@@ -0,0 +1,58 @@
+package com.prueba.dev.cuentas.infrastructure.analitica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del motor analítico columnar (prefijo cuentas.analitica).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.analitica")
+public class AnaliticaProperties {
+
+    /** Carga y refresca la copia columnar; sin ella las consultas analíticas se rechazan. */
+    private boolean habilitado = false;
+
+    /** Espera entre dos recargas completas de la copia. */
+    private Duration intervalo = Duration.ofMinutes(15);
+
+    /** Hilos del pool fork-join de los escaneos; 0 usa un hilo por núcleo. */
+    private int paralelismo = 0;
+
+    /** Filas a partir de las cuales un escaneo se divide en dos tareas. */
+    private int umbralTarea = 65536;
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Duration getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Duration intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    public void setParalelismo(int paralelismo) {
+        this.paralelismo = paralelismo;
+    }
+
+    public int getUmbralTarea() {
+        return umbralTarea;
+    }
+
+    public void setUmbralTarea(int umbralTarea) {
+        this.umbralTarea = umbralTarea;
+    }
+}
@@ -0,0 +1,145 @@
+package com.prueba.dev.cuentas.infrastructure.analitica;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia inmutable del histórico de movimientos en columnas de tipos primitivos.
+ * Cada movimiento ocupa la misma posición en todas las columnas; los textos
+ * (tipo de movimiento y tipo de cuenta) se guardan como códigos de un byte
+ * contra un diccionario, y el mes se precalcula para no derivarlo en cada escaneo.
+ */
+final class ColumnasMovimientos {
+
+    /** Primer mes representable: los meses se guardan como distancia a este en un short. */
+    private static final YearMonth MES_BASE = YearMonth.of(1970, 1);
+
+    /** Las claves de agrupación reservan 32 bits para la cuenta. */
+    static final long MAXIMO_CUENTA_ID = 0xFFFFFFFFL;
+
+    final int filas;
+    final long[] cuentaId;
+    final long[] epoch;
+    final long[] valor;
+    final byte[] tipoMovimiento;
+    final byte[] tipoCuenta;
+    final short[] mes;
+    final List<String> tiposMovimiento;
+    final List<String> tiposCuenta;
+    final LocalDateTime fechaCarga;
+
+    private ColumnasMovimientos(Constructor constructor) {
+        this.filas = constructor.filas;
+        this.cuentaId = Arrays.copyOf(constructor.cuentaId, filas);
+        this.epoch = Arrays.copyOf(constructor.epoch, filas);
+        this.valor = Arrays.copyOf(constructor.valor, filas);
+        this.tipoMovimiento = Arrays.copyOf(constructor.tipoMovimiento, filas);
+        this.tipoCuenta = Arrays.copyOf(constructor.tipoCuenta, filas);
+        this.mes = Arrays.copyOf(constructor.mes, filas);
+        this.tiposMovimiento = List.copyOf(constructor.tiposMovimiento.valores);
+        this.tiposCuenta = List.copyOf(constructor.tiposCuenta.valores);
+        this.fechaCarga = LocalDateTime.now();
+    }
+
+    static long aEpoch(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static YearMonth aMes(short codigo) {
+        return MES_BASE.plusMonths(codigo);
+    }
+
+    static BigDecimal aValor(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Código de un texto en el diccionario, o -1 si no aparece en la copia.
+     */
+    static int codigo(List<String> diccionario, String valor) {
+        return valor == null ? -1 : diccionario.indexOf(valor);
+    }
+
+    /**
+     * Acumula filas en columnas que crecen al doble según hace falta.
+     */
+    static final class Constructor {
+
+        private final Map<Long, String> tipoCuentaPorCuenta;
+        private final Diccionario tiposMovimiento = new Diccionario();
+        private final Diccionario tiposCuenta = new Diccionario();
+        private int filas;
+        private long[] cuentaId = new long[1024];
+        private long[] epoch = new long[1024];
+        private long[] valor = new long[1024];
+        private byte[] tipoMovimiento = new byte[1024];
+        private byte[] tipoCuenta = new byte[1024];
+        private short[] mes = new short[1024];
+
+        /**
+         * @param tipoCuentaPorCuenta Tipo de cada cuenta, para desnormalizarlo en cada fila.
+         */
+        Constructor(Map<Long, String> tipoCuentaPorCuenta) {
+            this.tipoCuentaPorCuenta = tipoCuentaPorCuenta;
+        }
+
+        void agregar(Movimiento movimiento) {
+            if (filas == cuentaId.length) {
+                int capacidad = filas * 2;
+                cuentaId = Arrays.copyOf(cuentaId, capacidad);
+                epoch = Arrays.copyOf(epoch, capacidad);
+                valor = Arrays.copyOf(valor, capacidad);
+                tipoMovimiento = Arrays.copyOf(tipoMovimiento, capacidad);
+                tipoCuenta = Arrays.copyOf(tipoCuenta, capacidad);
+                mes = Arrays.copyOf(mes, capacidad);
+            }
+            if (movimiento.getCuentaId() > MAXIMO_CUENTA_ID) {
+                throw new IllegalStateException("ID de cuenta fuera del rango de la copia columnar: " + movimiento.getCuentaId());
+            }
+            cuentaId[filas] = movimiento.getCuentaId();
+            epoch[filas] = aEpoch(movimiento.getFecha());
+            valor[filas] = movimiento.getValor().setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+            tipoMovimiento[filas] = tiposMovimiento.codigo(movimiento.getTipoMovimiento());
+            tipoCuenta[filas] = tiposCuenta.codigo(tipoCuentaPorCuenta.getOrDefault(movimiento.getCuentaId(), "DESCONOCIDA"));
+            mes[filas] = (short) ChronoUnit.MONTHS.between(MES_BASE, YearMonth.from(movimiento.getFecha()));
+            filas++;
+        }
+
+        ColumnasMovimientos construir() {
+            return new ColumnasMovimientos(this);
+        }
+    }
+
+    /**
+     * Diccionario de textos con códigos de un byte asignados por orden de aparición.
+     */
+    private static final class Diccionario {
+
+        private final List<String> valores = new ArrayList<>();
+        private final Map<String, Byte> codigos = new HashMap<>();
+
+        byte codigo(String valor) {
+            Byte codigo = codigos.get(valor);
+            if (codigo == null) {
+                if (valores.size() > Byte.MAX_VALUE) {
+                    throw new IllegalStateException("Demasiados valores distintos para una columna de diccionario: " + valor);
+                }
+                codigo = (byte) valores.size();
+                valores.add(valor);
+                codigos.put(valor, codigo);
+            }
+            return codigo;
+        }
+    }
+}
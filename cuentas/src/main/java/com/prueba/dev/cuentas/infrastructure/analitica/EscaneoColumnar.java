@@ -0,0 +1,172 @@
+package com.prueba.dev.cuentas.infrastructure.analitica;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Escaneo de un rango de filas de la copia columnar con fork-join.
+ * Los rangos grandes se dividen en dos mitades hasta el umbral; cada hoja recorre
+ * sus filas por bloques: primero filtra columna por columna sobre un vector de
+ * posiciones seleccionadas y luego acumula solo las filas que quedaron, de modo
+ * que cada pasada es un bucle simple sobre un arreglo primitivo.
+ */
+final class EscaneoColumnar extends RecursiveTask<Map<Long, EscaneoColumnar.Acumulado>> {
+
+    private static final int BLOQUE = 1024;
+
+    private final ColumnasMovimientos columnas;
+    private final Filtro filtro;
+    private final int inicio;
+    private final int fin;
+    private final int umbral;
+
+    EscaneoColumnar(ColumnasMovimientos columnas, Filtro filtro, int inicio, int fin, int umbral) {
+        this.columnas = columnas;
+        this.filtro = filtro;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.umbral = umbral;
+    }
+
+    @Override
+    protected Map<Long, Acumulado> compute() {
+        if (fin - inicio <= umbral) {
+            return escanear();
+        }
+        int medio = (inicio + fin) >>> 1;
+        EscaneoColumnar izquierda = new EscaneoColumnar(columnas, filtro, inicio, medio, umbral);
+        izquierda.fork();
+        Map<Long, Acumulado> resultado = new EscaneoColumnar(columnas, filtro, medio, fin, umbral).compute();
+        Map<Long, Acumulado> otro = izquierda.join();
+        otro.forEach((clave, acumulado) -> resultado.merge(clave, acumulado, Acumulado::combinar));
+        return resultado;
+    }
+
+    private Map<Long, Acumulado> escanear() {
+        Map<Long, Acumulado> grupos = new HashMap<>();
+        int[] seleccion = new int[BLOQUE];
+        long[] epoch = columnas.epoch;
+        for (int base = inicio; base < fin; base += BLOQUE) {
+            int limite = Math.min(base + BLOQUE, fin);
+            int n = 0;
+            // Sin ramas: la posición se escribe siempre y solo avanza si la fila pasa el filtro
+            for (int i = base; i < limite; i++) {
+                seleccion[n] = i;
+                n += (epoch[i] >= filtro.desde() & epoch[i] <= filtro.hasta()) ? 1 : 0;
+            }
+            if (filtro.cuentaId() >= 0) {
+                n = filtrar(seleccion, n, columnas.cuentaId, filtro.cuentaId());
+            }
+            if (filtro.tipoMovimiento() >= 0) {
+                n = filtrar(seleccion, n, columnas.tipoMovimiento, (byte) filtro.tipoMovimiento());
+            }
+            if (filtro.tipoCuenta() >= 0) {
+                n = filtrar(seleccion, n, columnas.tipoCuenta, (byte) filtro.tipoCuenta());
+            }
+            acumular(grupos, seleccion, n);
+        }
+        return grupos;
+    }
+
+    private static int filtrar(int[] seleccion, int n, long[] columna, long valor) {
+        int quedan = 0;
+        for (int k = 0; k < n; k++) {
+            int i = seleccion[k];
+            seleccion[quedan] = i;
+            quedan += columna[i] == valor ? 1 : 0;
+        }
+        return quedan;
+    }
+
+    private static int filtrar(int[] seleccion, int n, byte[] columna, byte valor) {
+        int quedan = 0;
+        for (int k = 0; k < n; k++) {
+            int i = seleccion[k];
+            seleccion[quedan] = i;
+            quedan += columna[i] == valor ? 1 : 0;
+        }
+        return quedan;
+    }
+
+    private void acumular(Map<Long, Acumulado> grupos, int[] seleccion, int n) {
+        if (n == 0) {
+            return;
+        }
+        long[] valor = columnas.valor;
+        if (!filtro.agrupa()) {
+            Acumulado total = grupos.computeIfAbsent(0L, clave -> new Acumulado());
+            for (int k = 0; k < n; k++) {
+                total.sumar(valor[seleccion[k]]);
+            }
+            return;
+        }
+        Acumulado anterior = null;
+        long claveAnterior = 0;
+        for (int k = 0; k < n; k++) {
+            int i = seleccion[k];
+            long clave = clave(i);
+            // Filas contiguas suelen caer en el mismo grupo: se evita buscar en el mapa
+            if (anterior == null || clave != claveAnterior) {
+                anterior = grupos.computeIfAbsent(clave, c -> new Acumulado());
+                claveAnterior = clave;
+            }
+            anterior.sumar(valor[i]);
+        }
+    }
+
+    private long clave(int i) {
+        long clave = 0;
+        if (filtro.porCuenta()) {
+            clave |= columnas.cuentaId[i] << 32;
+        }
+        if (filtro.porMes()) {
+            clave |= (columnas.mes[i] & 0xFFFFL) << 16;
+        }
+        if (filtro.porTipoCuenta()) {
+            clave |= (columnas.tipoCuenta[i] & 0xFFL) << 8;
+        }
+        if (filtro.porTipoMovimiento()) {
+            clave |= columnas.tipoMovimiento[i] & 0xFFL;
+        }
+        return clave;
+    }
+
+    /**
+     * Filtros y agrupación de un escaneo traducidos a valores primitivos de la copia.
+     * Un filtro negativo no se aplica; las fechas son segundos epoch inclusivos.
+     */
+    record Filtro(long desde, long hasta, long cuentaId, int tipoMovimiento, int tipoCuenta,
+                  boolean porCuenta, boolean porMes, boolean porTipoCuenta, boolean porTipoMovimiento) {
+
+        boolean agrupa() {
+            return porCuenta || porMes || porTipoCuenta || porTipoMovimiento;
+        }
+    }
+
+    /**
+     * Cantidad, suma, mínimo y máximo en centavos de un grupo.
+     */
+    static final class Acumulado {
+
+        long cantidad;
+        long suma;
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+
+        void sumar(long valor) {
+            cantidad++;
+            suma += valor;
+            minimo = Math.min(minimo, valor);
+            maximo = Math.max(maximo, valor);
+        }
+
+        Acumulado combinar(Acumulado otro) {
+            cantidad += otro.cantidad;
+            suma += otro.suma;
+            minimo = Math.min(minimo, otro.minimo);
+            maximo = Math.max(maximo, otro.maximo);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.prueba.dev.cuentas.infrastructure.analitica;
+
+import com.prueba.dev.cuentas.domain.model.AgregadoMovimientos;
+import com.prueba.dev.cuentas.domain.model.ConsultaAnalitica;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.DimensionAnalitica;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.AnaliticaMovimientosPort;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Motor analítico en memoria sobre el histórico de movimientos.
+ * Mantiene una copia columnar que se reconstruye periódicamente recorriendo los
+ * movimientos con el cursor del repositorio (más los del archivo) y que se
+ * reemplaza de una vez al terminar; las consultas escanean la copia vigente en
+ * un pool fork-join propio, sin tocar MySQL. Los resultados pueden ir hasta un
+ * intervalo de recarga por detrás de los posteos.
+ *
+ * Se carga con cuentas.analitica.habilitado=true.
+ */
+@Component
+@ConditionalOnProperty(name = "cuentas.analitica.habilitado", havingValue = "true")
+public class MotorAnalitico implements AnaliticaMovimientosPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorAnalitico.class);
+
+    private static final Comparator<AgregadoMovimientos> ORDEN = Comparator
+            .comparing(AgregadoMovimientos::cuentaId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgregadoMovimientos::mes, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgregadoMovimientos::tipoCuenta, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AgregadoMovimientos::tipoMovimiento, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final MovimientoRepositoryPort movimientoRepository;
+    private final CuentaRepositoryPort cuentaRepository;
+    private final ArchivoMovimientosPort archivo;
+    private final AnaliticaProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private volatile ColumnasMovimientos copia;
+    private ScheduledExecutorService programador;
+
+    public MotorAnalitico(MovimientoRepositoryPort movimientoRepository, CuentaRepositoryPort cuentaRepository,
+                          ArchivoMovimientosPort archivo, AnaliticaProperties properties,
+                          PlatformTransactionManager transactionManager) {
+        this.movimientoRepository = movimientoRepository;
+        this.cuentaRepository = cuentaRepository;
+        this.archivo = archivo;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Pool propio: los escaneos no compiten con el pool común ni lo bloquean
+        this.pool = new ForkJoinPool(properties.getParalelismo() > 0
+                ? properties.getParalelismo() : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "analitica-carga");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(() -> {
+            try {
+                recargar();
+            } catch (RuntimeException e) {
+                logger.error("Error al cargar la copia analítica: {}", e.getMessage(), e);
+            }
+        }, 0, properties.getIntervalo().toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Motor analítico con {} hilos, recarga cada {}", pool.getParallelism(), properties.getIntervalo());
+    }
+
+    @PreDestroy
+    public void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reconstruye la copia columnar y la publica para las consultas siguientes.
+     * @return Cantidad de movimientos cargados.
+     */
+    public synchronized int recargar() {
+        long inicio = System.nanoTime();
+        ColumnasMovimientos nueva = transactionTemplate.execute(status -> {
+            Map<Long, String> tipoCuentaPorCuenta = new HashMap<>();
+            ColumnasMovimientos.Constructor constructor = new ColumnasMovimientos.Constructor(tipoCuentaPorCuenta);
+            Set<Long> archivados = new HashSet<>();
+            for (Cuenta cuenta : cuentaRepository.findAll()) {
+                tipoCuentaPorCuenta.put(cuenta.getId(), cuenta.getTipoCuenta());
+                if (archivo.tieneMovimientos(cuenta.getId())) {
+                    for (Movimiento movimiento : archivo.findByCuentaIdAndFechaBetween(cuenta.getId(), null, null)) {
+                        constructor.agregar(movimiento);
+                        archivados.add(movimiento.getId());
+                    }
+                }
+            }
+            try (Stream<Movimiento> movimientos = movimientoRepository.stream(null)) {
+                movimientos.forEach(movimiento -> {
+                    // Un movimiento en ambos niveles ya se cargó desde el archivo con los mismos datos
+                    if (archivados.isEmpty() || !archivados.contains(movimiento.getId())) {
+                        constructor.agregar(movimiento);
+                    }
+                });
+            }
+            return constructor.construir();
+        });
+        copia = nueva;
+        logger.info("Copia analítica cargada con {} movimientos en {} ms", nueva.filas,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return nueva.filas;
+    }
+
+    @Override
+    public List<AgregadoMovimientos> agregar(ConsultaAnalitica consulta) {
+        ColumnasMovimientos columnas = copia;
+        if (columnas == null) {
+            throw new IllegalStateException("La copia analítica aún no está cargada");
+        }
+        int tipoMovimiento = ColumnasMovimientos.codigo(columnas.tiposMovimiento, consulta.tipoMovimiento());
+        int tipoCuenta = ColumnasMovimientos.codigo(columnas.tiposCuenta, consulta.tipoCuenta());
+        if ((consulta.tipoMovimiento() != null && tipoMovimiento < 0) || (consulta.tipoCuenta() != null && tipoCuenta < 0)) {
+            return List.of();
+        }
+        EscaneoColumnar.Filtro filtro = new EscaneoColumnar.Filtro(
+                consulta.desde() == null ? Long.MIN_VALUE : ColumnasMovimientos.aEpoch(consulta.desde().atStartOfDay()),
+                consulta.hasta() == null ? Long.MAX_VALUE : ColumnasMovimientos.aEpoch(consulta.hasta().atTime(LocalTime.MAX)),
+                consulta.cuentaId() == null ? -1 : consulta.cuentaId(),
+                tipoMovimiento, tipoCuenta,
+                consulta.agrupaPor(DimensionAnalitica.CUENTA), consulta.agrupaPor(DimensionAnalitica.MES),
+                consulta.agrupaPor(DimensionAnalitica.TIPO_CUENTA), consulta.agrupaPor(DimensionAnalitica.TIPO_MOVIMIENTO));
+
+        long inicio = System.nanoTime();
+        Map<Long, EscaneoColumnar.Acumulado> grupos = pool.invoke(
+                new EscaneoColumnar(columnas, filtro, 0, columnas.filas, Math.max(properties.getUmbralTarea(), 1)));
+        logger.debug("Escaneo analítico de {} filas en {} µs con {} grupos", columnas.filas,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio), grupos.size());
+
+        List<AgregadoMovimientos> resultado = new ArrayList<>(grupos.size());
+        grupos.forEach((clave, acumulado) -> resultado.add(new AgregadoMovimientos(
+                filtro.porCuenta() ? clave >>> 32 : null,
+                filtro.porMes() ? ColumnasMovimientos.aMes((short) (clave >>> 16)) : null,
+                filtro.porTipoCuenta() ? columnas.tiposCuenta.get((int) ((clave >>> 8) & 0xFF)) : null,
+                filtro.porTipoMovimiento() ? columnas.tiposMovimiento.get((int) (clave & 0xFF)) : null,
+                acumulado.cantidad,
+                ColumnasMovimientos.aValor(acumulado.suma),
+                ColumnasMovimientos.aValor(acumulado.suma).divide(BigDecimal.valueOf(acumulado.cantidad), 2, RoundingMode.HALF_EVEN),
+                ColumnasMovimientos.aValor(acumulado.minimo),
+                ColumnasMovimientos.aValor(acumulado.maximo))));
+        resultado.sort(ORDEN);
+        return resultado;
+    }
+
+    @Override
+    public LocalDateTime getFechaCarga() {
+        ColumnasMovimientos columnas = copia;
+        return columnas == null ? null : columnas.fechaCarga;
+    }
+
+    @Override
+    public int getFilas() {
+        ColumnasMovimientos columnas = copia;
+        return columnas == null ? 0 : columnas.filas;
+    }
+}
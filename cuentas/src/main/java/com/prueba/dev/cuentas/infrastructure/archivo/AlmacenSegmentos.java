@@ -0,0 +1,167 @@
+package com.prueba.dev.cuentas.infrastructure.archivo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de segmentos del archivo de movimientos en el disco local.
+ * Cada segmento es un archivo inmutable con movimientos de una sola cuenta; su nombre
+ * lleva la cuenta y el primer y último día que contiene, de modo que el índice en
+ * memoria se arma al arrancar listando el directorio y las consultas por rango solo
+ * abren los segmentos que se solapan con él.
+ */
+@Component
+public class AlmacenSegmentos implements ArchivoMovimientosPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlmacenSegmentos.class);
+
+    private static final DateTimeFormatter DIA = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern NOMBRE = Pattern.compile("(\\d+)_(\\d{8})_(\\d{8})_(\\d+)\\.seg");
+    private static final Comparator<Movimiento> ORDEN = Comparator.comparing(Movimiento::getFecha).thenComparing(Movimiento::getId);
+
+    private final ArchivoProperties properties;
+    private final Map<Long, List<Segmento>> indice = new ConcurrentHashMap<>();
+    private Path directorio;
+
+    public AlmacenSegmentos(ArchivoProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void cargarIndice() {
+        directorio = Paths.get(properties.getDirectorio());
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.forEach(archivo -> {
+                Matcher nombre = NOMBRE.matcher(archivo.getFileName().toString());
+                if (nombre.matches()) {
+                    registrar(Long.parseLong(nombre.group(1)), new Segmento(archivo, LocalDate.parse(nombre.group(2), DIA),
+                            LocalDate.parse(nombre.group(3), DIA)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el directorio del archivo " + directorio, e);
+        }
+        logger.info("Archivo de movimientos con segmentos de {} cuentas en {}", indice.size(), directorio);
+    }
+
+    @Override
+    public boolean tieneMovimientos(Long cuentaId) {
+        return indice.containsKey(cuentaId);
+    }
+
+    @Override
+    public List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, LocalDateTime inicio, LocalDateTime fin) {
+        List<Segmento> segmentos = indice.get(cuentaId);
+        if (segmentos == null) {
+            return List.of();
+        }
+        List<Movimiento> movimientos = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        for (Segmento segmento : segmentos) {
+            if (!segmento.seSolapa(inicio, fin)) {
+                continue;
+            }
+            for (Movimiento movimiento : leer(segmento.archivo())) {
+                // Un archivado interrumpido antes del DELETE puede volver a escribir el mismo tramo
+                if ((inicio == null || !movimiento.getFecha().isBefore(inicio))
+                        && (fin == null || !movimiento.getFecha().isAfter(fin))
+                        && vistos.add(movimiento.getId())) {
+                    movimientos.add(movimiento);
+                }
+            }
+        }
+        movimientos.sort(ORDEN);
+        logger.debug("{} movimientos archivados de cuenta ID: {} entre {} y {}", movimientos.size(), cuentaId, inicio, fin);
+        return movimientos;
+    }
+
+    @Override
+    public void archivar(Long cuentaId, List<Movimiento> movimientos) {
+        if (movimientos.isEmpty()) {
+            return;
+        }
+        Movimiento primero = movimientos.get(0);
+        Movimiento ultimo = movimientos.get(movimientos.size() - 1);
+        Segmento segmento = new Segmento(directorio.resolve(cuentaId + "_" + DIA.format(primero.getFecha()) + "_"
+                + DIA.format(ultimo.getFecha()) + "_" + primero.getId() + ".seg"),
+                primero.getFecha().toLocalDate(), ultimo.getFecha().toLocalDate());
+        byte[] contenido = SegmentoMovimientos.codificar(cuentaId, movimientos);
+
+        Path temporal = segmento.archivo().resolveSibling(segmento.archivo().getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directorio);
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contenido);
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                // Los movimientos se borran de la base de datos después: el segmento debe estar en disco
+                canal.force(true);
+            }
+            Files.move(temporal, segmento.archivo(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el segmento " + segmento.archivo(), e);
+        }
+        registrar(cuentaId, segmento);
+        logger.info("Segmento {} escrito: {} movimientos en {} bytes", segmento.archivo().getFileName(), movimientos.size(), contenido.length);
+    }
+
+    private void registrar(Long cuentaId, Segmento segmento) {
+        List<Segmento> segmentos = indice.computeIfAbsent(cuentaId, id -> new CopyOnWriteArrayList<>());
+        segmentos.removeIf(existente -> existente.archivo().equals(segmento.archivo()));
+        segmentos.add(segmento);
+    }
+
+    private static List<Movimiento> leer(Path archivo) {
+        try {
+            return SegmentoMovimientos.decodificar(Files.readAllBytes(archivo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el segmento " + archivo, e);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Segmento " + archivo + " ilegible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Segmento del índice: archivo y días que abarca.
+     */
+    private record Segmento(Path archivo, LocalDate desde, LocalDate hasta) {
+
+        boolean seSolapa(LocalDateTime inicio, LocalDateTime fin) {
+            return (inicio == null || !hasta.isBefore(inicio.toLocalDate()))
+                    && (fin == null || !desde.isAfter(fin.toLocalDate()));
+        }
+    }
+}
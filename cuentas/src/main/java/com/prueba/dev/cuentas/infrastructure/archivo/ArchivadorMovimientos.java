@@ -0,0 +1,126 @@
+package com.prueba.dev.cuentas.infrastructure.archivo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mueve periódicamente los movimientos antiguos de la base de datos al archivo.
+ * Por cada cuenta se asegura primero el punto de control del saldo y solo se
+ * archivan movimientos ya incluidos en él, así el saldo nunca vuelve a leerlos.
+ * Cada tramo se escribe y sincroniza en disco antes de borrar sus filas; si el
+ * proceso cae entre ambos pasos, el tramo queda en los dos niveles y las
+ * consultas conservan la copia de la base de datos.
+ *
+ * Se activa con cuentas.archivo.habilitado=true.
+ */
+@Component
+@ConditionalOnProperty(name = "cuentas.archivo.habilitado", havingValue = "true")
+public class ArchivadorMovimientos {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivadorMovimientos.class);
+
+    private final MovimientoRepositoryPort movimientoRepository;
+    private final SaldoCheckpointRepositoryPort checkpointRepository;
+    private final ArchivoMovimientosPort archivo;
+    private final CuentaService cuentaService;
+    private final ArchivoProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService programador;
+
+    public ArchivadorMovimientos(MovimientoRepositoryPort movimientoRepository, SaldoCheckpointRepositoryPort checkpointRepository,
+                                 ArchivoMovimientosPort archivo, CuentaService cuentaService, ArchivoProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.movimientoRepository = movimientoRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.archivo = archivo;
+        this.cuentaService = cuentaService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "archivo-movimientos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long intervalo = properties.getIntervalo().toMillis();
+        programador.scheduleWithFixedDelay(this::ejecutar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        logger.info("Archivado de movimientos con más de {} cada {}", properties.getEdad(), properties.getIntervalo());
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        programador.shutdownNow();
+        programador.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void ejecutar() {
+        try {
+            archivar();
+        } catch (RuntimeException e) {
+            logger.error("Error al archivar movimientos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Archiva los movimientos anteriores a la edad configurada.
+     * @return Cantidad de movimientos archivados.
+     */
+    public synchronized long archivar() {
+        LocalDateTime corte = LocalDateTime.now().minus(properties.getEdad());
+        long total = 0;
+        for (Long cuentaId : movimientoRepository.findCuentaIdsConMovimientosAnterioresA(corte)) {
+            try {
+                total += archivarCuenta(cuentaId, corte);
+            } catch (RuntimeException e) {
+                // La cuenta se reintenta en la próxima ejecución; lo ya archivado queda en el archivo
+                logger.warn("No se pudieron archivar los movimientos de cuenta ID: {}: {}", cuentaId, e.getMessage());
+            }
+        }
+        if (total > 0) {
+            logger.info("{} movimientos anteriores a {} archivados", total, corte);
+        }
+        return total;
+    }
+
+    private long archivarCuenta(Long cuentaId, LocalDateTime corte) {
+        Long hastaId = transactionTemplate.execute(status -> {
+            cuentaService.calcularSaldoActual(cuentaId);
+            return checkpointRepository.findByCuentaId(cuentaId).map(SaldoCheckpoint::getUltimoMovimientoId).orElse(0L);
+        });
+        long archivados = 0;
+        while (true) {
+            List<Movimiento> tramo = movimientoRepository.findArchivables(cuentaId, corte, hastaId, properties.getTamanioSegmento());
+            if (tramo.isEmpty()) {
+                return archivados;
+            }
+            archivo.archivar(cuentaId, tramo);
+            List<Long> ids = tramo.stream().map(Movimiento::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> movimientoRepository.deleteAllById(ids));
+            archivados += tramo.size();
+            if (tramo.size() < properties.getTamanioSegmento()) {
+                return archivados;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.prueba.dev.cuentas.infrastructure.archivo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del archivo de movimientos antiguos (prefijo cuentas.archivo).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.archivo")
+public class ArchivoProperties {
+
+    /** Activa el archivado periódico; los segmentos existentes se leen aunque esté desactivado. */
+    private boolean habilitado = false;
+
+    /** Directorio de los segmentos. */
+    private String directorio = "data/archivo";
+
+    /** Antigüedad a partir de la cual un movimiento pasa al archivo. */
+    private Duration edad = Duration.ofDays(365);
+
+    /** Máximo de movimientos por segmento y por cada DELETE en base de datos. */
+    private int tamanioSegmento = 10000;
+
+    /** Espera entre dos ejecuciones del archivado. */
+    private Duration intervalo = Duration.ofHours(1);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public String getDirectorio() {
+        return directorio;
+    }
+
+    public void setDirectorio(String directorio) {
+        this.directorio = directorio;
+    }
+
+    public Duration getEdad() {
+        return edad;
+    }
+
+    public void setEdad(Duration edad) {
+        this.edad = edad;
+    }
+
+    public int getTamanioSegmento() {
+        return tamanioSegmento;
+    }
+
+    public void setTamanioSegmento(int tamanioSegmento) {
+        this.tamanioSegmento = tamanioSegmento;
+    }
+
+    public Duration getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Duration intervalo) {
+        this.intervalo = intervalo;
+    }
+}
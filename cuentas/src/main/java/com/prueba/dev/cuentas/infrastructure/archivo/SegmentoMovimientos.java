@@ -0,0 +1,228 @@
+package com.prueba.dev.cuentas.infrastructure.archivo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binario de un segmento del archivo de movimientos.
+ * Encabezado con cuenta y cantidad; luego cada movimiento como diferencias con el
+ * anterior (ID, fecha en microsegundos y saldo en centavos) codificadas en varint
+ * zigzag, el valor en centavos, el tipo en un byte y el ID de transferencia si lo hay.
+ * Como los movimientos van ordenados por fecha, las diferencias son pequeñas y la
+ * mayoría de los campos ocupa uno o dos bytes. Termina con un CRC32 de todo el contenido.
+ */
+final class SegmentoMovimientos {
+
+    private static final int MAGICO = 0x4D565347;
+    private static final byte VERSION = 1;
+    private static final String[] TIPOS = {"DEPOSITO", "RETIRO", "TRANSFERENCIA"};
+
+    private static final byte SIN_TRANSFERENCIA = 0;
+    private static final byte TRANSFERENCIA_UUID = 1;
+    private static final byte TRANSFERENCIA_TEXTO = 2;
+
+    private SegmentoMovimientos() {}
+
+    /**
+     * Codifica los movimientos de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientos Movimientos de la cuenta ordenados por fecha e ID.
+     * @return El contenido del segmento.
+     */
+    static byte[] codificar(long cuentaId, List<Movimiento> movimientos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(16 + movimientos.size() * 12);
+        escribirInt(salida, MAGICO);
+        salida.write(VERSION);
+        escribirVarLong(salida, cuentaId);
+        escribirVarLong(salida, movimientos.size());
+
+        long idAnterior = 0;
+        long microsAnterior = 0;
+        long saldoAnterior = 0;
+        for (Movimiento movimiento : movimientos) {
+            if (movimiento.getCuentaId() != cuentaId) {
+                throw new IllegalArgumentException("El movimiento " + movimiento.getId() + " no pertenece a la cuenta " + cuentaId);
+            }
+            long micros = aMicros(movimiento.getFecha());
+            long saldo = centavos(movimiento.getSaldo());
+            escribirVarLong(salida, zigzag(movimiento.getId() - idAnterior));
+            escribirVarLong(salida, zigzag(micros - microsAnterior));
+            salida.write(codigoTipo(movimiento.getTipoMovimiento()));
+            escribirVarLong(salida, centavos(movimiento.getValor()));
+            escribirVarLong(salida, zigzag(saldo - saldoAnterior));
+            escribirTransferencia(salida, movimiento.getTransferenciaId());
+            idAnterior = movimiento.getId();
+            microsAnterior = micros;
+            saldoAnterior = saldo;
+        }
+
+        CRC32 crc = new CRC32();
+        byte[] contenido = salida.toByteArray();
+        crc.update(contenido);
+        escribirInt(salida, (int) crc.getValue());
+        return salida.toByteArray();
+    }
+
+    /**
+     * Decodifica un segmento.
+     * @param datos El contenido del segmento.
+     * @return Los movimientos en el orden en que se escribieron.
+     * @throws IllegalStateException Si el segmento está truncado o corrupto.
+     */
+    static List<Movimiento> decodificar(byte[] datos) {
+        if (datos.length < Integer.BYTES * 2 + 1) {
+            throw new IllegalStateException("Segmento truncado");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(datos, 0, datos.length - Integer.BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(datos);
+        if (buffer.getInt(datos.length - Integer.BYTES) != (int) crc.getValue()) {
+            throw new IllegalStateException("CRC del segmento no coincide");
+        }
+        buffer.limit(datos.length - Integer.BYTES);
+        if (buffer.getInt() != MAGICO || buffer.get() != VERSION) {
+            throw new IllegalStateException("Formato de segmento desconocido");
+        }
+        long cuentaId = leerVarLong(buffer);
+        int cantidad = Math.toIntExact(leerVarLong(buffer));
+
+        List<Movimiento> movimientos = new ArrayList<>(cantidad);
+        long id = 0;
+        long micros = 0;
+        long saldo = 0;
+        for (int i = 0; i < cantidad; i++) {
+            id += unzigzag(leerVarLong(buffer));
+            micros += unzigzag(leerVarLong(buffer));
+            byte tipo = buffer.get();
+            if (tipo < 0 || tipo >= TIPOS.length) {
+                throw new IllegalStateException("Tipo de movimiento desconocido en el segmento: " + tipo);
+            }
+            long valor = leerVarLong(buffer);
+            saldo += unzigzag(leerVarLong(buffer));
+
+            Movimiento movimiento = new Movimiento(cuentaId, TIPOS[tipo], BigDecimal.valueOf(valor, 2), BigDecimal.valueOf(saldo, 2));
+            movimiento.setId(id);
+            movimiento.setFecha(deMicros(micros));
+            movimiento.setTransferenciaId(leerTransferencia(buffer));
+            movimientos.add(movimiento);
+        }
+        return movimientos;
+    }
+
+    private static void escribirTransferencia(ByteArrayOutputStream salida, String transferenciaId) {
+        if (transferenciaId == null) {
+            salida.write(SIN_TRANSFERENCIA);
+            return;
+        }
+        UUID uuid = comoUuid(transferenciaId);
+        if (uuid != null) {
+            salida.write(TRANSFERENCIA_UUID);
+            escribirLong(salida, uuid.getMostSignificantBits());
+            escribirLong(salida, uuid.getLeastSignificantBits());
+        } else {
+            byte[] texto = transferenciaId.getBytes(StandardCharsets.UTF_8);
+            salida.write(TRANSFERENCIA_TEXTO);
+            escribirVarLong(salida, texto.length);
+            salida.write(texto, 0, texto.length);
+        }
+    }
+
+    private static String leerTransferencia(ByteBuffer buffer) {
+        byte marca = buffer.get();
+        switch (marca) {
+            case SIN_TRANSFERENCIA:
+                return null;
+            case TRANSFERENCIA_UUID:
+                return new UUID(buffer.getLong(), buffer.getLong()).toString();
+            case TRANSFERENCIA_TEXTO:
+                byte[] texto = new byte[Math.toIntExact(leerVarLong(buffer))];
+                buffer.get(texto);
+                return new String(texto, StandardCharsets.UTF_8);
+            default:
+                throw new IllegalStateException("Marca de transferencia desconocida en el segmento: " + marca);
+        }
+    }
+
+    private static UUID comoUuid(String texto) {
+        try {
+            UUID uuid = UUID.fromString(texto);
+            // Solo si la forma canónica reproduce el texto original
+            return uuid.toString().equals(texto) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte codigoTipo(String tipoMovimiento) {
+        for (byte i = 0; i < TIPOS.length; i++) {
+            if (TIPOS[i].equals(tipoMovimiento)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de movimiento no soportado: " + tipoMovimiento);
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static long aMicros(LocalDateTime fecha) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), fecha);
+    }
+
+    private static LocalDateTime deMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long unzigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static void escribirVarLong(ByteArrayOutputStream salida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            salida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.write((int) valor);
+    }
+
+    private static long leerVarLong(ByteBuffer buffer) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = buffer.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalStateException("Varint demasiado largo en el segmento");
+    }
+
+    private static void escribirInt(ByteArrayOutputStream salida, int valor) {
+        salida.write(valor >>> 24);
+        salida.write(valor >>> 16);
+        salida.write(valor >>> 8);
+        salida.write(valor);
+    }
+
+    private static void escribirLong(ByteArrayOutputStream salida, long valor) {
+        escribirInt(salida, (int) (valor >>> 32));
+        escribirInt(salida, (int) valor);
+    }
+}
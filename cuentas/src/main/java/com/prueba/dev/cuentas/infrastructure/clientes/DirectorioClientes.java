@@ -0,0 +1,256 @@
+package com.prueba.dev.cuentas.infrastructure.clientes;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import com.prueba.dev.cuentas.domain.port.DirectorioClientesPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Réplica local de clientes en memoria.
+ * Las lecturas toman el bloqueo compartido; los eventos del microservicio de
+ * clientes y el reemplazo de la tabla toman el exclusivo. Una reconstrucción
+ * carga la exportación completa en una tabla nueva sin bloquear las lecturas,
+ * que siguen usando la anterior; los eventos que llegan mientras tanto se
+ * aplican a ambas y, al terminar, se reaplican en orden sobre la nueva antes de
+ * publicarla. Como cada evento lleva el estado completo del cliente, reaplicar
+ * uno que la exportación ya incluía no cambia el resultado.
+ */
+@Component
+public class DirectorioClientes implements DirectorioClientesPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectorioClientes.class);
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final String RUTA_EXPORTACION = "/clientes/replica";
+
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    // Una carga a la vez; no es synchronized porque la descarga puede correr en un hilo virtual
+    private final ReentrantLock carga = new ReentrantLock();
+    private final ObjectReader lectorFilas;
+    private final RestClient restClient;
+    private final boolean reconstruirAlIniciar;
+    private final Counter registros;
+    private final Counter eliminaciones;
+    private final Timer reconstrucciones;
+
+    // Protegidos por bloqueo
+    private ReplicaClientes replica = new ReplicaClientes(CAPACIDAD_INICIAL);
+    private List<Cambio> pendientes;
+    private volatile boolean cargado;
+
+    public DirectorioClientes(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${cuentas.clientes.url:http://localhost:8081}") String url,
+                              @Value("${cuentas.clientes.reconstruir-al-iniciar:false}") boolean reconstruirAlIniciar) {
+        this.lectorFilas = objectMapper.readerFor(FilaExportacion.class);
+        this.restClient = RestClient.create(url);
+        this.reconstruirAlIniciar = reconstruirAlIniciar;
+        this.registros = Counter.builder("cuentas.clientes.replica.eventos")
+                .description("Eventos de clientes aplicados a la réplica").tag("tipo", "registro").register(meterRegistry);
+        this.eliminaciones = Counter.builder("cuentas.clientes.replica.eventos")
+                .description("Eventos de clientes aplicados a la réplica").tag("tipo", "eliminacion").register(meterRegistry);
+        this.reconstrucciones = Timer.builder("cuentas.clientes.replica.reconstruccion")
+                .description("Duración de la carga completa de la réplica de clientes").register(meterRegistry);
+        meterRegistry.gauge("cuentas.clientes.replica.tamanio", this, DirectorioClientes::getTamanio);
+        meterRegistry.gauge("cuentas.clientes.replica.bytes", this, DirectorioClientes::getBytes);
+    }
+
+    /**
+     * Carga la réplica al arrancar si cuentas.clientes.reconstruir-al-iniciar=true.
+     * Corre en un hilo aparte: si clientes no responde, el servicio arranca igual
+     * y la réplica queda sin cargar hasta la próxima reconstrucción.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        if (!reconstruirAlIniciar) {
+            return;
+        }
+        Thread hilo = new Thread(() -> {
+            try {
+                reconstruir();
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo cargar la réplica de clientes al iniciar: {}", e.getMessage());
+            }
+        }, "replica-clientes");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public Optional<ClienteReplicado> buscar(Long clienteId) {
+        if (clienteId == null) {
+            return Optional.empty();
+        }
+        bloqueo.readLock().lock();
+        try {
+            return Optional.ofNullable(replica.buscar(clienteId));
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrar(ClienteReplicado cliente) {
+        aplicar(new Cambio(cliente.id(), cliente));
+        registros.increment();
+    }
+
+    @Override
+    public void eliminar(Long clienteId) {
+        aplicar(new Cambio(clienteId, null));
+        eliminaciones.increment();
+    }
+
+    @Override
+    public long reconstruir() {
+        carga.lock();
+        try {
+            logger.info("Reconstruyendo la réplica de clientes desde {}", RUTA_EXPORTACION);
+            return reconstrucciones.record(() -> restClient.get()
+                    .uri(RUTA_EXPORTACION)
+                    .exchange((solicitud, respuesta) -> {
+                        if (!respuesta.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("La exportación de clientes respondió " + respuesta.getStatusCode());
+                        }
+                        return cargar(respuesta.getBody());
+                    }));
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    /**
+     * Reemplaza la réplica por el contenido de una exportación NDJSON de clientes.
+     * @param exportacion Una línea por cliente con clienteId, nombre y estado; se lee hasta el final y se cierra.
+     * @return Número de clientes leídos de la exportación.
+     */
+    long cargar(InputStream exportacion) {
+        carga.lock();
+        try {
+            ReplicaClientes nueva;
+            bloqueo.writeLock().lock();
+            try {
+                pendientes = new ArrayList<>();
+                nueva = new ReplicaClientes(Math.max(replica.tamanio(), CAPACIDAD_INICIAL));
+            } finally {
+                bloqueo.writeLock().unlock();
+            }
+
+            long leidos = 0;
+            try (MappingIterator<FilaExportacion> filas = lectorFilas.readValues(exportacion)) {
+                while (filas.hasNextValue()) {
+                    FilaExportacion fila = filas.nextValue();
+                    nueva.poner(fila.clienteId(), fila.nombre(), fila.estado());
+                    leidos++;
+                }
+            } catch (IOException | RuntimeException e) {
+                bloqueo.writeLock().lock();
+                try {
+                    pendientes = null;
+                } finally {
+                    bloqueo.writeLock().unlock();
+                }
+                if (e instanceof IOException io) {
+                    throw new UncheckedIOException("No se pudo leer la exportación de clientes", io);
+                }
+                throw (RuntimeException) e;
+            }
+
+            int reaplicados;
+            bloqueo.writeLock().lock();
+            try {
+                reaplicados = pendientes.size();
+                for (Cambio cambio : pendientes) {
+                    cambio.aplicarEn(nueva);
+                }
+                pendientes = null;
+                replica = nueva;
+                cargado = true;
+            } finally {
+                bloqueo.writeLock().unlock();
+            }
+            logger.info("Réplica de clientes reconstruida: {} clientes leídos, {} eventos reaplicados, {} bytes",
+                    leidos, reaplicados, getBytes());
+            return leidos;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    @Override
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    @Override
+    public int getTamanio() {
+        bloqueo.readLock().lock();
+        try {
+            return replica.tamanio();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getBytes() {
+        bloqueo.readLock().lock();
+        try {
+            return replica.bytesReservados();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    private void aplicar(Cambio cambio) {
+        bloqueo.writeLock().lock();
+        try {
+            cambio.aplicarEn(replica);
+            if (pendientes != null) {
+                pendientes.add(cambio);
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evento de cliente ya aplicado, retenido para reaplicarlo tras una reconstrucción.
+     */
+    private record Cambio(Long clienteId, ClienteReplicado cliente) {
+
+        void aplicarEn(ReplicaClientes destino) {
+            if (cliente == null) {
+                destino.quitar(clienteId);
+            } else {
+                destino.poner(clienteId, cliente.nombre(), cliente.estado());
+            }
+        }
+    }
+
+    /**
+     * Línea de la exportación de clientes; se ignoran los demás campos del evento.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record FilaExportacion(Long clienteId, String nombre, String estado) {}
+}
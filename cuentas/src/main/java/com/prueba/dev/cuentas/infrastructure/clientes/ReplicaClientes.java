@@ -0,0 +1,267 @@
+package com.prueba.dev.cuentas.infrastructure.clientes;
+
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tabla compacta de clientes replicados: direccionamiento abierto con sondeo
+ * lineal sobre arreglos primitivos, sin un objeto por cliente. Cada posición
+ * ocupa 15 bytes: el ID (8), el estado como índice de un diccionario (1) y el
+ * inicio (4) y la longitud (2) del nombre en UTF-8 dentro de un único arreglo
+ * de bytes compartido. Los nombres reemplazados o eliminados se recuperan
+ * compactando ese arreglo cuando hace falta espacio.
+ *
+ * No es segura para hilos: DirectorioClientes serializa el acceso.
+ */
+final class ReplicaClientes {
+
+    private static final long VACIO = 0L;
+    private static final float CARGA_MAXIMA = 0.75f;
+    private static final int CAPACIDAD_MINIMA = 16;
+    private static final int MAXIMO_ESTADOS = 255;
+    private static final int MAXIMA_LONGITUD_NOMBRE = Character.MAX_VALUE;
+    private static final int BYTES_POR_POSICION = Long.BYTES + Byte.BYTES + Integer.BYTES + Character.BYTES;
+    private static final int BYTES_NOMBRE_ESTIMADOS = 16;
+    private static final int MAXIMO_ARREGLO = Integer.MAX_VALUE - 8;
+
+    private long[] ids;
+    private byte[] estados;
+    private int[] inicios;
+    private char[] longitudes;
+    private int mascara;
+    private int umbral;
+    private int tamanio;
+
+    private byte[] nombres;
+    private int usados;
+    private int liberados;
+
+    private final String[] diccionario = new String[MAXIMO_ESTADOS];
+    private int cantidadEstados;
+
+    ReplicaClientes(int capacidadEsperada) {
+        reservar(potenciaDeDos((long) Math.ceil(Math.max(capacidadEsperada, 1) / CARGA_MAXIMA)));
+        this.nombres = new byte[(int) Math.min((long) Math.max(capacidadEsperada, CAPACIDAD_MINIMA) * BYTES_NOMBRE_ESTIMADOS,
+                MAXIMO_ARREGLO)];
+    }
+
+    /**
+     * @param id El ID del cliente.
+     * @return El cliente, o null si no está en la tabla.
+     */
+    ClienteReplicado buscar(long id) {
+        int posicion = posicion(id);
+        if (posicion < 0) {
+            return null;
+        }
+        return new ClienteReplicado(id, new String(nombres, inicios[posicion], longitudes[posicion], StandardCharsets.UTF_8),
+                estado(estados[posicion]));
+    }
+
+    /**
+     * Agrega o reemplaza un cliente. Los nombres de más de 65535 bytes se truncan.
+     * @param id El ID del cliente, mayor que cero.
+     * @param nombre El nombre, o null.
+     * @param estado El estado, o null.
+     */
+    void poner(long id, String nombre, String estado) {
+        if (id <= VACIO) {
+            throw new IllegalArgumentException("ID de cliente inválido: " + id);
+        }
+        byte codigo = codificar(estado);
+        byte[] bytes = nombre == null ? new byte[0] : nombre.getBytes(StandardCharsets.UTF_8);
+        int longitud = Math.min(bytes.length, MAXIMA_LONGITUD_NOMBRE);
+
+        int posicion = posicion(id);
+        if (posicion >= 0) {
+            estados[posicion] = codigo;
+            int inicio = inicios[posicion];
+            if (longitudes[posicion] == longitud && Arrays.equals(nombres, inicio, inicio + longitud, bytes, 0, longitud)) {
+                return;
+            }
+            // El nombre anterior queda como espacio libre y no se copia si hay que compactar
+            liberados += longitudes[posicion];
+            longitudes[posicion] = 0;
+            inicios[posicion] = agregarNombre(bytes, longitud);
+            longitudes[posicion] = (char) longitud;
+            return;
+        }
+
+        if (tamanio >= umbral) {
+            redimensionar(ids.length << 1);
+        }
+        posicion = libre(id);
+        ids[posicion] = id;
+        estados[posicion] = codigo;
+        inicios[posicion] = agregarNombre(bytes, longitud);
+        longitudes[posicion] = (char) longitud;
+        tamanio++;
+    }
+
+    /**
+     * Quita un cliente desplazando hacia atrás los que lo seguían en su racha de
+     * sondeo, de modo que no quedan marcas de borrado que alarguen las búsquedas.
+     * @param id El ID del cliente.
+     * @return true si el cliente estaba en la tabla.
+     */
+    boolean quitar(long id) {
+        int libre = posicion(id);
+        if (libre < 0) {
+            return false;
+        }
+        liberados += longitudes[libre];
+        int siguiente = (libre + 1) & mascara;
+        while (ids[siguiente] != VACIO) {
+            int ideal = indice(ids[siguiente]);
+            // Se mueve si la posición libre está entre su posición ideal y la actual
+            if (((siguiente - ideal) & mascara) >= ((siguiente - libre) & mascara)) {
+                ids[libre] = ids[siguiente];
+                estados[libre] = estados[siguiente];
+                inicios[libre] = inicios[siguiente];
+                longitudes[libre] = longitudes[siguiente];
+                libre = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+        ids[libre] = VACIO;
+        estados[libre] = 0;
+        inicios[libre] = 0;
+        longitudes[libre] = 0;
+        tamanio--;
+        return true;
+    }
+
+    /**
+     * @return Número de clientes en la tabla.
+     */
+    int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * @return Bytes reservados por los arreglos de la tabla y de nombres.
+     */
+    long bytesReservados() {
+        return (long) ids.length * BYTES_POR_POSICION + nombres.length;
+    }
+
+    private int posicion(long id) {
+        int posicion = indice(id);
+        while (ids[posicion] != VACIO) {
+            if (ids[posicion] == id) {
+                return posicion;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private int libre(long id) {
+        int posicion = indice(id);
+        while (ids[posicion] != VACIO) {
+            posicion = (posicion + 1) & mascara;
+        }
+        return posicion;
+    }
+
+    private int indice(long id) {
+        // Los IDs son secuenciales: se mezclan los bits para repartirlos en toda la tabla
+        long mezcla = id * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+    }
+
+    private void reservar(int capacidad) {
+        ids = new long[capacidad];
+        estados = new byte[capacidad];
+        inicios = new int[capacidad];
+        longitudes = new char[capacidad];
+        mascara = capacidad - 1;
+        umbral = (int) (capacidad * CARGA_MAXIMA);
+    }
+
+    private void redimensionar(int capacidad) {
+        long[] idsAnteriores = ids;
+        byte[] estadosAnteriores = estados;
+        int[] iniciosAnteriores = inicios;
+        char[] longitudesAnteriores = longitudes;
+        reservar(capacidad);
+        for (int i = 0; i < idsAnteriores.length; i++) {
+            if (idsAnteriores[i] != VACIO) {
+                int posicion = libre(idsAnteriores[i]);
+                ids[posicion] = idsAnteriores[i];
+                estados[posicion] = estadosAnteriores[i];
+                inicios[posicion] = iniciosAnteriores[i];
+                longitudes[posicion] = longitudesAnteriores[i];
+            }
+        }
+    }
+
+    private int agregarNombre(byte[] bytes, int longitud) {
+        if ((long) usados + longitud > nombres.length) {
+            if (liberados >= usados / 2) {
+                compactar();
+            }
+            if ((long) usados + longitud > nombres.length) {
+                long requerido = (long) usados + longitud;
+                if (requerido > MAXIMO_ARREGLO) {
+                    throw new IllegalStateException("Los nombres replicados exceden la capacidad de la réplica");
+                }
+                nombres = Arrays.copyOf(nombres, (int) Math.min(Math.max(requerido, nombres.length + (nombres.length >> 1)),
+                        MAXIMO_ARREGLO));
+            }
+        }
+        System.arraycopy(bytes, 0, nombres, usados, longitud);
+        int inicio = usados;
+        usados += longitud;
+        return inicio;
+    }
+
+    private void compactar() {
+        byte[] compactos = new byte[nombres.length];
+        int destino = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != VACIO) {
+                System.arraycopy(nombres, inicios[i], compactos, destino, longitudes[i]);
+                inicios[i] = destino;
+                destino += longitudes[i];
+            }
+        }
+        nombres = compactos;
+        usados = destino;
+        liberados = 0;
+    }
+
+    private byte codificar(String estado) {
+        if (estado == null) {
+            return 0;
+        }
+        for (int i = 0; i < cantidadEstados; i++) {
+            if (diccionario[i].equals(estado)) {
+                return (byte) (i + 1);
+            }
+        }
+        if (cantidadEstados == MAXIMO_ESTADOS) {
+            throw new IllegalStateException("Demasiados estados de cliente distintos en la réplica");
+        }
+        diccionario[cantidadEstados++] = estado;
+        return (byte) cantidadEstados;
+    }
+
+    private String estado(byte codigo) {
+        int indice = codigo & 0xFF;
+        return indice == 0 ? null : diccionario[indice - 1];
+    }
+
+    private static int potenciaDeDos(long minimo) {
+        if (minimo > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad de réplica demasiado grande: " + minimo);
+        }
+        int capacidad = CAPACIDAD_MINIMA;
+        while (capacidad < minimo) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+}
@@ -0,0 +1,70 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.prueba.dev.cuentas.application.dto.AnaliticaDTO;
+import com.prueba.dev.cuentas.application.service.AnaliticaApplicationService;
+import com.prueba.dev.cuentas.domain.model.DimensionAnalitica;
+import com.prueba.dev.respuestas.GenericResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador REST para consultas analíticas sobre el histórico de movimientos.
+ */
+@RestController
+@RequestMapping("/movimientos/analitica")
+@Tag(name = "Analítica", description = "API de agregados sobre el histórico de movimientos")
+public class AnaliticaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnaliticaController.class);
+
+    private final AnaliticaApplicationService analiticaApplicationService;
+
+    public AnaliticaController(AnaliticaApplicationService analiticaApplicationService) {
+        this.analiticaApplicationService = analiticaApplicationService;
+    }
+
+    /**
+     * Agrega los movimientos que cumplen los filtros.
+     * @param fechaInicio Fecha de inicio opcional.
+     * @param fechaFin Fecha de fin opcional.
+     * @param cuentaId ID de cuenta opcional.
+     * @param tipoMovimiento Tipo de movimiento opcional.
+     * @param tipoCuenta Tipo de cuenta opcional.
+     * @param agrupacion Dimensiones de agrupación separadas por coma.
+     * @return La respuesta con los grupos, o 503 si la copia analítica no está disponible.
+     */
+    @GetMapping
+    @Operation(summary = "Agregar movimientos", description = "Cantidad, total, promedio, mínimo y máximo de los movimientos por grupo")
+    public ResponseEntity<GenericResponse> agregar(@RequestParam(required = false) LocalDate fechaInicio,
+                                                   @RequestParam(required = false) LocalDate fechaFin,
+                                                   @RequestParam(required = false) Long cuentaId,
+                                                   @RequestParam(required = false) String tipoMovimiento,
+                                                   @RequestParam(required = false) String tipoCuenta,
+                                                   @RequestParam(required = false) List<DimensionAnalitica> agrupacion) {
+        logger.info("Solicitud GET de analítica de movimientos agrupada por {}", agrupacion);
+        try {
+            AnaliticaDTO analitica = analiticaApplicationService.agregar(fechaInicio, fechaFin, cuentaId, tipoMovimiento,
+                    tipoCuenta, agrupacion);
+            return ResponseEntity.ok(GenericResponse.conDatos(analitica));
+        } catch (IllegalStateException e) {
+            logger.warn("Analítica no disponible: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Analítica no disponible: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (Exception e) {
+            logger.error("Error en la consulta analítica: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error en la consulta analítica: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package com.prueba.dev.cuentas.infrastructure.controller;
 
 import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
-import com.prueba.dev.cuentas.application.dto.response.GenericResponse;
+import com.prueba.dev.cuentas.application.dto.request.TransferenciaRequest;
 import com.prueba.dev.cuentas.application.dto.CuentaDTO;
 import com.prueba.dev.cuentas.application.dto.EstadoCuentaDTO;
+import com.prueba.dev.cuentas.application.dto.EstadoCuentaResumidoDTO;
 import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.TransferenciaDTO;
 import com.prueba.dev.cuentas.application.service.CuentaApplicationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.service.IdempotenciaService;
+import com.prueba.dev.cuentas.application.service.ReporteEstadoCuentaService;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+import com.prueba.dev.respuestas.GenericResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -26,17 +38,23 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/cuentas")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Cuentas", description = "API para gestión de cuentas bancarias")
 public class CuentaController {
 
     private static final Logger logger = LoggerFactory.getLogger(CuentaController.class);
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final CuentaApplicationService cuentaApplicationService;
-    private final ObjectMapper objectMapper;
+    private final IdempotenciaService idempotenciaService;
+    private final ReporteEstadoCuentaService reporteEstadoCuentaService;
 
-    public CuentaController(CuentaApplicationService cuentaApplicationService, ObjectMapper objectMapper) {
+    public CuentaController(CuentaApplicationService cuentaApplicationService, IdempotenciaService idempotenciaService,
+                            ReporteEstadoCuentaService reporteEstadoCuentaService) {
         this.cuentaApplicationService = cuentaApplicationService;
-        this.objectMapper = objectMapper;
+        this.idempotenciaService = idempotenciaService;
+        this.reporteEstadoCuentaService = reporteEstadoCuentaService;
     }
 
     /**
@@ -50,9 +68,8 @@ public class CuentaController {
         try {
             logger.info("Solicitud POST para crear cuenta");
             CuentaDTO cuenta = cuentaApplicationService.createCuenta(request);
-            String cuentaJson = objectMapper.writeValueAsString(cuenta);
             logger.info("Cuenta creada exitosamente con ID: {}", cuenta.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(new GenericResponse(true, cuentaJson));
+            return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(cuenta));
         } catch (Exception e) {
             logger.error("Error al crear cuenta: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al crear cuenta: " + e.getMessage()));
@@ -70,8 +87,7 @@ public class CuentaController {
         try {
             logger.info("Solicitud GET para cuenta con ID: {}", id);
             CuentaDTO cuenta = cuentaApplicationService.getCuentaById(id);
-            String cuentaJson = objectMapper.writeValueAsString(cuenta);
-            return ResponseEntity.ok(new GenericResponse(true, cuentaJson));
+            return ResponseEntity.ok(GenericResponse.conDatos(cuenta));
         } catch (Exception e) {
             logger.error("Error al obtener cuenta: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse(false, "Cuenta no encontrada: " + e.getMessage()));
@@ -79,17 +95,19 @@ public class CuentaController {
     }
 
     /**
-     * Obtiene todas las cuentas.
-     * @return La respuesta genérica con la lista de cuentas.
+     * Obtiene una página de cuentas.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de cuentas por página.
+     * @return La respuesta genérica con la página de cuentas y el cursor de la siguiente.
      */
     @GetMapping
-    @Operation(summary = "Obtener todas las cuentas", description = "Obtiene una lista de todas las cuentas")
-    public ResponseEntity<GenericResponse> getAllCuentas() {
+    @Operation(summary = "Obtener cuentas", description = "Obtiene las cuentas paginadas por cursor")
+    public ResponseEntity<GenericResponse> getAllCuentas(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limite) {
         try {
-            logger.info("Solicitud GET para todas las cuentas");
-            List<CuentaDTO> cuentas = cuentaApplicationService.getAllCuentas();
-            String cuentasJson = objectMapper.writeValueAsString(cuentas);
-            return ResponseEntity.ok(new GenericResponse(true, cuentasJson));
+            logger.info("Solicitud GET para cuentas, cursor: {}", cursor);
+            PaginaDTO<CuentaDTO> cuentas = cuentaApplicationService.getCuentas(cursor, limite);
+            return ResponseEntity.ok(GenericResponse.conDatos(cuentas));
         } catch (Exception e) {
             logger.error("Error al obtener cuentas: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al obtener cuentas: " + e.getMessage()));
@@ -107,8 +125,7 @@ public class CuentaController {
         logger.info("Solicitud GET para cuentas de cliente ID: {}", clienteId);
         try {
             List<CuentaDTO> cuentas = cuentaApplicationService.getCuentasByClienteId(clienteId);
-            String jsonData = objectMapper.writeValueAsString(cuentas);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(cuentas);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al obtener cuentas del cliente: {}", e.getMessage());
@@ -129,8 +146,7 @@ public class CuentaController {
         logger.info("Solicitud PUT para actualizar cuenta con ID: {}", id);
         try {
             CuentaDTO cuenta = cuentaApplicationService.updateCuenta(id, request);
-            String jsonData = objectMapper.writeValueAsString(cuenta);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(cuenta);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al actualizar cuenta: {}", e.getMessage());
@@ -151,8 +167,7 @@ public class CuentaController {
         logger.info("Solicitud PATCH para cuenta con ID: {}", id);
         try {
             CuentaDTO cuenta = cuentaApplicationService.updateCuenta(id, request);
-            String jsonData = objectMapper.writeValueAsString(cuenta);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(cuenta);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al actualizar cuenta parcialmente: {}", e.getMessage());
@@ -179,16 +194,19 @@ public class CuentaController {
      * Realiza un depósito en una cuenta.
      * @param cuentaId El ID de la cuenta.
      * @param valor El valor a depositar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
      * @return El movimiento creado.
      */
     @PostMapping("/{cuentaId}/deposito")
     @Operation(summary = "Depositar en cuenta", description = "Realiza un depósito en la cuenta especificada")
-    public ResponseEntity<GenericResponse> depositar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor) {
+    public ResponseEntity<GenericResponse> depositar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         logger.info("Solicitud POST para depósito en cuenta ID: {} con valor: {}", cuentaId, valor);
         try {
-            MovimientoDTO movimiento = cuentaApplicationService.depositar(cuentaId, valor);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            String huella = cuentaId + ":" + valor.stripTrailingZeros().toPlainString();
+            MovimientoDTO movimiento = idempotenciaService.ejecutar(idempotencyKey, "DEPOSITO", huella, MovimientoDTO.class,
+                    () -> cuentaApplicationService.depositar(cuentaId, valor));
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             logger.error("Error al realizar depósito: {}", e.getMessage());
@@ -201,16 +219,19 @@ public class CuentaController {
      * Realiza un retiro de una cuenta.
      * @param cuentaId El ID de la cuenta.
      * @param valor El valor a retirar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
      * @return El movimiento creado.
      */
     @PostMapping("/{cuentaId}/retiro")
     @Operation(summary = "Retirar de cuenta", description = "Realiza un retiro de la cuenta especificada")
-    public ResponseEntity<GenericResponse> retirar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor) {
+    public ResponseEntity<GenericResponse> retirar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         logger.info("Solicitud POST para retiro en cuenta ID: {} con valor: {}", cuentaId, valor);
         try {
-            MovimientoDTO movimiento = cuentaApplicationService.retirar(cuentaId, valor);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            String huella = cuentaId + ":" + valor.stripTrailingZeros().toPlainString();
+            MovimientoDTO movimiento = idempotenciaService.ejecutar(idempotencyKey, "RETIRO", huella, MovimientoDTO.class,
+                    () -> cuentaApplicationService.retirar(cuentaId, valor));
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             logger.error("Error al realizar retiro: {}", e.getMessage());
@@ -219,28 +240,71 @@ public class CuentaController {
         }
     }
 
+    /**
+     * Transfiere un valor entre dos cuentas.
+     * @param request La solicitud con las cuentas y el valor.
+     * @return La transferencia con el movimiento de débito y el de crédito.
+     */
+    @PostMapping("/transferencias")
+    @Operation(summary = "Transferir entre cuentas", description = "Debita la cuenta de origen y acredita la de destino de forma atómica")
+    public ResponseEntity<GenericResponse> transferir(@Valid @RequestBody TransferenciaRequest request) {
+        logger.info("Solicitud POST para transferencia de cuenta ID: {} a cuenta ID: {}", request.getCuentaOrigenId(), request.getCuentaDestinoId());
+        try {
+            TransferenciaDTO transferencia = cuentaApplicationService.transferir(request);
+            GenericResponse response = GenericResponse.conDatos(transferencia);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            logger.error("Error al realizar transferencia: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al realizar transferencia: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Genera el estado de cuenta para un cliente en un rango de fechas.
+     * Por defecto el reporte se escribe por streaming a partir de una sola consulta;
+     * con Accept del formato anterior se arma en memoria y se devuelve en message.
+     * Con agrupacion (DIA o MES) se devuelven totales por periodo y saldos de apertura
+     * y cierre calculados desde el resumen diario, sin leer los movimientos.
      * @param clienteId El ID del cliente.
      * @param fechaInicio Fecha de inicio.
      * @param fechaFin Fecha de fin.
-     * @return El estado de cuenta en JSON.
+     * @param agrupacion Periodo de agrupación, o null para el detalle de movimientos.
+     * @param accept El encabezado Accept de la solicitud.
+     * @param response La respuesta HTTP donde se escribe el reporte.
+     * @return La respuesta en el formato anterior, o null si el reporte ya se escribió.
+     * @throws IOException Si falla la escritura después de iniciado el reporte.
      */
     @GetMapping("/reportes")
     @Operation(summary = "Estado de cuenta", description = "Genera el reporte de estado de cuenta para un cliente en un rango de fechas")
     public ResponseEntity<GenericResponse> getEstadoCuenta(@RequestParam Long clienteId,
                                                            @RequestParam LocalDate fechaInicio,
-                                                           @RequestParam LocalDate fechaFin) {
+                                                           @RequestParam LocalDate fechaFin,
+                                                           @RequestParam(required = false) AgrupacionResumen agrupacion,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                           HttpServletResponse response) throws IOException {
         logger.info("Solicitud GET para estado de cuenta cliente ID: {} entre {} y {}", clienteId, fechaInicio, fechaFin);
         try {
-            EstadoCuentaDTO estadoCuenta = cuentaApplicationService.getEstadoCuenta(clienteId, fechaInicio, fechaFin);
-            String jsonData = objectMapper.writeValueAsString(estadoCuenta);
-            GenericResponse response = new GenericResponse(true, jsonData);
-            return ResponseEntity.ok(response);
+            if (agrupacion != null) {
+                EstadoCuentaResumidoDTO resumen = cuentaApplicationService.getEstadoCuentaResumido(clienteId, fechaInicio, fechaFin, agrupacion);
+                return ResponseEntity.ok(GenericResponse.conDatos(resumen));
+            }
+            if (accept != null && accept.contains(GenericResponse.TIPO_LEGADO)) {
+                EstadoCuentaDTO estadoCuenta = cuentaApplicationService.getEstadoCuenta(clienteId, fechaInicio, fechaFin);
+                return ResponseEntity.ok(GenericResponse.conDatos(estadoCuenta));
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            reporteEstadoCuentaService.escribirEstadoCuenta(clienteId, fechaInicio, fechaFin, response.getOutputStream());
+            return null;
         } catch (Exception e) {
             logger.error("Error al generar estado de cuenta: {}", e.getMessage());
-            GenericResponse response = new GenericResponse(false, "Error al generar estado de cuenta: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            GenericResponse error = new GenericResponse(false, "Error al generar estado de cuenta: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
\ No newline at end of file
+}
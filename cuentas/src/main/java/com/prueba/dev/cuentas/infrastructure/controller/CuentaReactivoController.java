@@ -0,0 +1,242 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
+import com.prueba.dev.cuentas.application.dto.request.TransferenciaRequest;
+import com.prueba.dev.cuentas.application.service.CuentaReactivoApplicationService;
+import com.prueba.dev.cuentas.domain.model.AgrupacionResumen;
+import com.prueba.dev.respuestas.GenericResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Controlador REST reactivo para operaciones de cuentas.
+ * Expone las mismas rutas, estados y respuestas que {@link CuentaController}
+ * cuando la aplicación arranca con WebFlux (perfil reactivo).
+ */
+@RestController
+@RequestMapping("/cuentas")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Cuentas", description = "API para gestión de cuentas bancarias")
+public class CuentaReactivoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaReactivoController.class);
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final CuentaReactivoApplicationService cuentaApplicationService;
+    private final ObjectMapper objectMapper;
+
+    public CuentaReactivoController(CuentaReactivoApplicationService cuentaApplicationService, ObjectMapper objectMapper) {
+        this.cuentaApplicationService = cuentaApplicationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Crea una nueva cuenta.
+     * @param request La solicitud con los datos de la cuenta.
+     * @return La respuesta genérica con el resultado.
+     */
+    @PostMapping
+    @Operation(summary = "Crear cuenta", description = "Crea una nueva cuenta bancaria")
+    public Mono<ResponseEntity<GenericResponse>> createCuenta(@Valid @RequestBody CuentaRequest request) {
+        logger.info("Solicitud POST para crear cuenta");
+        return cuentaApplicationService.createCuenta(request)
+                .map(cuenta -> {
+                    logger.info("Cuenta creada exitosamente con ID: {}", cuenta.getId());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(cuenta));
+                })
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al crear cuenta", e));
+    }
+
+    /**
+     * Obtiene una cuenta por su ID.
+     * @param id El ID de la cuenta.
+     * @return La respuesta genérica con la cuenta encontrada.
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener cuenta", description = "Obtiene una cuenta por su ID")
+    public Mono<ResponseEntity<GenericResponse>> getCuentaById(@PathVariable Long id) {
+        logger.info("Solicitud GET para cuenta con ID: {}", id);
+        return cuentaApplicationService.getCuentaById(id)
+                .map(cuenta -> ResponseEntity.ok(GenericResponse.conDatos(cuenta)))
+                .onErrorResume(e -> error(HttpStatus.NOT_FOUND, "Cuenta no encontrada", e));
+    }
+
+    /**
+     * Obtiene una página de cuentas.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de cuentas por página.
+     * @return La respuesta genérica con la página de cuentas y el cursor de la siguiente.
+     */
+    @GetMapping
+    @Operation(summary = "Obtener cuentas", description = "Obtiene las cuentas paginadas por cursor")
+    public Mono<ResponseEntity<GenericResponse>> getAllCuentas(@RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limite) {
+        logger.info("Solicitud GET para cuentas, cursor: {}", cursor);
+        return cuentaApplicationService.getCuentas(cursor, limite)
+                .map(cuentas -> ResponseEntity.ok(GenericResponse.conDatos(cuentas)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al obtener cuentas", e));
+    }
+
+    /**
+     * Obtiene cuentas por cliente ID.
+     * @param clienteId El ID del cliente.
+     * @return Lista de cuentas del cliente.
+     */
+    @GetMapping("/cliente/{clienteId}")
+    @Operation(summary = "Obtener cuentas por cliente", description = "Obtiene las cuentas de un cliente específico")
+    public Mono<ResponseEntity<GenericResponse>> getCuentasByClienteId(@PathVariable Long clienteId) {
+        logger.info("Solicitud GET para cuentas de cliente ID: {}", clienteId);
+        return cuentaApplicationService.getCuentasByClienteId(clienteId)
+                .collectList()
+                .map(cuentas -> ResponseEntity.ok(GenericResponse.conDatos(cuentas)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al obtener cuentas", e));
+    }
+
+    /**
+     * Actualiza una cuenta existente.
+     * @param id El ID de la cuenta a actualizar.
+     * @param request La solicitud con los nuevos datos.
+     * @return La respuesta con la cuenta actualizada.
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar cuenta", description = "Actualiza una cuenta existente")
+    public Mono<ResponseEntity<GenericResponse>> updateCuenta(@PathVariable Long id, @Valid @RequestBody CuentaRequest request) {
+        logger.info("Solicitud PUT para actualizar cuenta con ID: {}", id);
+        return cuentaApplicationService.updateCuenta(id, request)
+                .map(cuenta -> ResponseEntity.ok(GenericResponse.conDatos(cuenta)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al actualizar cuenta", e));
+    }
+
+    /**
+     * Actualiza parcialmente una cuenta.
+     * @param id El ID de la cuenta a actualizar.
+     * @param request La solicitud con los datos a actualizar.
+     * @return La respuesta con la cuenta actualizada.
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Actualizar cuenta parcialmente", description = "Actualiza parcialmente una cuenta existente")
+    public Mono<ResponseEntity<GenericResponse>> patchCuenta(@PathVariable Long id, @RequestBody CuentaRequest request) {
+        logger.info("Solicitud PATCH para cuenta con ID: {}", id);
+        return cuentaApplicationService.updateCuenta(id, request)
+                .map(cuenta -> ResponseEntity.ok(GenericResponse.conDatos(cuenta)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al actualizar cuenta parcialmente", e));
+    }
+
+    /**
+     * Elimina una cuenta por su ID.
+     * @param id El ID de la cuenta a eliminar.
+     * @return Respuesta sin contenido.
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar cuenta", description = "Elimina una cuenta por su ID")
+    public Mono<ResponseEntity<Void>> deleteCuenta(@PathVariable Long id) {
+        logger.info("Solicitud DELETE para cuenta con ID: {}", id);
+        return cuentaApplicationService.deleteCuenta(id)
+                .then(Mono.fromSupplier(() -> {
+                    logger.info("Cuenta eliminada exitosamente con ID: {}", id);
+                    return ResponseEntity.noContent().build();
+                }));
+    }
+
+    /**
+     * Realiza un depósito en una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param valor El valor a depositar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return El movimiento creado.
+     */
+    @PostMapping("/{cuentaId}/deposito")
+    @Operation(summary = "Depositar en cuenta", description = "Realiza un depósito en la cuenta especificada")
+    public Mono<ResponseEntity<GenericResponse>> depositar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor,
+                                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        logger.info("Solicitud POST para depósito en cuenta ID: {} con valor: {}", cuentaId, valor);
+        return cuentaApplicationService.depositar(cuentaId, valor, idempotencyKey)
+                .map(movimiento -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al realizar depósito", e));
+    }
+
+    /**
+     * Realiza un retiro de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param valor El valor a retirar.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return El movimiento creado.
+     */
+    @PostMapping("/{cuentaId}/retiro")
+    @Operation(summary = "Retirar de cuenta", description = "Realiza un retiro de la cuenta especificada")
+    public Mono<ResponseEntity<GenericResponse>> retirar(@PathVariable Long cuentaId, @RequestParam BigDecimal valor,
+                                                         @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        logger.info("Solicitud POST para retiro en cuenta ID: {} con valor: {}", cuentaId, valor);
+        return cuentaApplicationService.retirar(cuentaId, valor, idempotencyKey)
+                .map(movimiento -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al realizar retiro", e));
+    }
+
+    /**
+     * Transfiere un valor entre dos cuentas.
+     * @param request La solicitud con las cuentas y el valor.
+     * @return La transferencia con el movimiento de débito y el de crédito.
+     */
+    @PostMapping("/transferencias")
+    @Operation(summary = "Transferir entre cuentas", description = "Debita la cuenta de origen y acredita la de destino de forma atómica")
+    public Mono<ResponseEntity<GenericResponse>> transferir(@Valid @RequestBody TransferenciaRequest request) {
+        logger.info("Solicitud POST para transferencia de cuenta ID: {} a cuenta ID: {}", request.getCuentaOrigenId(), request.getCuentaDestinoId());
+        return cuentaApplicationService.transferir(request)
+                .map(transferencia -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(transferencia)))
+                .onErrorResume(e -> error(HttpStatus.INTERNAL_SERVER_ERROR, "Error al realizar transferencia", e));
+    }
+
+    /**
+     * Genera el estado de cuenta para un cliente en un rango de fechas.
+     * El detalle se escribe por fragmentos a medida que el cliente lee la respuesta;
+     * con agrupacion (DIA o MES) se devuelven los totales por periodo.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio.
+     * @param fechaFin Fecha de fin.
+     * @param agrupacion Periodo de agrupación, o null para el detalle de movimientos.
+     * @param response La respuesta HTTP donde se escribe el reporte.
+     * @return Completa al terminar de escribir el reporte.
+     */
+    @GetMapping("/reportes")
+    @Operation(summary = "Estado de cuenta", description = "Genera el reporte de estado de cuenta para un cliente en un rango de fechas")
+    public Mono<Void> getEstadoCuenta(@RequestParam Long clienteId,
+                                      @RequestParam LocalDate fechaInicio,
+                                      @RequestParam LocalDate fechaFin,
+                                      @RequestParam(required = false) AgrupacionResumen agrupacion,
+                                      ServerHttpResponse response) {
+        logger.info("Solicitud GET para estado de cuenta cliente ID: {} entre {} y {}", clienteId, fechaInicio, fechaFin);
+        if (agrupacion != null) {
+            return cuentaApplicationService.getEstadoCuentaResumido(clienteId, fechaInicio, fechaFin, agrupacion)
+                    .flatMap(resumen -> EscrituraReactiva.escribir(response, HttpStatus.OK, GenericResponse.conDatos(resumen), objectMapper))
+                    .onErrorResume(e -> EscrituraReactiva.escribir(response, HttpStatus.INTERNAL_SERVER_ERROR,
+                            respuestaError("Error al generar estado de cuenta", e), objectMapper));
+        }
+        return EscrituraReactiva.escribir(response, MediaType.APPLICATION_JSON,
+                cuentaApplicationService.escribirEstadoCuenta(clienteId, fechaInicio, fechaFin, response.bufferFactory()),
+                e -> respuestaError("Error al generar estado de cuenta", e), objectMapper);
+    }
+
+    private static Mono<ResponseEntity<GenericResponse>> error(HttpStatus status, String mensaje, Throwable e) {
+        return Mono.just(ResponseEntity.status(status).body(respuestaError(mensaje, e)));
+    }
+
+    private static GenericResponse respuestaError(String mensaje, Throwable e) {
+        logger.error("{}: {}", mensaje, e.getMessage());
+        return new GenericResponse(false, mensaje + ": " + e.getMessage());
+    }
+}
@@ -0,0 +1,64 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.prueba.dev.respuestas.GenericResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Escritura directa de respuestas largas en los controladores reactivos.
+ * Netty no confirma la respuesta hasta recibir el primer buffer, así que si el
+ * cuerpo falla antes todavía se puede responder con un GenericResponse de error;
+ * después solo queda cortar la conexión para que el cliente detecte el error.
+ */
+final class EscrituraReactiva {
+
+    private EscrituraReactiva() {}
+
+    /**
+     * Escribe el cuerpo en la respuesta con el tipo de contenido dado.
+     * @param response La respuesta HTTP.
+     * @param tipo El tipo de contenido del cuerpo.
+     * @param cuerpo Los buffers del cuerpo; se piden a medida que el cliente los consume.
+     * @param error Respuesta de error si el cuerpo falla antes del primer buffer.
+     * @param objectMapper Para serializar la respuesta de error.
+     * @return Completa al terminar la escritura.
+     */
+    static Mono<Void> escribir(ServerHttpResponse response, MediaType tipo, Flux<DataBuffer> cuerpo,
+                               Function<Throwable, GenericResponse> error, ObjectMapper objectMapper) {
+        response.getHeaders().setContentType(tipo);
+        return response.writeWith(cuerpo)
+                .onErrorResume(e -> response.isCommitted()
+                        ? Mono.error(e)
+                        : escribir(response, HttpStatus.INTERNAL_SERVER_ERROR, error.apply(e), objectMapper));
+    }
+
+    /**
+     * Escribe un GenericResponse como JSON.
+     * @param response La respuesta HTTP.
+     * @param status El estado HTTP.
+     * @param respuesta La respuesta a serializar.
+     * @param objectMapper Para serializar la respuesta.
+     * @return Completa al terminar la escritura.
+     */
+    static Mono<Void> escribir(ServerHttpResponse response, HttpStatus status, GenericResponse respuesta,
+                               ObjectMapper objectMapper) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(respuesta);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(json.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(json)));
+    }
+}
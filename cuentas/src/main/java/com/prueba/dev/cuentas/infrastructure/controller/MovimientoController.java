@@ -1,20 +1,33 @@
 package com.prueba.dev.cuentas.infrastructure.controller;
 
 import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
-import com.prueba.dev.cuentas.application.dto.response.GenericResponse;
+import com.prueba.dev.cuentas.application.dto.ImportacionDTO;
 import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.dto.PaginaDTO;
+import com.prueba.dev.cuentas.application.dto.ResultadoLoteDTO;
+import com.prueba.dev.cuentas.application.service.IdempotenciaService;
+import com.prueba.dev.cuentas.application.service.ImportacionMovimientosService;
 import com.prueba.dev.cuentas.application.service.MovimientoApplicationService;
+import com.prueba.dev.respuestas.GenericResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controlador REST para operaciones de movimientos.
@@ -22,32 +35,43 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/movimientos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Movimientos", description = "API para gestión de movimientos bancarios")
 public class MovimientoController {
 
     private static final Logger logger = LoggerFactory.getLogger(MovimientoController.class);
 
     private final MovimientoApplicationService movimientoApplicationService;
+    private final ImportacionMovimientosService importacionMovimientosService;
+    private final IdempotenciaService idempotenciaService;
     private final ObjectMapper objectMapper;
 
-    public MovimientoController(MovimientoApplicationService movimientoApplicationService, ObjectMapper objectMapper) {
+    public MovimientoController(MovimientoApplicationService movimientoApplicationService,
+                                ImportacionMovimientosService importacionMovimientosService,
+                                IdempotenciaService idempotenciaService, ObjectMapper objectMapper) {
         this.movimientoApplicationService = movimientoApplicationService;
+        this.importacionMovimientosService = importacionMovimientosService;
+        this.idempotenciaService = idempotenciaService;
         this.objectMapper = objectMapper;
     }
 
     /**
      * Crea un nuevo movimiento.
      * @param request La solicitud con los datos del movimiento.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
      * @return La respuesta con el movimiento creado.
      */
     @PostMapping
     @Operation(summary = "Crear movimiento", description = "Crea un nuevo movimiento bancario")
-    public ResponseEntity<GenericResponse> createMovimiento(@Valid @RequestBody MovimientoRequest request) {
+    public ResponseEntity<GenericResponse> createMovimiento(@Valid @RequestBody MovimientoRequest request,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         logger.info("Solicitud POST para crear movimiento");
         try {
-            MovimientoDTO movimiento = movimientoApplicationService.createMovimiento(request);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            String huella = request.getCuentaId() + ":" + request.getTipoMovimiento() + ":"
+                    + (request.getValor() == null ? null : request.getValor().stripTrailingZeros().toPlainString());
+            MovimientoDTO movimiento = idempotenciaService.ejecutar(idempotencyKey, "MOVIMIENTO", huella, MovimientoDTO.class,
+                    () -> movimientoApplicationService.createMovimiento(request));
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             logger.error("Error al crear movimiento: {}", e.getMessage());
@@ -56,6 +80,92 @@ public class MovimientoController {
         }
     }
 
+    /**
+     * Crea un lote de movimientos.
+     * @param requests Las solicitudes con los datos de los movimientos.
+     * @return La respuesta con los elementos aceptados y rechazados.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Crear lote de movimientos", description = "Crea miles de movimientos en una sola solicitud e informa los aceptados y rechazados")
+    public ResponseEntity<GenericResponse> createMovimientos(@RequestBody List<MovimientoRequest> requests) {
+        logger.info("Solicitud POST para crear lote de {} movimientos", requests.size());
+        try {
+            ResultadoLoteDTO resultado = movimientoApplicationService.createMovimientos(requests);
+            GenericResponse response = GenericResponse.conDatos(resultado);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            logger.error("Error al crear lote de movimientos: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al crear lote de movimientos: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Importa movimientos históricos en NDJSON o CSV leyendo el cuerpo por streaming.
+     * @param contentType El formato del cuerpo (application/x-ndjson o text/csv).
+     * @param importacionId Identificador opcional para consultar el progreso mientras corre.
+     * @param request La solicitud HTTP cuyo cuerpo se lee de forma incremental.
+     * @return La respuesta con el resultado de la importación.
+     */
+    @PostMapping(value = "/import", consumes = {ImportacionMovimientosService.FORMATO_NDJSON, ImportacionMovimientosService.FORMATO_CSV})
+    @Operation(summary = "Importar movimientos históricos", description = "Importa movimientos desde NDJSON o CSV sin cargar el archivo en memoria")
+    public ResponseEntity<GenericResponse> importarMovimientos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                               @RequestParam(required = false) String importacionId,
+                                                               HttpServletRequest request) {
+        logger.info("Solicitud POST para importar movimientos en formato {}", contentType);
+        try {
+            String formato = MediaType.parseMediaType(contentType).getSubtype().equals("csv")
+                    ? ImportacionMovimientosService.FORMATO_CSV : ImportacionMovimientosService.FORMATO_NDJSON;
+            ImportacionDTO importacion = importacionMovimientosService.importar(importacionId, formato, request.getInputStream());
+            GenericResponse response = GenericResponse.conDatos(importacion);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            logger.error("Error al importar movimientos: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al importar movimientos: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Obtiene el progreso de una importación.
+     * @param importacionId El ID de la importación.
+     * @return La respuesta con el progreso y el throughput de la importación.
+     */
+    @GetMapping("/import/{importacionId}")
+    @Operation(summary = "Progreso de importación", description = "Obtiene el progreso y el throughput de una importación en curso o reciente")
+    public ResponseEntity<GenericResponse> getImportacion(@PathVariable String importacionId) {
+        logger.info("Solicitud GET para importación {}", importacionId);
+        try {
+            Optional<ImportacionDTO> importacion = importacionMovimientosService.getImportacion(importacionId);
+            if (importacion.isEmpty()) {
+                GenericResponse response = new GenericResponse(false, "Importación no encontrada: " + importacionId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            return ResponseEntity.ok(GenericResponse.conDatos(importacion.get()));
+        } catch (Exception e) {
+            logger.error("Error al obtener importación: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al obtener importación: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Obtiene el progreso de las importaciones en curso o recientes.
+     * @return Lista de importaciones.
+     */
+    @GetMapping("/import")
+    @Operation(summary = "Listar importaciones", description = "Obtiene el progreso de las importaciones en curso o recientes")
+    public ResponseEntity<GenericResponse> getImportaciones() {
+        logger.info("Solicitud GET para importaciones");
+        try {
+            return ResponseEntity.ok(GenericResponse.conDatos(importacionMovimientosService.getImportaciones()));
+        } catch (Exception e) {
+            logger.error("Error al obtener importaciones: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al obtener importaciones: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     /**
      * Obtiene un movimiento por su ID.
      * @param id El ID del movimiento.
@@ -67,8 +177,7 @@ public class MovimientoController {
         logger.info("Solicitud GET para movimiento con ID: {}", id);
         try {
             MovimientoDTO movimiento = movimientoApplicationService.getMovimientoById(id);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al obtener movimiento: {}", e.getMessage());
@@ -78,17 +187,19 @@ public class MovimientoController {
     }
 
     /**
-     * Obtiene todos los movimientos.
-     * @return Lista de movimientos.
+     * Obtiene una página de movimientos, del más reciente al más antiguo.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de movimientos por página.
+     * @return La página de movimientos y el cursor de la siguiente.
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los movimientos", description = "Obtiene una lista de todos los movimientos")
-    public ResponseEntity<GenericResponse> getAllMovimientos() {
-        logger.info("Solicitud GET para todos los movimientos");
+    @Operation(summary = "Obtener movimientos", description = "Obtiene los movimientos paginados por cursor")
+    public ResponseEntity<GenericResponse> getAllMovimientos(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limite) {
+        logger.info("Solicitud GET para movimientos, cursor: {}", cursor);
         try {
-            List<MovimientoDTO> movimientos = movimientoApplicationService.getAllMovimientos();
-            String jsonData = objectMapper.writeValueAsString(movimientos);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            PaginaDTO<MovimientoDTO> movimientos = movimientoApplicationService.getMovimientos(cursor, limite);
+            GenericResponse response = GenericResponse.conDatos(movimientos);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al obtener movimientos: {}", e.getMessage());
@@ -98,18 +209,21 @@ public class MovimientoController {
     }
 
     /**
-     * Obtiene movimientos por cuenta ID.
+     * Obtiene una página de movimientos de una cuenta.
      * @param cuentaId El ID de la cuenta.
-     * @return Lista de movimientos de la cuenta.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de movimientos por página.
+     * @return La página de movimientos de la cuenta y el cursor de la siguiente.
      */
     @GetMapping("/cuenta/{cuentaId}")
-    @Operation(summary = "Obtener movimientos por cuenta", description = "Obtiene los movimientos de una cuenta específica")
-    public ResponseEntity<GenericResponse> getMovimientosByCuentaId(@PathVariable Long cuentaId) {
+    @Operation(summary = "Obtener movimientos por cuenta", description = "Obtiene los movimientos de una cuenta paginados por cursor")
+    public ResponseEntity<GenericResponse> getMovimientosByCuentaId(@PathVariable Long cuentaId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer limite) {
         logger.info("Solicitud GET para movimientos de cuenta ID: {}", cuentaId);
         try {
-            List<MovimientoDTO> movimientos = movimientoApplicationService.getMovimientosByCuentaId(cuentaId);
-            String jsonData = objectMapper.writeValueAsString(movimientos);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            PaginaDTO<MovimientoDTO> movimientos = movimientoApplicationService.getMovimientosByCuentaId(cuentaId, cursor, limite);
+            GenericResponse response = GenericResponse.conDatos(movimientos);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al obtener movimientos de cuenta: {}", e.getMessage());
@@ -118,6 +232,51 @@ public class MovimientoController {
         }
     }
 
+    /**
+     * Exporta todos los movimientos en NDJSON escribiendo directamente en la respuesta.
+     * @param response La respuesta HTTP donde se escribe cada movimiento a medida que se lee.
+     * @throws IOException Si falla la escritura después de iniciada la exportación.
+     */
+    @GetMapping(value = "/export", produces = ImportacionMovimientosService.FORMATO_NDJSON)
+    @Operation(summary = "Exportar movimientos", description = "Exporta todos los movimientos en NDJSON sin cargarlos en memoria")
+    public void exportarMovimientos(HttpServletResponse response) throws IOException {
+        logger.info("Solicitud GET para exportar todos los movimientos");
+        exportar(null, response);
+    }
+
+    /**
+     * Exporta los movimientos de una cuenta en NDJSON escribiendo directamente en la respuesta.
+     * @param cuentaId El ID de la cuenta.
+     * @param response La respuesta HTTP donde se escribe cada movimiento a medida que se lee.
+     * @throws IOException Si falla la escritura después de iniciada la exportación.
+     */
+    @GetMapping(value = "/cuenta/{cuentaId}/export", produces = ImportacionMovimientosService.FORMATO_NDJSON)
+    @Operation(summary = "Exportar movimientos por cuenta", description = "Exporta los movimientos de una cuenta en NDJSON sin cargarlos en memoria")
+    public void exportarMovimientosByCuentaId(@PathVariable Long cuentaId, HttpServletResponse response) throws IOException {
+        logger.info("Solicitud GET para exportar movimientos de cuenta ID: {}", cuentaId);
+        exportar(cuentaId, response);
+    }
+
+    private void exportar(Long cuentaId, HttpServletResponse response) throws IOException {
+        response.setContentType(ImportacionMovimientosService.FORMATO_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            movimientoApplicationService.exportarMovimientos(cuentaId, response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar movimientos: {}", e.getMessage());
+            if (response.isCommitted()) {
+                // Ya se enviaron filas: solo queda cortar la respuesta para que el cliente detecte el error
+                throw e;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(),
+                    new GenericResponse(false, "Error al exportar movimientos: " + e.getMessage()));
+        }
+    }
+
     /**
      * Actualiza un movimiento existente.
      * @param id El ID del movimiento a actualizar.
@@ -130,8 +289,7 @@ public class MovimientoController {
         logger.info("Solicitud PUT para actualizar movimiento con ID: {}", id);
         try {
             MovimientoDTO movimiento = movimientoApplicationService.updateMovimiento(id, request);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al actualizar movimiento: {}", e.getMessage());
@@ -152,8 +310,7 @@ public class MovimientoController {
         logger.info("Solicitud PATCH para movimiento con ID: {}", id);
         try {
             MovimientoDTO movimiento = movimientoApplicationService.updateMovimiento(id, request);
-            String jsonData = objectMapper.writeValueAsString(movimiento);
-            GenericResponse response = new GenericResponse(true, jsonData);
+            GenericResponse response = GenericResponse.conDatos(movimiento);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error al actualizar movimiento parcialmente: {}", e.getMessage());
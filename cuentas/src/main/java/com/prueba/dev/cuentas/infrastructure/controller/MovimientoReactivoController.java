@@ -0,0 +1,208 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.application.service.ImportacionMovimientosService;
+import com.prueba.dev.cuentas.application.service.MovimientoReactivoApplicationService;
+import com.prueba.dev.respuestas.GenericResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Controlador REST reactivo para operaciones de movimientos.
+ * Expone las mismas rutas que {@link MovimientoController} salvo la importación,
+ * que lee el cuerpo con un parser bloqueante y queda solo en la pila servlet.
+ */
+@RestController
+@RequestMapping("/movimientos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Movimientos", description = "API para gestión de movimientos bancarios")
+public class MovimientoReactivoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoReactivoController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(ImportacionMovimientosService.FORMATO_NDJSON);
+
+    private final MovimientoReactivoApplicationService movimientoApplicationService;
+    private final ObjectMapper objectMapper;
+
+    public MovimientoReactivoController(MovimientoReactivoApplicationService movimientoApplicationService,
+                                        ObjectMapper objectMapper) {
+        this.movimientoApplicationService = movimientoApplicationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Crea un nuevo movimiento.
+     * @param request La solicitud con los datos del movimiento.
+     * @param idempotencyKey Clave opcional para que un reintento devuelva el movimiento original.
+     * @return La respuesta con el movimiento creado.
+     */
+    @PostMapping
+    @Operation(summary = "Crear movimiento", description = "Crea un nuevo movimiento bancario")
+    public Mono<ResponseEntity<GenericResponse>> createMovimiento(@Valid @RequestBody MovimientoRequest request,
+                                                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info("Solicitud POST para crear movimiento");
+        return movimientoApplicationService.createMovimiento(request, idempotencyKey)
+                .map(movimiento -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error("Error al crear movimiento", e));
+    }
+
+    /**
+     * Crea un lote de movimientos.
+     * @param requests Las solicitudes con los datos de los movimientos.
+     * @return La respuesta con los elementos aceptados y rechazados.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Crear lote de movimientos", description = "Crea miles de movimientos en una sola solicitud e informa los aceptados y rechazados")
+    public Mono<ResponseEntity<GenericResponse>> createMovimientos(@RequestBody List<MovimientoRequest> requests) {
+        logger.info("Solicitud POST para crear lote de {} movimientos", requests.size());
+        return movimientoApplicationService.createMovimientos(requests)
+                .map(resultado -> ResponseEntity.status(HttpStatus.CREATED).body(GenericResponse.conDatos(resultado)))
+                .onErrorResume(e -> error("Error al crear lote de movimientos", e));
+    }
+
+    /**
+     * Obtiene un movimiento por su ID.
+     * @param id El ID del movimiento.
+     * @return La respuesta con el movimiento encontrado.
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener movimiento", description = "Obtiene un movimiento por su ID")
+    public Mono<ResponseEntity<GenericResponse>> getMovimientoById(@PathVariable Long id) {
+        logger.info("Solicitud GET para movimiento con ID: {}", id);
+        return movimientoApplicationService.getMovimientoById(id)
+                .map(movimiento -> ResponseEntity.ok(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error("Error al obtener movimiento", e));
+    }
+
+    /**
+     * Obtiene una página de movimientos, del más reciente al más antiguo.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de movimientos por página.
+     * @return La página de movimientos y el cursor de la siguiente.
+     */
+    @GetMapping
+    @Operation(summary = "Obtener movimientos", description = "Obtiene los movimientos paginados por cursor")
+    public Mono<ResponseEntity<GenericResponse>> getAllMovimientos(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limite) {
+        logger.info("Solicitud GET para movimientos, cursor: {}", cursor);
+        return movimientoApplicationService.getMovimientos(cursor, limite)
+                .map(movimientos -> ResponseEntity.ok(GenericResponse.conDatos(movimientos)))
+                .onErrorResume(e -> error("Error al obtener movimientos", e));
+    }
+
+    /**
+     * Obtiene una página de movimientos de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param cursor El cursor devuelto por la página anterior; se omite para la primera.
+     * @param limite Máximo de movimientos por página.
+     * @return La página de movimientos de la cuenta y el cursor de la siguiente.
+     */
+    @GetMapping("/cuenta/{cuentaId}")
+    @Operation(summary = "Obtener movimientos por cuenta", description = "Obtiene los movimientos de una cuenta paginados por cursor")
+    public Mono<ResponseEntity<GenericResponse>> getMovimientosByCuentaId(@PathVariable Long cuentaId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer limite) {
+        logger.info("Solicitud GET para movimientos de cuenta ID: {}", cuentaId);
+        return movimientoApplicationService.getMovimientosByCuentaId(cuentaId, cursor, limite)
+                .map(movimientos -> ResponseEntity.ok(GenericResponse.conDatos(movimientos)))
+                .onErrorResume(e -> error("Error al obtener movimientos de cuenta", e));
+    }
+
+    /**
+     * Exporta todos los movimientos en NDJSON al ritmo en que el cliente los lee.
+     * @param response La respuesta HTTP donde se escriben los movimientos.
+     * @return Completa al terminar la exportación.
+     */
+    @GetMapping(value = "/export", produces = ImportacionMovimientosService.FORMATO_NDJSON)
+    @Operation(summary = "Exportar movimientos", description = "Exporta todos los movimientos en NDJSON sin cargarlos en memoria")
+    public Mono<Void> exportarMovimientos(ServerHttpResponse response) {
+        logger.info("Solicitud GET para exportar todos los movimientos");
+        return exportar(null, response);
+    }
+
+    /**
+     * Exporta los movimientos de una cuenta en NDJSON al ritmo en que el cliente los lee.
+     * @param cuentaId El ID de la cuenta.
+     * @param response La respuesta HTTP donde se escriben los movimientos.
+     * @return Completa al terminar la exportación.
+     */
+    @GetMapping(value = "/cuenta/{cuentaId}/export", produces = ImportacionMovimientosService.FORMATO_NDJSON)
+    @Operation(summary = "Exportar movimientos por cuenta", description = "Exporta los movimientos de una cuenta en NDJSON sin cargarlos en memoria")
+    public Mono<Void> exportarMovimientosByCuentaId(@PathVariable Long cuentaId, ServerHttpResponse response) {
+        logger.info("Solicitud GET para exportar movimientos de cuenta ID: {}", cuentaId);
+        return exportar(cuentaId, response);
+    }
+
+    private Mono<Void> exportar(Long cuentaId, ServerHttpResponse response) {
+        return EscrituraReactiva.escribir(response, NDJSON,
+                movimientoApplicationService.exportarMovimientos(cuentaId, response.bufferFactory()),
+                e -> respuestaError("Error al exportar movimientos", e), objectMapper);
+    }
+
+    /**
+     * Actualiza un movimiento existente.
+     * @param id El ID del movimiento a actualizar.
+     * @param request La solicitud con los nuevos datos.
+     * @return La respuesta con el movimiento actualizado.
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Actualizar movimiento", description = "Actualiza un movimiento existente")
+    public Mono<ResponseEntity<GenericResponse>> updateMovimiento(@PathVariable Long id, @Valid @RequestBody MovimientoRequest request) {
+        logger.info("Solicitud PUT para actualizar movimiento con ID: {}", id);
+        return movimientoApplicationService.updateMovimiento(id, request)
+                .map(movimiento -> ResponseEntity.ok(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error("Error al actualizar movimiento", e));
+    }
+
+    /**
+     * Actualiza parcialmente un movimiento.
+     * @param id El ID del movimiento a actualizar.
+     * @param request La solicitud con los datos a actualizar.
+     * @return La respuesta con el movimiento actualizado.
+     */
+    @PatchMapping("/{id}")
+    @Operation(summary = "Actualizar movimiento parcialmente", description = "Actualiza parcialmente un movimiento existente")
+    public Mono<ResponseEntity<GenericResponse>> patchMovimiento(@PathVariable Long id, @RequestBody MovimientoRequest request) {
+        logger.info("Solicitud PATCH para movimiento con ID: {}", id);
+        return movimientoApplicationService.updateMovimiento(id, request)
+                .map(movimiento -> ResponseEntity.ok(GenericResponse.conDatos(movimiento)))
+                .onErrorResume(e -> error("Error al actualizar movimiento parcialmente", e));
+    }
+
+    /**
+     * Elimina un movimiento por su ID.
+     * @param id El ID del movimiento a eliminar.
+     * @return Respuesta de éxito.
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar movimiento", description = "Elimina un movimiento por su ID")
+    public Mono<ResponseEntity<GenericResponse>> deleteMovimiento(@PathVariable Long id) {
+        logger.info("Solicitud DELETE para movimiento con ID: {}", id);
+        return movimientoApplicationService.deleteMovimiento(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new GenericResponse(true, "Movimiento eliminado exitosamente"))))
+                .onErrorResume(e -> error("Error al eliminar movimiento", e));
+    }
+
+    private static Mono<ResponseEntity<GenericResponse>> error(String mensaje, Throwable e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(respuestaError(mensaje, e)));
+    }
+
+    private static GenericResponse respuestaError(String mensaje, Throwable e) {
+        logger.error("{}: {}", mensaje, e.getMessage());
+        return new GenericResponse(false, mensaje + ": " + e.getMessage());
+    }
+}
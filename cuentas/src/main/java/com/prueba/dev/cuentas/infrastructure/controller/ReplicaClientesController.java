@@ -0,0 +1,81 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.prueba.dev.cuentas.application.dto.ClienteReplicadoDTO;
+import com.prueba.dev.cuentas.application.dto.ReplicaClientesDTO;
+import com.prueba.dev.cuentas.application.service.ReplicaClientesApplicationService;
+import com.prueba.dev.respuestas.GenericResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para la réplica local de clientes.
+ */
+@RestController
+@RequestMapping("/clientes-replica")
+@Tag(name = "Réplica de clientes", description = "API de la copia local de clientes usada por cuentas")
+public class ReplicaClientesController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaClientesController.class);
+
+    private final ReplicaClientesApplicationService replicaClientesApplicationService;
+
+    public ReplicaClientesController(ReplicaClientesApplicationService replicaClientesApplicationService) {
+        this.replicaClientesApplicationService = replicaClientesApplicationService;
+    }
+
+    /**
+     * Obtiene el estado de la réplica.
+     * @return La respuesta genérica con el tamaño y la memoria de la réplica.
+     */
+    @GetMapping
+    @Operation(summary = "Estado de la réplica", description = "Indica si la réplica está cargada, cuántos clientes tiene y cuánta memoria usa")
+    public ResponseEntity<GenericResponse> getEstado() {
+        logger.info("Solicitud GET para el estado de la réplica de clientes");
+        ReplicaClientesDTO estado = replicaClientesApplicationService.getEstado();
+        return ResponseEntity.ok(GenericResponse.conDatos(estado));
+    }
+
+    /**
+     * Obtiene un cliente de la réplica.
+     * @param clienteId El ID del cliente.
+     * @return La respuesta genérica con el cliente replicado.
+     */
+    @GetMapping("/{clienteId}")
+    @Operation(summary = "Obtener cliente replicado", description = "Obtiene el nombre y estado de un cliente desde la réplica local")
+    public ResponseEntity<GenericResponse> getCliente(@PathVariable Long clienteId) {
+        try {
+            logger.info("Solicitud GET para cliente replicado con ID: {}", clienteId);
+            ClienteReplicadoDTO cliente = replicaClientesApplicationService.getCliente(clienteId);
+            return ResponseEntity.ok(GenericResponse.conDatos(cliente));
+        } catch (Exception e) {
+            logger.error("Error al obtener cliente replicado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new GenericResponse(false, "Cliente no encontrado: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Reconstruye la réplica desde la exportación del microservicio de clientes.
+     * @return La respuesta genérica con el estado de la réplica reconstruida.
+     */
+    @PostMapping("/reconstruir")
+    @Operation(summary = "Reconstruir réplica", description = "Recarga todos los clientes desde el microservicio de clientes")
+    public ResponseEntity<GenericResponse> reconstruir() {
+        try {
+            logger.info("Solicitud POST para reconstruir la réplica de clientes");
+            ReplicaClientesDTO estado = replicaClientesApplicationService.reconstruir();
+            return ResponseEntity.ok(GenericResponse.conDatos(estado));
+        } catch (Exception e) {
+            logger.error("Error al reconstruir la réplica de clientes: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse(false, "Error al reconstruir la réplica de clientes: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.prueba.dev.cuentas.infrastructure.controller;
+
+import com.prueba.dev.cuentas.application.dto.TrabajoReporteDTO;
+import com.prueba.dev.cuentas.application.service.TrabajoReporteService;
+import com.prueba.dev.respuestas.GenericResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Controlador REST para estados de cuenta asíncronos.
+ * La solicitud devuelve de inmediato un trabajo que se consulta hasta que termina;
+ * el resultado se descarga desde el archivo gzip generado.
+ */
+@RestController
+@RequestMapping("/cuentas/reportes/trabajos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Reportes", description = "API para estados de cuenta asíncronos")
+public class TrabajoReporteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrabajoReporteController.class);
+
+    // Atributos con los que Tomcat envía un archivo con sendfile, sin copiarlo por la JVM
+    private static final String SENDFILE_SOPORTADO = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARCHIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIN = "org.apache.tomcat.sendfile.end";
+
+    private final TrabajoReporteService trabajoReporteService;
+
+    public TrabajoReporteController(TrabajoReporteService trabajoReporteService) {
+        this.trabajoReporteService = trabajoReporteService;
+    }
+
+    /**
+     * Solicita un estado de cuenta asíncrono.
+     * @param clienteId El ID del cliente.
+     * @param fechaInicio Fecha de inicio.
+     * @param fechaFin Fecha de fin.
+     * @return La respuesta con el trabajo creado o el que ya estaba en curso para la misma solicitud.
+     */
+    @PostMapping
+    @Operation(summary = "Solicitar estado de cuenta", description = "Encola la generación del estado de cuenta y devuelve el trabajo a consultar")
+    public ResponseEntity<GenericResponse> solicitar(@RequestParam Long clienteId,
+                                                     @RequestParam LocalDate fechaInicio,
+                                                     @RequestParam LocalDate fechaFin) {
+        logger.info("Solicitud POST de estado de cuenta asíncrono para cliente ID: {}", clienteId);
+        try {
+            TrabajoReporteDTO trabajo = trabajoReporteService.solicitar(clienteId, fechaInicio, fechaFin);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/cuentas/reportes/trabajos/" + trabajo.getId()))
+                    .body(GenericResponse.conDatos(trabajo));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cola de reportes llena, se rechaza la solicitud de cliente ID: {}", clienteId);
+            GenericResponse response = new GenericResponse(false, "Hay demasiados reportes en curso, intente más tarde");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(response);
+        } catch (Exception e) {
+            logger.error("Error al solicitar estado de cuenta: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al solicitar estado de cuenta: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Obtiene el estado de un trabajo.
+     * @param id El ID del trabajo.
+     * @return La respuesta con el estado del trabajo.
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Estado del trabajo", description = "Obtiene el estado de un estado de cuenta asíncrono")
+    public ResponseEntity<GenericResponse> getTrabajo(@PathVariable String id) {
+        logger.info("Solicitud GET para trabajo de reporte {}", id);
+        try {
+            Optional<TrabajoReporteDTO> trabajo = trabajoReporteService.getTrabajo(id);
+            if (trabajo.isEmpty()) {
+                GenericResponse response = new GenericResponse(false, "Trabajo de reporte no encontrado: " + id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            return ResponseEntity.ok(GenericResponse.conDatos(trabajo.get()));
+        } catch (Exception e) {
+            logger.error("Error al obtener trabajo de reporte: {}", e.getMessage());
+            GenericResponse response = new GenericResponse(false, "Error al obtener trabajo de reporte: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Descarga el estado de cuenta de un trabajo completado.
+     * Si el cliente acepta gzip, el archivo se envía tal cual con Content-Encoding gzip
+     * y, cuando el conector lo soporta, con sendfile; si no, se descomprime al vuelo.
+     * @param id El ID del trabajo.
+     * @param request La solicitud HTTP.
+     * @param response La respuesta HTTP donde se escribe el reporte.
+     * @return Un error si el resultado no está disponible, o null si el reporte ya se escribió.
+     */
+    @GetMapping("/{id}/resultado")
+    @Operation(summary = "Descargar estado de cuenta", description = "Descarga el resultado de un estado de cuenta asíncrono completado")
+    public ResponseEntity<GenericResponse> getResultado(@PathVariable String id, HttpServletRequest request,
+                                                        HttpServletResponse response) {
+        logger.info("Solicitud GET para resultado de trabajo de reporte {}", id);
+        try {
+            Optional<Path> archivo = trabajoReporteService.getResultado(id);
+            if (archivo.isEmpty()) {
+                GenericResponse error = new GenericResponse(false, "Resultado de reporte no disponible: " + id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            String aceptadas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (aceptadas == null || !aceptadas.contains("gzip")) {
+                try (InputStream entrada = new GZIPInputStream(Files.newInputStream(archivo.get()))) {
+                    entrada.transferTo(response.getOutputStream());
+                }
+                return null;
+            }
+
+            long tamanio = Files.size(archivo.get());
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLengthLong(tamanio);
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SOPORTADO))) {
+                request.setAttribute(SENDFILE_ARCHIVO, archivo.get().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_INICIO, 0L);
+                request.setAttribute(SENDFILE_FIN, tamanio);
+            } else {
+                Files.copy(archivo.get(), response.getOutputStream());
+            }
+            return null;
+        } catch (Exception e) {
+            logger.error("Error al descargar resultado de reporte: {}", e.getMessage());
+            if (response.isCommitted()) {
+                return null;
+            }
+            response.reset();
+            GenericResponse error = new GenericResponse(false, "Error al descargar resultado de reporte: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
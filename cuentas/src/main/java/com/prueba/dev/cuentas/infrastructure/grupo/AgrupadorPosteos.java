@@ -0,0 +1,205 @@
+package com.prueba.dev.cuentas.infrastructure.grupo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
+import com.prueba.dev.cuentas.domain.port.AgrupadorPosteoPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Group commit de depósitos y retiros concurrentes sobre una misma cuenta.
+ * La primera solicitud que llega a una cuenta lidera el grupo: espera unos
+ * milisegundos o hasta completar el tamaño máximo, aplica todos los movimientos
+ * en su propia transacción (un bloqueo de la fila, un INSERT por lotes y un único
+ * UPDATE de saldo) y, al confirmarse, entrega a cada llamador su movimiento.
+ * Como el líder usa la conexión de su propia solicitud, agrupar no requiere
+ * conexiones adicionales del pool. Una cuenta solo ocupa memoria mientras tiene
+ * posteos en curso: su grupo se quita del mapa al vaciarse la cola.
+ *
+ * Se activa con cuentas.posting.grupo.habilitado=true.
+ */
+@Component
+@ConditionalOnProperty(name = "cuentas.posting.grupo.habilitado", havingValue = "true")
+public class AgrupadorPosteos implements AgrupadorPosteoPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgrupadorPosteos.class);
+
+    private final Map<Long, GrupoCuenta> grupos = new ConcurrentHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    private final AgrupadorProperties properties;
+    private final DistributionSummary tamanioGrupo;
+    private final Counter reintentos;
+
+    public AgrupadorPosteos(PlatformTransactionManager transactionManager, AgrupadorProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.tamanioGrupo = DistributionSummary.builder("cuentas.posteo.grupo.tamanio")
+                .description("Movimientos aplicados por cada group commit")
+                .baseUnit("movimientos")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) Math.max(properties.getTamanioMaximo(), 1))
+                .register(meterRegistry);
+        this.reintentos = Counter.builder("cuentas.posteo.grupo.reintentos")
+                .description("Movimientos reencolados porque la transacción de su grupo se revirtió")
+                .register(meterRegistry);
+        meterRegistry.gauge("cuentas.posteo.grupo.cuentas", grupos, Map::size);
+    }
+
+    @Override
+    public Movimiento postear(Movimiento movimiento, Function<List<Movimiento>, ResultadoLote> aplicarGrupo) {
+        Long cuentaId = movimiento.getCuentaId();
+        Movimiento pendiente = movimiento;
+        for (int intento = 0; ; intento++) {
+            GrupoCuenta grupo;
+            SolicitudPosteo solicitud;
+            do {
+                grupo = grupos.computeIfAbsent(cuentaId,
+                        id -> new GrupoCuenta(properties.getTamanioMaximo(), retirado -> grupos.remove(id, retirado)));
+                solicitud = grupo.encolar(pendiente);
+                if (solicitud == null) {
+                    // Se retiró entre la búsqueda y el encolado: se quita aquí si su líder aún no lo hizo
+                    grupos.remove(cuentaId, grupo);
+                }
+            } while (solicitud == null);
+            try {
+                return esperar(grupo, solicitud, aplicarGrupo);
+            } catch (GrupoRevertidoException e) {
+                if (intento >= properties.getReintentos()) {
+                    throw new IllegalStateException("No se pudo aplicar el movimiento en cuenta ID: " + cuentaId, e);
+                }
+                reintentos.increment();
+                // El movimiento pudo recibir un ID en la transacción revertida: se encola una copia
+                pendiente = new Movimiento(cuentaId, movimiento.getTipoMovimiento(), movimiento.getValor(), BigDecimal.ZERO);
+            }
+        }
+    }
+
+    private Movimiento esperar(GrupoCuenta grupo, SolicitudPosteo solicitud, Function<List<Movimiento>, ResultadoLote> aplicarGrupo) {
+        try {
+            CompletableFuture.anyOf(solicitud.getTurno(), solicitud.getResultado())
+                    .get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (grupo.abandonar(solicitud)) {
+                throw new IllegalStateException("Tiempo de espera agotado al postear en cuenta ID: "
+                        + solicitud.getMovimiento().getCuentaId(), e);
+            }
+            // Ya forma parte de un grupo cerrado o acaba de pasar a liderar: se espera el desenlace
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (grupo.abandonar(solicitud)) {
+                throw new IllegalStateException("Posteo interrumpido", e);
+            }
+        } catch (ExecutionException e) {
+            // El error del grupo se propaga al leer el resultado
+        }
+
+        if (solicitud.esLider()) {
+            return liderar(grupo, aplicarGrupo);
+        }
+        try {
+            return solicitud.getResultado().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private Movimiento liderar(GrupoCuenta grupo, Function<List<Movimiento>, ResultadoLote> aplicarGrupo) {
+        List<SolicitudPosteo> solicitudes = grupo.reunir(TimeUnit.MILLISECONDS.toNanos(properties.getEsperaMaximaMs()));
+        tamanioGrupo.record(solicitudes.size());
+        logger.debug("Aplicando grupo de {} movimientos en cuenta ID: {}", solicitudes.size(),
+                solicitudes.get(0).getMovimiento().getCuentaId());
+
+        List<Movimiento> movimientos = solicitudes.stream().map(SolicitudPosteo::getMovimiento).toList();
+        AtomicReference<ResultadoLote> aplicado = new AtomicReference<>();
+        try {
+            // Si el llamador ya tiene una transacción, el grupo se confirma con ella
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new Confirmacion(solicitudes, aplicado));
+                aplicado.set(aplicarGrupo.apply(movimientos));
+            });
+        } catch (RuntimeException e) {
+            revertir(solicitudes, e);
+            throw e;
+        }
+
+        ResultadoLote resultado = aplicado.get();
+        Movimiento propio = resultado.getAceptados().get(0);
+        if (propio == null) {
+            throw resultado.getError(0);
+        }
+        return propio;
+    }
+
+    private static void revertir(List<SolicitudPosteo> solicitudes, Throwable causa) {
+        for (SolicitudPosteo solicitud : solicitudes.subList(1, solicitudes.size())) {
+            solicitud.getResultado().completeExceptionally(new GrupoRevertidoException(causa));
+        }
+    }
+
+    /**
+     * Entrega a los demás integrantes del grupo su resultado cuando termina la transacción.
+     */
+    private static final class Confirmacion implements TransactionSynchronization {
+
+        private final List<SolicitudPosteo> solicitudes;
+        private final AtomicReference<ResultadoLote> aplicado;
+
+        Confirmacion(List<SolicitudPosteo> solicitudes, AtomicReference<ResultadoLote> aplicado) {
+            this.solicitudes = solicitudes;
+            this.aplicado = aplicado;
+        }
+
+        @Override
+        public void afterCompletion(int estado) {
+            ResultadoLote resultado = aplicado.get();
+            if (estado != STATUS_COMMITTED || resultado == null) {
+                revertir(solicitudes, null);
+                return;
+            }
+            for (int i = 1; i < solicitudes.size(); i++) {
+                Movimiento movimiento = resultado.getAceptados().get(i);
+                if (movimiento != null) {
+                    solicitudes.get(i).getResultado().complete(movimiento);
+                } else {
+                    solicitudes.get(i).getResultado().completeExceptionally(resultado.getError(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * La transacción del grupo no se confirmó; el movimiento debe volver a encolarse.
+     */
+    private static final class GrupoRevertidoException extends RuntimeException {
+
+        GrupoRevertidoException(Throwable causa) {
+            super("La transacción del grupo se revirtió", causa);
+        }
+    }
+}
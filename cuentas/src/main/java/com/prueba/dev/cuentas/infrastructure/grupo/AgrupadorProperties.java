@@ -0,0 +1,67 @@
+package com.prueba.dev.cuentas.infrastructure.grupo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del agrupador de posteos por cuenta (prefijo cuentas.posting.grupo).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.posting.grupo")
+public class AgrupadorProperties {
+
+    /** Activa el agrupamiento de depósitos y retiros concurrentes sobre una misma cuenta. */
+    private boolean habilitado = false;
+
+    /** Tiempo máximo que el primer posteo de un grupo espera a los siguientes. */
+    private long esperaMaximaMs = 5;
+
+    /** Máximo de movimientos por grupo; al completarse se aplica sin esperar más. */
+    private int tamanioMaximo = 64;
+
+    /** Tiempo máximo que un llamador espera a que su grupo se aplique. */
+    private long timeoutMs = 5000;
+
+    /** Veces que un movimiento vuelve a encolarse si la transacción de su grupo se revierte. */
+    private int reintentos = 3;
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public long getEsperaMaximaMs() {
+        return esperaMaximaMs;
+    }
+
+    public void setEsperaMaximaMs(long esperaMaximaMs) {
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    public int getTamanioMaximo() {
+        return tamanioMaximo;
+    }
+
+    public void setTamanioMaximo(int tamanioMaximo) {
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getReintentos() {
+        return reintentos;
+    }
+
+    public void setReintentos(int reintentos) {
+        this.reintentos = reintentos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.prueba.dev.cuentas.infrastructure.grupo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Cola de posteos de una cuenta.
+ * Siempre hay como máximo un líder reuniendo el grupo: la primera solicitud que
+ * llega sin líder lo es, y al cerrar un grupo la primera que queda en cola toma el relevo.
+ * Así el siguiente grupo se reúne mientras el anterior se confirma.
+ * La espera del líder usa un ReentrantLock y no el monitor del objeto: un hilo
+ * virtual que espera dentro de synchronized retiene su hilo portador.
+ * Cuando la cola queda vacía y sin líder, el grupo se retira: deja de aceptar
+ * solicitudes y avisa para que lo quiten del mapa de cuentas.
+ */
+final class GrupoCuenta {
+
+    private final int tamanioMaximo;
+    private final Deque<SolicitudPosteo> pendientes = new ArrayDeque<>();
+    private final ReentrantLock bloqueo = new ReentrantLock();
+    private final Condition completo = bloqueo.newCondition();
+    private final Consumer<GrupoCuenta> alRetirarse;
+    private boolean conLider;
+    private boolean retirado;
+
+    GrupoCuenta(int tamanioMaximo, Consumer<GrupoCuenta> alRetirarse) {
+        this.tamanioMaximo = tamanioMaximo;
+        this.alRetirarse = alRetirarse;
+    }
+
+    /**
+     * Agrega un movimiento a la cola; si no hay líder, la solicitud pasa a serlo.
+     * @return La solicitud, o null si el grupo ya se retiró y hay que pedir otro.
+     */
+    SolicitudPosteo encolar(Movimiento movimiento) {
+        SolicitudPosteo solicitud = new SolicitudPosteo(movimiento);
+        bloqueo.lock();
+        try {
+            if (retirado) {
+                return null;
+            }
+            pendientes.addLast(solicitud);
+            if (!conLider) {
+                conLider = true;
+                solicitud.promover();
+            } else if (pendientes.size() >= tamanioMaximo) {
+                completo.signalAll();
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+        return solicitud;
+    }
+
+    /**
+     * Espera a que el grupo se complete o se agote la espera y lo retira de la cola.
+     * Lo llama solo el líder, que siempre queda primero en el grupo devuelto.
+     * @param esperaMaximaNanos Espera máxima desde que el líder empieza a reunir.
+     * @return Las solicitudes del grupo, en orden de llegada.
+     */
+    List<SolicitudPosteo> reunir(long esperaMaximaNanos) {
+        List<SolicitudPosteo> grupo;
+        bloqueo.lock();
+        try {
+            long restante = esperaMaximaNanos;
+            boolean interrumpido = false;
+            while (pendientes.size() < tamanioMaximo && restante > 0) {
+                try {
+                    restante = completo.awaitNanos(restante);
+                } catch (InterruptedException e) {
+                    // El líder no puede abandonar el grupo: se cierra con lo reunido hasta ahora
+                    interrumpido = true;
+                    break;
+                }
+            }
+            grupo = new ArrayList<>(Math.min(pendientes.size(), tamanioMaximo));
+            while (grupo.size() < tamanioMaximo && !pendientes.isEmpty()) {
+                grupo.add(pendientes.pollFirst());
+            }
+            if (pendientes.isEmpty()) {
+                conLider = false;
+                retirado = true;
+            } else {
+                pendientes.peekFirst().promover();
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+        if (retirado) {
+            alRetirarse.accept(this);
+        }
+        return grupo;
+    }
+
+    /**
+     * Retira de la cola una solicitud cuyo llamador dejó de esperar.
+     * @return false si la solicitud ya pasó a ser líder o ya forma parte de un grupo cerrado.
+     */
+    boolean abandonar(SolicitudPosteo solicitud) {
+        bloqueo.lock();
+        try {
+            return !solicitud.esLider() && pendientes.remove(solicitud);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+}
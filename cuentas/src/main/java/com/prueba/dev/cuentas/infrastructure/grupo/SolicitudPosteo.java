@@ -0,0 +1,41 @@
+package com.prueba.dev.cuentas.infrastructure.grupo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Movimiento en espera dentro del grupo de su cuenta.
+ * El turno se completa cuando la solicitud pasa a liderar el siguiente grupo;
+ * el resultado, cuando otro líder confirma el grupo en el que quedó incluida.
+ */
+final class SolicitudPosteo {
+
+    private final Movimiento movimiento;
+    private final CompletableFuture<Void> turno = new CompletableFuture<>();
+    private final CompletableFuture<Movimiento> resultado = new CompletableFuture<>();
+
+    SolicitudPosteo(Movimiento movimiento) {
+        this.movimiento = movimiento;
+    }
+
+    Movimiento getMovimiento() {
+        return movimiento;
+    }
+
+    CompletableFuture<Void> getTurno() {
+        return turno;
+    }
+
+    CompletableFuture<Movimiento> getResultado() {
+        return resultado;
+    }
+
+    void promover() {
+        turno.complete(null);
+    }
+
+    boolean esLider() {
+        return turno.isDone();
+    }
+}
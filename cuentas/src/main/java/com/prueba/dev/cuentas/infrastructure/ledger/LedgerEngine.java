@@ -0,0 +1,185 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MotorPosteoPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.LedgerOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Motor de posteo en memoria con un único escritor por cuenta.
+ * Las cuentas se reparten entre particiones fijas; cada partición valida y aplica
+ * los movimientos de sus cuentas en memoria y los confirma al quedar en su WAL.
+ * Una etapa en segundo plano vuelca los lotes a MySQL y, al arrancar, el WAL
+ * se reproduce para recuperar lo que no alcanzó a persistirse. Los movimientos que
+ * la base de datos rechaza de forma permanente quedan en ledger-cuarentena.log, junto
+ * al WAL, y se cuentan en la métrica cuentas.ledger.cuarentena.
+ *
+ * Se activa con cuentas.posting.engine=ledger. Los movimientos devueltos aún no
+ * tienen ID: se asigna cuando el volcador los inserta.
+ */
+@Component
+@ConditionalOnProperty(name = "cuentas.posting.engine", havingValue = "ledger")
+public class LedgerEngine implements MotorPosteoPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final CuentaRepositoryPort cuentaRepository;
+    private final LedgerOffsetRepository offsetRepository;
+    private final LedgerProperties properties;
+    private final LedgerFlusher flusher;
+    private LedgerPartition[] particiones;
+    private WriteAheadLog[] wals;
+    private Thread[] hilos;
+    private Thread hiloFlusher;
+    private ExecutorService cargador;
+
+    public LedgerEngine(CuentaRepositoryPort cuentaRepository, MovimientoRepositoryPort movimientoRepository,
+                        SaldoCheckpointRepositoryPort checkpointRepository, ResumenDiarioRepositoryPort resumenRepository,
+                        LedgerOffsetRepository offsetRepository, PlatformTransactionManager transactionManager,
+                        LedgerProperties properties, MeterRegistry meterRegistry) {
+        this.cuentaRepository = cuentaRepository;
+        this.offsetRepository = offsetRepository;
+        this.properties = properties;
+        this.flusher = new LedgerFlusher(cuentaRepository, movimientoRepository, checkpointRepository,
+                resumenRepository, offsetRepository, new TransactionTemplate(transactionManager), properties,
+                Paths.get(properties.getWalDirectorio()).resolve("ledger-cuarentena.log"),
+                Counter.builder("cuentas.ledger.cuarentena")
+                        .description("Movimientos confirmados en el WAL que la base de datos rechazó de forma permanente")
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Abre los WAL, reproduce los registros no persistidos y arranca los hilos.
+     */
+    @PostConstruct
+    public void iniciar() {
+        int total = properties.getParticiones();
+        particiones = new LedgerPartition[total];
+        wals = new WriteAheadLog[total];
+        hilos = new Thread[total];
+        cargador = Executors.newFixedThreadPool(total, tarea -> new Thread(tarea, "ledger-carga"));
+        try {
+            Path directorio = Paths.get(properties.getWalDirectorio());
+            Files.createDirectories(directorio);
+            for (int p = 0; p < total; p++) {
+                wals[p] = new WriteAheadLog(directorio.resolve("ledger-p" + p + ".wal"), properties.getLoteMaximo());
+                long persistida = offsetRepository.findById(p).map(LedgerOffset::getSecuencia).orElse(0L);
+                List<RegistroWal> pendientes = wals[p].leerPendientes(p, persistida);
+                particiones[p] = new LedgerPartition(p, wals[p], cuentaRepository, flusher::encolar, cargador, properties);
+                particiones[p].recuperar(pendientes, persistida);
+                pendientes.forEach(flusher::encolar);
+                if (!pendientes.isEmpty()) {
+                    logger.info("Partición {} del ledger: {} movimientos recuperados del WAL", p, pendientes.size());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el WAL del ledger", e);
+        }
+        flusher.setParticiones(particiones);
+
+        for (int p = 0; p < total; p++) {
+            hilos[p] = new Thread(particiones[p], "ledger-p" + p);
+            hilos[p].start();
+        }
+        hiloFlusher = new Thread(flusher, "ledger-flusher");
+        hiloFlusher.start();
+        logger.info("Ledger en memoria iniciado con {} particiones en {}", total, properties.getWalDirectorio());
+    }
+
+    @Override
+    public Movimiento postear(Long cuentaId, String tipoMovimiento, BigDecimal valor) {
+        CompletableFuture<Movimiento> futuro = particionDe(cuentaId).enviar(cuentaId, tipoMovimiento, valor);
+        try {
+            return futuro.get(properties.getTimeoutPosteoMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Error al postear en el ledger", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tiempo de espera agotado al postear en cuenta ID: " + cuentaId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Posteo interrumpido", e);
+        }
+    }
+
+    @Override
+    public void invalidar(Long cuentaId) {
+        // La corrección solo es visible para el ledger después del commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    particionDe(cuentaId).invalidar(cuentaId);
+                }
+            });
+        } else {
+            particionDe(cuentaId).invalidar(cuentaId);
+        }
+    }
+
+    /**
+     * Cantidad de movimientos confirmados que aún no se han volcado a base de datos.
+     */
+    public int pendientesDeVolcar() {
+        return flusher.pendientes();
+    }
+
+    /**
+     * Detiene las particiones, vuelca lo pendiente y cierra los WAL.
+     */
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        for (LedgerPartition particion : particiones) {
+            particion.detener();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        cargador.shutdown();
+        flusher.detener();
+        hiloFlusher.join();
+        for (WriteAheadLog wal : wals) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                logger.warn("Error al cerrar el WAL: {}", e.getMessage());
+            }
+        }
+        logger.info("Ledger en memoria detenido");
+    }
+
+    private LedgerPartition particionDe(Long cuentaId) {
+        return particiones[Math.floorMod(Long.hashCode(cuentaId), particiones.length)];
+    }
+}
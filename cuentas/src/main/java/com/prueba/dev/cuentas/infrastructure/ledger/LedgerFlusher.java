@@ -0,0 +1,221 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.LedgerOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Etapa de volcado del ledger: persiste por lotes los movimientos ya confirmados en el WAL.
+ * Cada lote se guarda en una transacción junto con los deltas de saldo por cuenta y la
+ * secuencia alcanzada por cada partición. Si la base de datos falla, reintenta el mismo lote.
+ * Cuando el error no es transitorio (por ejemplo, una restricción violada porque la cuenta
+ * ya no existe) y se agotan los reintentos, el lote se persiste de a un movimiento y los que
+ * siguen fallando pasan al archivo de cuarentena, para que no frenen la secuencia persistida.
+ */
+final class LedgerFlusher implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerFlusher.class);
+    private static final long ESPERA_MAXIMA_REINTENTO_MS = 5000;
+
+    private final BlockingQueue<RegistroWal> cola = new LinkedBlockingQueue<>();
+    private final CuentaRepositoryPort cuentaRepository;
+    private final MovimientoRepositoryPort movimientoRepository;
+    private final SaldoCheckpointRepositoryPort checkpointRepository;
+    private final ResumenDiarioRepositoryPort resumenRepository;
+    private final LedgerOffsetRepository offsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties properties;
+    private final Path archivoCuarentena;
+    private final Counter cuarentena;
+    private LedgerPartition[] particiones;
+    private volatile boolean activo = true;
+
+    LedgerFlusher(CuentaRepositoryPort cuentaRepository, MovimientoRepositoryPort movimientoRepository,
+                  SaldoCheckpointRepositoryPort checkpointRepository, ResumenDiarioRepositoryPort resumenRepository,
+                  LedgerOffsetRepository offsetRepository, TransactionTemplate transactionTemplate, LedgerProperties properties,
+                  Path archivoCuarentena, Counter cuarentena) {
+        this.cuentaRepository = cuentaRepository;
+        this.movimientoRepository = movimientoRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.resumenRepository = resumenRepository;
+        this.offsetRepository = offsetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.archivoCuarentena = archivoCuarentena;
+        this.cuarentena = cuarentena;
+    }
+
+    void setParticiones(LedgerPartition[] particiones) {
+        this.particiones = particiones;
+    }
+
+    void encolar(RegistroWal registro) {
+        cola.add(registro);
+    }
+
+    int pendientes() {
+        return cola.size();
+    }
+
+    void detener() {
+        activo = false;
+    }
+
+    @Override
+    public void run() {
+        List<RegistroWal> lote = new ArrayList<>(properties.getLoteMaximo());
+        while (activo || !cola.isEmpty()) {
+            try {
+                RegistroWal primero = cola.poll(properties.getIntervaloFlushMs(), TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, properties.getLoteMaximo() - 1);
+                persistirConReintentos(lote);
+                lote.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        logger.info("Volcador del ledger detenido, {} movimientos pendientes", cola.size());
+    }
+
+    private void persistirConReintentos(List<RegistroWal> lote) throws InterruptedException {
+        long espera = properties.getIntervaloFlushMs();
+        int intentos = 0;
+        while (true) {
+            try {
+                persistir(lote);
+                return;
+            } catch (RuntimeException e) {
+                if (!activo) {
+                    // Al detenerse, lo no persistido se recupera del WAL en el próximo arranque
+                    logger.error("No se pudo persistir un lote de {} movimientos al detener el ledger: {}", lote.size(), e.getMessage());
+                    return;
+                }
+                // Con la base de datos caída se reintenta sin límite: el WAL conserva los movimientos
+                if (++intentos >= properties.getReintentosVolcado() && esPermanente(e)) {
+                    logger.error("Lote de {} movimientos rechazado {} veces, se persiste de a uno: {}", lote.size(), intentos, e.getMessage());
+                    aislarRechazados(lote);
+                    return;
+                }
+                logger.error("Error al persistir lote de {} movimientos, reintentando en {} ms: {}", lote.size(), espera, e.getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_REINTENTO_MS);
+            }
+        }
+    }
+
+    /**
+     * Persiste los movimientos de uno en uno y pone en cuarentena los que la base de datos rechaza.
+     */
+    private void aislarRechazados(List<RegistroWal> lote) throws InterruptedException {
+        for (int i = 0; i < lote.size(); i++) {
+            RegistroWal registro = lote.get(i);
+            try {
+                persistir(List.of(registro));
+            } catch (RuntimeException e) {
+                if (!esPermanente(e)) {
+                    persistirConReintentos(lote.subList(i, lote.size()));
+                    return;
+                }
+                ponerEnCuarentena(registro, e);
+            }
+        }
+    }
+
+    /**
+     * Aparta un movimiento que nunca podrá persistirse: lo agrega al archivo de cuarentena,
+     * avanza la secuencia persistida de su partición y le pide que vuelva a leer el saldo
+     * de la cuenta, que en base de datos no incluye este movimiento.
+     */
+    private void ponerEnCuarentena(RegistroWal registro, RuntimeException causa) {
+        logger.error("Movimiento en cuarentena: partición {}, secuencia {}, cuenta ID {}, {} de {} (saldo {}): {}",
+                registro.particion(), registro.secuencia(), registro.cuentaId(), registro.tipoMovimiento(),
+                registro.valor(), registro.saldo(), causa.getMessage());
+        String linea = String.join(";", String.valueOf(registro.particion()), String.valueOf(registro.secuencia()),
+                String.valueOf(registro.cuentaId()), registro.tipoMovimiento(), registro.valor().toPlainString(),
+                registro.saldo().toPlainString(), String.valueOf(registro.epochMillis()),
+                String.valueOf(causa.getMessage()).replace('\n', ' ')) + System.lineSeparator();
+        try {
+            Files.writeString(archivoCuarentena, linea, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            logger.error("No se pudo escribir el archivo de cuarentena {}: {}", archivoCuarentena, e.getMessage());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    offsetRepository.save(new LedgerOffset(registro.particion(), registro.secuencia())));
+        } catch (RuntimeException e) {
+            // Tras un reinicio el movimiento se reproduce del WAL y vuelve a la cuarentena
+            logger.error("No se pudo guardar la secuencia de la partición {}: {}", registro.particion(), e.getMessage());
+        }
+        LedgerPartition particion = particiones[registro.particion()];
+        particion.marcarPersistida(registro.secuencia());
+        try {
+            particion.invalidar(registro.cuentaId());
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo invalidar el saldo de la cuenta ID {} en el ledger: {}", registro.cuentaId(), e.getMessage());
+        }
+        cuarentena.increment();
+    }
+
+    /**
+     * Errores que se repetirán igual en cada intento; la caída de la conexión no lo es.
+     */
+    private static boolean esPermanente(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    private void persistir(List<RegistroWal> lote) {
+        Map<Integer, Long> secuencias = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, BigDecimal> deltas = new HashMap<>();
+            Map<Long, Long> ultimoMovimiento = new HashMap<>();
+            List<Movimiento> movimientos = new ArrayList<>(lote.size());
+            for (RegistroWal registro : lote) {
+                Movimiento movimiento = movimientoRepository.save(registro.aMovimiento());
+                movimientos.add(movimiento);
+                deltas.merge(registro.cuentaId(), registro.efecto(), BigDecimal::add);
+                ultimoMovimiento.merge(registro.cuentaId(), movimiento.getId(), Math::max);
+                secuencias.merge(registro.particion(), registro.secuencia(), Math::max);
+            }
+            // Deltas y no saldos absolutos: así componen con correcciones hechas fuera del ledger
+            deltas.forEach((cuentaId, delta) -> {
+                cuentaRepository.acreditarSaldo(cuentaId, delta);
+                checkpointRepository.avanzar(cuentaId, ultimoMovimiento.get(cuentaId), delta);
+            });
+            resumenRepository.acumular(ResumenDiario.agrupar(movimientos, 1));
+            secuencias.forEach((particion, secuencia) -> offsetRepository.save(new LedgerOffset(particion, secuencia)));
+        });
+        secuencias.forEach((particion, secuencia) -> particiones[particion].marcarPersistida(secuencia));
+        logger.debug("Lote de {} movimientos del ledger persistido", lote.size());
+    }
+}
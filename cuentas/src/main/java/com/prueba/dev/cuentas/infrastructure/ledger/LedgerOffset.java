@@ -0,0 +1,44 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import jakarta.persistence.*;
+
+/**
+ * Última secuencia del WAL de una partición que ya fue persistida en base de datos.
+ * Se actualiza en la misma transacción que inserta los movimientos, de modo que
+ * la reproducción del WAL al arrancar nunca duplica movimientos.
+ */
+@Entity
+@Table(name = "ledger_offset")
+public class LedgerOffset {
+
+    @Id
+    @Column(name = "particion")
+    private Integer particion;
+
+    @Column(name = "secuencia", nullable = false)
+    private Long secuencia;
+
+    // Constructor vacío para JPA
+    public LedgerOffset() {}
+
+    public LedgerOffset(Integer particion, Long secuencia) {
+        this.particion = particion;
+        this.secuencia = secuencia;
+    }
+
+    public Integer getParticion() {
+        return particion;
+    }
+
+    public void setParticion(Integer particion) {
+        this.particion = particion;
+    }
+
+    public Long getSecuencia() {
+        return secuencia;
+    }
+
+    public void setSecuencia(Long secuencia) {
+        this.secuencia = secuencia;
+    }
+}
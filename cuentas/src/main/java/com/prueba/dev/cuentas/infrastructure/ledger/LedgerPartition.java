@@ -0,0 +1,393 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Partición del ledger: un único hilo es dueño de los saldos de sus cuentas.
+ * Los llamadores publican solicitudes en un ring buffer acotado; el hilo las
+ * consume por lotes, las valida en memoria, las agrega al WAL con un solo fsync
+ * por lote y recién entonces confirma a cada llamador.
+ * <p>
+ * El hilo nunca espera a la base de datos: el saldo inicial de una cuenta se lee
+ * en el ejecutor de cargas y una invalidación se aplica cuando el volcador informa
+ * que la cuenta ya no tiene movimientos sin persistir. Mientras tanto, los
+ * movimientos de esa cuenta quedan en espera y las demás cuentas siguen su curso.
+ */
+final class LedgerPartition implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerPartition.class);
+
+    /** Despierta al hilo cuando termina una carga de saldo; no se procesa. */
+    private static final Solicitud AVISO = new Solicitud(null, null, null);
+
+    private final int indice;
+    private final BlockingQueue<Solicitud> ring;
+    private final WriteAheadLog wal;
+    private final CuentaRepositoryPort cuentaRepository;
+    private final Consumer<RegistroWal> volcador;
+    private final Executor cargador;
+    private final LedgerProperties properties;
+
+    // Estado propio del hilo de la partición
+    private final Map<Long, BigDecimal> saldos = new HashMap<>();
+    private final Map<Long, Long> ultimaSecuencia = new HashMap<>();
+    private long secuencia;
+    // Movimientos de cuentas cuyo saldo se está cargando o invalidando, en orden de llegada
+    private final Map<Long, List<Solicitud>> enEspera = new HashMap<>();
+    // Cuenta -> secuencia que debe estar persistida para olvidar su saldo
+    private final Map<Long, Long> invalidaciones = new HashMap<>();
+    // Cuenta -> turno de la carga en curso; una invalidación descarta la carga
+    private final Map<Long, Long> cargas = new HashMap<>();
+    private long turnos;
+
+    private final Queue<SaldoLeido> leidos = new ConcurrentLinkedQueue<>();
+    private final AtomicLong secuenciaPersistida = new AtomicLong();
+    private volatile boolean activa = true;
+
+    LedgerPartition(int indice, WriteAheadLog wal, CuentaRepositoryPort cuentaRepository,
+                    Consumer<RegistroWal> volcador, Executor cargador, LedgerProperties properties) {
+        this.indice = indice;
+        this.ring = new ArrayBlockingQueue<>(properties.getCapacidadRing());
+        this.wal = wal;
+        this.cuentaRepository = cuentaRepository;
+        this.volcador = volcador;
+        this.cargador = cargador;
+        this.properties = properties;
+    }
+
+    /**
+     * Restaura el estado a partir de los registros del WAL aún no persistidos.
+     * Se llama antes de arrancar el hilo.
+     * @param pendientes Registros posteriores a la secuencia persistida.
+     * @param persistida Última secuencia persistida en base de datos.
+     */
+    void recuperar(List<RegistroWal> pendientes, long persistida) {
+        secuencia = persistida;
+        secuenciaPersistida.set(persistida);
+        for (RegistroWal registro : pendientes) {
+            saldos.put(registro.cuentaId(), registro.saldo());
+            ultimaSecuencia.put(registro.cuentaId(), registro.secuencia());
+            secuencia = Math.max(secuencia, registro.secuencia());
+        }
+    }
+
+    /**
+     * Publica un movimiento en el ring buffer de la partición.
+     * @return Futuro que se completa cuando el movimiento está en el WAL.
+     */
+    CompletableFuture<Movimiento> enviar(Long cuentaId, String tipoMovimiento, BigDecimal valor) {
+        Solicitud solicitud = new Solicitud(cuentaId, tipoMovimiento, valor.setScale(2, RoundingMode.HALF_UP));
+        publicar(solicitud);
+        return solicitud.futuro;
+    }
+
+    /**
+     * Publica la invalidación del saldo de una cuenta, ordenada con los movimientos.
+     * El saldo se olvida cuando todos los movimientos previos de la cuenta están en
+     * base de datos; el próximo movimiento lee el saldo corregido.
+     */
+    void invalidar(Long cuentaId) {
+        publicar(new Solicitud(cuentaId, null, null));
+    }
+
+    /**
+     * Registra que el volcador persistió hasta la secuencia dada.
+     */
+    void marcarPersistida(long secuencia) {
+        secuenciaPersistida.accumulateAndGet(secuencia, Math::max);
+    }
+
+    void detener() {
+        activa = false;
+    }
+
+    int indice() {
+        return indice;
+    }
+
+    @Override
+    public void run() {
+        List<Solicitud> lote = new ArrayList<>(properties.getLoteMaximo());
+        while (activa || !ring.isEmpty()) {
+            try {
+                lote.addAll(reanudar());
+                Solicitud primera = lote.isEmpty()
+                        ? ring.poll(properties.getIntervaloFlushMs(), TimeUnit.MILLISECONDS)
+                        : ring.poll();
+                if (primera != null) {
+                    lote.add(primera);
+                }
+                if (lote.isEmpty()) {
+                    truncarWalSiCorresponde();
+                    continue;
+                }
+                ring.drainTo(lote, properties.getLoteMaximo() - lote.size());
+                procesar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Error en la partición {} del ledger: {}", indice, e.getMessage(), e);
+                lote.forEach(s -> s.futuro.completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+        enEspera.values().forEach(esperando -> esperando.forEach(
+                s -> s.futuro.completeExceptionally(new IllegalStateException("El ledger se está deteniendo"))));
+        logger.info("Partición {} del ledger detenida en la secuencia {}", indice, secuencia);
+    }
+
+    private void procesar(List<Solicitud> lote) {
+        List<RegistroWal> aceptados = new ArrayList<>(lote.size());
+        List<Solicitud> confirmar = new ArrayList<>(lote.size());
+        Set<Solicitud> diferidas = new HashSet<>();
+        Map<Long, BigDecimal> saldosPrevios = new HashMap<>();
+        long secuenciaPrevia = secuencia;
+        long posicionPrevia;
+        try {
+            posicionPrevia = wal.posicion();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer la posición del WAL", e);
+        }
+
+        for (Solicitud solicitud : lote) {
+            if (solicitud == AVISO) {
+                continue;
+            }
+            if (solicitud.tipoMovimiento == null) {
+                descartarSaldo(solicitud.cuentaId, aceptados);
+                solicitud.futuro.complete(null);
+                continue;
+            }
+            if (!saldoDisponible(solicitud.cuentaId)) {
+                esperarSaldo(solicitud);
+                diferidas.add(solicitud);
+                continue;
+            }
+            try {
+                BigDecimal saldo = saldos.get(solicitud.cuentaId);
+                BigDecimal efecto = "DEPOSITO".equals(solicitud.tipoMovimiento) ? solicitud.valor : solicitud.valor.negate();
+                BigDecimal nuevoSaldo = saldo.add(efecto);
+                if (nuevoSaldo.signum() < 0) {
+                    throw new SaldoInsuficienteException("Saldo insuficiente para el retiro. Saldo actual: " + saldo);
+                }
+                RegistroWal registro = new RegistroWal(indice, ++secuencia, solicitud.cuentaId, solicitud.tipoMovimiento,
+                        solicitud.valor, nuevoSaldo, System.currentTimeMillis());
+                wal.agregar(registro);
+                saldosPrevios.putIfAbsent(solicitud.cuentaId, saldo);
+                saldos.put(solicitud.cuentaId, nuevoSaldo);
+                aceptados.add(registro);
+                confirmar.add(solicitud);
+            } catch (IOException e) {
+                revertir(saldosPrevios, secuenciaPrevia, posicionPrevia);
+                lote.stream().filter(s -> !diferidas.contains(s))
+                        .forEach(s -> s.futuro.completeExceptionally(new IllegalStateException("No se pudo escribir el WAL", e)));
+                return;
+            } catch (RuntimeException e) {
+                solicitud.futuro.completeExceptionally(e);
+            }
+        }
+
+        if (aceptados.isEmpty()) {
+            return;
+        }
+        try {
+            wal.sincronizar();
+        } catch (IOException e) {
+            revertir(saldosPrevios, secuenciaPrevia, posicionPrevia);
+            confirmar.forEach(s -> s.futuro.completeExceptionally(new IllegalStateException("No se pudo sincronizar el WAL", e)));
+            return;
+        }
+
+        for (int i = 0; i < aceptados.size(); i++) {
+            RegistroWal registro = aceptados.get(i);
+            ultimaSecuencia.put(registro.cuentaId(), registro.secuencia());
+            volcador.accept(registro);
+            confirmar.get(i).futuro.complete(registro.aMovimiento());
+        }
+    }
+
+    private boolean saldoDisponible(Long cuentaId) {
+        return saldos.containsKey(cuentaId) && !enEspera.containsKey(cuentaId) && !invalidaciones.containsKey(cuentaId);
+    }
+
+    /**
+     * Deja el movimiento en espera y, si nadie más lo hizo, pide el saldo de la cuenta.
+     */
+    private void esperarSaldo(Solicitud solicitud) {
+        Long cuentaId = solicitud.cuentaId;
+        enEspera.computeIfAbsent(cuentaId, id -> new ArrayList<>()).add(solicitud);
+        if (!saldos.containsKey(cuentaId) && !invalidaciones.containsKey(cuentaId) && !cargas.containsKey(cuentaId)) {
+            cargarSaldo(cuentaId);
+        }
+    }
+
+    /**
+     * Lee el saldo confirmado fuera del hilo de la partición: la caché de cuentas
+     * puede ir por detrás de la base de datos y la lectura no debe frenar al resto.
+     */
+    private void cargarSaldo(Long cuentaId) {
+        long turno = ++turnos;
+        cargas.put(cuentaId, turno);
+        try {
+            cargador.execute(() -> {
+                SaldoLeido leido;
+                try {
+                    leido = new SaldoLeido(cuentaId, turno, cuentaRepository.findSaldoById(cuentaId).orElse(null), null);
+                } catch (RuntimeException e) {
+                    leido = new SaldoLeido(cuentaId, turno, null, e);
+                }
+                leidos.add(leido);
+                ring.offer(AVISO);
+            });
+        } catch (RejectedExecutionException e) {
+            leidos.add(new SaldoLeido(cuentaId, turno, null, new IllegalStateException("El ledger se está deteniendo", e)));
+        }
+    }
+
+    /**
+     * Registra la invalidación del saldo de una cuenta. Si la cuenta tiene movimientos
+     * sin persistir, el saldo se olvida recién cuando el volcador los confirma.
+     */
+    private void descartarSaldo(Long cuentaId, List<RegistroWal> aceptadosEnLote) {
+        long requerida = ultimaSecuencia.getOrDefault(cuentaId, 0L);
+        for (RegistroWal registro : aceptadosEnLote) {
+            if (registro.cuentaId() == cuentaId) {
+                requerida = Math.max(requerida, registro.secuencia());
+            }
+        }
+        invalidaciones.merge(cuentaId, requerida, Math::max);
+        // Una carga en curso pudo leer el saldo anterior a la corrección
+        cargas.remove(cuentaId);
+    }
+
+    /**
+     * Aplica las invalidaciones ya persistidas y los saldos leídos.
+     * @return Los movimientos en espera que ya pueden procesarse, en su orden.
+     */
+    private List<Solicitud> reanudar() {
+        if (invalidaciones.isEmpty() && leidos.isEmpty()) {
+            return List.of();
+        }
+        long persistida = secuenciaPersistida.get();
+        Iterator<Map.Entry<Long, Long>> pendientes = invalidaciones.entrySet().iterator();
+        while (pendientes.hasNext()) {
+            Map.Entry<Long, Long> invalidacion = pendientes.next();
+            if (invalidacion.getValue() <= persistida) {
+                pendientes.remove();
+                saldos.remove(invalidacion.getKey());
+                if (enEspera.containsKey(invalidacion.getKey())) {
+                    cargarSaldo(invalidacion.getKey());
+                }
+            }
+        }
+
+        List<Solicitud> listas = new ArrayList<>();
+        SaldoLeido leido;
+        while ((leido = leidos.poll()) != null) {
+            Long turno = cargas.get(leido.cuentaId());
+            if (turno == null || turno != leido.turno()) {
+                // Superada por una invalidación: se volverá a leer al aplicarla
+                continue;
+            }
+            cargas.remove(leido.cuentaId());
+            List<Solicitud> esperando = enEspera.remove(leido.cuentaId());
+            if (leido.error() != null) {
+                RuntimeException error = leido.error();
+                esperando.forEach(s -> s.futuro.completeExceptionally(error));
+            } else if (leido.saldo() == null) {
+                Long cuentaId = leido.cuentaId();
+                esperando.forEach(s -> s.futuro.completeExceptionally(new CuentaNotFoundException("Cuenta no encontrada con ID: " + cuentaId)));
+            } else {
+                // Primer acceso a la cuenta: desde aquí la partición es dueña de su saldo
+                saldos.put(leido.cuentaId(), leido.saldo());
+                listas.addAll(esperando);
+            }
+        }
+        return listas;
+    }
+
+    private void revertir(Map<Long, BigDecimal> saldosPrevios, long secuenciaPrevia, long posicionPrevia) {
+        saldos.putAll(saldosPrevios);
+        secuencia = secuenciaPrevia;
+        invalidaciones.replaceAll((cuentaId, requerida) -> Math.min(requerida, secuenciaPrevia));
+        try {
+            wal.descartarDesde(posicionPrevia);
+        } catch (IOException e) {
+            logger.error("No se pudo revertir el WAL de la partición {}: {}", indice, e.getMessage());
+        }
+    }
+
+    private void truncarWalSiCorresponde() {
+        try {
+            if (secuenciaPersistida.get() >= secuencia && wal.posicion() > properties.getTamanioMaximoWal()) {
+                wal.truncar();
+                logger.info("WAL de la partición {} truncado en la secuencia {}", indice, secuencia);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo truncar el WAL de la partición {}: {}", indice, e.getMessage());
+        }
+    }
+
+    private void publicar(Solicitud solicitud) {
+        if (!activa) {
+            throw new IllegalStateException("El ledger se está deteniendo");
+        }
+        try {
+            if (!ring.offer(solicitud, properties.getTimeoutPosteoMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("La partición " + indice + " del ledger está saturada");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Posteo interrumpido", e);
+        }
+    }
+
+    /**
+     * Saldo leído por el ejecutor de cargas; sin saldo ni error, la cuenta no existe.
+     */
+    private record SaldoLeido(Long cuentaId, long turno, BigDecimal saldo, RuntimeException error) {}
+
+    /**
+     * Solicitud publicada en el ring buffer. Sin tipo de movimiento es una invalidación.
+     */
+    private static final class Solicitud {
+        private final Long cuentaId;
+        private final String tipoMovimiento;
+        private final BigDecimal valor;
+        private final CompletableFuture<Movimiento> futuro = new CompletableFuture<>();
+
+        private Solicitud(Long cuentaId, String tipoMovimiento, BigDecimal valor) {
+            this.cuentaId = cuentaId;
+            this.tipoMovimiento = tipoMovimiento;
+            this.valor = valor;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propiedades del motor de posteo en memoria (prefijo cuentas.ledger).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.ledger")
+public class LedgerProperties {
+
+    /** Número de particiones; cada una es procesada por un único hilo. */
+    private int particiones = 4;
+
+    /** Capacidad del ring buffer de cada partición. */
+    private int capacidadRing = 4096;
+
+    /** Directorio donde se guardan los archivos del write-ahead log. */
+    private String walDirectorio = "data/ledger";
+
+    /** Máximo de movimientos por lote de fsync y por lote de volcado a base de datos. */
+    private int loteMaximo = 512;
+
+    /** Espera máxima del volcador antes de persistir un lote incompleto. */
+    private long intervaloFlushMs = 20;
+
+    /** Tiempo máximo que un llamador espera la confirmación de su movimiento. */
+    private long timeoutPosteoMs = 5000;
+
+    /** Intentos de volcado de un lote rechazado por un error no transitorio antes de aislar sus movimientos. */
+    private int reintentosVolcado = 5;
+
+    /** Tamaño a partir del cual se trunca el WAL cuando todo está persistido. */
+    private long tamanioMaximoWal = 64L * 1024 * 1024;
+
+    public int getParticiones() {
+        return particiones;
+    }
+
+    public void setParticiones(int particiones) {
+        this.particiones = particiones;
+    }
+
+    public int getCapacidadRing() {
+        return capacidadRing;
+    }
+
+    public void setCapacidadRing(int capacidadRing) {
+        this.capacidadRing = capacidadRing;
+    }
+
+    public String getWalDirectorio() {
+        return walDirectorio;
+    }
+
+    public void setWalDirectorio(String walDirectorio) {
+        this.walDirectorio = walDirectorio;
+    }
+
+    public int getLoteMaximo() {
+        return loteMaximo;
+    }
+
+    public void setLoteMaximo(int loteMaximo) {
+        this.loteMaximo = loteMaximo;
+    }
+
+    public long getIntervaloFlushMs() {
+        return intervaloFlushMs;
+    }
+
+    public void setIntervaloFlushMs(long intervaloFlushMs) {
+        this.intervaloFlushMs = intervaloFlushMs;
+    }
+
+    public long getTimeoutPosteoMs() {
+        return timeoutPosteoMs;
+    }
+
+    public void setTimeoutPosteoMs(long timeoutPosteoMs) {
+        this.timeoutPosteoMs = timeoutPosteoMs;
+    }
+
+    public int getReintentosVolcado() {
+        return reintentosVolcado;
+    }
+
+    public void setReintentosVolcado(int reintentosVolcado) {
+        this.reintentosVolcado = reintentosVolcado;
+    }
+
+    public long getTamanioMaximoWal() {
+        return tamanioMaximoWal;
+    }
+
+    public void setTamanioMaximoWal(long tamanioMaximoWal) {
+        this.tamanioMaximoWal = tamanioMaximoWal;
+    }
+}
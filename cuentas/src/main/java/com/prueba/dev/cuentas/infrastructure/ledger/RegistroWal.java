@@ -0,0 +1,91 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.CRC32;
+
+/**
+ * Movimiento aceptado por el ledger, tal como se escribe en el write-ahead log.
+ * Formato fijo: secuencia, cuenta, tipo, valor y saldo en centavos, fecha y CRC32.
+ */
+record RegistroWal(int particion, long secuencia, long cuentaId, String tipoMovimiento,
+                   BigDecimal valor, BigDecimal saldo, long epochMillis) {
+
+    static final int TAMANIO = Long.BYTES * 5 + Byte.BYTES + Integer.BYTES;
+
+    private static final String[] TIPOS = {"DEPOSITO", "RETIRO", "TRANSFERENCIA"};
+
+    /**
+     * Escribe el registro en el buffer.
+     * @param buffer Buffer con al menos TAMANIO bytes libres.
+     */
+    void escribir(ByteBuffer buffer) {
+        int inicio = buffer.position();
+        buffer.putLong(secuencia)
+                .putLong(cuentaId)
+                .put(codigoTipo(tipoMovimiento))
+                .putLong(valor.unscaledValue().longValueExact())
+                .putLong(saldo.unscaledValue().longValueExact())
+                .putLong(epochMillis);
+        buffer.putInt(crc(buffer, inicio, TAMANIO - Integer.BYTES));
+    }
+
+    /**
+     * Lee un registro del buffer.
+     * @param buffer Buffer posicionado al inicio de un registro completo.
+     * @param particion La partición dueña del archivo.
+     * @return El registro, o null si el CRC no coincide.
+     */
+    static RegistroWal leer(ByteBuffer buffer, int particion) {
+        int inicio = buffer.position();
+        int esperado = crc(buffer, inicio, TAMANIO - Integer.BYTES);
+        long secuencia = buffer.getLong();
+        long cuentaId = buffer.getLong();
+        byte tipo = buffer.get();
+        long valor = buffer.getLong();
+        long saldo = buffer.getLong();
+        long epochMillis = buffer.getLong();
+        if (buffer.getInt() != esperado || tipo < 0 || tipo >= TIPOS.length) {
+            return null;
+        }
+        return new RegistroWal(particion, secuencia, cuentaId, TIPOS[tipo],
+                BigDecimal.valueOf(valor, 2), BigDecimal.valueOf(saldo, 2), epochMillis);
+    }
+
+    /**
+     * Efecto con signo del movimiento sobre el saldo.
+     */
+    BigDecimal efecto() {
+        return CuentaService.efectoEnSaldo(tipoMovimiento, valor);
+    }
+
+    /**
+     * Construye la entidad a persistir.
+     */
+    Movimiento aMovimiento() {
+        Movimiento movimiento = new Movimiento(cuentaId, tipoMovimiento, valor, saldo);
+        movimiento.setFecha(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+        return movimiento;
+    }
+
+    private static byte codigoTipo(String tipoMovimiento) {
+        for (byte i = 0; i < TIPOS.length; i++) {
+            if (TIPOS[i].equals(tipoMovimiento)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de movimiento no soportado: " + tipoMovimiento);
+    }
+
+    private static int crc(ByteBuffer buffer, int inicio, int longitud) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(inicio).limit(inicio + longitud));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,126 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-ahead log de una partición del ledger.
+ * Solo lo usa el hilo de su partición: los registros se acumulan en un buffer
+ * y se escriben con un único fsync por lote.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+
+    WriteAheadLog(Path archivo, int loteMaximo) throws IOException {
+        this.archivo = archivo;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(RegistroWal.TAMANIO * Math.max(1, loteMaximo));
+    }
+
+    /**
+     * Lee los registros posteriores a la secuencia dada y deja el canal listo para escribir.
+     * Un registro incompleto o corrupto al final (escritura interrumpida) se descarta.
+     * @param particion La partición dueña del archivo.
+     * @param persistida Última secuencia ya persistida en base de datos.
+     * @return Los registros pendientes de persistir, en orden.
+     */
+    List<RegistroWal> leerPendientes(int particion, long persistida) throws IOException {
+        List<RegistroWal> pendientes = new ArrayList<>();
+        ByteBuffer lectura = ByteBuffer.allocate(RegistroWal.TAMANIO * 1024);
+        long posicionValida = 0;
+        canal.position(0);
+        lectura:
+        while (canal.read(lectura) > 0 || lectura.position() > 0) {
+            lectura.flip();
+            if (lectura.remaining() < RegistroWal.TAMANIO) {
+                break;
+            }
+            while (lectura.remaining() >= RegistroWal.TAMANIO) {
+                RegistroWal registro = RegistroWal.leer(lectura, particion);
+                if (registro == null) {
+                    logger.warn("Registro corrupto en {} en la posición {}, se descarta el resto", archivo, posicionValida);
+                    break lectura;
+                }
+                posicionValida += RegistroWal.TAMANIO;
+                if (registro.secuencia() > persistida) {
+                    pendientes.add(registro);
+                }
+            }
+            lectura.compact();
+        }
+        if (canal.size() > posicionValida) {
+            canal.truncate(posicionValida);
+        }
+        canal.position(posicionValida);
+        return pendientes;
+    }
+
+    /**
+     * Agrega un registro al lote en curso.
+     */
+    void agregar(RegistroWal registro) throws IOException {
+        if (buffer.remaining() < RegistroWal.TAMANIO) {
+            escribirBuffer();
+        }
+        registro.escribir(buffer);
+    }
+
+    /**
+     * Escribe el lote en curso y fuerza su persistencia en disco.
+     */
+    void sincronizar() throws IOException {
+        escribirBuffer();
+        canal.force(false);
+    }
+
+    /**
+     * Descarta el lote en curso sin escribirlo y vuelve al último punto sincronizado.
+     * @param posicion Posición del archivo antes del lote.
+     */
+    void descartarDesde(long posicion) throws IOException {
+        buffer.clear();
+        canal.truncate(posicion);
+        canal.position(posicion);
+    }
+
+    long posicion() throws IOException {
+        return canal.position() + buffer.position();
+    }
+
+    /**
+     * Vacía el archivo; solo debe llamarse cuando todo lo escrito ya fue persistido.
+     */
+    void truncar() throws IOException {
+        escribirBuffer();
+        canal.truncate(0);
+        canal.position(0);
+        canal.force(true);
+    }
+
+    private void escribirBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
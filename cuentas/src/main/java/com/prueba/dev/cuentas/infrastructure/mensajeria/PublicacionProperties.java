@@ -0,0 +1,58 @@
+package com.prueba.dev.cuentas.infrastructure.mensajeria;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la publicación con confirmaciones asíncronas (prefijo cuentas.publicacion).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.publicacion")
+public class PublicacionProperties {
+
+    /** Mensajes enviados y aún sin confirmar por el broker; al llenarse, los envíos esperan. */
+    private int ventana = 1000;
+
+    /** Espera máxima por un lugar en la ventana antes de rechazar el envío. */
+    private Duration esperaVentana = Duration.ofSeconds(5);
+
+    /** Reenvíos de un mensaje rechazado (nack) por el broker. */
+    private int reintentos = 3;
+
+    /** Espera antes del primer reenvío; crece linealmente con cada intento. */
+    private Duration esperaReintento = Duration.ofMillis(200);
+
+    public int getVentana() {
+        return ventana;
+    }
+
+    public void setVentana(int ventana) {
+        this.ventana = ventana;
+    }
+
+    public Duration getEsperaVentana() {
+        return esperaVentana;
+    }
+
+    public void setEsperaVentana(Duration esperaVentana) {
+        this.esperaVentana = esperaVentana;
+    }
+
+    public int getReintentos() {
+        return reintentos;
+    }
+
+    public void setReintentos(int reintentos) {
+        this.reintentos = reintentos;
+    }
+
+    public Duration getEsperaReintento() {
+        return esperaReintento;
+    }
+
+    public void setEsperaReintento(Duration esperaReintento) {
+        this.esperaReintento = esperaReintento;
+    }
+}
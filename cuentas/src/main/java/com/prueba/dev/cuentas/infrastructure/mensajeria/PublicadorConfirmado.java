@@ -0,0 +1,209 @@
+package com.prueba.dev.cuentas.infrastructure.mensajeria;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicación en RabbitMQ con confirmaciones asíncronas correlacionadas.
+ * Un lote se envía seguido por un mismo canal, sin esperar la confirmación de
+ * cada mensaje: el broker confirma después, a menudo varios a la vez, y cada
+ * confirmación completa el futuro de su mensaje. La ventana limita los mensajes
+ * sin confirmar; al llenarse, el envío espera a que lleguen confirmaciones.
+ * Un mensaje rechazado (nack) se reenvía con espera creciente; uno sin ruta
+ * (devuelto por ser mandatory) falla sin reintentos.
+ *
+ * Requiere spring.rabbitmq.publisher-confirm-type=correlated y publisher-returns=true.
+ */
+@Component
+public class PublicadorConfirmado {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicadorConfirmado.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final PublicacionProperties properties;
+    private final Semaphore ventana;
+    private final Timer confirmacion;
+    private final Counter reintentos;
+    private final Counter fallosNack;
+    private final Counter fallosSinRuta;
+    private final Counter fallosEnvio;
+    private ScheduledExecutorService reintentador;
+
+    public PublicadorConfirmado(RabbitTemplate rabbitTemplate, PublicacionProperties properties, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.ventana = new Semaphore(properties.getVentana());
+        this.confirmacion = Timer.builder("cuentas.publicacion.confirmacion")
+                .description("Tiempo entre el primer envío de un mensaje y su confirmación por el broker")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.reintentos = Counter.builder("cuentas.publicacion.reintentos")
+                .description("Mensajes reenviados tras un nack").register(meterRegistry);
+        this.fallosNack = Counter.builder("cuentas.publicacion.fallos")
+                .description("Mensajes que no se pudieron publicar").tag("causa", "nack").register(meterRegistry);
+        this.fallosSinRuta = Counter.builder("cuentas.publicacion.fallos")
+                .description("Mensajes que no se pudieron publicar").tag("causa", "sin_ruta").register(meterRegistry);
+        this.fallosEnvio = Counter.builder("cuentas.publicacion.fallos")
+                .description("Mensajes que no se pudieron publicar").tag("causa", "envio").register(meterRegistry);
+        meterRegistry.gauge("cuentas.publicacion.en_vuelo", ventana,
+                semaforo -> properties.getVentana() - semaforo.availablePermits());
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        reintentador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "publicacion-reintentos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    public void detener() {
+        reintentador.shutdownNow();
+    }
+
+    /**
+     * Mensaje a publicar.
+     * @param exchange El exchange de destino.
+     * @param routingKey La routing key.
+     * @param mensaje El mensaje; su message-id, si tiene, identifica el envío en los logs.
+     */
+    public record Envio(String exchange, String routingKey, Message mensaje) {}
+
+    /**
+     * Publica un lote por un mismo canal sin esperar confirmaciones entre envíos.
+     * @param envios Los mensajes, en el orden en que deben enviarse.
+     * @return Un futuro que se completa cuando el broker confirmó todos los mensajes,
+     *         o falla con el primer mensaje que no se pudo publicar tras sus reintentos.
+     */
+    public CompletableFuture<Void> publicar(List<Envio> envios) {
+        List<Pendiente> pendientes = new ArrayList<>(envios.size());
+        for (Envio envio : envios) {
+            pendientes.add(new Pendiente(envio));
+        }
+        try {
+            rabbitTemplate.invoke(operaciones -> {
+                for (Pendiente pendiente : pendientes) {
+                    reservar();
+                    pendiente.inicio = System.nanoTime();
+                    pendiente.enviado = true;
+                    enviar(operaciones, pendiente);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Los ya enviados esperan su confirmación; el resto falla sin haber ocupado la ventana
+            for (Pendiente pendiente : pendientes) {
+                if (!pendiente.enviado) {
+                    fallosEnvio.increment();
+                    pendiente.resultado.completeExceptionally(e);
+                }
+            }
+        }
+        return CompletableFuture.allOf(pendientes.stream().map(pendiente -> pendiente.resultado)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @return Mensajes enviados que aún no confirma el broker.
+     */
+    public int getEnVuelo() {
+        return properties.getVentana() - ventana.availablePermits();
+    }
+
+    private void reservar() {
+        try {
+            if (!ventana.tryAcquire(properties.getEsperaVentana().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Ventana de publicación llena: " + properties.getVentana() + " mensajes sin confirmar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Publicación interrumpida", e);
+        }
+    }
+
+    private void enviar(RabbitOperations operaciones, Pendiente pendiente) {
+        CorrelationData correlacion = new CorrelationData(pendiente.id + "#" + pendiente.intentos);
+        correlacion.getFuture().whenComplete((confirm, error) -> {
+            if (error == null && confirm.isAck()) {
+                confirmado(pendiente, correlacion.getReturned());
+            } else {
+                rechazado(pendiente, error != null ? error.getMessage() : confirm.getReason());
+            }
+        });
+        try {
+            operaciones.send(pendiente.envio.exchange(), pendiente.envio.routingKey(), pendiente.envio.mensaje(), correlacion);
+        } catch (AmqpException e) {
+            // Sin confirmación posible para este envío: se trata como un rechazo
+            correlacion.getFuture().complete(new CorrelationData.Confirm(false, e.getMessage()));
+        }
+    }
+
+    private void confirmado(Pendiente pendiente, ReturnedMessage devuelto) {
+        ventana.release();
+        if (devuelto != null) {
+            fallosSinRuta.increment();
+            pendiente.resultado.completeExceptionally(new AmqpException("Mensaje " + pendiente.id + " sin ruta en "
+                    + devuelto.getExchange() + "/" + devuelto.getRoutingKey() + ": " + devuelto.getReplyText()));
+            return;
+        }
+        confirmacion.record(System.nanoTime() - pendiente.inicio, TimeUnit.NANOSECONDS);
+        pendiente.resultado.complete(null);
+    }
+
+    private void rechazado(Pendiente pendiente, String motivo) {
+        if (pendiente.intentos < properties.getReintentos() && !reintentador.isShutdown()) {
+            pendiente.intentos++;
+            reintentos.increment();
+            logger.warn("Mensaje {} rechazado por el broker ({}), reintento {}", pendiente.id, motivo, pendiente.intentos);
+            // El mensaje conserva su lugar en la ventana hasta resolverse
+            long espera = properties.getEsperaReintento().toMillis() * pendiente.intentos;
+            reintentador.schedule(() -> enviar(rabbitTemplate, pendiente), espera, TimeUnit.MILLISECONDS);
+            return;
+        }
+        ventana.release();
+        fallosNack.increment();
+        pendiente.resultado.completeExceptionally(new AmqpException("El broker no confirmó el mensaje " + pendiente.id + ": " + motivo));
+    }
+
+    /**
+     * Estado de un mensaje hasta que el broker lo confirma o se agotan sus reintentos.
+     */
+    private static final class Pendiente {
+
+        private final Envio envio;
+        private final String id;
+        private final CompletableFuture<Void> resultado = new CompletableFuture<>();
+        private volatile long inicio;
+        private volatile boolean enviado;
+        private volatile int intentos;
+
+        Pendiente(Envio envio) {
+            this.envio = envio;
+            String messageId = envio.mensaje().getMessageProperties().getMessageId();
+            this.id = messageId != null ? messageId : UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.prueba.dev.cuentas.infrastructure.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del relay del outbox (prefijo cuentas.outbox).
+ */
+@Component
+@ConfigurationProperties(prefix = "cuentas.outbox")
+public class OutboxProperties {
+
+    /** Publica los eventos del outbox; sin el relay los eventos se acumulan en la tabla. */
+    private boolean habilitado = false;
+
+    /** Espera entre dos revisiones de la tabla cuando no quedan eventos. */
+    private long intervaloMs = 100;
+
+    /** Eventos publicados por lote y confirmados juntos por el broker. */
+    private int tamanioLote = 500;
+
+    /** Tiempo máximo de espera de las confirmaciones de un lote. */
+    private Duration timeoutConfirmacion = Duration.ofSeconds(5);
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public long getIntervaloMs() {
+        return intervaloMs;
+    }
+
+    public void setIntervaloMs(long intervaloMs) {
+        this.intervaloMs = intervaloMs;
+    }
+
+    public int getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(int tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+
+    public Duration getTimeoutConfirmacion() {
+        return timeoutConfirmacion;
+    }
+
+    public void setTimeoutConfirmacion(Duration timeoutConfirmacion) {
+        this.timeoutConfirmacion = timeoutConfirmacion;
+    }
+}
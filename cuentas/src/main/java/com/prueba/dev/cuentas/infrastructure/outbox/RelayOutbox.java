@@ -0,0 +1,185 @@
+package com.prueba.dev.cuentas.infrastructure.outbox;
+
+import com.prueba.dev.cuentas.domain.model.EventoOutbox;
+import com.prueba.dev.cuentas.domain.port.OutboxRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.mensajeria.PublicadorConfirmado;
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relay del outbox: publica en RabbitMQ los eventos registrados por las transacciones confirmadas.
+ * Lee los eventos en orden de inserción y entrega cada lote al publicador
+ * confirmado, que lo envía seguido por un mismo canal; solo cuando el broker
+ * confirmó todos los mensajes del lote los elimina de la tabla. Si el proceso cae entre la confirmación y el borrado,
+ * el lote se vuelve a publicar: la entrega es al menos una vez y cada mensaje
+ * lleva el ID del evento como message-id para que el consumidor descarte repetidos.
+ *
+ * Supone un único relay activo por base de datos. Se activa con cuentas.outbox.habilitado=true.
+ */
+@Component
+@ConditionalOnProperty(name = "cuentas.outbox.habilitado", havingValue = "true")
+public class RelayOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelayOutbox.class);
+
+    static final String PREFIJO_MESSAGE_ID = "cuentas-outbox-";
+
+    private final OutboxRepositoryPort outboxRepository;
+    private final PublicadorConfirmado publicador;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter publicados;
+    private final Counter fallos;
+    private final Timer retraso;
+    private final DistributionSummary tamanioLote;
+    private final AtomicLong pendientes = new AtomicLong();
+    private ScheduledExecutorService programador;
+
+    public RelayOutbox(OutboxRepositoryPort outboxRepository, PublicadorConfirmado publicador,
+                       PlatformTransactionManager transactionManager, OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.publicador = publicador;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.publicados = Counter.builder("cuentas.outbox.publicados")
+                .description("Eventos del outbox publicados y confirmados por el broker").register(meterRegistry);
+        this.fallos = Counter.builder("cuentas.outbox.fallos")
+                .description("Lotes del outbox que no se pudieron publicar").register(meterRegistry);
+        this.retraso = Timer.builder("cuentas.outbox.retraso")
+                .description("Tiempo entre el registro de un evento y su confirmación por el broker")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tamanioLote = DistributionSummary.builder("cuentas.outbox.lote.tamanio")
+                .description("Eventos publicados por lote").baseUnit("eventos").register(meterRegistry);
+        meterRegistry.gauge("cuentas.outbox.pendientes", pendientes);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "relay-outbox");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(this::ejecutar, properties.getIntervaloMs(), properties.getIntervaloMs(),
+                TimeUnit.MILLISECONDS);
+        logger.info("Relay del outbox cada {} ms en lotes de hasta {} eventos", properties.getIntervaloMs(),
+                properties.getTamanioLote());
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        programador.shutdownNow();
+        programador.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void ejecutar() {
+        try {
+            publicarPendientes();
+        } catch (RuntimeException e) {
+            fallos.increment();
+            logger.warn("No se pudo publicar el outbox, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica lotes hasta vaciar el outbox.
+     * @return Número de eventos publicados.
+     */
+    public synchronized long publicarPendientes() {
+        long total = 0;
+        int publicadosLote;
+        do {
+            publicadosLote = publicarLote();
+            total += publicadosLote;
+        } while (publicadosLote == properties.getTamanioLote());
+        pendientes.set(transactionTemplate.execute(status -> outboxRepository.contarPendientes()));
+        return total;
+    }
+
+    private int publicarLote() {
+        List<EventoOutbox> lote = transactionTemplate.execute(status -> outboxRepository.findPendientes(properties.getTamanioLote()));
+        if (lote == null || lote.isEmpty()) {
+            return 0;
+        }
+        List<PublicadorConfirmado.Envio> envios = lote.stream()
+                .map(evento -> new PublicadorConfirmado.Envio(evento.getExchange(), evento.getRoutingKey(), mensaje(evento)))
+                .toList();
+        esperarConfirmaciones(envios);
+
+        LocalDateTime confirmado = LocalDateTime.now();
+        for (EventoOutbox evento : lote) {
+            retraso.record(Duration.between(evento.getFechaCreacion(), confirmado));
+        }
+        List<Long> ids = lote.stream().map(EventoOutbox::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllById(ids));
+        publicados.increment(lote.size());
+        tamanioLote.record(lote.size());
+        logger.debug("Outbox: {} eventos publicados hasta el ID {}", lote.size(), ids.get(ids.size() - 1));
+        return lote.size();
+    }
+
+    /**
+     * Publica el lote y espera sus confirmaciones. Un nack agotados los reintentos,
+     * un mensaje sin ruta o un lote sin confirmar a tiempo lanzan AmqpException y el lote queda pendiente.
+     */
+    private void esperarConfirmaciones(List<PublicadorConfirmado.Envio> envios) {
+        try {
+            publicador.publicar(envios).get(properties.getTimeoutConfirmacion().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AmqpTimeoutException("El broker no confirmó el lote en " + properties.getTimeoutConfirmacion(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new AmqpException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Publicación del outbox interrumpida", e);
+        }
+    }
+
+    private static Message mensaje(EventoOutbox evento) {
+        MessageProperties propiedades = new MessageProperties();
+        propiedades.setContentType(evento.getTipoContenido());
+        propiedades.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        propiedades.setMessageId(PREFIJO_MESSAGE_ID + evento.getId());
+        propiedades.setTimestamp(Timestamp.valueOf(evento.getFechaCreacion()));
+        if (!ConvertidorEventos.esBinario(evento.getTipoContenido())) {
+            // Mismos encabezados que escribe Jackson2JsonMessageConverter al enviar el objeto directamente
+            propiedades.setContentEncoding(StandardCharsets.UTF_8.name());
+            propiedades.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, evento.getTipo());
+        }
+        return new Message(evento.getPayload(), propiedades);
+    }
+}
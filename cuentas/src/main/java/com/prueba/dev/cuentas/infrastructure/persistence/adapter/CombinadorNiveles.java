@@ -0,0 +1,142 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Combina los movimientos de la base de datos con los del archivo.
+ * Si un archivado se interrumpió antes de borrar las filas, un movimiento puede
+ * estar en ambos niveles: se conserva el de la base de datos.
+ */
+final class CombinadorNiveles {
+
+    private static final Comparator<FilaEstadoCuenta> ORDEN_FILAS =
+            Comparator.comparing(FilaEstadoCuenta::fecha).thenComparing(FilaEstadoCuenta::movimientoId);
+
+    private CombinadorNiveles() {}
+
+    /**
+     * Une movimientos archivados y actuales de una cuenta.
+     * @param archivados Movimientos del archivo.
+     * @param calientes Movimientos de la base de datos.
+     * @return Los archivados que no están en la base de datos seguidos de los actuales.
+     */
+    static List<Movimiento> combinar(List<Movimiento> archivados, List<Movimiento> calientes) {
+        if (archivados.isEmpty()) {
+            return calientes;
+        }
+        Set<Long> ids = new HashSet<>();
+        calientes.forEach(movimiento -> ids.add(movimiento.getId()));
+        List<Movimiento> movimientos = new ArrayList<>(archivados.size() + calientes.size());
+        for (Movimiento movimiento : archivados) {
+            if (!ids.contains(movimiento.getId())) {
+                movimientos.add(movimiento);
+            }
+        }
+        movimientos.addAll(calientes);
+        return movimientos;
+    }
+
+    /**
+     * Intercala los movimientos archivados en las filas del estado de cuenta.
+     * Las filas llegan agrupadas por cuenta y ordenadas por fecha e ID; al empezar
+     * cada cuenta se leen sus movimientos archivados del rango y se mezclan sin
+     * cargar en memoria las filas de la base de datos.
+     * @param filas Filas de la base de datos.
+     * @param archivo El archivo de movimientos.
+     * @param inicio Fecha de inicio del rango.
+     * @param fin Fecha de fin del rango.
+     * @return Stream de filas en el mismo orden; al cerrarlo se cierra el original.
+     */
+    static Stream<FilaEstadoCuenta> combinar(Stream<FilaEstadoCuenta> filas, ArchivoMovimientosPort archivo,
+                                             LocalDateTime inicio, LocalDateTime fin) {
+        Iterator<FilaEstadoCuenta> combinadas = new Intercalador(filas.iterator(), archivo, inicio, fin);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(combinadas, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(filas::close);
+    }
+
+    private static final class Intercalador implements Iterator<FilaEstadoCuenta> {
+
+        private final Iterator<FilaEstadoCuenta> fuente;
+        private final ArchivoMovimientosPort archivo;
+        private final LocalDateTime inicio;
+        private final LocalDateTime fin;
+        private final Deque<FilaEstadoCuenta> archivadas = new ArrayDeque<>();
+        private FilaEstadoCuenta caliente;
+        private Long cuentaActual;
+        private boolean iniciado;
+
+        Intercalador(Iterator<FilaEstadoCuenta> fuente, ArchivoMovimientosPort archivo, LocalDateTime inicio, LocalDateTime fin) {
+            this.fuente = fuente;
+            this.archivo = archivo;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!iniciado) {
+                iniciado = true;
+                caliente = leer();
+            }
+            return !archivadas.isEmpty() || caliente != null;
+        }
+
+        @Override
+        public FilaEstadoCuenta next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (archivadas.isEmpty() && !caliente.cuentaId().equals(cuentaActual)) {
+                cuentaActual = caliente.cuentaId();
+                cargarArchivadas(caliente);
+                if (!caliente.tieneMovimiento() && !archivadas.isEmpty()) {
+                    // La fila sin movimiento solo marca la cuenta: ahora tiene movimientos archivados
+                    caliente = leer();
+                }
+            }
+            boolean calienteDeLaCuenta = caliente != null && caliente.cuentaId().equals(cuentaActual) && caliente.tieneMovimiento();
+            while (calienteDeLaCuenta && !archivadas.isEmpty() && archivadas.peek().movimientoId().equals(caliente.movimientoId())) {
+                archivadas.poll();
+            }
+            if (!archivadas.isEmpty() && (!calienteDeLaCuenta || ORDEN_FILAS.compare(archivadas.peek(), caliente) < 0)) {
+                return archivadas.poll();
+            }
+            FilaEstadoCuenta fila = caliente;
+            caliente = leer();
+            return fila;
+        }
+
+        private FilaEstadoCuenta leer() {
+            return fuente.hasNext() ? fuente.next() : null;
+        }
+
+        private void cargarArchivadas(FilaEstadoCuenta cuenta) {
+            if (!archivo.tieneMovimientos(cuenta.cuentaId())) {
+                return;
+            }
+            for (Movimiento movimiento : archivo.findByCuentaIdAndFechaBetween(cuenta.cuentaId(), inicio, fin)) {
+                archivadas.add(new FilaEstadoCuenta(cuenta.cuentaId(), cuenta.clienteId(), cuenta.numeroCuenta(),
+                        cuenta.tipoCuenta(), cuenta.saldoInicial(), cuenta.estado(), cuenta.saldoActual(),
+                        movimiento.getId(), movimiento.getFecha(), movimiento.getTipoMovimiento(),
+                        movimiento.getValor(), movimiento.getSaldo()));
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
 
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
 import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
 import com.prueba.dev.cuentas.infrastructure.persistence.jpa.CuentaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Adaptador para el repositorio de cuentas.
@@ -20,9 +26,11 @@ public class CuentaRepositoryAdapter implements CuentaRepositoryPort {
     private static final Logger logger = LoggerFactory.getLogger(CuentaRepositoryAdapter.class);
 
     private final CuentaRepository cuentaRepository;
+    private final ArchivoMovimientosPort archivo;
 
-    public CuentaRepositoryAdapter(CuentaRepository cuentaRepository) {
+    public CuentaRepositoryAdapter(CuentaRepository cuentaRepository, ArchivoMovimientosPort archivo) {
         this.cuentaRepository = cuentaRepository;
+        this.archivo = archivo;
     }
 
     @Override
@@ -66,4 +74,47 @@ public class CuentaRepositoryAdapter implements CuentaRepositoryPort {
         logger.debug("Buscando cuentas para cliente ID: {}", clienteId);
         return cuentaRepository.findByClienteId(clienteId);
     }
+
+    @Override
+    public List<Cuenta> findPagina(Long despuesDeId, int limite) {
+        logger.debug("Buscando {} cuentas posteriores a ID: {}", limite, despuesDeId);
+        return cuentaRepository.findPaginaDespuesDe(despuesDeId == null ? 0L : despuesDeId, PageRequest.ofSize(limite));
+    }
+
+    @Override
+    public Stream<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin) {
+        logger.debug("Recorriendo estado de cuenta de cliente ID: {} entre {} y {}", clienteId, inicio, fin);
+        return CombinadorNiveles.combinar(cuentaRepository.streamEstadoCuenta(clienteId, inicio, fin), archivo, inicio, fin);
+    }
+
+    @Override
+    public Optional<BigDecimal> acreditarSaldo(Long id, BigDecimal valor) {
+        logger.debug("Acreditando {} a cuenta ID: {}", valor, id);
+        if (cuentaRepository.acreditarSaldo(id, valor) == 0) {
+            return Optional.empty();
+        }
+        // La fila queda bloqueada por el UPDATE hasta el commit, el saldo leído es el aplicado
+        return cuentaRepository.findSaldoById(id);
+    }
+
+    @Override
+    public Optional<BigDecimal> debitarSaldo(Long id, BigDecimal valor) {
+        logger.debug("Debitando {} de cuenta ID: {}", valor, id);
+        if (cuentaRepository.debitarSaldo(id, valor) == 0) {
+            return Optional.empty();
+        }
+        return cuentaRepository.findSaldoById(id);
+    }
+
+    @Override
+    public Optional<BigDecimal> findSaldoById(Long id) {
+        logger.debug("Leyendo saldo de cuenta ID: {}", id);
+        return cuentaRepository.findSaldoById(id);
+    }
+
+    @Override
+    public Optional<Cuenta> findByIdParaActualizar(Long id) {
+        logger.debug("Bloqueando cuenta con ID: {}", id);
+        return cuentaRepository.findByIdForUpdate(id);
+    }
 }
\ No newline at end of file
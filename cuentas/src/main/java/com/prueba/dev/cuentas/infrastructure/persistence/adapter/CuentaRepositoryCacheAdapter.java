@@ -0,0 +1,359 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Caché de lectura de cuentas delante del adaptador JPA.
+ * Las búsquedas por ID y por número de cuenta se sirven de memoria; las demás
+ * operaciones pasan directo. Toda escritura (guardar, eliminar, acreditar o
+ * debitar saldo) quita la cuenta de la caché al ejecutarse y otra vez al terminar
+ * la transacción, de modo que ninguna lectura concurrente deja en memoria un
+ * saldo anterior al commit; la transacción que escribió una cuenta tampoco la
+ * vuelve a cargar hasta terminar, porque leería su propia fila sin confirmar.
+ * Se entregan copias desacopladas, que pueden ir por detrás de la base de datos:
+ * quien vaya a modificar y guardar una cuenta debe leerla con findByIdParaActualizar,
+ * que no pasa por la caché.
+ * <p>
+ * Los aciertos no toman bloqueos: las entradas viven en un ConcurrentHashMap y cada
+ * franja de IDs lleva un contador de invalidaciones con el que una carga detecta si
+ * hubo una escritura mientras leía. Al superar la capacidad se desaloja la entrada
+ * usada hace más tiempo entre una muestra de ellas.
+ */
+@Component
+@Primary
+public class CuentaRepositoryCacheAdapter implements CuentaRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaRepositoryCacheAdapter.class);
+    private static final int FRANJAS = 64;
+    private static final int MUESTRA_DESALOJO = 16;
+
+    private final CuentaRepositoryAdapter delegado;
+    private final long ttlNanos;
+    private final int capacidad;
+    private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idPorNumero = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidaciones = new AtomicLongArray(FRANJAS);
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter desalojosTamanio;
+    private final Counter desalojosExpiracion;
+    private final Counter desalojosInvalidacion;
+    private final Timer carga;
+
+    public CuentaRepositoryCacheAdapter(CuentaRepositoryAdapter delegado, MeterRegistry meterRegistry,
+                                        @Value("${cuentas.cache.cuentas.ttl:5m}") Duration ttl,
+                                        @Value("${cuentas.cache.cuentas.capacidad:10000}") int capacidad) {
+        this.delegado = delegado;
+        this.ttlNanos = ttl.toNanos();
+        this.capacidad = capacidad;
+        this.aciertos = Counter.builder("cuentas.cache.cuentas.solicitudes")
+                .description("Búsquedas de cuentas en la caché").tag("resultado", "acierto").register(meterRegistry);
+        this.fallos = Counter.builder("cuentas.cache.cuentas.solicitudes")
+                .description("Búsquedas de cuentas en la caché").tag("resultado", "fallo").register(meterRegistry);
+        this.desalojosTamanio = Counter.builder("cuentas.cache.cuentas.desalojos")
+                .description("Cuentas quitadas de la caché").tag("causa", "tamanio").register(meterRegistry);
+        this.desalojosExpiracion = Counter.builder("cuentas.cache.cuentas.desalojos")
+                .description("Cuentas quitadas de la caché").tag("causa", "expiracion").register(meterRegistry);
+        this.desalojosInvalidacion = Counter.builder("cuentas.cache.cuentas.desalojos")
+                .description("Cuentas quitadas de la caché").tag("causa", "invalidacion").register(meterRegistry);
+        this.carga = Timer.builder("cuentas.cache.cuentas.carga")
+                .description("Tiempo de carga de una cuenta desde la base de datos tras un fallo de caché")
+                .register(meterRegistry);
+        meterRegistry.gauge("cuentas.cache.cuentas.tamanio", porId, Map::size);
+        meterRegistry.gauge("cuentas.cache.cuentas.tasa_aciertos", this, CuentaRepositoryCacheAdapter::tasaAciertos);
+    }
+
+    @Override
+    public Optional<Cuenta> findById(Long id) {
+        Cuenta cacheada = buscar(id);
+        if (cacheada != null) {
+            return Optional.of(cacheada);
+        }
+        return cargar(id, () -> delegado.findById(id));
+    }
+
+    @Override
+    public Optional<Cuenta> findByNumeroCuenta(String numeroCuenta) {
+        Long id = idPorNumero.get(numeroCuenta);
+        Cuenta cacheada = id == null ? null : buscar(id);
+        if (cacheada != null && numeroCuenta.equals(cacheada.getNumeroCuenta())) {
+            return Optional.of(cacheada);
+        }
+        if (id == null) {
+            fallos.increment();
+        }
+        return cargar(null, () -> delegado.findByNumeroCuenta(numeroCuenta));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        Entrada entrada = porId.get(id);
+        return (entrada != null && entrada.expira - System.nanoTime() > 0) || delegado.existsById(id);
+    }
+
+    @Override
+    public Cuenta save(Cuenta cuenta) {
+        Cuenta guardada = delegado.save(cuenta);
+        invalidar(guardada.getId());
+        return guardada;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegado.deleteById(id);
+        invalidar(id);
+    }
+
+    @Override
+    public Optional<BigDecimal> acreditarSaldo(Long id, BigDecimal valor) {
+        Optional<BigDecimal> saldo = delegado.acreditarSaldo(id, valor);
+        invalidar(id);
+        return saldo;
+    }
+
+    @Override
+    public Optional<BigDecimal> debitarSaldo(Long id, BigDecimal valor) {
+        Optional<BigDecimal> saldo = delegado.debitarSaldo(id, valor);
+        invalidar(id);
+        return saldo;
+    }
+
+    @Override
+    public Optional<BigDecimal> findSaldoById(Long id) {
+        // Quien pide el saldo así necesita el confirmado, no el cacheado
+        return delegado.findSaldoById(id);
+    }
+
+    @Override
+    public Optional<Cuenta> findByIdParaActualizar(Long id) {
+        // El bloqueo exige leer la fila en la base de datos
+        return delegado.findByIdParaActualizar(id);
+    }
+
+    @Override
+    public List<Cuenta> findAll() {
+        return delegado.findAll();
+    }
+
+    @Override
+    public List<Cuenta> findByClienteId(Long clienteId) {
+        return delegado.findByClienteId(clienteId);
+    }
+
+    @Override
+    public List<Cuenta> findPagina(Long despuesDeId, int limite) {
+        return delegado.findPagina(despuesDeId, limite);
+    }
+
+    @Override
+    public Stream<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin) {
+        return delegado.streamEstadoCuenta(clienteId, inicio, fin);
+    }
+
+    private Cuenta buscar(Long id) {
+        Entrada entrada = porId.get(id);
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        if (entrada.expira - System.nanoTime() <= 0) {
+            if (quitarEntrada(id, entrada)) {
+                desalojosExpiracion.increment();
+            }
+            fallos.increment();
+            return null;
+        }
+        entrada.usada = System.nanoTime();
+        aciertos.increment();
+        return copiar(entrada.cuenta);
+    }
+
+    /**
+     * Lee de la base de datos y guarda el resultado si ninguna escritura pudo cambiarlo.
+     * @param id El ID buscado, o null si aún no se conoce (búsqueda por número).
+     */
+    private Optional<Cuenta> cargar(Long id, Supplier<Optional<Cuenta>> lectura) {
+        long generacion = generacion(id);
+        long inicio = System.nanoTime();
+        Optional<Cuenta> cuenta = lectura.get();
+        carga.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        cuenta.ifPresent(leida -> {
+            // Si esta transacción escribió la cuenta, lo leído aún no está confirmado
+            if (escritaEnLaTransaccion(leida.getId())) {
+                return;
+            }
+            // Si hubo una escritura durante la lectura, lo leído puede ser anterior a ella
+            if (generacion(id) != generacion) {
+                return;
+            }
+            Entrada entrada = new Entrada(copiar(leida), System.nanoTime() + ttlNanos);
+            idPorNumero.put(leida.getNumeroCuenta(), leida.getId());
+            porId.put(leida.getId(), entrada);
+            // Una invalidación entre la comprobación y el put se detecta aquí
+            if (generacion(id) != generacion) {
+                quitarEntrada(leida.getId(), entrada);
+            } else {
+                desalojarSiExcede();
+            }
+        });
+        return cuenta;
+    }
+
+    /**
+     * Contador de invalidaciones de la franja del ID; sin ID, la suma de todas las franjas.
+     * Los contadores solo crecen, así que la suma cambia si cambia cualquiera de ellos.
+     */
+    private long generacion(Long id) {
+        if (id != null) {
+            return invalidaciones.get(franja(id));
+        }
+        long total = 0;
+        for (int i = 0; i < FRANJAS; i++) {
+            total += invalidaciones.get(i);
+        }
+        return total;
+    }
+
+    private static int franja(Long id) {
+        return Long.hashCode(id) & (FRANJAS - 1);
+    }
+
+    private void desalojarSiExcede() {
+        while (porId.size() > capacidad) {
+            Map.Entry<Long, Entrada> victima = null;
+            int revisadas = 0;
+            for (Map.Entry<Long, Entrada> candidata : porId.entrySet()) {
+                if (victima == null || candidata.getValue().usada - victima.getValue().usada < 0) {
+                    victima = candidata;
+                }
+                if (++revisadas == MUESTRA_DESALOJO) {
+                    break;
+                }
+            }
+            if (victima == null) {
+                return;
+            }
+            if (quitarEntrada(victima.getKey(), victima.getValue())) {
+                desalojosTamanio.increment();
+            }
+        }
+    }
+
+    private void invalidar(Long id) {
+        quitar(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            escritasEnLaTransaccion().add(id);
+        }
+    }
+
+    private boolean escritaEnLaTransaccion(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        Object escritas = TransactionSynchronizationManager.getResource(this);
+        return escritas instanceof Set<?> ids && ids.contains(id);
+    }
+
+    /**
+     * IDs escritos en la transacción actual; se vuelven a quitar de la caché al terminar.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> escritasEnLaTransaccion() {
+        Set<Long> escritas = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (escritas != null) {
+            return escritas;
+        }
+        Set<Long> nuevas = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, nuevas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(CuentaRepositoryCacheAdapter.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(CuentaRepositoryCacheAdapter.this, nuevas);
+            }
+
+            @Override
+            public void afterCompletion(int estado) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CuentaRepositoryCacheAdapter.this);
+                nuevas.forEach(CuentaRepositoryCacheAdapter.this::quitar);
+            }
+        });
+        return nuevas;
+    }
+
+    private void quitar(Long id) {
+        invalidaciones.incrementAndGet(franja(id));
+        Entrada entrada = porId.get(id);
+        if (entrada != null && quitarEntrada(id, entrada)) {
+            desalojosInvalidacion.increment();
+            logger.debug("Cuenta ID: {} quitada de la caché", id);
+        }
+    }
+
+    private boolean quitarEntrada(Long id, Entrada entrada) {
+        if (!porId.remove(id, entrada)) {
+            return false;
+        }
+        idPorNumero.remove(entrada.cuenta.getNumeroCuenta(), id);
+        return true;
+    }
+
+    private static Cuenta copiar(Cuenta cuenta) {
+        Cuenta copia = new Cuenta(cuenta.getClienteId(), cuenta.getNumeroCuenta(), cuenta.getTipoCuenta(),
+                cuenta.getSaldoInicial(), cuenta.getSaldo(), cuenta.getEstado());
+        copia.setId(cuenta.getId());
+        copia.setFechaCreacion(cuenta.getFechaCreacion());
+        return copia;
+    }
+
+    private double tasaAciertos() {
+        double total = aciertos.count() + fallos.count();
+        return total == 0 ? 0 : aciertos.count() / total;
+    }
+
+    /**
+     * Copia de una cuenta en caché, el instante (System.nanoTime) en que vence
+     * y el de su último acierto.
+     */
+    private static final class Entrada {
+        private final Cuenta cuenta;
+        private final long expira;
+        private volatile long usada;
+
+        private Entrada(Cuenta cuenta, long expira) {
+            this.cuenta = cuenta;
+            this.expira = expira;
+            this.usada = System.nanoTime();
+        }
+    }
+}
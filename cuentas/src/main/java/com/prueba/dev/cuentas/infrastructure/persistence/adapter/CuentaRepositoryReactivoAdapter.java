@@ -0,0 +1,140 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryReactivoPort;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador reactivo para el repositorio de cuentas.
+ * Implementa el puerto con R2DBC sobre las mismas tablas que mapea JPA.
+ * El estado de cuenta intercala los movimientos archivados por cuenta: solo las
+ * cuentas con archivo reúnen sus filas en memoria y leen los segmentos fuera del
+ * hilo de eventos; las demás pasan fila por fila.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CuentaRepositoryReactivoAdapter implements CuentaRepositoryReactivoPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CuentaRepositoryReactivoAdapter.class);
+
+    static final int TAMANIO_FETCH = 500;
+
+    private static final String COLUMNAS = "SELECT cuenta_id, cliente_id, numero_cuenta, tipo_cuenta, saldo_inicial, saldo, "
+            + "estado, fecha_creacion FROM cuenta";
+
+    private static final String ESTADO_CUENTA = "SELECT c.cuenta_id, c.cliente_id, c.numero_cuenta, c.tipo_cuenta, "
+            + "c.saldo_inicial, c.estado, c.saldo AS saldo_actual, m.movimiento_id, m.fecha, m.tipo_movimiento, m.valor, "
+            + "m.saldo AS saldo_movimiento FROM cuenta c "
+            + "LEFT JOIN movimiento m ON m.cuenta_id = c.cuenta_id AND m.fecha BETWEEN :inicio AND :fin "
+            + "WHERE c.cliente_id = :clienteId ORDER BY c.cuenta_id, m.fecha, m.movimiento_id";
+
+    private final DatabaseClient databaseClient;
+    private final ArchivoMovimientosPort archivo;
+
+    public CuentaRepositoryReactivoAdapter(DatabaseClient databaseClient, ArchivoMovimientosPort archivo) {
+        this.databaseClient = databaseClient;
+        this.archivo = archivo;
+    }
+
+    @Override
+    public Mono<Cuenta> findById(Long id) {
+        logger.debug("Buscando cuenta con ID: {}", id);
+        return databaseClient.sql(COLUMNAS + " WHERE cuenta_id = :id")
+                .bind("id", id)
+                .map(CuentaRepositoryReactivoAdapter::aCuenta)
+                .one();
+    }
+
+    @Override
+    public Mono<Cuenta> findByNumeroCuenta(String numeroCuenta) {
+        logger.debug("Buscando cuenta con número: {}", numeroCuenta);
+        return databaseClient.sql(COLUMNAS + " WHERE numero_cuenta = :numeroCuenta")
+                .bind("numeroCuenta", numeroCuenta)
+                .map(CuentaRepositoryReactivoAdapter::aCuenta)
+                .one();
+    }
+
+    @Override
+    public Flux<Cuenta> findByClienteId(Long clienteId) {
+        logger.debug("Buscando cuentas para cliente ID: {}", clienteId);
+        return databaseClient.sql(COLUMNAS + " WHERE cliente_id = :clienteId ORDER BY cuenta_id")
+                .bind("clienteId", clienteId)
+                .map(CuentaRepositoryReactivoAdapter::aCuenta)
+                .all();
+    }
+
+    @Override
+    public Flux<Cuenta> findPagina(Long despuesDeId, int limite) {
+        logger.debug("Buscando {} cuentas posteriores a ID: {}", limite, despuesDeId);
+        return databaseClient.sql(COLUMNAS + " WHERE cuenta_id > :id ORDER BY cuenta_id LIMIT :limite")
+                .bind("id", despuesDeId == null ? 0L : despuesDeId)
+                .bind("limite", limite)
+                .map(CuentaRepositoryReactivoAdapter::aCuenta)
+                .all();
+    }
+
+    @Override
+    public Flux<FilaEstadoCuenta> streamEstadoCuenta(Long clienteId, LocalDateTime inicio, LocalDateTime fin) {
+        logger.debug("Recorriendo estado de cuenta de cliente ID: {} entre {} y {}", clienteId, inicio, fin);
+        Flux<FilaEstadoCuenta> filas = databaseClient.sql(ESTADO_CUENTA)
+                .bind("clienteId", clienteId)
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .filter(sentencia -> sentencia.fetchSize(TAMANIO_FETCH))
+                .map(CuentaRepositoryReactivoAdapter::aFila)
+                .all();
+        return filas.windowUntilChanged(FilaEstadoCuenta::cuentaId)
+                .concatMap(cuenta -> cuenta.switchOnFirst((primera, resto) ->
+                        primera.hasValue() && archivo.tieneMovimientos(primera.get().cuentaId())
+                                ? conArchivados(resto, inicio, fin)
+                                : resto));
+    }
+
+    private Flux<FilaEstadoCuenta> conArchivados(Flux<FilaEstadoCuenta> filasCuenta, LocalDateTime inicio, LocalDateTime fin) {
+        return filasCuenta.collectList()
+                .flatMapMany(filas -> Flux.defer(() -> Flux.fromStream(CombinadorNiveles.combinar(filas.stream(), archivo, inicio, fin)))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private static Cuenta aCuenta(Readable fila) {
+        Cuenta cuenta = new Cuenta(
+                fila.get("cliente_id", Long.class),
+                fila.get("numero_cuenta", String.class),
+                fila.get("tipo_cuenta", String.class),
+                fila.get("saldo_inicial", BigDecimal.class),
+                fila.get("saldo", BigDecimal.class),
+                fila.get("estado", String.class));
+        cuenta.setId(fila.get("cuenta_id", Long.class));
+        cuenta.setFechaCreacion(fila.get("fecha_creacion", LocalDateTime.class));
+        return cuenta;
+    }
+
+    private static FilaEstadoCuenta aFila(Readable fila) {
+        return new FilaEstadoCuenta(
+                fila.get("cuenta_id", Long.class),
+                fila.get("cliente_id", Long.class),
+                fila.get("numero_cuenta", String.class),
+                fila.get("tipo_cuenta", String.class),
+                fila.get("saldo_inicial", BigDecimal.class),
+                fila.get("estado", String.class),
+                fila.get("saldo_actual", BigDecimal.class),
+                fila.get("movimiento_id", Long.class),
+                fila.get("fecha", LocalDateTime.class),
+                fila.get("tipo_movimiento", String.class),
+                fila.get("valor", BigDecimal.class),
+                fila.get("saldo_movimiento", BigDecimal.class));
+    }
+}
@@ -0,0 +1,58 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.RegistroIdempotencia;
+import com.prueba.dev.cuentas.domain.port.IdempotenciaRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.IdempotenciaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Adaptador para el repositorio de registros de idempotencia.
+ * Implementa el puerto de repositorio utilizando JPA.
+ */
+@Component
+public class IdempotenciaRepositoryAdapter implements IdempotenciaRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaRepositoryAdapter.class);
+
+    private final IdempotenciaRepository idempotenciaRepository;
+
+    public IdempotenciaRepositoryAdapter(IdempotenciaRepository idempotenciaRepository) {
+        this.idempotenciaRepository = idempotenciaRepository;
+    }
+
+    @Override
+    public Optional<RegistroIdempotencia> findByClave(String clave) {
+        logger.debug("Buscando registro de idempotencia con clave: {}", clave);
+        return idempotenciaRepository.findById(clave);
+    }
+
+    @Override
+    public RegistroIdempotencia insertar(RegistroIdempotencia registro) {
+        logger.debug("Insertando registro de idempotencia con clave: {}", registro.getClave());
+        return idempotenciaRepository.saveAndFlush(registro);
+    }
+
+    @Override
+    public void registrarRespuesta(String clave, String respuesta) {
+        logger.debug("Registrando respuesta de idempotencia con clave: {}", clave);
+        idempotenciaRepository.registrarRespuesta(clave, respuesta);
+    }
+
+    @Override
+    public void deleteByClave(String clave) {
+        logger.debug("Eliminando registro de idempotencia con clave: {}", clave);
+        idempotenciaRepository.deleteById(clave);
+        idempotenciaRepository.flush();
+    }
+
+    @Override
+    public int deleteExpirados(LocalDateTime ahora) {
+        logger.debug("Eliminando registros de idempotencia expirados antes de {}", ahora);
+        return idempotenciaRepository.deleteByFechaExpiracionBefore(ahora);
+    }
+}
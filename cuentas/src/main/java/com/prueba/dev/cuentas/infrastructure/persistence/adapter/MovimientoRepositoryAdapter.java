@@ -1,18 +1,26 @@
 package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
 
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
 import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
 import com.prueba.dev.cuentas.infrastructure.persistence.jpa.MovimientoRepository;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Adaptador para el repositorio de movimientos.
- * Implementa el puerto de repositorio utilizando JPA.
+ * Implementa el puerto de repositorio utilizando JPA. Las consultas por cuenta
+ * también incluyen los movimientos que ya pasaron al archivo.
  */
 @Component
 public class MovimientoRepositoryAdapter implements MovimientoRepositoryPort {
@@ -20,9 +28,14 @@ public class MovimientoRepositoryAdapter implements MovimientoRepositoryPort {
     private static final Logger logger = LoggerFactory.getLogger(MovimientoRepositoryAdapter.class);
 
     private final MovimientoRepository movimientoRepository;
+    private final EntityManager entityManager;
+    private final ArchivoMovimientosPort archivo;
 
-    public MovimientoRepositoryAdapter(MovimientoRepository movimientoRepository) {
+    public MovimientoRepositoryAdapter(MovimientoRepository movimientoRepository, EntityManager entityManager,
+                                       ArchivoMovimientosPort archivo) {
         this.movimientoRepository = movimientoRepository;
+        this.entityManager = entityManager;
+        this.archivo = archivo;
     }
 
     @Override
@@ -58,18 +71,91 @@ public class MovimientoRepositoryAdapter implements MovimientoRepositoryPort {
     @Override
     public List<Movimiento> findByCuentaId(Long cuentaId) {
         logger.debug("Buscando movimientos para cuenta ID: {}", cuentaId);
-        return movimientoRepository.findByCuentaId(cuentaId);
+        List<Movimiento> movimientos = movimientoRepository.findByCuentaId(cuentaId);
+        if (!archivo.tieneMovimientos(cuentaId)) {
+            return movimientos;
+        }
+        return CombinadorNiveles.combinar(archivo.findByCuentaIdAndFechaBetween(cuentaId, null, null), movimientos);
     }
 
     @Override
     public List<Movimiento> findByCuentaIdOrderByFechaDesc(Long cuentaId) {
         logger.debug("Buscando movimientos ordenados para cuenta ID: {}", cuentaId);
-        return movimientoRepository.findByCuentaIdOrderByFechaDesc(cuentaId);
+        List<Movimiento> movimientos = movimientoRepository.findByCuentaIdOrderByFechaDesc(cuentaId);
+        if (!archivo.tieneMovimientos(cuentaId)) {
+            return movimientos;
+        }
+        List<Movimiento> combinados = new ArrayList<>(
+                CombinadorNiveles.combinar(archivo.findByCuentaIdAndFechaBetween(cuentaId, null, null), movimientos));
+        combinados.sort(Comparator.comparing(Movimiento::getFecha).thenComparing(Movimiento::getId).reversed());
+        return combinados;
     }
 
     @Override
     public List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, java.time.LocalDateTime inicio, java.time.LocalDateTime fin) {
         logger.debug("Buscando movimientos para cuenta ID: {} entre {} y {}", cuentaId, inicio, fin);
-        return movimientoRepository.findByCuentaIdAndFechaBetween(cuentaId, inicio, fin);
+        List<Movimiento> movimientos = movimientoRepository.findByCuentaIdAndFechaBetween(cuentaId, inicio, fin);
+        if (!archivo.tieneMovimientos(cuentaId)) {
+            return movimientos;
+        }
+        return CombinadorNiveles.combinar(archivo.findByCuentaIdAndFechaBetween(cuentaId, inicio, fin), movimientos);
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Movimiento> findByCuentaIdAndIdGreaterThan(Long cuentaId, Long movimientoId) {
+        logger.debug("Buscando movimientos para cuenta ID: {} posteriores a movimiento ID: {}", cuentaId, movimientoId);
+        return movimientoRepository.findByCuentaIdAndIdGreaterThanOrderByIdAsc(cuentaId, movimientoId);
+    }
+
+    @Override
+    public List<Movimiento> findPagina(LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.debug("Buscando {} movimientos anteriores a ({}, {})", limite, fecha, movimientoId);
+        if (fecha == null || movimientoId == null) {
+            return movimientoRepository.findPrimeraPagina(PageRequest.ofSize(limite));
+        }
+        return movimientoRepository.findPaginaAnteriorA(fecha, movimientoId, PageRequest.ofSize(limite));
+    }
+
+    @Override
+    public List<Movimiento> findPaginaByCuentaId(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.debug("Buscando {} movimientos de cuenta ID: {} anteriores a ({}, {})", limite, cuentaId, fecha, movimientoId);
+        if (fecha == null || movimientoId == null) {
+            return movimientoRepository.findPrimeraPaginaByCuentaId(cuentaId, PageRequest.ofSize(limite));
+        }
+        return movimientoRepository.findPaginaByCuentaIdAnteriorA(cuentaId, fecha, movimientoId, PageRequest.ofSize(limite));
+    }
+
+    @Override
+    public Stream<Movimiento> stream(Long cuentaId) {
+        logger.debug("Recorriendo movimientos para cuenta ID: {}", cuentaId);
+        Stream<Movimiento> movimientos = cuentaId == null
+                ? movimientoRepository.streamAll()
+                : movimientoRepository.streamByCuentaId(cuentaId);
+        // Sin desacoplar, el contexto de persistencia crecería con cada fila leída
+        return movimientos.peek(entityManager::detach);
+    }
+
+    @Override
+    public List<Movimiento> saveAll(List<Movimiento> movimientos) {
+        logger.debug("Guardando lote de {} movimientos", movimientos.size());
+        return movimientoRepository.saveAll(movimientos);
+    }
+
+    @Override
+    public List<Long> findCuentaIdsConMovimientosAnterioresA(LocalDateTime corte) {
+        logger.debug("Buscando cuentas con movimientos anteriores a {}", corte);
+        return movimientoRepository.findCuentaIdsConMovimientosAnterioresA(corte);
+    }
+
+    @Override
+    public List<Movimiento> findArchivables(Long cuentaId, LocalDateTime corte, Long hastaId, int limite) {
+        logger.debug("Buscando {} movimientos de cuenta ID: {} anteriores a {} hasta ID: {}", limite, cuentaId, corte, hastaId);
+        return movimientoRepository.findArchivables(cuentaId, corte, hastaId, PageRequest.ofSize(limite));
+    }
+
+    @Override
+    public void deleteAllById(List<Long> ids) {
+        logger.debug("Eliminando lote de {} movimientos", ids.size());
+        movimientoRepository.deleteAllByIdInBatch(ids);
+    }
+}
@@ -0,0 +1,106 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryReactivoPort;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador reactivo para el repositorio de movimientos.
+ * Implementa el puerto con R2DBC; las páginas usan el mismo keyset (fecha, ID)
+ * que el adaptador JPA, de modo que los cursores sirven en ambas pilas.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class MovimientoRepositoryReactivoAdapter implements MovimientoRepositoryReactivoPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoRepositoryReactivoAdapter.class);
+
+    private static final String COLUMNAS = "SELECT movimiento_id, cuenta_id, fecha, tipo_movimiento, valor, saldo, "
+            + "transferencia_id FROM movimiento";
+    private static final String ANTERIOR_A = "(fecha < :fecha OR (fecha = :fecha AND movimiento_id < :id))";
+    private static final String ORDEN_PAGINA = " ORDER BY fecha DESC, movimiento_id DESC LIMIT :limite";
+
+    private final DatabaseClient databaseClient;
+
+    public MovimientoRepositoryReactivoAdapter(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Movimiento> findById(Long id) {
+        logger.debug("Buscando movimiento con ID: {}", id);
+        return databaseClient.sql(COLUMNAS + " WHERE movimiento_id = :id")
+                .bind("id", id)
+                .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                .one();
+    }
+
+    @Override
+    public Flux<Movimiento> findPagina(LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.debug("Buscando {} movimientos anteriores a ({}, {})", limite, fecha, movimientoId);
+        if (fecha == null || movimientoId == null) {
+            return databaseClient.sql(COLUMNAS + ORDEN_PAGINA)
+                    .bind("limite", limite)
+                    .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                    .all();
+        }
+        return databaseClient.sql(COLUMNAS + " WHERE " + ANTERIOR_A + ORDEN_PAGINA)
+                .bind("fecha", fecha)
+                .bind("id", movimientoId)
+                .bind("limite", limite)
+                .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                .all();
+    }
+
+    @Override
+    public Flux<Movimiento> findPaginaByCuentaId(Long cuentaId, LocalDateTime fecha, Long movimientoId, int limite) {
+        logger.debug("Buscando {} movimientos de cuenta ID: {} anteriores a ({}, {})", limite, cuentaId, fecha, movimientoId);
+        if (fecha == null || movimientoId == null) {
+            return databaseClient.sql(COLUMNAS + " WHERE cuenta_id = :cuentaId" + ORDEN_PAGINA)
+                    .bind("cuentaId", cuentaId)
+                    .bind("limite", limite)
+                    .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                    .all();
+        }
+        return databaseClient.sql(COLUMNAS + " WHERE cuenta_id = :cuentaId AND " + ANTERIOR_A + ORDEN_PAGINA)
+                .bind("cuentaId", cuentaId)
+                .bind("fecha", fecha)
+                .bind("id", movimientoId)
+                .bind("limite", limite)
+                .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                .all();
+    }
+
+    @Override
+    public Flux<Movimiento> stream(Long cuentaId) {
+        logger.debug("Recorriendo movimientos para cuenta ID: {}", cuentaId);
+        DatabaseClient.GenericExecuteSpec consulta = cuentaId == null
+                ? databaseClient.sql(COLUMNAS + " ORDER BY movimiento_id")
+                : databaseClient.sql(COLUMNAS + " WHERE cuenta_id = :cuentaId ORDER BY movimiento_id").bind("cuentaId", cuentaId);
+        return consulta.filter(sentencia -> sentencia.fetchSize(CuentaRepositoryReactivoAdapter.TAMANIO_FETCH))
+                .map(MovimientoRepositoryReactivoAdapter::aMovimiento)
+                .all();
+    }
+
+    private static Movimiento aMovimiento(Readable fila) {
+        Movimiento movimiento = new Movimiento();
+        movimiento.setId(fila.get("movimiento_id", Long.class));
+        movimiento.setCuentaId(fila.get("cuenta_id", Long.class));
+        movimiento.setFecha(fila.get("fecha", LocalDateTime.class));
+        movimiento.setTipoMovimiento(fila.get("tipo_movimiento", String.class));
+        movimiento.setValor(fila.get("valor", BigDecimal.class));
+        movimiento.setSaldo(fila.get("saldo", BigDecimal.class));
+        movimiento.setTransferenciaId(fila.get("transferencia_id", String.class));
+        return movimiento;
+    }
+}
@@ -0,0 +1,49 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.EventoOutbox;
+import com.prueba.dev.cuentas.domain.port.OutboxRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adaptador para la tabla outbox.
+ * Implementa el puerto de repositorio utilizando JPA.
+ */
+@Component
+public class OutboxRepositoryAdapter implements OutboxRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRepositoryAdapter.class);
+
+    private final OutboxRepository outboxRepository;
+
+    public OutboxRepositoryAdapter(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public EventoOutbox guardar(EventoOutbox evento) {
+        logger.debug("Registrando evento {} en el outbox", evento.getTipo());
+        return outboxRepository.save(evento);
+    }
+
+    @Override
+    public List<EventoOutbox> findPendientes(int limite) {
+        return outboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, limite));
+    }
+
+    @Override
+    public void deleteAllById(List<Long> ids) {
+        logger.debug("Eliminando {} eventos publicados del outbox", ids.size());
+        outboxRepository.deleteAllByIdInBatch(ids);
+    }
+
+    @Override
+    public long contarPendientes() {
+        return outboxRepository.count();
+    }
+}
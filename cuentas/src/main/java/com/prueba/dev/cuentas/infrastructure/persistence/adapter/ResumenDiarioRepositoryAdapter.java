@@ -0,0 +1,48 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.ResumenDiarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Adaptador para el repositorio del resumen diario de movimientos.
+ * Implementa el puerto de repositorio utilizando JPA.
+ */
+@Component
+public class ResumenDiarioRepositoryAdapter implements ResumenDiarioRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenDiarioRepositoryAdapter.class);
+
+    private final ResumenDiarioRepository resumenRepository;
+
+    public ResumenDiarioRepositoryAdapter(ResumenDiarioRepository resumenRepository) {
+        this.resumenRepository = resumenRepository;
+    }
+
+    @Override
+    public void acumular(List<ResumenDiario> incrementos) {
+        logger.debug("Acumulando {} incrementos en el resumen diario", incrementos.size());
+        for (ResumenDiario incremento : incrementos) {
+            resumenRepository.acumular(incremento.getCuentaId(), incremento.getFecha(), incremento.getTipoMovimiento(),
+                    incremento.getCantidad(), incremento.getTotal());
+        }
+    }
+
+    @Override
+    public List<ResumenDiario> findByClienteIdAndFechaBetween(Long clienteId, LocalDate inicio, LocalDate fin) {
+        logger.debug("Buscando resumen diario de cliente ID: {} entre {} y {}", clienteId, inicio, fin);
+        return resumenRepository.findByClienteIdAndFechaBetween(clienteId, inicio, fin);
+    }
+
+    @Override
+    public List<ResumenDiario> sumarAnterioresA(Long clienteId, LocalDate fecha) {
+        logger.debug("Sumando resumen diario de cliente ID: {} anterior a {}", clienteId, fecha);
+        return resumenRepository.sumarAnterioresA(clienteId, fecha);
+    }
+}
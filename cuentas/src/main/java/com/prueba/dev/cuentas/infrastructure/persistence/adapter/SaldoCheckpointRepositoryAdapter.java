@@ -0,0 +1,65 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.SaldoCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Adaptador para el repositorio de puntos de control de saldo.
+ * Implementa el puerto de repositorio utilizando JPA.
+ */
+@Component
+public class SaldoCheckpointRepositoryAdapter implements SaldoCheckpointRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(SaldoCheckpointRepositoryAdapter.class);
+
+    private final SaldoCheckpointRepository checkpointRepository;
+
+    public SaldoCheckpointRepositoryAdapter(SaldoCheckpointRepository checkpointRepository) {
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    @Override
+    public SaldoCheckpoint save(SaldoCheckpoint checkpoint) {
+        logger.debug("Guardando checkpoint de cuenta ID: {} hasta movimiento ID: {}", checkpoint.getCuentaId(), checkpoint.getUltimoMovimientoId());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    @Override
+    public Optional<SaldoCheckpoint> findByCuentaId(Long cuentaId) {
+        logger.debug("Buscando checkpoint de cuenta ID: {}", cuentaId);
+        return checkpointRepository.findById(cuentaId);
+    }
+
+    @Override
+    public void deleteByCuentaId(Long cuentaId) {
+        logger.debug("Eliminando checkpoint de cuenta ID: {}", cuentaId);
+        if (checkpointRepository.existsById(cuentaId)) {
+            checkpointRepository.deleteById(cuentaId);
+        }
+    }
+
+    @Override
+    public boolean avanzar(Long cuentaId, Long movimientoId, BigDecimal efecto) {
+        logger.debug("Avanzando checkpoint de cuenta ID: {} con movimiento ID: {}", cuentaId, movimientoId);
+        return checkpointRepository.avanzar(cuentaId, movimientoId, efecto) > 0;
+    }
+
+    @Override
+    public boolean avanzarDesde(Long cuentaId, Long desde, Long hasta, BigDecimal efecto) {
+        logger.debug("Avanzando checkpoint de cuenta ID: {} de movimiento ID: {} a {}", cuentaId, desde, hasta);
+        return checkpointRepository.avanzarDesde(cuentaId, desde, hasta, efecto) > 0;
+    }
+
+    @Override
+    public boolean ajustar(Long cuentaId, Long movimientoId, BigDecimal diferencia) {
+        logger.debug("Ajustando checkpoint de cuenta ID: {} por movimiento ID: {}", cuentaId, movimientoId);
+        return checkpointRepository.ajustar(cuentaId, movimientoId, diferencia) > 0;
+    }
+}
\ No newline at end of file
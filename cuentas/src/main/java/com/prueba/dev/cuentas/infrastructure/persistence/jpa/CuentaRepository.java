@@ -1,11 +1,25 @@
 package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
 
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad Cuenta.
@@ -27,4 +41,70 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
      * @return Lista de cuentas del cliente.
      */
     List<Cuenta> findByClienteId(Long clienteId);
-}
\ No newline at end of file
+
+    /**
+     * Suma un valor al saldo de la cuenta directamente en base de datos.
+     * @param id El ID de la cuenta.
+     * @param valor El valor a acreditar.
+     * @return Número de filas afectadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Cuenta c SET c.saldo = c.saldo + :valor WHERE c.id = :id")
+    int acreditarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    /**
+     * Resta un valor del saldo de la cuenta solo si el saldo es suficiente.
+     * @param id El ID de la cuenta.
+     * @param valor El valor a debitar.
+     * @return Número de filas afectadas (0 si no existe o no hay saldo).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Cuenta c SET c.saldo = c.saldo - :valor WHERE c.id = :id AND c.saldo >= :valor")
+    int debitarSaldo(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    /**
+     * Obtiene el saldo actual de la cuenta sin cargar la entidad.
+     * @param id El ID de la cuenta.
+     * @return Un Optional con el saldo si la cuenta existe.
+     */
+    @Query("SELECT c.saldo FROM Cuenta c WHERE c.id = :id")
+    Optional<BigDecimal> findSaldoById(@Param("id") Long id);
+
+    /**
+     * Busca una cuenta con bloqueo de escritura (SELECT ... FOR UPDATE).
+     * @param id El ID de la cuenta.
+     * @return Un Optional con la cuenta si se encuentra.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cuenta c WHERE c.id = :id")
+    Optional<Cuenta> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Obtiene las cuentas con ID mayor al dado, sin OFFSET.
+     * @param id El ID de la última cuenta de la página anterior (0 para la primera).
+     * @param pagina El tamaño de la página.
+     * @return Cuentas ordenadas por ID.
+     */
+    @Query("SELECT c FROM Cuenta c WHERE c.id > :id ORDER BY c.id")
+    List<Cuenta> findPaginaDespuesDe(@Param("id") Long id, Pageable pagina);
+
+    /**
+     * Recorre las cuentas de un cliente con sus movimientos en un rango, en una sola consulta.
+     * El orden (cuenta, fecha, ID) coincide con idx_movimiento_cuenta_fecha, por lo que cada
+     * cuenta se resuelve con un rango del índice y las filas llegan ya agrupadas por cuenta.
+     * @param clienteId El ID del cliente.
+     * @param inicio Inicio del rango.
+     * @param fin Fin del rango.
+     * @return Stream de filas; debe cerrarse y consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = MovimientoRepository.TAMANIO_FETCH))
+    @Query("SELECT new com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta(c.id, c.clienteId, c.numeroCuenta, " +
+            "c.tipoCuenta, c.saldoInicial, c.estado, c.saldo, m.id, m.fecha, m.tipoMovimiento, m.valor, m.saldo) " +
+            "FROM Cuenta c LEFT JOIN Movimiento m ON m.cuentaId = c.id AND m.fecha BETWEEN :inicio AND :fin " +
+            "WHERE c.clienteId = :clienteId ORDER BY c.id, m.fecha, m.id")
+    Stream<FilaEstadoCuenta> streamEstadoCuenta(@Param("clienteId") Long clienteId,
+                                                @Param("inicio") LocalDateTime inicio,
+                                                @Param("fin") LocalDateTime fin);
+}
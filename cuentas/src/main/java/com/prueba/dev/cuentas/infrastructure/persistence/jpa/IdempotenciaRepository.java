@@ -0,0 +1,40 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
+
+import com.prueba.dev.cuentas.domain.model.RegistroIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio JPA para la entidad RegistroIdempotencia.
+ */
+@Repository
+public interface IdempotenciaRepository extends JpaRepository<RegistroIdempotencia, String> {
+
+    /**
+     * Guarda la respuesta de un registro ya insertado.
+     * Se hace con una sentencia explícita porque el posteo puede limpiar el contexto
+     * de persistencia y desasociar la entidad insertada.
+     * @param clave El Idempotency-Key.
+     * @param respuesta La respuesta serializada.
+     * @return Número de filas actualizadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RegistroIdempotencia r SET r.respuesta = :respuesta WHERE r.clave = :clave")
+    int registrarRespuesta(@Param("clave") String clave, @Param("respuesta") String respuesta);
+
+    /**
+     * Elimina los registros cuya expiración es anterior a la fecha dada.
+     * @param ahora La fecha de referencia.
+     * @return Número de filas eliminadas.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RegistroIdempotencia r WHERE r.fechaExpiracion < :ahora")
+    int deleteByFechaExpiracionBefore(@Param("ahora") LocalDateTime ahora);
+}
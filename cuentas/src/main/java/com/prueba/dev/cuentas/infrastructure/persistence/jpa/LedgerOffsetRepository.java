@@ -0,0 +1,12 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
+
+import com.prueba.dev.cuentas.infrastructure.ledger.LedgerOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio JPA para las secuencias persistidas del ledger en memoria.
+ */
+@Repository
+public interface LedgerOffsetRepository extends JpaRepository<LedgerOffset, Integer> {
+}
@@ -1,10 +1,18 @@
 package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
 
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad Movimiento.
@@ -13,6 +21,12 @@ import java.util.List;
 @Repository
 public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
 
+    /**
+     * Filas que el driver trae por cada viaje al servidor al recorrer un cursor.
+     * En MySQL requiere useCursorFetch=true en la URL; sin él el driver lee todo el resultado.
+     */
+    String TAMANIO_FETCH = "1000";
+
     /**
      * Busca movimientos por cuenta ID.
      * @param cuentaId El ID de la cuenta.
@@ -35,4 +49,97 @@ public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
      * @return Lista de movimientos en el rango.
      */
     List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, java.time.LocalDateTime inicio, java.time.LocalDateTime fin);
-}
\ No newline at end of file
+
+    /**
+     * Busca los movimientos de una cuenta con ID mayor al dado.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID a partir del cual buscar.
+     * @return Lista de movimientos ordenados por ID.
+     */
+    List<Movimiento> findByCuentaIdAndIdGreaterThanOrderByIdAsc(Long cuentaId, Long movimientoId);
+
+    /**
+     * Obtiene los movimientos más recientes.
+     * @param pagina El tamaño de la página.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    @Query("SELECT m FROM Movimiento m ORDER BY m.fecha DESC, m.id DESC")
+    List<Movimiento> findPrimeraPagina(Pageable pagina);
+
+    /**
+     * Obtiene los movimientos anteriores a una posición (fecha, ID), sin OFFSET.
+     * @param fecha La fecha del último movimiento de la página anterior.
+     * @param id El ID del último movimiento de la página anterior.
+     * @param pagina El tamaño de la página.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    @Query("SELECT m FROM Movimiento m WHERE m.fecha < :fecha OR (m.fecha = :fecha AND m.id < :id) " +
+            "ORDER BY m.fecha DESC, m.id DESC")
+    List<Movimiento> findPaginaAnteriorA(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pagina);
+
+    /**
+     * Obtiene los movimientos más recientes de una cuenta.
+     * @param cuentaId El ID de la cuenta.
+     * @param pagina El tamaño de la página.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    @Query("SELECT m FROM Movimiento m WHERE m.cuentaId = :cuentaId ORDER BY m.fecha DESC, m.id DESC")
+    List<Movimiento> findPrimeraPaginaByCuentaId(@Param("cuentaId") Long cuentaId, Pageable pagina);
+
+    /**
+     * Obtiene los movimientos de una cuenta anteriores a una posición (fecha, ID), sin OFFSET.
+     * @param cuentaId El ID de la cuenta.
+     * @param fecha La fecha del último movimiento de la página anterior.
+     * @param id El ID del último movimiento de la página anterior.
+     * @param pagina El tamaño de la página.
+     * @return Movimientos ordenados por fecha e ID descendentes.
+     */
+    @Query("SELECT m FROM Movimiento m WHERE m.cuentaId = :cuentaId " +
+            "AND (m.fecha < :fecha OR (m.fecha = :fecha AND m.id < :id)) ORDER BY m.fecha DESC, m.id DESC")
+    List<Movimiento> findPaginaByCuentaIdAnteriorA(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDateTime fecha,
+                                                    @Param("id") Long id, Pageable pagina);
+
+    /**
+     * Recorre todos los movimientos en orden de ID con un cursor del servidor.
+     * @return Stream de movimientos; debe cerrarse y consumirse dentro de una transacción.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Movimiento m ORDER BY m.id")
+    Stream<Movimiento> streamAll();
+
+    /**
+     * Recorre los movimientos de una cuenta en orden de ID con un cursor del servidor.
+     * @param cuentaId El ID de la cuenta.
+     * @return Stream de movimientos; debe cerrarse y consumirse dentro de una transacción.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Movimiento m WHERE m.cuentaId = :cuentaId ORDER BY m.id")
+    Stream<Movimiento> streamByCuentaId(@Param("cuentaId") Long cuentaId);
+
+    /**
+     * Obtiene las cuentas con movimientos anteriores a una fecha.
+     * @param corte La fecha de corte.
+     * @return Los IDs de las cuentas.
+     */
+    @Query("SELECT DISTINCT m.cuentaId FROM Movimiento m WHERE m.fecha < :corte")
+    List<Long> findCuentaIdsConMovimientosAnterioresA(@Param("corte") LocalDateTime corte);
+
+    /**
+     * Obtiene movimientos de una cuenta anteriores a una fecha y hasta un ID dado.
+     * @param cuentaId El ID de la cuenta.
+     * @param corte La fecha de corte, excluida.
+     * @param hastaId El mayor ID a incluir.
+     * @param pagina El tamaño de la página.
+     * @return Movimientos ordenados por fecha e ID.
+     */
+    @Query("SELECT m FROM Movimiento m WHERE m.cuentaId = :cuentaId AND m.fecha < :corte AND m.id <= :hastaId " +
+            "ORDER BY m.fecha, m.id")
+    List<Movimiento> findArchivables(@Param("cuentaId") Long cuentaId, @Param("corte") LocalDateTime corte,
+                                     @Param("hastaId") Long hastaId, Pageable pagina);
+}
@@ -0,0 +1,22 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
+
+import com.prueba.dev.cuentas.domain.model.EventoOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad EventoOutbox.
+ */
+@Repository
+public interface OutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Busca los eventos más antiguos.
+     * @param pagina Límite de eventos.
+     * @return Eventos ordenados por ID.
+     */
+    List<EventoOutbox> findAllByOrderByIdAsc(Pageable pagina);
+}
@@ -0,0 +1,60 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
+
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio JPA para la entidad ResumenDiario.
+ * Los incrementos se aplican con un único INSERT ... ON DUPLICATE KEY UPDATE,
+ * sin leer la fila y sin carreras al crearla.
+ */
+@Repository
+public interface ResumenDiarioRepository extends JpaRepository<ResumenDiario, ResumenDiario.Clave> {
+
+    /**
+     * Suma un incremento a la fila del resumen o la crea.
+     * @param cuentaId El ID de la cuenta.
+     * @param fecha El día.
+     * @param tipoMovimiento El tipo de movimiento.
+     * @param cantidad Incremento con signo de la cantidad.
+     * @param total Incremento con signo del total.
+     * @return Número de filas afectadas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resumen_diario (cuenta_id, fecha, tipo_movimiento, cantidad, total) " +
+            "VALUES (:cuentaId, :fecha, :tipoMovimiento, :cantidad, :total) " +
+            "ON DUPLICATE KEY UPDATE cantidad = cantidad + :cantidad, total = total + :total", nativeQuery = true)
+    int acumular(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDate fecha, @Param("tipoMovimiento") String tipoMovimiento,
+                 @Param("cantidad") long cantidad, @Param("total") BigDecimal total);
+
+    /**
+     * Obtiene los resúmenes de las cuentas de un cliente en un rango de días.
+     * @param clienteId El ID del cliente.
+     * @param inicio Primer día.
+     * @param fin Último día.
+     * @return Resúmenes ordenados por cuenta y día.
+     */
+    @Query("SELECT r FROM ResumenDiario r, Cuenta c WHERE c.id = r.cuentaId AND c.clienteId = :clienteId " +
+            "AND r.fecha BETWEEN :inicio AND :fin ORDER BY r.cuentaId, r.fecha, r.tipoMovimiento")
+    List<ResumenDiario> findByClienteIdAndFechaBetween(@Param("clienteId") Long clienteId, @Param("inicio") LocalDate inicio,
+                                                       @Param("fin") LocalDate fin);
+
+    /**
+     * Suma por cuenta y tipo los resúmenes de un cliente anteriores a un día.
+     * @param clienteId El ID del cliente.
+     * @param fecha El día desde el que se excluyen los resúmenes.
+     * @return Totales por cuenta y tipo.
+     */
+    @Query("SELECT new com.prueba.dev.cuentas.domain.model.ResumenDiario(r.cuentaId, r.tipoMovimiento, SUM(r.cantidad), SUM(r.total)) " +
+            "FROM ResumenDiario r, Cuenta c WHERE c.id = r.cuentaId AND c.clienteId = :clienteId AND r.fecha < :fecha " +
+            "GROUP BY r.cuentaId, r.tipoMovimiento")
+    List<ResumenDiario> sumarAnterioresA(@Param("clienteId") Long clienteId, @Param("fecha") LocalDate fecha);
+}
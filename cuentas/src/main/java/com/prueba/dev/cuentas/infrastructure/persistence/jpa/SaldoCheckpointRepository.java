@@ -0,0 +1,60 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.jpa;
+
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Repositorio JPA para la entidad SaldoCheckpoint.
+ * Las actualizaciones se aplican con sentencias UPDATE condicionales para
+ * no perder incrementos entre transacciones concurrentes.
+ */
+@Repository
+public interface SaldoCheckpointRepository extends JpaRepository<SaldoCheckpoint, Long> {
+
+    /**
+     * Suma el efecto de un movimiento nuevo al punto de control.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID del movimiento.
+     * @param efecto El efecto con signo.
+     * @return Número de filas afectadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SaldoCheckpoint s SET s.saldo = s.saldo + :efecto, s.ultimoMovimientoId = :movimientoId, " +
+            "s.fechaActualizacion = CURRENT_TIMESTAMP WHERE s.cuentaId = :cuentaId AND s.ultimoMovimientoId < :movimientoId")
+    int avanzar(@Param("cuentaId") Long cuentaId, @Param("movimientoId") Long movimientoId, @Param("efecto") BigDecimal efecto);
+
+    /**
+     * Suma el efecto de un tramo de movimientos si el punto de control no cambió.
+     * @param cuentaId El ID de la cuenta.
+     * @param desde El último movimiento esperado.
+     * @param hasta El nuevo último movimiento.
+     * @param efecto El efecto con signo acumulado.
+     * @return Número de filas afectadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SaldoCheckpoint s SET s.saldo = s.saldo + :efecto, s.ultimoMovimientoId = :hasta, " +
+            "s.fechaActualizacion = CURRENT_TIMESTAMP WHERE s.cuentaId = :cuentaId AND s.ultimoMovimientoId = :desde")
+    int avanzarDesde(@Param("cuentaId") Long cuentaId, @Param("desde") Long desde, @Param("hasta") Long hasta, @Param("efecto") BigDecimal efecto);
+
+    /**
+     * Corrige el saldo del punto de control si ya incluye el movimiento.
+     * @param cuentaId El ID de la cuenta.
+     * @param movimientoId El ID del movimiento.
+     * @param diferencia La diferencia con signo.
+     * @return Número de filas afectadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SaldoCheckpoint s SET s.saldo = s.saldo + :diferencia, s.fechaActualizacion = CURRENT_TIMESTAMP " +
+            "WHERE s.cuentaId = :cuentaId AND s.ultimoMovimientoId >= :movimientoId")
+    int ajustar(@Param("cuentaId") Long cuentaId, @Param("movimientoId") Long movimientoId, @Param("diferencia") BigDecimal diferencia);
+}
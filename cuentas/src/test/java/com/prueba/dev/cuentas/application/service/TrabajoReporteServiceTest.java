@@ -0,0 +1,155 @@
+package com.prueba.dev.cuentas.application.service;
+
+import com.prueba.dev.cuentas.application.dto.TrabajoReporteDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TrabajoReporteServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIN = LocalDate.of(2024, 12, 31);
+
+    @Mock
+    private ReporteEstadoCuentaService reporteEstadoCuentaService;
+
+    @TempDir
+    Path directorio;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private TrabajoReporteService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(reporteEstadoCuentaService.escribirEstadoCuenta(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            OutputStream salida = invocation.getArgument(3);
+            salida.write("{\"status\":true}".getBytes(StandardCharsets.UTF_8));
+            return 3L;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        service.detener();
+    }
+
+    @Test
+    void solicitar_ShouldReuseJobInCurso_ForSameClienteAndRange() throws Exception {
+        service = nuevoService(2, 10);
+
+        TrabajoReporteDTO primero = service.solicitar(1L, INICIO, FIN);
+        TrabajoReporteDTO duplicado = service.solicitar(1L, INICIO, FIN);
+        TrabajoReporteDTO otroRango = service.solicitar(1L, INICIO, FIN.minusDays(1));
+
+        assertEquals(primero.getId(), duplicado.getId());
+        assertNotEquals(primero.getId(), otroRango.getId());
+
+        liberar.countDown();
+        TrabajoReporteDTO terminado = esperar(primero.getId());
+        assertEquals(TrabajoReporteService.COMPLETADO, terminado.getEstado());
+        assertEquals(3L, terminado.getMovimientos());
+        Path archivo = service.getResultado(primero.getId()).orElseThrow();
+        try (GZIPInputStream entrada = new GZIPInputStream(Files.newInputStream(archivo))) {
+            assertEquals("{\"status\":true}", new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNotEquals(primero.getId(), service.solicitar(1L, INICIO, FIN).getId());
+        verify(reporteEstadoCuentaService, timeout(5000).times(3)).escribirEstadoCuenta(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void solicitar_ShouldReject_WhenQueueIsFull() {
+        service = nuevoService(1, 1);
+
+        service.solicitar(1L, INICIO, FIN);
+        service.solicitar(2L, INICIO, FIN);
+
+        assertThrows(RejectedExecutionException.class, () -> service.solicitar(3L, INICIO, FIN));
+        // El trabajo rechazado no queda registrado: un reintento puede encolarse cuando haya espacio
+        liberar.countDown();
+    }
+
+    @Test
+    void generar_ShouldMarkFallido_AndRemoveTemporaryFile_WhenReportFails() throws Exception {
+        doThrow(new IOException("disco lleno")).when(reporteEstadoCuentaService).escribirEstadoCuenta(anyLong(), any(), any(), any());
+        service = nuevoService(1, 1);
+
+        TrabajoReporteDTO trabajo = esperar(service.solicitar(1L, INICIO, FIN).getId());
+
+        assertEquals(TrabajoReporteService.FALLIDO, trabajo.getEstado());
+        assertEquals("disco lleno", trabajo.getError());
+        assertTrue(service.getResultado(trabajo.getId()).isEmpty());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+
+    @Test
+    void solicitar_ShouldRejectInvertedRange() {
+        service = nuevoService(1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> service.solicitar(1L, FIN, INICIO));
+    }
+
+    @Test
+    void purga_ShouldDeleteExpiredJobs_WithoutNewRequests() throws Exception {
+        service = new TrabajoReporteService(reporteEstadoCuentaService, new SimpleMeterRegistry(), directorio.toString(),
+                1, 1, Duration.ofMillis(200), Duration.ofMillis(20), false);
+        liberar.countDown();
+
+        TrabajoReporteDTO trabajo = esperar(service.solicitar(1L, INICIO, FIN).getId());
+        assertEquals(TrabajoReporteService.COMPLETADO, trabajo.getEstado());
+        Path archivo = service.getResultado(trabajo.getId()).orElseThrow();
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (service.getTrabajo(trabajo.getId()).isPresent() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(service.getTrabajo(trabajo.getId()).isEmpty());
+        assertFalse(Files.exists(archivo));
+        verify(reporteEstadoCuentaService, times(1)).escribirEstadoCuenta(anyLong(), any(), any(), any());
+    }
+
+    private TrabajoReporteService nuevoService(int hilos, int capacidadCola) {
+        return new TrabajoReporteService(reporteEstadoCuentaService, new SimpleMeterRegistry(), directorio.toString(),
+                hilos, capacidadCola, Duration.ofHours(1), Duration.ofHours(1), false);
+    }
+
+    private TrabajoReporteDTO esperar(String id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < limite) {
+            TrabajoReporteDTO trabajo = service.getTrabajo(id).orElseThrow();
+            if (trabajo.getTerminado() != null) {
+                return trabajo;
+            }
+            Thread.sleep(10);
+        }
+        fail("El trabajo " + id + " no terminó");
+        return null;
+    }
+}
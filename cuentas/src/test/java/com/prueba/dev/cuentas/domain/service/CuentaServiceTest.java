@@ -1,11 +1,19 @@
 package com.prueba.dev.cuentas.domain.service;
 
+import com.prueba.dev.cuentas.application.dto.EstadoCuentaDTO;
 import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
 import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
 import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.FilaEstadoCuenta;
 import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResultadoLote;
+import com.prueba.dev.cuentas.domain.model.SaldoCheckpoint;
+import com.prueba.dev.cuentas.domain.port.AgrupadorPosteoPort;
 import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MotorPosteoPort;
 import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,13 +21,20 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CuentaServiceTest {
@@ -30,6 +45,12 @@ class CuentaServiceTest {
     @Mock
     private MovimientoRepositoryPort movimientoRepositoryPort;
 
+    @Mock
+    private SaldoCheckpointRepositoryPort checkpointRepositoryPort;
+
+    @Mock
+    private ResumenDiarioRepositoryPort resumenRepositoryPort;
+
     @InjectMocks
     private CuentaService cuentaService;
 
@@ -72,6 +93,16 @@ class CuentaServiceTest {
         verify(cuentaRepositoryPort, times(1)).findById(1L);
     }
 
+    @Test
+    void getCuentasPagina_ShouldSeekAfterId() {
+        when(cuentaRepositoryPort.findPagina(10L, 21)).thenReturn(Arrays.asList(cuenta));
+
+        List<Cuenta> result = cuentaService.getCuentasPagina(10L, 21);
+
+        assertEquals(1, result.size());
+        verify(cuentaRepositoryPort, times(1)).findPagina(10L, 21);
+    }
+
     @Test
     void getAllCuentas_ShouldReturnListOfCuentas() {
         List<Cuenta> cuentas = Arrays.asList(cuenta);
@@ -86,17 +117,63 @@ class CuentaServiceTest {
 
     @Test
     void updateCuenta_ShouldReturnUpdatedCuenta() {
-        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(cuenta));
         when(cuentaRepositoryPort.save(any(Cuenta.class))).thenReturn(cuenta);
 
         Cuenta updatedCuenta = new Cuenta(1L, "987654321", "Corriente", BigDecimal.valueOf(2000), BigDecimal.valueOf(2000), "ACTIVO");
         Cuenta result = cuentaService.updateCuenta(1L, updatedCuenta);
 
         assertNotNull(result);
-        verify(cuentaRepositoryPort, times(1)).findById(1L);
+        verify(cuentaRepositoryPort, times(1)).findByIdParaActualizar(1L);
         verify(cuentaRepositoryPort, times(1)).save(any(Cuenta.class));
     }
 
+    @Test
+    void updateCuenta_ShouldNotWriteBackCachedSaldo() {
+        Cuenta cacheada = new Cuenta(1L, "123456789", "Ahorros", BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), "ACTIVO");
+        Cuenta actual = new Cuenta(1L, "123456789", "Ahorros", BigDecimal.valueOf(1000), BigDecimal.valueOf(1500), "ACTIVO");
+        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cacheada));
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(actual));
+        when(cuentaRepositoryPort.save(any(Cuenta.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Cuenta cambios = new Cuenta(1L, "123456789", "Corriente", null, null, "INACTIVO");
+        cuentaService.updateCuenta(1L, cambios);
+
+        verify(cuentaRepositoryPort, never()).findById(1L);
+        verify(cuentaRepositoryPort).save(argThat(guardada -> BigDecimal.valueOf(1500).equals(guardada.getSaldo())
+                && "Corriente".equals(guardada.getTipoCuenta())));
+    }
+
+    @Test
+    void corregirSaldo_ShouldApplyOnlyTheDifference() {
+        when(cuentaRepositoryPort.acreditarSaldo(1L, BigDecimal.valueOf(250))).thenReturn(Optional.of(BigDecimal.valueOf(1250)));
+
+        BigDecimal result = cuentaService.corregirSaldo(1L, BigDecimal.valueOf(250));
+
+        assertEquals(BigDecimal.valueOf(1250), result);
+        verify(cuentaRepositoryPort, never()).save(any(Cuenta.class));
+        verify(movimientoRepositoryPort, never()).findByCuentaIdAndIdGreaterThan(anyLong(), anyLong());
+    }
+
+    @Test
+    void corregirSaldo_ShouldDebitNegativeDifference() {
+        when(cuentaRepositoryPort.debitarSaldo(1L, BigDecimal.valueOf(300))).thenReturn(Optional.of(BigDecimal.valueOf(700)));
+
+        BigDecimal result = cuentaService.corregirSaldo(1L, BigDecimal.valueOf(-300));
+
+        assertEquals(BigDecimal.valueOf(700), result);
+        verify(cuentaRepositoryPort, never()).acreditarSaldo(anyLong(), any());
+    }
+
+    @Test
+    void corregirSaldo_ShouldThrowException_WhenSaldoInsufficient() {
+        when(cuentaRepositoryPort.debitarSaldo(1L, BigDecimal.valueOf(1500))).thenReturn(Optional.empty());
+        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
+
+        assertThrows(SaldoInsuficienteException.class, () -> cuentaService.corregirSaldo(1L, BigDecimal.valueOf(-1500)));
+        verify(cuentaRepositoryPort, never()).save(any(Cuenta.class));
+    }
+
     @Test
     void deleteCuenta_ShouldCallRepositoryDelete() {
         when(cuentaRepositoryPort.existsById(1L)).thenReturn(true);
@@ -110,44 +187,49 @@ class CuentaServiceTest {
     @Test
     void depositar_ShouldIncreaseSaldoAndCreateMovimiento() {
         BigDecimal deposito = BigDecimal.valueOf(500);
-        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
-        when(cuentaRepositoryPort.save(any(Cuenta.class))).thenReturn(cuenta);
-
-        Movimiento movimiento = new Movimiento(1L, "Deposito", deposito, BigDecimal.valueOf(1500));
-        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenReturn(movimiento);
+        when(cuentaRepositoryPort.acreditarSaldo(1L, deposito)).thenReturn(Optional.of(BigDecimal.valueOf(1500)));
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Movimiento result = cuentaService.depositar(1L, deposito);
 
         assertNotNull(result);
         assertEquals(deposito, result.getValor());
         assertEquals(BigDecimal.valueOf(1500), result.getSaldo());
-        verify(cuentaRepositoryPort, times(1)).findById(1L);
-        verify(cuentaRepositoryPort, times(1)).save(any(Cuenta.class));
+        verify(cuentaRepositoryPort, times(1)).acreditarSaldo(1L, deposito);
+        verify(cuentaRepositoryPort, never()).findById(1L);
+        verify(cuentaRepositoryPort, never()).save(any(Cuenta.class));
         verify(movimientoRepositoryPort, times(1)).save(any(Movimiento.class));
     }
 
+    @Test
+    void depositar_ShouldThrowException_WhenCuentaNotExists() {
+        when(cuentaRepositoryPort.acreditarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.empty());
+
+        assertThrows(CuentaNotFoundException.class, () -> cuentaService.depositar(1L, BigDecimal.TEN));
+        verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
+    }
+
     @Test
     void retirar_ShouldDecreaseSaldoAndCreateMovimiento_WhenSaldoSufficient() {
         BigDecimal retiro = BigDecimal.valueOf(300);
-        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
-        when(cuentaRepositoryPort.save(any(Cuenta.class))).thenReturn(cuenta);
-
-        Movimiento movimiento = new Movimiento(1L, "Retiro", retiro.negate(), BigDecimal.valueOf(700));
-        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenReturn(movimiento);
+        when(cuentaRepositoryPort.debitarSaldo(1L, retiro)).thenReturn(Optional.of(BigDecimal.valueOf(700)));
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Movimiento result = cuentaService.retirar(1L, retiro);
 
         assertNotNull(result);
-        assertEquals(retiro.negate(), result.getValor());
+        assertEquals(retiro, result.getValor());
+        assertEquals("RETIRO", result.getTipoMovimiento());
         assertEquals(BigDecimal.valueOf(700), result.getSaldo());
-        verify(cuentaRepositoryPort, times(1)).findById(1L);
-        verify(cuentaRepositoryPort, times(1)).save(any(Cuenta.class));
+        verify(cuentaRepositoryPort, times(1)).debitarSaldo(1L, retiro);
+        verify(cuentaRepositoryPort, never()).save(any(Cuenta.class));
         verify(movimientoRepositoryPort, times(1)).save(any(Movimiento.class));
     }
 
     @Test
     void retirar_ShouldThrowException_WhenSaldoInsufficient() {
         BigDecimal retiro = BigDecimal.valueOf(1500);
+        when(cuentaRepositoryPort.debitarSaldo(1L, retiro)).thenReturn(Optional.empty());
         when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
 
         assertThrows(SaldoInsuficienteException.class, () -> cuentaService.retirar(1L, retiro));
@@ -155,4 +237,216 @@ class CuentaServiceTest {
         verify(cuentaRepositoryPort, never()).save(any(Cuenta.class));
         verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void retirar_ShouldThrowException_WhenCuentaNotExists() {
+        when(cuentaRepositoryPort.debitarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.empty());
+        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(CuentaNotFoundException.class, () -> cuentaService.retirar(1L, BigDecimal.TEN));
+        verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
+    }
+
+    @Test
+    void calcularSaldoActual_ShouldReplayOnlyTail_WhenCheckpointExists() {
+        when(checkpointRepositoryPort.findByCuentaId(1L)).thenReturn(Optional.of(new SaldoCheckpoint(1L, 10L, BigDecimal.valueOf(2000))));
+        Movimiento deposito = movimientoConId(11L, "DEPOSITO", BigDecimal.valueOf(300));
+        Movimiento retiro = movimientoConId(12L, "RETIRO", BigDecimal.valueOf(100));
+        when(movimientoRepositoryPort.findByCuentaIdAndIdGreaterThan(1L, 10L)).thenReturn(Arrays.asList(deposito, retiro));
+
+        BigDecimal result = cuentaService.calcularSaldoActual(1L);
+
+        assertEquals(0, BigDecimal.valueOf(2200).compareTo(result));
+        verify(cuentaRepositoryPort, never()).findById(anyLong());
+        verify(movimientoRepositoryPort, never()).findByCuentaIdOrderByFechaDesc(anyLong());
+        verify(checkpointRepositoryPort, times(1)).avanzarDesde(1L, 10L, 12L, BigDecimal.valueOf(200));
+    }
+
+    @Test
+    void calcularSaldoActual_ShouldBuildCheckpoint_WhenMissing() {
+        when(checkpointRepositoryPort.findByCuentaId(1L)).thenReturn(Optional.empty());
+        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
+        when(movimientoRepositoryPort.findByCuentaIdAndIdGreaterThan(1L, 0L))
+                .thenReturn(List.of(movimientoConId(1L, "DEPOSITO", BigDecimal.valueOf(500))));
+
+        BigDecimal result = cuentaService.calcularSaldoActual(1L);
+
+        assertEquals(0, BigDecimal.valueOf(1500).compareTo(result));
+        verify(checkpointRepositoryPort, times(1)).save(any(SaldoCheckpoint.class));
+    }
+
+    @Test
+    void depositar_ShouldAdvanceCheckpoint() {
+        when(cuentaRepositoryPort.acreditarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.of(BigDecimal.valueOf(1010)));
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> {
+            Movimiento guardado = invocation.getArgument(0);
+            guardado.setId(5L);
+            return guardado;
+        });
+
+        cuentaService.depositar(1L, BigDecimal.TEN);
+
+        verify(checkpointRepositoryPort, times(1)).avanzar(1L, 5L, BigDecimal.TEN);
+    }
+
+    @Test
+    void postearLote_ShouldAccumulateResumenDiario_PerCuentaDiaYTipo() {
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(cuenta));
+        List<Movimiento> lote = List.of(
+                movimientoConId(1L, "DEPOSITO", BigDecimal.TEN),
+                movimientoConId(2L, "DEPOSITO", BigDecimal.valueOf(5)),
+                movimientoConId(3L, "RETIRO", BigDecimal.valueOf(3)));
+
+        cuentaService.postearLote(lote);
+
+        verify(resumenRepositoryPort).acumular(argThat(incrementos -> incrementos.size() == 2
+                && incrementos.get(0).getTipoMovimiento().equals("DEPOSITO")
+                && incrementos.get(0).getCantidad() == 2
+                && incrementos.get(0).getTotal().compareTo(BigDecimal.valueOf(15)) == 0
+                && incrementos.get(1).getTipoMovimiento().equals("RETIRO")
+                && incrementos.get(1).getCantidad() == 1));
+    }
+
+    private Movimiento movimientoConId(Long id, String tipo, BigDecimal valor) {
+        Movimiento movimiento = new Movimiento(1L, tipo, valor, BigDecimal.ZERO);
+        movimiento.setId(id);
+        return movimiento;
+    }
+
+    @Test
+    void postearMovimiento_ShouldApplyAndSave_WhenNoMotor() {
+        Movimiento deposito = new Movimiento(1L, "DEPOSITO", BigDecimal.valueOf(500), BigDecimal.ZERO);
+        when(cuentaRepositoryPort.acreditarSaldo(1L, BigDecimal.valueOf(500))).thenReturn(Optional.of(BigDecimal.valueOf(1500)));
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Movimiento result = cuentaService.postearMovimiento(deposito);
+
+        assertEquals(BigDecimal.valueOf(1500), result.getSaldo());
+        verify(movimientoRepositoryPort, times(1)).save(deposito);
+    }
+
+    @Test
+    void postearMovimiento_ShouldDelegateToMotor_WhenConfigured() {
+        MotorPosteoPort motor = mock(MotorPosteoPort.class);
+        cuentaService.setMotorPosteo(motor);
+        Movimiento retiro = new Movimiento(1L, "RETIRO", BigDecimal.valueOf(200), BigDecimal.ZERO);
+        Movimiento posteado = new Movimiento(1L, "RETIRO", BigDecimal.valueOf(200), BigDecimal.valueOf(800));
+        when(motor.postear(1L, "RETIRO", BigDecimal.valueOf(200))).thenReturn(posteado);
+
+        Movimiento result = cuentaService.postearMovimiento(retiro);
+
+        assertSame(posteado, result);
+        verify(cuentaRepositoryPort, never()).debitarSaldo(anyLong(), any(BigDecimal.class));
+        verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void depositar_ShouldApplyThroughAgrupador_WhenConfigured() {
+        AgrupadorPosteoPort agrupador = mock(AgrupadorPosteoPort.class);
+        cuentaService.setAgrupadorPosteo(agrupador);
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(cuenta));
+        when(movimientoRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Movimiento> movimientos = invocation.getArgument(0);
+            movimientos.forEach(m -> m.setId(10L));
+            return movimientos;
+        });
+        when(agrupador.postear(any(Movimiento.class), any(Function.class))).thenAnswer(invocation -> {
+            Movimiento movimiento = invocation.getArgument(0);
+            Function<List<Movimiento>, ResultadoLote> aplicarGrupo = invocation.getArgument(1);
+            return aplicarGrupo.apply(List.of(movimiento)).getAceptados().get(0);
+        });
+
+        Movimiento result = cuentaService.depositar(1L, BigDecimal.valueOf(500));
+
+        assertEquals("DEPOSITO", result.getTipoMovimiento());
+        assertEquals(0, BigDecimal.valueOf(1500).compareTo(result.getSaldo()));
+        verify(cuentaRepositoryPort).acreditarSaldo(1L, BigDecimal.valueOf(500));
+        verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
+    }
+
+    @Test
+    void postearLote_ShouldComputeSaldosInMemoryAndRejectOverdrafts() {
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(cuenta));
+        when(cuentaRepositoryPort.findByIdParaActualizar(2L)).thenReturn(Optional.empty());
+        when(movimientoRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Movimiento> movimientos = invocation.getArgument(0);
+            long id = 10;
+            for (Movimiento movimiento : movimientos) {
+                movimiento.setId(id++);
+            }
+            return movimientos;
+        });
+        List<Movimiento> lote = Arrays.asList(
+                new Movimiento(1L, "RETIRO", BigDecimal.valueOf(800), BigDecimal.ZERO),
+                new Movimiento(2L, "DEPOSITO", BigDecimal.valueOf(50), BigDecimal.ZERO),
+                new Movimiento(1L, "RETIRO", BigDecimal.valueOf(300), BigDecimal.ZERO),
+                new Movimiento(1L, "DEPOSITO", BigDecimal.valueOf(100), BigDecimal.ZERO));
+
+        ResultadoLote resultado = cuentaService.postearLote(lote);
+
+        assertEquals(2, resultado.getAceptados().size());
+        assertEquals(BigDecimal.valueOf(200), resultado.getAceptados().get(0).getSaldo());
+        assertEquals(BigDecimal.valueOf(300), resultado.getAceptados().get(3).getSaldo());
+        assertEquals("Cuenta no encontrada con ID: 2", resultado.getRechazados().get(1));
+        assertEquals("Saldo no disponible", resultado.getRechazados().get(2));
+        verify(cuentaRepositoryPort, times(1)).acreditarSaldo(1L, BigDecimal.valueOf(-700));
+        verify(checkpointRepositoryPort, times(1)).avanzar(1L, 11L, BigDecimal.valueOf(-700));
+    }
+
+    @Test
+    void transferir_ShouldLockInIdOrderAndLinkBothLegs() {
+        Cuenta destino = new Cuenta(2L, "987654321", "Ahorros", BigDecimal.ZERO, BigDecimal.ZERO, "ACTIVO");
+        destino.setId(2L);
+        when(cuentaRepositoryPort.findByIdParaActualizar(1L)).thenReturn(Optional.of(cuenta));
+        when(cuentaRepositoryPort.findByIdParaActualizar(2L)).thenReturn(Optional.of(destino));
+        when(cuentaRepositoryPort.debitarSaldo(2L, BigDecimal.TEN)).thenReturn(Optional.of(BigDecimal.valueOf(90)));
+        when(cuentaRepositoryPort.acreditarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.of(BigDecimal.valueOf(1010)));
+        when(movimientoRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Movimiento> result = cuentaService.transferir(2L, 1L, BigDecimal.TEN);
+
+        assertEquals("TRANSFERENCIA", result.get(0).getTipoMovimiento());
+        assertEquals("DEPOSITO", result.get(1).getTipoMovimiento());
+        assertNotNull(result.get(0).getTransferenciaId());
+        assertEquals(result.get(0).getTransferenciaId(), result.get(1).getTransferenciaId());
+        var orden = inOrder(cuentaRepositoryPort);
+        orden.verify(cuentaRepositoryPort).findByIdParaActualizar(1L);
+        orden.verify(cuentaRepositoryPort).findByIdParaActualizar(2L);
+        orden.verify(cuentaRepositoryPort).debitarSaldo(2L, BigDecimal.TEN);
+    }
+
+    @Test
+    void transferir_ShouldThrowException_WhenSaldoInsufficient() {
+        when(cuentaRepositoryPort.findByIdParaActualizar(anyLong())).thenReturn(Optional.of(cuenta));
+        when(cuentaRepositoryPort.debitarSaldo(1L, BigDecimal.valueOf(5000))).thenReturn(Optional.empty());
+        when(cuentaRepositoryPort.findById(1L)).thenReturn(Optional.of(cuenta));
+
+        assertThrows(SaldoInsuficienteException.class, () -> cuentaService.transferir(1L, 2L, BigDecimal.valueOf(5000)));
+        verify(cuentaRepositoryPort, never()).acreditarSaldo(anyLong(), any(BigDecimal.class));
+        verify(movimientoRepositoryPort, never()).saveAll(anyList());
+    }
+
+    @Test
+    void transferir_ShouldThrowException_WhenSameCuenta() {
+        assertThrows(IllegalArgumentException.class, () -> cuentaService.transferir(1L, 1L, BigDecimal.TEN));
+    }
+
+    @Test
+    void getEstadoCuenta_ShouldGroupRowsByCuenta_WithSingleQuery() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 10, 9, 0);
+        BigDecimal saldo = BigDecimal.valueOf(1000);
+        when(cuentaRepositoryPort.streamEstadoCuenta(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Stream.of(
+                new FilaEstadoCuenta(1L, 7L, "111", "Ahorros", saldo, "ACTIVA", saldo, 10L, fecha, "DEPOSITO", BigDecimal.TEN, saldo),
+                new FilaEstadoCuenta(1L, 7L, "111", "Ahorros", saldo, "ACTIVA", saldo, 11L, fecha, "RETIRO", BigDecimal.ONE, saldo),
+                new FilaEstadoCuenta(2L, 7L, "222", "Corriente", saldo, "ACTIVA", saldo, null, null, null, null, null)));
+
+        EstadoCuentaDTO result = cuentaService.getEstadoCuenta(7L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        assertEquals(2, result.getCuentas().size());
+        assertEquals(2, result.getCuentas().get(0).getMovimientos().size());
+        assertTrue(result.getCuentas().get(1).getMovimientos().isEmpty());
+        verify(cuentaRepositoryPort, never()).findByClienteId(anyLong());
+        verify(movimientoRepositoryPort, never()).findByCuentaIdAndFechaBetween(anyLong(), any(), any());
+    }
+}
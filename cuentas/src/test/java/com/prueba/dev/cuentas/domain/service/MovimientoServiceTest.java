@@ -1,21 +1,25 @@
 package com.prueba.dev.cuentas.domain.service;
 
 import com.prueba.dev.cuentas.domain.exception.MovimientoNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
 import com.prueba.dev.cuentas.domain.model.Movimiento;
 import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class MovimientoServiceTest {
@@ -23,6 +27,9 @@ class MovimientoServiceTest {
     @Mock
     private MovimientoRepositoryPort movimientoRepositoryPort;
 
+    @Mock
+    private CuentaService cuentaService;
+
     @InjectMocks
     private MovimientoService movimientoService;
 
@@ -37,13 +44,24 @@ class MovimientoServiceTest {
 
     @Test
     void createMovimiento_ShouldReturnSavedMovimiento() {
-        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenReturn(movimiento);
+        when(cuentaService.postearMovimiento(movimiento)).thenReturn(movimiento);
 
         Movimiento result = movimientoService.createMovimiento(movimiento);
 
         assertNotNull(result);
         assertEquals(movimiento.getId(), result.getId());
-        verify(movimientoRepositoryPort, times(1)).save(movimiento);
+        verify(cuentaService, times(1)).postearMovimiento(movimiento);
+        verify(cuentaService, never()).calcularSaldoActual(anyLong());
+    }
+
+    @Test
+    void createMovimiento_ShouldNotSave_WhenSaldoInsufficient() {
+        Movimiento retiro = new Movimiento(1L, "RETIRO", BigDecimal.valueOf(5000), BigDecimal.ZERO);
+        when(cuentaService.postearMovimiento(retiro))
+                .thenThrow(new SaldoInsuficienteException("Saldo no disponible"));
+
+        assertThrows(SaldoInsuficienteException.class, () -> movimientoService.createMovimiento(retiro));
+        verify(movimientoRepositoryPort, never()).save(any(Movimiento.class));
     }
 
     @Test
@@ -89,26 +107,49 @@ class MovimientoServiceTest {
         verify(movimientoRepositoryPort, times(1)).findByCuentaIdOrderByFechaDesc(1L);
     }
 
+    @Test
+    void getMovimientosByCuentaIdPagina_ShouldSeekFromCursor() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 0);
+        when(movimientoRepositoryPort.findPaginaByCuentaId(1L, fecha, 7L, 51)).thenReturn(Arrays.asList(movimiento));
+
+        List<Movimiento> result = movimientoService.getMovimientosByCuentaIdPagina(1L, fecha, 7L, 51);
+
+        assertEquals(1, result.size());
+        verify(movimientoRepositoryPort, times(1)).findPaginaByCuentaId(1L, fecha, 7L, 51);
+    }
+
     @Test
     void updateMovimiento_ShouldReturnUpdatedMovimiento() {
         when(movimientoRepositoryPort.findById(1L)).thenReturn(Optional.of(movimiento));
         when(movimientoRepositoryPort.save(any(Movimiento.class))).thenReturn(movimiento);
+        when(cuentaService.corregirSaldo(1L, BigDecimal.valueOf(-300))).thenReturn(BigDecimal.valueOf(1200));
 
-        Movimiento updatedMovimiento = new Movimiento(1L, "Retiro", BigDecimal.valueOf(-200), BigDecimal.valueOf(1300));
+        Movimiento updatedMovimiento = new Movimiento(1L, "Retiro", BigDecimal.valueOf(200), BigDecimal.valueOf(1300));
         Movimiento result = movimientoService.updateMovimiento(1L, updatedMovimiento);
 
         assertNotNull(result);
+        assertEquals(BigDecimal.valueOf(1200), result.getSaldo());
         verify(movimientoRepositoryPort, times(1)).findById(1L);
         verify(movimientoRepositoryPort, times(1)).save(any(Movimiento.class));
+        // El depósito pasa de 500 a 200: la cuenta y el checkpoint bajan 300, en ese orden
+        InOrder orden = inOrder(cuentaService);
+        orden.verify(cuentaService).corregirSaldo(1L, BigDecimal.valueOf(-300));
+        orden.verify(cuentaService).ajustarCheckpoint(movimiento, BigDecimal.valueOf(-300));
+        verify(cuentaService, never()).calcularSaldoActual(anyLong());
     }
 
     @Test
     void deleteMovimiento_ShouldCallRepositoryDelete() {
-        when(movimientoRepositoryPort.existsById(1L)).thenReturn(true);
+        when(movimientoRepositoryPort.findById(1L)).thenReturn(Optional.of(movimiento));
+        when(cuentaService.corregirSaldo(1L, BigDecimal.valueOf(-500))).thenReturn(BigDecimal.valueOf(1000));
 
         movimientoService.deleteMovimiento(1L);
 
-        verify(movimientoRepositoryPort, times(1)).existsById(1L);
-        verify(movimientoRepositoryPort, times(1)).deleteById(1L);
+        verify(movimientoRepositoryPort, times(1)).findById(1L);
+        InOrder orden = inOrder(cuentaService, movimientoRepositoryPort);
+        orden.verify(cuentaService).corregirSaldo(1L, BigDecimal.valueOf(-500));
+        orden.verify(movimientoRepositoryPort).deleteById(1L);
+        orden.verify(cuentaService).ajustarCheckpoint(movimiento, BigDecimal.valueOf(-500));
+        verify(cuentaService, never()).calcularSaldoActual(anyLong());
     }
-}
\ No newline at end of file
+}
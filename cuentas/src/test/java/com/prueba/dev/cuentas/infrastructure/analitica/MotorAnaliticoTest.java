@@ -0,0 +1,169 @@
+package com.prueba.dev.cuentas.infrastructure.analitica;
+
+import com.prueba.dev.cuentas.domain.model.AgregadoMovimientos;
+import com.prueba.dev.cuentas.domain.model.ConsultaAnalitica;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.DimensionAnalitica;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.ArchivoMovimientosPort;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class MotorAnaliticoTest {
+
+    private static final String[] TIPOS = {"DEPOSITO", "RETIRO", "TRANSFERENCIA"};
+
+    @Mock
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Mock
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Mock
+    private ArchivoMovimientosPort archivo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Movimiento> calientes = new ArrayList<>();
+    private final List<Movimiento> archivados = new ArrayList<>();
+    private MotorAnalitico motor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            Cuenta cuenta = new Cuenta(1L, "AN-" + id, id % 2 == 0 ? "Corriente" : "Ahorros",
+                    BigDecimal.ZERO, BigDecimal.ZERO, "ACTIVA");
+            cuenta.setId(id);
+            cuentas.add(cuenta);
+        }
+        Random random = new Random(7);
+        for (long id = 1; id <= 20_000; id++) {
+            Movimiento movimiento = new Movimiento(1 + random.nextLong(6), TIPOS[random.nextInt(TIPOS.length)],
+                    BigDecimal.valueOf(1 + random.nextInt(100_000), 2), BigDecimal.ZERO);
+            movimiento.setId(id);
+            movimiento.setFecha(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 365)));
+            (movimiento.getCuentaId() == 3L && id % 3 == 0 ? archivados : calientes).add(movimiento);
+        }
+        // Un movimiento en ambos niveles debe contarse una sola vez
+        calientes.add(archivados.get(0));
+
+        when(cuentaRepositoryPort.findAll()).thenReturn(cuentas);
+        when(movimientoRepositoryPort.stream(isNull())).thenAnswer(invocation -> calientes.stream());
+        when(archivo.tieneMovimientos(any())).thenAnswer(invocation -> invocation.getArgument(0).equals(3L));
+        when(archivo.findByCuentaIdAndFechaBetween(eq(3L), isNull(), isNull())).thenReturn(archivados);
+
+        AnaliticaProperties properties = new AnaliticaProperties();
+        properties.setParalelismo(4);
+        properties.setUmbralTarea(1000);
+        motor = new MotorAnalitico(movimientoRepositoryPort, cuentaRepositoryPort, archivo, properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        motor.detener();
+    }
+
+    @Test
+    void agregar_SinCopiaCargada_SeRechaza() {
+        ConsultaAnalitica consulta = new ConsultaAnalitica(null, null, null, null, null, EnumSet.noneOf(DimensionAnalitica.class));
+
+        assertThrows(IllegalStateException.class, () -> motor.agregar(consulta));
+    }
+
+    @Test
+    void agregar_PorMesYTipo_CoincideConRecorrerLosMovimientos() {
+        assertEquals(20_000, motor.recargar());
+
+        LocalDate desde = LocalDate.of(2024, 3, 15);
+        LocalDate hasta = LocalDate.of(2024, 9, 30);
+        List<AgregadoMovimientos> grupos = motor.agregar(new ConsultaAnalitica(desde, hasta, null, null, null,
+                EnumSet.of(DimensionAnalitica.MES, DimensionAnalitica.TIPO_MOVIMIENTO)));
+
+        Map<String, BigDecimal[]> esperado = new TreeMap<>();
+        for (Movimiento movimiento : todos()) {
+            LocalDate fecha = movimiento.getFecha().toLocalDate();
+            if (!fecha.isBefore(desde) && !fecha.isAfter(hasta)) {
+                BigDecimal[] total = esperado.computeIfAbsent(YearMonth.from(fecha) + "/" + movimiento.getTipoMovimiento(),
+                        clave -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                total[0] = total[0].add(BigDecimal.ONE);
+                total[1] = total[1].add(movimiento.getValor());
+            }
+        }
+        assertEquals(esperado.size(), grupos.size());
+        for (AgregadoMovimientos grupo : grupos) {
+            BigDecimal[] total = esperado.get(grupo.mes() + "/" + grupo.tipoMovimiento());
+            assertNull(grupo.cuentaId());
+            assertEquals(total[0].longValue(), grupo.cantidad());
+            assertEquals(0, total[1].compareTo(grupo.total()));
+        }
+        assertEquals(YearMonth.of(2024, 3), grupos.get(0).mes());
+    }
+
+    @Test
+    void agregar_FiltradoPorTipoCuenta_DevuelvePromedioMinimoYMaximo() {
+        motor.recargar();
+
+        List<AgregadoMovimientos> grupos = motor.agregar(new ConsultaAnalitica(null, null, null, "RETIRO", "Corriente",
+                EnumSet.of(DimensionAnalitica.TIPO_CUENTA)));
+
+        List<BigDecimal> valores = todos().stream()
+                .filter(movimiento -> movimiento.getCuentaId() % 2 == 0 && movimiento.getTipoMovimiento().equals("RETIRO"))
+                .map(Movimiento::getValor)
+                .toList();
+        assertEquals(1, grupos.size());
+        AgregadoMovimientos grupo = grupos.get(0);
+        assertEquals("Corriente", grupo.tipoCuenta());
+        assertEquals(valores.size(), grupo.cantidad());
+        assertEquals(0, valores.stream().min(BigDecimal::compareTo).orElseThrow().compareTo(grupo.minimo()));
+        assertEquals(0, valores.stream().max(BigDecimal::compareTo).orElseThrow().compareTo(grupo.maximo()));
+        assertEquals(0, grupo.total().divide(BigDecimal.valueOf(valores.size()), 2, java.math.RoundingMode.HALF_EVEN)
+                .compareTo(grupo.promedio()));
+    }
+
+    @Test
+    void agregar_PorCuentaConArchivados_CuentaCadaMovimientoUnaVez() {
+        motor.recargar();
+
+        List<AgregadoMovimientos> grupos = motor.agregar(new ConsultaAnalitica(null, null, 3L, null, null,
+                EnumSet.of(DimensionAnalitica.CUENTA)));
+
+        long esperado = todos().stream().filter(movimiento -> movimiento.getCuentaId() == 3L).count();
+        assertEquals(1, grupos.size());
+        assertEquals(3L, grupos.get(0).cuentaId());
+        assertEquals(esperado, grupos.get(0).cantidad());
+        assertTrue(motor.agregar(new ConsultaAnalitica(null, null, null, "INEXISTENTE", null,
+                EnumSet.noneOf(DimensionAnalitica.class))).isEmpty());
+    }
+
+    private List<Movimiento> todos() {
+        List<Movimiento> todos = new ArrayList<>(archivados);
+        todos.addAll(calientes.subList(0, calientes.size() - 1));
+        return todos;
+    }
+}
@@ -0,0 +1,82 @@
+package com.prueba.dev.cuentas.infrastructure.archivo;
+
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentoMovimientosTest {
+
+    private static final long CUENTA_ID = 42L;
+
+    @Test
+    void codificar_YDecodificar_ConservaTodosLosCampos() {
+        String transferencia = UUID.randomUUID().toString();
+        List<Movimiento> movimientos = List.of(
+                movimiento(1000L, LocalDateTime.of(2024, 1, 10, 9, 0, 0, 123_456_000), "DEPOSITO", "50.00", "150.00", null),
+                movimiento(1003L, LocalDateTime.of(2024, 1, 10, 9, 0, 0, 123_456_000), "RETIRO", "200.50", "-50.50", null),
+                movimiento(998L, LocalDateTime.of(2024, 2, 1, 0, 0), "TRANSFERENCIA", "10", "-60.50", transferencia),
+                movimiento(2000L, LocalDateTime.of(2024, 2, 1, 0, 0), "TRANSFERENCIA", "0.01", "-60.49", "LOTE-7"));
+
+        List<Movimiento> leidos = SegmentoMovimientos.decodificar(SegmentoMovimientos.codificar(CUENTA_ID, movimientos));
+
+        assertEquals(movimientos.size(), leidos.size());
+        for (int i = 0; i < movimientos.size(); i++) {
+            Movimiento original = movimientos.get(i);
+            Movimiento leido = leidos.get(i);
+            assertEquals(original.getId(), leido.getId());
+            assertEquals(CUENTA_ID, leido.getCuentaId());
+            assertEquals(original.getFecha(), leido.getFecha());
+            assertEquals(original.getTipoMovimiento(), leido.getTipoMovimiento());
+            assertEquals(0, original.getValor().compareTo(leido.getValor()));
+            assertEquals(0, original.getSaldo().compareTo(leido.getSaldo()));
+            assertEquals(original.getTransferenciaId(), leido.getTransferenciaId());
+        }
+    }
+
+    @Test
+    void codificar_MovimientosConsecutivos_OcupanPocosBytesPorFila() {
+        List<Movimiento> movimientos = new ArrayList<>();
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 0, 0);
+        BigDecimal saldo = BigDecimal.valueOf(1000);
+        for (int i = 0; i < 1000; i++) {
+            saldo = saldo.add(BigDecimal.ONE);
+            movimientos.add(movimiento(5000L + i, fecha.plusSeconds(i), "DEPOSITO", "1.00", saldo.toPlainString(), null));
+        }
+
+        byte[] contenido = SegmentoMovimientos.codificar(CUENTA_ID, movimientos);
+
+        assertTrue(contenido.length < movimientos.size() * 12, "Segmento de " + contenido.length + " bytes");
+    }
+
+    @Test
+    void decodificar_ContenidoAlterado_FallaPorCrc() {
+        byte[] contenido = SegmentoMovimientos.codificar(CUENTA_ID,
+                List.of(movimiento(1L, LocalDateTime.of(2024, 1, 1, 0, 0), "DEPOSITO", "5", "5", null)));
+        contenido[contenido.length / 2] ^= 0x10;
+
+        assertThrows(IllegalStateException.class, () -> SegmentoMovimientos.decodificar(contenido));
+    }
+
+    @Test
+    void codificar_MovimientoDeOtraCuenta_SeRechaza() {
+        Movimiento ajeno = movimiento(1L, LocalDateTime.of(2024, 1, 1, 0, 0), "DEPOSITO", "5", "5", null);
+        ajeno.setCuentaId(CUENTA_ID + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> SegmentoMovimientos.codificar(CUENTA_ID, List.of(ajeno)));
+    }
+
+    private Movimiento movimiento(Long id, LocalDateTime fecha, String tipo, String valor, String saldo, String transferenciaId) {
+        Movimiento movimiento = new Movimiento(CUENTA_ID, tipo, new BigDecimal(valor), new BigDecimal(saldo));
+        movimiento.setId(id);
+        movimiento.setFecha(fecha);
+        movimiento.setTransferenciaId(transferenciaId);
+        return movimiento;
+    }
+}
@@ -0,0 +1,99 @@
+package com.prueba.dev.cuentas.infrastructure.clientes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.ClienteReplicado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaClientesTest {
+
+    private static final String[] ESTADOS = {"ACTIVO", "INACTIVO", "BLOQUEADO"};
+
+    @Test
+    void operacionesAleatorias_CoincidenConUnMapa() {
+        ReplicaClientes replica = new ReplicaClientes(16);
+        Map<Long, ClienteReplicado> esperado = new HashMap<>();
+        Random random = new Random(18);
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                assertEquals(esperado.remove(id) != null, replica.quitar(id));
+            } else {
+                String nombre = random.nextInt(10) == 0 ? null : "Cliente " + id + " ñ" + "x".repeat(random.nextInt(20));
+                String estado = ESTADOS[random.nextInt(ESTADOS.length)];
+                replica.poner(id, nombre, estado);
+                esperado.put(id, new ClienteReplicado(id, nombre == null ? "" : nombre, estado));
+            }
+        }
+
+        assertEquals(esperado.size(), replica.tamanio());
+        for (long id = 1; id <= 5_000; id++) {
+            assertEquals(esperado.get(id), replica.buscar(id), "cliente " + id);
+        }
+    }
+
+    @Test
+    void unMillonDeClientes_OcupaMenosDe48BytesPorCliente() {
+        int clientes = 1_000_000;
+        ReplicaClientes replica = new ReplicaClientes(16);
+        for (long id = 1; id <= clientes; id++) {
+            replica.poner(id, "Cliente " + id, ESTADOS[(int) (id % ESTADOS.length)]);
+        }
+
+        assertEquals(clientes, replica.tamanio());
+        assertEquals(new ClienteReplicado(777_777L, "Cliente 777777", "ACTIVO"), replica.buscar(777_777L));
+        assertNull(replica.buscar(clientes + 1L));
+        // 2^21 posiciones de 15 bytes (31,5 por cliente) más unos 14 bytes de nombre y el margen de crecimiento
+        double bytesPorCliente = (double) replica.bytesReservados() / clientes;
+        assertTrue(bytesPorCliente < 48, "bytes por cliente: " + bytesPorCliente);
+    }
+
+    @Test
+    void reconstruccion_ReaplicaLosEventosRecibidosDuranteLaCarga() {
+        DirectorioClientes directorio = new DirectorioClientes(new ObjectMapper(), new SimpleMeterRegistry(),
+                "http://localhost:0", false);
+        directorio.registrar(new ClienteReplicado(9L, "Eliminado antes", "ACTIVO"));
+        String exportacion = """
+                {"tipo":"ACTUALIZADO","clienteId":1,"nombre":"Jose Lema","estado":"ACTIVO"}
+                {"tipo":"ACTUALIZADO","clienteId":2,"nombre":"Marianela Montalvo","estado":"ACTIVO"}
+                {"tipo":"ACTUALIZADO","clienteId":3,"nombre":"Juan Osorio","estado":"INACTIVO"}
+                """;
+        // Los eventos llegan cuando la carga ya empezó a leer la exportación
+        var entrada = new FilterInputStream(new ByteArrayInputStream(exportacion.getBytes(StandardCharsets.UTF_8))) {
+            private boolean eventos = true;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (eventos) {
+                    eventos = false;
+                    directorio.registrar(new ClienteReplicado(2L, "Marianela Montalvo", "BLOQUEADO"));
+                    directorio.eliminar(3L);
+                    directorio.registrar(new ClienteReplicado(4L, "Nuevo", "ACTIVO"));
+                }
+                return super.read(b, off, len);
+            }
+        };
+
+        assertFalse(directorio.isCargado());
+        assertEquals(3, directorio.cargar(entrada));
+
+        assertTrue(directorio.isCargado());
+        assertEquals(3, directorio.getTamanio());
+        assertEquals("Jose Lema", directorio.buscar(1L).orElseThrow().nombre());
+        assertEquals("BLOQUEADO", directorio.buscar(2L).orElseThrow().estado());
+        assertTrue(directorio.buscar(3L).isEmpty());
+        assertTrue(directorio.buscar(4L).orElseThrow().activo());
+        assertTrue(directorio.buscar(9L).isEmpty());
+    }
+}
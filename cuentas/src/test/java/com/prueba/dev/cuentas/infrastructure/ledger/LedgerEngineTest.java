@@ -0,0 +1,271 @@
+package com.prueba.dev.cuentas.infrastructure.ledger;
+
+import com.prueba.dev.cuentas.domain.exception.CuentaNotFoundException;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.SaldoCheckpointRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.persistence.jpa.LedgerOffsetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class LedgerEngineTest {
+
+    @Mock
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Mock
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Mock
+    private SaldoCheckpointRepositoryPort checkpointRepositoryPort;
+
+    @Mock
+    private ResumenDiarioRepositoryPort resumenRepositoryPort;
+
+    @Mock
+    private LedgerOffsetRepository offsetRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path walDirectorio;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Movimiento> persistidos = new ArrayList<>();
+    private final Map<Long, BigDecimal> deltas = new ConcurrentHashMap<>();
+    private volatile boolean bdCaida;
+    private volatile Long cuentaEliminada;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LedgerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cuentaRepositoryPort.findSaldoById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id > 100 ? Optional.empty() : Optional.of(BigDecimal.valueOf(100));
+        });
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> {
+            if (bdCaida) {
+                throw new DataAccessResourceFailureException("BD caída");
+            }
+            Movimiento movimiento = invocation.getArgument(0);
+            if (movimiento.getCuentaId().equals(cuentaEliminada)) {
+                throw new DataIntegrityViolationException("FK movimiento.cuenta_id");
+            }
+            movimiento.setId(ids.incrementAndGet());
+            synchronized (persistidos) {
+                persistidos.add(movimiento);
+            }
+            return movimiento;
+        });
+        when(cuentaRepositoryPort.acreditarSaldo(anyLong(), any(BigDecimal.class))).thenAnswer(invocation -> {
+            deltas.merge(invocation.getArgument(0), invocation.getArgument(1), BigDecimal::add);
+            return Optional.of(BigDecimal.ZERO);
+        });
+        when(offsetRepository.findById(anyInt())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.detener();
+        }
+    }
+
+    @Test
+    void postear_ShouldSerializeConcurrentPostingsPerAccount() throws Exception {
+        engine = iniciarEngine();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < 8; h++) {
+            long cuentaId = h % 2 + 1;
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    engine.postear(cuentaId, "DEPOSITO", BigDecimal.ONE);
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+        esperarVolcado(800);
+
+        assertEquals(0, BigDecimal.valueOf(400).compareTo(deltas.get(1L)));
+        assertEquals(0, BigDecimal.valueOf(400).compareTo(deltas.get(2L)));
+        Movimiento ultimo = engine.postear(1L, "RETIRO", BigDecimal.TEN);
+        assertEquals(0, BigDecimal.valueOf(490).compareTo(ultimo.getSaldo()));
+    }
+
+    @Test
+    void postear_ShouldRejectWithdrawal_WhenSaldoInsufficient() {
+        engine = iniciarEngine();
+
+        assertThrows(SaldoInsuficienteException.class, () -> engine.postear(1L, "RETIRO", BigDecimal.valueOf(150)));
+        Movimiento retiro = engine.postear(1L, "RETIRO", BigDecimal.valueOf(100));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(retiro.getSaldo()));
+    }
+
+    @Test
+    void postear_ShouldThrowException_WhenCuentaNotExists() {
+        engine = iniciarEngine();
+
+        assertThrows(CuentaNotFoundException.class, () -> engine.postear(999L, "DEPOSITO", BigDecimal.ONE));
+    }
+
+    @Test
+    void postear_ShouldLoadStartingSaldoFromDatabase_BypassingCache() {
+        engine = iniciarEngine();
+
+        engine.postear(1L, "DEPOSITO", BigDecimal.ONE);
+
+        verify(cuentaRepositoryPort, times(1)).findSaldoById(1L);
+        verify(cuentaRepositoryPort, never()).findById(anyLong());
+    }
+
+    @Test
+    void invalidar_ShouldNotStallPartition_WhileMovimientosAreNotPersisted() throws Exception {
+        bdCaida = true;
+        engine = iniciarEngine();
+        engine.postear(1L, "DEPOSITO", BigDecimal.TEN);
+        engine.invalidar(1L);
+
+        // La cuenta 3 comparte partición con la 1 y no espera al volcador
+        long inicio = System.nanoTime();
+        engine.postear(3L, "DEPOSITO", BigDecimal.ONE);
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1));
+
+        // La cuenta 1 espera a que su movimiento llegue a la base de datos
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Movimiento> siguiente = executor.submit(() -> engine.postear(1L, "DEPOSITO", BigDecimal.TEN));
+        assertThrows(TimeoutException.class, () -> siguiente.get(200, TimeUnit.MILLISECONDS));
+        bdCaida = false;
+
+        // El saldo se vuelve a leer de la base de datos en lugar de seguir con el de memoria
+        assertEquals(0, BigDecimal.valueOf(110).compareTo(siguiente.get(5, TimeUnit.SECONDS).getSaldo()));
+        executor.shutdown();
+        verify(cuentaRepositoryPort, times(2)).findSaldoById(1L);
+    }
+
+    @Test
+    void volcado_ShouldQuarantineRejectedMovimiento_AndKeepPersistingTheRest() throws Exception {
+        cuentaEliminada = 2L;
+        engine = iniciarEngine();
+        engine.postear(2L, "DEPOSITO", BigDecimal.TEN);
+        engine.postear(1L, "DEPOSITO", BigDecimal.TEN);
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("cuentas.ledger.cuarentena").counter().count() < 1 && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+        esperarVolcado(1);
+
+        assertEquals(1.0, meterRegistry.get("cuentas.ledger.cuarentena").counter().count());
+        assertEquals(0, BigDecimal.TEN.compareTo(deltas.get(1L)));
+        assertNull(deltas.get(2L));
+        List<String> cuarentena = Files.readAllLines(walDirectorio.resolve("ledger-cuarentena.log"));
+        assertEquals(1, cuarentena.size());
+        assertTrue(cuarentena.get(0).startsWith("0;1;2;DEPOSITO;10.00;110.00;"));
+        verify(offsetRepository, atLeastOnce()).save(argThat(offset -> offset.getSecuencia() == 1L));
+        // El saldo en memoria incluía el movimiento apartado: se vuelve a leer de la base de datos
+        cuentaEliminada = null;
+        assertEquals(0, BigDecimal.valueOf(101).compareTo(engine.postear(2L, "DEPOSITO", BigDecimal.ONE).getSaldo()));
+    }
+
+    @Test
+    void iniciar_ShouldReplayWal_WhenMovimientosWereNotPersisted() throws Exception {
+        // Primera ejecución: la base de datos no acepta los lotes
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenThrow(new DataAccessResourceFailureException("BD caída"));
+        engine = iniciarEngine();
+        for (int i = 0; i < 5; i++) {
+            engine.postear(1L, "DEPOSITO", BigDecimal.TEN);
+        }
+        engine.detener();
+        engine = null;
+
+        // Segunda ejecución: el WAL se reproduce y los movimientos llegan a la base de datos
+        reset(movimientoRepositoryPort);
+        when(movimientoRepositoryPort.save(any(Movimiento.class))).thenAnswer(invocation -> {
+            Movimiento movimiento = invocation.getArgument(0);
+            movimiento.setId(ids.incrementAndGet());
+            synchronized (persistidos) {
+                persistidos.add(movimiento);
+            }
+            return movimiento;
+        });
+        engine = iniciarEngine();
+        esperarVolcado(5);
+
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(deltas.get(1L)));
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(persistidos.get(4).getSaldo()));
+        verify(offsetRepository, atLeastOnce()).save(any(LedgerOffset.class));
+        Movimiento siguiente = engine.postear(1L, "DEPOSITO", BigDecimal.TEN);
+        assertEquals(0, BigDecimal.valueOf(160).compareTo(siguiente.getSaldo()));
+    }
+
+    private LedgerEngine iniciarEngine() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setParticiones(2);
+        properties.setWalDirectorio(walDirectorio.toString());
+        properties.setIntervaloFlushMs(5);
+        properties.setReintentosVolcado(2);
+        LedgerEngine nuevo = new LedgerEngine(cuentaRepositoryPort, movimientoRepositoryPort, checkpointRepositoryPort,
+                resumenRepositoryPort, offsetRepository, transactionManager, properties, meterRegistry);
+        nuevo.iniciar();
+        return nuevo;
+    }
+
+    private void esperarVolcado(int esperados) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < limite) {
+            int volcados;
+            synchronized (persistidos) {
+                volcados = persistidos.size();
+            }
+            if (volcados >= esperados && engine.pendientesDeVolcar() == 0) {
+                // Deja terminar la transacción del último lote
+                Thread.sleep(50);
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("El ledger no volcó los movimientos a tiempo");
+    }
+}
@@ -0,0 +1,134 @@
+package com.prueba.dev.cuentas.infrastructure.persistence.adapter;
+
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CuentaRepositoryCacheAdapterTest {
+
+    @Mock
+    private CuentaRepositoryAdapter delegado;
+
+    private MeterRegistry meterRegistry;
+    private CuentaRepositoryCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CuentaRepositoryCacheAdapter(delegado, meterRegistry, Duration.ofMinutes(5), 2);
+        when(delegado.findById(anyLong())).thenAnswer(invocation -> Optional.of(cuenta(invocation.getArgument(0), "100")));
+    }
+
+    @Test
+    void findById_SegundaLectura_SeSirveDeMemoriaConUnaCopia() {
+        Cuenta primera = cache.findById(1L).orElseThrow();
+        primera.setSaldo(BigDecimal.ZERO);
+        Cuenta segunda = cache.findById(1L).orElseThrow();
+
+        verify(delegado, times(1)).findById(1L);
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(segunda.getSaldo()));
+        assertNotSame(primera, segunda);
+        assertEquals(1.0, meterRegistry.get("cuentas.cache.cuentas.solicitudes").tag("resultado", "acierto").counter().count());
+        assertEquals(1, meterRegistry.get("cuentas.cache.cuentas.carga").timer().count());
+    }
+
+    @Test
+    void findByNumeroCuenta_UsaLaEntradaCargadaPorId() {
+        cache.findById(1L);
+
+        assertEquals(1L, cache.findByNumeroCuenta("C-1").orElseThrow().getId());
+
+        verify(delegado, never()).findByNumeroCuenta(any());
+    }
+
+    @Test
+    void debitarSaldo_QuitaLaCuentaAhoraYAlTerminarLaTransaccion() {
+        cache.findById(1L);
+        when(delegado.debitarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.of(BigDecimal.valueOf(90)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.debitarSaldo(1L, BigDecimal.TEN);
+            // Lectura antes del commit: vuelve a la base de datos
+            cache.findById(1L);
+            when(delegado.findById(1L)).thenReturn(Optional.of(cuenta(1L, "90")));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, BigDecimal.valueOf(90).compareTo(cache.findById(1L).orElseThrow().getSaldo()));
+        verify(delegado, times(3)).findById(1L);
+    }
+
+    @Test
+    void findById_EnLaTransaccionQueEscribio_NoCacheaElSaldoSinConfirmar() {
+        when(delegado.acreditarSaldo(1L, BigDecimal.TEN)).thenReturn(Optional.of(BigDecimal.valueOf(110)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.acreditarSaldo(1L, BigDecimal.TEN);
+            when(delegado.findById(1L)).thenReturn(Optional.of(cuenta(1L, "110")));
+            cache.findById(1L);
+            cache.findById(2L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(delegado.findById(1L)).thenReturn(Optional.of(cuenta(1L, "100")));
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(cache.findById(1L).orElseThrow().getSaldo()));
+        cache.findById(2L);
+        verify(delegado, times(2)).findById(1L);
+        verify(delegado, times(1)).findById(2L);
+        assertFalse(TransactionSynchronizationManager.hasResource(cache));
+    }
+
+    @Test
+    void findById_SuperaCapacidad_DesalojaLaMenosUsada() {
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L);
+        cache.findById(3L);
+
+        cache.findById(1L);
+        cache.findById(2L);
+
+        verify(delegado, times(1)).findById(1L);
+        verify(delegado, times(2)).findById(2L);
+        assertEquals(2.0, meterRegistry.get("cuentas.cache.cuentas.desalojos").tag("causa", "tamanio").counter().count());
+    }
+
+    @Test
+    void findById_EntradaVencida_SeVuelveACargar() throws InterruptedException {
+        cache = new CuentaRepositoryCacheAdapter(delegado, new SimpleMeterRegistry(), Duration.ofMillis(20), 10);
+        cache.findById(1L);
+        Thread.sleep(50);
+
+        cache.findById(1L);
+
+        verify(delegado, times(2)).findById(1L);
+    }
+
+    private Cuenta cuenta(Long id, String saldo) {
+        Cuenta cuenta = new Cuenta(7L, "C-" + id, "Ahorros", BigDecimal.valueOf(100), new BigDecimal(saldo), "ACTIVA");
+        cuenta.setId(id);
+        return cuenta;
+    }
+}
@@ -0,0 +1,113 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import com.prueba.dev.cuentas.infrastructure.archivo.ArchivadorMovimientos;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Pruebas del archivo de movimientos sobre H2.
+ * Los movimientos archivados salen de la base de datos pero siguen apareciendo en
+ * las consultas por cuenta y en el estado de cuenta, sin cambiar el saldo.
+ */
+@SpringBootTest(properties = "cuentas.archivo.habilitado=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ArchivoMovimientosIntegrationTest {
+
+    private static final long CLIENTE_ID = 6161L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private ArchivadorMovimientos archivador;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archivar_MovimientosAntiguos_SiguenVisiblesYElSaldoNoCambia() throws Exception {
+        Long cuentaId = cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, "ARCH-AHORROS", "Ahorros",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(100), "ACTIVA")).getId();
+        List<Movimiento> historicos = List.of(
+                movimiento(cuentaId, "DEPOSITO", 50, LocalDateTime.of(2024, 1, 10, 9, 0)),
+                movimiento(cuentaId, "RETIRO", 30, LocalDateTime.of(2024, 1, 10, 18, 0)),
+                movimiento(cuentaId, "DEPOSITO", 5, LocalDateTime.of(2024, 3, 1, 0, 0)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            cuentaService.registrarHistorico(historicos);
+            cuentaService.acreditarImportacion(cuentaId, BigDecimal.valueOf(25));
+        });
+        assertEquals(201, mockMvc.perform(post("/cuentas/{id}/deposito", cuentaId).param("valor", "7")).andReturn().getResponse().getStatus());
+        BigDecimal saldo = transactionTemplate.execute(status -> cuentaService.calcularSaldoActual(cuentaId));
+
+        assertTrue(archivador.archivar() >= historicos.size());
+
+        for (Movimiento historico : historicos) {
+            assertTrue(movimientoRepositoryPort.findById(historico.getId()).isEmpty());
+        }
+        assertEquals(4, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        List<Movimiento> enero = movimientoRepositoryPort.findByCuentaIdAndFechaBetween(cuentaId,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 31, 23, 59));
+        assertEquals(List.of(historicos.get(0).getId(), historicos.get(1).getId()), enero.stream().map(Movimiento::getId).toList());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(enero.get(1).getValor()));
+        assertEquals(0, saldo.compareTo(transactionTemplate.execute(status -> cuentaService.calcularSaldoActual(cuentaId))));
+        assertEquals(0, BigDecimal.valueOf(132).compareTo(saldo));
+
+        MvcResult resultado = mockMvc.perform(get("/cuentas/reportes")
+                .param("clienteId", String.valueOf(CLIENTE_ID))
+                .param("fechaInicio", "2024-01-01")
+                .param("fechaFin", LocalDate.now().toString())).andReturn();
+        assertEquals(200, resultado.getResponse().getStatus());
+        JsonNode movimientos = objectMapper.readTree(resultado.getResponse().getContentAsByteArray())
+                .get("data").get("cuentas").get(0).get("movimientos");
+        assertEquals(4, movimientos.size());
+        for (int i = 0; i < historicos.size(); i++) {
+            assertEquals(historicos.get(i).getId(), movimientos.get(i).get("id").asLong());
+        }
+        assertEquals("DEPOSITO", movimientos.get(3).get("tipoMovimiento").asText());
+
+        assertEquals(0, archivador.archivar());
+    }
+
+    private Movimiento movimiento(Long cuentaId, String tipo, long valor, LocalDateTime fecha) {
+        Movimiento movimiento = new Movimiento(cuentaId, tipo, BigDecimal.valueOf(valor), BigDecimal.ZERO);
+        movimiento.setFecha(fecha);
+        return movimiento;
+    }
+}
@@ -0,0 +1,114 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.respuestas.GenericResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Pruebas del estado de cuenta escrito por streaming sobre H2.
+ * El reporte por streaming debe coincidir con el que se arma en memoria.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EstadoCuentaIntegrationTest {
+
+    private static final long CLIENTE_ID = 4242L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void reporte_AgrupaMovimientosDelRangoPorCuenta() throws Exception {
+        Long ahorros = crearCuenta("EC-AHORROS");
+        Long corriente = crearCuenta("EC-CORRIENTE");
+        Long sinMovimientos = crearCuenta("EC-VACIA");
+        List<Movimiento> movimientos = new ArrayList<>();
+        movimientos.add(movimiento(ahorros, LocalDateTime.of(2024, 2, 1, 10, 0)));
+        movimientos.add(movimiento(ahorros, LocalDateTime.of(2024, 2, 15, 10, 0)));
+        movimientos.add(movimiento(ahorros, LocalDateTime.of(2024, 3, 1, 0, 0)));
+        movimientos.add(movimiento(corriente, LocalDateTime.of(2024, 2, 29, 23, 59)));
+        movimientos.add(movimiento(sinMovimientos, LocalDateTime.of(2024, 1, 31, 23, 59)));
+        movimientoRepositoryPort.saveAll(movimientos);
+
+        MvcResult resultado = reporte(null);
+
+        assertEquals(200, resultado.getResponse().getStatus());
+        JsonNode respuesta = objectMapper.readTree(resultado.getResponse().getContentAsByteArray());
+        assertTrue(respuesta.get("status").asBoolean());
+        JsonNode cuentas = respuesta.get("data").get("cuentas");
+        assertEquals(CLIENTE_ID, respuesta.get("data").get("clienteId").asLong());
+        assertEquals(3, cuentas.size());
+        assertEquals(ahorros, cuentas.get(0).get("cuenta").get("id").asLong());
+        assertEquals(2, cuentas.get(0).get("movimientos").size());
+        assertEquals(1, cuentas.get(1).get("movimientos").size());
+        assertEquals(0, cuentas.get(2).get("movimientos").size());
+        assertTrue(cuentas.get(0).get("movimientos").get(0).get("fecha").asText()
+                .compareTo(cuentas.get(0).get("movimientos").get(1).get("fecha").asText()) < 0);
+
+        MvcResult legado = reporte(GenericResponse.TIPO_LEGADO);
+        JsonNode respuestaLegada = objectMapper.readTree(legado.getResponse().getContentAsByteArray());
+        assertEquals(respuesta.get("data"), objectMapper.readTree(respuestaLegada.get("message").asText()));
+    }
+
+    @Test
+    void reporte_ClienteSinCuentas_DevuelveListaVacia() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/cuentas/reportes")
+                .param("clienteId", "999999")
+                .param("fechaInicio", "2024-02-01")
+                .param("fechaFin", "2024-02-29")).andReturn();
+
+        JsonNode datos = objectMapper.readTree(resultado.getResponse().getContentAsByteArray()).get("data");
+        assertEquals(0, datos.get("cuentas").size());
+    }
+
+    private MvcResult reporte(String accept) throws Exception {
+        var solicitud = get("/cuentas/reportes")
+                .param("clienteId", String.valueOf(CLIENTE_ID))
+                .param("fechaInicio", "2024-02-01")
+                .param("fechaFin", "2024-02-29");
+        if (accept != null) {
+            solicitud.accept(accept);
+        }
+        return mockMvc.perform(solicitud).andReturn();
+    }
+
+    private Movimiento movimiento(Long cuentaId, LocalDateTime fecha) {
+        Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, BigDecimal.valueOf(101));
+        movimiento.setFecha(fecha);
+        return movimiento;
+    }
+
+    private Long crearCuenta(String numero) {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        return cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+    }
+}
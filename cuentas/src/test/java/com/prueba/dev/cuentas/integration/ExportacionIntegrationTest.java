@@ -0,0 +1,107 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Pruebas de la exportación NDJSON de movimientos sobre H2.
+ * Se exportan más filas que el tamaño de fetch para recorrer varios viajes del cursor.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportacionIntegrationTest {
+
+    private static final int MOVIMIENTOS = 2500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void exportarPorCuenta_EscribeUnaLineaPorMovimientoEnOrdenDeId() throws Exception {
+        Long cuentaId = crearCuenta("EXP-CTA");
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            movimientos.add(new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, BigDecimal.valueOf(101 + i)));
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+
+        MvcResult resultado = mockMvc.perform(get("/movimientos/cuenta/{id}/export", cuentaId)).andReturn();
+
+        assertEquals(200, resultado.getResponse().getStatus());
+        assertTrue(resultado.getResponse().getContentType().startsWith("application/x-ndjson"));
+        String[] lineas = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(MOVIMIENTOS, lineas.length);
+        long idAnterior = 0;
+        for (String linea : lineas) {
+            JsonNode movimiento = objectMapper.readTree(linea);
+            assertEquals(cuentaId.longValue(), movimiento.get("cuentaId").asLong());
+            assertTrue(movimiento.get("id").asLong() > idAnterior);
+            idAnterior = movimiento.get("id").asLong();
+        }
+    }
+
+    @Test
+    void exportarTodos_IncluyeMovimientosDeVariasCuentas() throws Exception {
+        Long primera = crearCuenta("EXP-TODOS-1");
+        Long segunda = crearCuenta("EXP-TODOS-2");
+        movimientoRepositoryPort.saveAll(List.of(
+                new Movimiento(primera, "DEPOSITO", BigDecimal.TEN, BigDecimal.valueOf(110)),
+                new Movimiento(segunda, "RETIRO", BigDecimal.TEN, BigDecimal.valueOf(90))));
+
+        MvcResult resultado = mockMvc.perform(get("/movimientos/export")).andReturn();
+
+        assertEquals(200, resultado.getResponse().getStatus());
+        String contenido = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(contenido.endsWith("\n"));
+        List<Long> cuentas = new ArrayList<>();
+        for (String linea : contenido.split("\n")) {
+            cuentas.add(objectMapper.readTree(linea).get("cuentaId").asLong());
+        }
+        assertTrue(cuentas.contains(primera));
+        assertTrue(cuentas.contains(segunda));
+    }
+
+    @Test
+    void exportarCuentaSinMovimientos_DevuelveCuerpoVacio() throws Exception {
+        Long cuentaId = crearCuenta("EXP-VACIA");
+
+        MvcResult resultado = mockMvc.perform(get("/movimientos/cuenta/{id}/export", cuentaId)).andReturn();
+
+        assertEquals(200, resultado.getResponse().getStatus());
+        assertEquals("", resultado.getResponse().getContentAsString());
+    }
+
+    private Long crearCuenta(String numero) {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        return cuentaRepositoryPort.save(new Cuenta(1L, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+    }
+}
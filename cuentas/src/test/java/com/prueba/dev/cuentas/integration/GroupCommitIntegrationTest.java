@@ -0,0 +1,141 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.application.service.CuentaApplicationService;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del group commit sobre H2 con ráfagas de posteos a pocas cuentas.
+ * Cada llamador debe recibir su propio movimiento, los saldos deben cuadrar
+ * y los grupos deben reunir más de un movimiento.
+ */
+@SpringBootTest(properties = {
+        "cuentas.posting.grupo.habilitado=true",
+        "cuentas.posting.grupo.espera-maxima-ms=5",
+        "cuentas.posting.grupo.tamanio-maximo=32"
+})
+@ActiveProfiles("test")
+class GroupCommitIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitIntegrationTest.class);
+
+    private static final int HILOS = 32;
+    private static final int POSTINGS_POR_HILO = 20;
+    private static final int TOTAL = HILOS * POSTINGS_POR_HILO;
+
+    @Autowired
+    private CuentaApplicationService cuentaApplicationService;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void depositosConcurrentes_SeAgrupanYCadaLlamadorRecibeSuMovimiento() throws Exception {
+        Long cuentaId = crearCuenta("GRUPO-DEP", BigDecimal.ZERO);
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<List<MovimientoDTO>>> tareas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(executor.submit(() -> {
+                List<MovimientoDTO> propios = new ArrayList<>();
+                for (int i = 0; i < POSTINGS_POR_HILO; i++) {
+                    propios.add(cuentaApplicationService.depositar(cuentaId, BigDecimal.ONE));
+                }
+                return propios;
+            }));
+        }
+        Set<Long> ids = new HashSet<>();
+        Set<BigDecimal> saldos = new HashSet<>();
+        for (Future<List<MovimientoDTO>> tarea : tareas) {
+            for (MovimientoDTO movimiento : tarea.get()) {
+                assertNotNull(movimiento.getId());
+                assertEquals(0, BigDecimal.ONE.compareTo(movimiento.getValor()));
+                ids.add(movimiento.getId());
+                saldos.add(movimiento.getSaldo().stripTrailingZeros());
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        executor.shutdown();
+
+        DistributionSummary tamanio = meterRegistry.get("cuentas.posteo.grupo.tamanio").summary();
+        logger.debug("Group commit: {} depósitos, {} postings/s, {} grupos, máximo {} por grupo",
+                TOTAL, Math.round(TOTAL / segundos), tamanio.count(), Math.round(tamanio.max()));
+
+        assertEquals(TOTAL, ids.size());
+        // Cada depósito deja un saldo distinto: el orden dentro del grupo es el de la cuenta
+        assertEquals(TOTAL, saldos.size());
+        assertEquals(TOTAL, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        assertEquals(0, BigDecimal.valueOf(TOTAL).compareTo(cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo()));
+        assertTrue(tamanio.max() > 1, "Ningún grupo reunió más de un movimiento");
+        // Sin posteos en curso no queda ningún grupo retenido
+        assertEquals(0.0, meterRegistry.get("cuentas.posteo.grupo.cuentas").gauge().value());
+    }
+
+    @Test
+    void retirosConcurrentes_RechazanSoloLosQueSobregiran() throws Exception {
+        Long cuentaId = crearCuenta("GRUPO-RET", BigDecimal.valueOf(100));
+        AtomicInteger aceptados = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        cuentaApplicationService.retirar(cuentaId, BigDecimal.ONE);
+                        aceptados.incrementAndGet();
+                    } catch (SaldoInsuficienteException e) {
+                        rechazados.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        List<Movimiento> movimientos = movimientoRepositoryPort.findByCuentaId(cuentaId);
+        assertEquals(100, aceptados.get());
+        assertEquals(HILOS * 5 - 100, rechazados.get());
+        assertEquals(100, movimientos.size());
+        assertEquals(0, BigDecimal.ZERO.compareTo(cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo()));
+        assertTrue(movimientos.stream().allMatch(m -> m.getSaldo().signum() >= 0));
+    }
+
+    private Long crearCuenta(String numero, BigDecimal saldo) {
+        return cuentaRepositoryPort.save(new Cuenta(1L, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+    }
+}
@@ -0,0 +1,150 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Compara la misma carga de depósitos y reportes atendida por un pool de hilos de
+ * plataforma y por hilos virtuales, con el perfil virtual sobre H2, y registra
+ * solicitudes por segundo y p99 de cada una. Solo corre en Java 21 o superior y
+ * con el perfil de Maven carga: mvn test -pl cuentas -am -Pcarga.
+ */
+@SpringBootTest(properties = {
+        // Mide rendimiento, no el corte rápido: las solicitudes esperan su turno ante el pool
+        "cuentas.hilos-virtuales.espera-conexion=60s",
+        // H2 espera 1 s por un bloqueo de fila; MySQL, 50 s
+        "spring.datasource.url=jdbc:h2:mem:carga-hilos;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=50000",
+        "logging.level.com.prueba.dev.cuentas.integration=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "virtual"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Tag("carga")
+class HilosVirtualesCargaIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HilosVirtualesCargaIntegrationTest.class);
+
+    private static final long CLIENTE_ID = 2121L;
+    private static final int SOLICITUDES = 2_000;
+    private static final int HILOS_PLATAFORMA = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    private Long cuentaId;
+
+    @BeforeEach
+    void setUp() {
+        BigDecimal saldo = BigDecimal.valueOf(1_000);
+        cuentaId = cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, "HVC-" + System.nanoTime(), "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int dia = 1; dia <= 28; dia++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(dia)));
+            movimiento.setFecha(LocalDateTime.of(2024, 2, dia, 12, 0));
+            movimientos.add(movimiento);
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+    }
+
+    @Test
+    void hilosVirtuales_ComparadoConPoolDePlataforma() throws Exception {
+        ExecutorService plataforma = Executors.newFixedThreadPool(HILOS_PLATAFORMA);
+        try {
+            // Calentamiento para no cargar al primer escenario con la compilación JIT
+            ejecutar(plataforma);
+            Resultado conPlataforma = ejecutar(plataforma);
+            Resultado conVirtuales = ejecutar(new VirtualThreadTaskExecutor("carga-"));
+
+            logger.info("Pool de {} hilos de plataforma: {} solicitudes/s, p99 {} ms",
+                    HILOS_PLATAFORMA, Math.round(conPlataforma.porSegundo()), String.format("%.1f", conPlataforma.p99Ms()));
+            logger.info("Hilos virtuales: {} solicitudes/s, p99 {} ms",
+                    Math.round(conVirtuales.porSegundo()), String.format("%.1f", conVirtuales.p99Ms()));
+        } finally {
+            plataforma.shutdownNow();
+        }
+    }
+
+    /**
+     * Envía SOLICITUDES solicitudes concurrentes alternando depósitos y reportes síncronos.
+     * @return Solicitudes por segundo y latencias de cada una.
+     */
+    private Resultado ejecutar(Executor executor) {
+        List<CompletableFuture<Long>> solicitudes = new ArrayList<>(SOLICITUDES);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < SOLICITUDES; i++) {
+            boolean deposito = i % 2 == 0;
+            solicitudes.add(CompletableFuture.supplyAsync(() -> {
+                long comienzo = System.nanoTime();
+                try {
+                    int estado = deposito ? depositar() : consultarReporte();
+                    assertTrue(estado < 300, "estado HTTP " + estado);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return System.nanoTime() - comienzo;
+            }, executor));
+        }
+        long[] latencias = solicitudes.stream().mapToLong(CompletableFuture::join).toArray();
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        Arrays.sort(latencias);
+        return new Resultado(SOLICITUDES / segundos, latencias[(int) (latencias.length * 0.99) - 1] / 1_000_000.0);
+    }
+
+    private int depositar() throws Exception {
+        return mockMvc.perform(post("/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimientoRequest(cuentaId, "DEPOSITO", BigDecimal.ONE))))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private int consultarReporte() throws Exception {
+        return mockMvc.perform(get("/cuentas/reportes")
+                        .param("clienteId", String.valueOf(CLIENTE_ID))
+                        .param("fechaInicio", "2024-02-01")
+                        .param("fechaFin", "2024-02-29"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private record Resultado(double porSegundo, double p99Ms) {}
+}
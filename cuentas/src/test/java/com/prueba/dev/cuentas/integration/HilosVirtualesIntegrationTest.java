@@ -0,0 +1,164 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.conexiones.DataSourceLimitado;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Pruebas del servicio con spring.threads.virtual.enabled=true sobre H2; solo corren en Java 21 o superior.
+ * Registra con JFR los eventos jdk.VirtualThreadPinned mientras se postean movimientos
+ * y se generan reportes desde hilos virtuales, y falla si alguno se origina en el código
+ * de la aplicación. La comparación de carga contra hilos de plataforma está en
+ * HilosVirtualesCargaIntegrationTest, fuera de la suite por defecto.
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class HilosVirtualesIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HilosVirtualesIntegrationTest.class);
+
+    private static final long CLIENTE_ID = 2121L;
+    private static final int SOLICITUDES = 2_000;
+    private static final String PAQUETE_APLICACION = "com.prueba.dev.";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long cuentaId;
+
+    @BeforeEach
+    void setUp() {
+        BigDecimal saldo = BigDecimal.valueOf(1_000);
+        cuentaId = cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, "HV-" + System.nanoTime(), "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int dia = 1; dia <= 28; dia++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(dia)));
+            movimiento.setFecha(LocalDateTime.of(2024, 2, dia, 12, 0));
+            movimientos.add(movimiento);
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+    }
+
+    @Test
+    void cargaEnHilosVirtuales_NoFijaHilosEnCodigoDeLaAplicacion() throws Exception {
+        assertInstanceOf(DataSourceLimitado.class, dataSource);
+        ConcurrentLinkedQueue<String> fijadosAplicacion = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<String> fijadosExternos = new ConcurrentLinkedQueue<>();
+
+        try (RecordingStream grabacion = new RecordingStream()) {
+            grabacion.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+            grabacion.onEvent("jdk.VirtualThreadPinned", evento -> {
+                String origen = origen(evento);
+                (origen.startsWith(PAQUETE_APLICACION) ? fijadosAplicacion : fijadosExternos).add(origen);
+            });
+            grabacion.startAsync();
+
+            ejecutar(new VirtualThreadTaskExecutor("carga-"));
+            // JFR entrega los eventos en bloques de un segundo
+            Thread.sleep(2_000);
+        }
+
+        logger.debug("Hilos fijados: {} en la aplicación, {} en librerías {}",
+                fijadosAplicacion.size(), fijadosExternos.size(), fijadosExternos.stream().distinct().toList());
+        assertTrue(fijadosAplicacion.isEmpty(), "hilos fijados en: " + fijadosAplicacion.stream().distinct().toList());
+    }
+
+    /**
+     * Envía SOLICITUDES solicitudes concurrentes alternando depósitos y reportes síncronos.
+     */
+    private void ejecutar(Executor executor) {
+        List<CompletableFuture<Void>> solicitudes = new ArrayList<>(SOLICITUDES);
+        for (int i = 0; i < SOLICITUDES; i++) {
+            boolean deposito = i % 2 == 0;
+            solicitudes.add(CompletableFuture.runAsync(() -> {
+                try {
+                    int estado = deposito ? depositar() : consultarReporte();
+                    assertTrue(estado < 300, "estado HTTP " + estado);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+        solicitudes.forEach(CompletableFuture::join);
+    }
+
+    private int depositar() throws Exception {
+        return mockMvc.perform(post("/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovimientoRequest(cuentaId, "DEPOSITO", BigDecimal.ONE))))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private int consultarReporte() throws Exception {
+        return mockMvc.perform(get("/cuentas/reportes")
+                        .param("clienteId", String.valueOf(CLIENTE_ID))
+                        .param("fechaInicio", "2024-02-01")
+                        .param("fechaFin", "2024-02-29"))
+                .andReturn().getResponse().getStatus();
+    }
+
+    /**
+     * @return La clase y el método del primer marco fuera del JDK que fijó el hilo.
+     */
+    private static String origen(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "desconocido";
+        }
+        Optional<RecordedFrame> marco = evento.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(f -> !f.getMethod().getType().getName().startsWith("java.")
+                        && !f.getMethod().getType().getName().startsWith("jdk.")
+                        && !f.getMethod().getType().getName().startsWith("sun."))
+                .findFirst();
+        return marco.map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName()).orElse("jdk");
+    }
+}
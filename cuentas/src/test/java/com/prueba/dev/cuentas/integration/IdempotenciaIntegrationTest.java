@@ -0,0 +1,145 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Pruebas del encabezado Idempotency-Key sobre H2.
+ * Un reintento con la misma clave debe devolver el movimiento original sin crear otro.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotenciaIntegrationTest {
+
+    private static final int HILOS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deposito_ConMismaClave_DevuelveMovimientoOriginal() throws Exception {
+        Long cuentaId = crearCuenta("IDEMP-DEP");
+
+        MvcResult primero = depositar(cuentaId, "10.00", "dep-1");
+        MvcResult reintento = depositar(cuentaId, "10", "dep-1");
+
+        assertEquals(201, primero.getResponse().getStatus());
+        assertEquals(201, reintento.getResponse().getStatus());
+        assertEquals(primero.getResponse().getContentAsString(), reintento.getResponse().getContentAsString());
+        assertEquals(1, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        assertEquals(0, BigDecimal.valueOf(110).compareTo(cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo()));
+        assertTrue(meterRegistry.get("cuentas.idempotencia.solicitudes").tag("resultado", "acierto_memoria").counter().count() >= 1);
+    }
+
+    @Test
+    void movimiento_ClaveReutilizadaConOtraSolicitud_SeRechaza() throws Exception {
+        Long cuentaId = crearCuenta("IDEMP-MOV");
+
+        MvcResult primero = crearMovimiento(new MovimientoRequest(cuentaId, "RETIRO", BigDecimal.valueOf(30)), "mov-1");
+        MvcResult distinto = crearMovimiento(new MovimientoRequest(cuentaId, "RETIRO", BigDecimal.valueOf(40)), "mov-1");
+
+        assertEquals(201, primero.getResponse().getStatus());
+        assertEquals(500, distinto.getResponse().getStatus());
+        assertEquals(1, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+    }
+
+    @Test
+    void movimiento_FallidoNoSeRegistra_ElReintentoVuelveAEjecutar() throws Exception {
+        Long cuentaId = crearCuenta("IDEMP-FALLO");
+        MovimientoRequest retiro = new MovimientoRequest(cuentaId, "RETIRO", BigDecimal.valueOf(150));
+
+        assertEquals(500, crearMovimiento(retiro, "mov-fallo").getResponse().getStatus());
+        depositar(cuentaId, "100", null);
+        assertEquals(201, crearMovimiento(retiro, "mov-fallo").getResponse().getStatus());
+
+        assertEquals(2, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+    }
+
+    @Test
+    void retiro_ConcurrenteConMismaClave_PosteaUnaSolaVez() throws Exception {
+        Long cuentaId = crearCuenta("IDEMP-CONC");
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<MvcResult>> tareas = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            tareas.add(executor.submit(() -> mockMvc.perform(post("/cuentas/{id}/retiro", cuentaId)
+                    .param("valor", "5")
+                    .header("Idempotency-Key", "ret-concurrente")).andReturn()));
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Future<MvcResult> tarea : tareas) {
+            MvcResult resultado = tarea.get();
+            assertEquals(201, resultado.getResponse().getStatus(), resultado.getResponse().getContentAsString());
+            ids.add(datos(resultado).get("id").asLong());
+        }
+        executor.shutdown();
+
+        assertEquals(1, ids.size());
+        assertEquals(1, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        assertEquals(0, BigDecimal.valueOf(95).compareTo(cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo()));
+    }
+
+    private Long crearCuenta(String numero) {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        return cuentaRepositoryPort.save(new Cuenta(1L, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+    }
+
+    private MvcResult depositar(Long cuentaId, String valor, String clave) throws Exception {
+        var solicitud = post("/cuentas/{id}/deposito", cuentaId).param("valor", valor);
+        if (clave != null) {
+            solicitud.header("Idempotency-Key", clave);
+        }
+        return mockMvc.perform(solicitud).andReturn();
+    }
+
+    private MvcResult crearMovimiento(MovimientoRequest request, String clave) throws Exception {
+        return mockMvc.perform(post("/movimientos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", clave)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+    }
+
+    private JsonNode datos(MvcResult resultado) throws Exception {
+        JsonNode respuesta = objectMapper.readTree(resultado.getResponse().getContentAsString());
+        return respuesta.get("data");
+    }
+}
@@ -0,0 +1,117 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la carga de movimientos por lotes sobre H2.
+ * Un lote debe dejar el mismo saldo que N llamadas a POST /movimientos; el tiempo de
+ * cada camino queda en el log en nivel debug.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimientoBatchIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoBatchIntegrationTest.class);
+
+    private static final int MOVIMIENTOS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void batch_ShouldReportAcceptedAndRejectedItems() throws Exception {
+        Long cuentaId = crearCuenta("BATCH-MIX", BigDecimal.valueOf(100));
+        List<MovimientoRequest> lote = List.of(
+                new MovimientoRequest(cuentaId, "RETIRO", BigDecimal.valueOf(60)),
+                new MovimientoRequest(cuentaId, "RETIRO", BigDecimal.valueOf(60)),
+                new MovimientoRequest(999_999L, "DEPOSITO", BigDecimal.TEN),
+                new MovimientoRequest(cuentaId, "DEPOSITO", BigDecimal.ZERO),
+                new MovimientoRequest(cuentaId, "DEPOSITO", BigDecimal.valueOf(15)));
+
+        JsonNode resultado = postearLote(lote);
+
+        assertEquals(2, resultado.get("totalAceptados").asInt());
+        assertEquals(3, resultado.get("totalRechazados").asInt());
+        assertEquals("Saldo no disponible", resultado.get("rechazados").get(0).get("motivo").asText());
+        assertEquals(0, BigDecimal.valueOf(55).compareTo(saldoDe(cuentaId)));
+        assertEquals(2, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+    }
+
+    @Test
+    void batch_DejaElMismoSaldoQueLlamadasIndividuales() throws Exception {
+        Long individualId = crearCuenta("BATCH-INDIVIDUAL", BigDecimal.ZERO);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            mockMvc.perform(post("/movimientos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new MovimientoRequest(individualId, "DEPOSITO", BigDecimal.ONE))))
+                    .andExpect(status().isCreated());
+        }
+        double individuales = MOVIMIENTOS / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+
+        Long loteId = crearCuenta("BATCH-LOTE", BigDecimal.ZERO);
+        List<MovimientoRequest> lote = new ArrayList<>(MOVIMIENTOS);
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            lote.add(new MovimientoRequest(loteId, "DEPOSITO", BigDecimal.ONE));
+        }
+        inicio = System.nanoTime();
+        JsonNode resultado = postearLote(lote);
+        double porLote = MOVIMIENTOS / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+
+        logger.debug("POST /movimientos x {}: {} movimientos/s; POST /movimientos/batch: {} movimientos/s",
+                MOVIMIENTOS, Math.round(individuales), Math.round(porLote));
+        assertEquals(MOVIMIENTOS, resultado.get("totalAceptados").asInt());
+        assertEquals(0, BigDecimal.valueOf(MOVIMIENTOS).compareTo(saldoDe(loteId)));
+        assertEquals(0, saldoDe(individualId).compareTo(saldoDe(loteId)));
+    }
+
+    private JsonNode postearLote(List<MovimientoRequest> lote) throws Exception {
+        String respuesta = mockMvc.perform(post("/movimientos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(respuesta).get("data");
+    }
+
+    private Long crearCuenta(String numeroCuenta, BigDecimal saldo) {
+        Cuenta cuenta = new Cuenta(1L, numeroCuenta, "Ahorros", saldo, saldo, "ACTIVA");
+        return cuentaRepositoryPort.save(cuenta).getId();
+    }
+
+    private BigDecimal saldoDe(Long cuentaId) {
+        return cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo();
+    }
+}
@@ -0,0 +1,156 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la importación por streaming de movimientos históricos sobre H2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovimientoImportIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoImportIntegrationTest.class);
+
+    private static final int FILAS = 5000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @SpyBean
+    private CuentaService cuentaService;
+
+    @Test
+    void importarNdjson_ShouldImportValidRowsAndUpdateSaldoOnce() throws Exception {
+        Long cuentaId = crearCuenta("IMPORT-NDJSON", BigDecimal.valueOf(100));
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < FILAS; i++) {
+            ndjson.append("{\"cuentaId\":").append(cuentaId)
+                    .append(",\"fecha\":\"2020-01-01T10:00:00\",\"tipoMovimiento\":\"DEPOSITO\",\"valor\":2}\n");
+        }
+        ndjson.append("{\"cuentaId\":").append(cuentaId).append(",\"fecha\":\"2020-01-02T10:00:00\",\"tipoMovimiento\":\"RETIRO\",\"valor\":1000000}\n");
+        ndjson.append("{no es json}\n");
+        ndjson.append("{\"cuentaId\":999999,\"fecha\":\"2020-01-02T10:00:00\",\"tipoMovimiento\":\"DEPOSITO\",\"valor\":5}\n");
+
+        JsonNode resultado = importar("application/x-ndjson", "imp-ndjson", ndjson.toString());
+
+        assertEquals("COMPLETADA", resultado.get("estado").asText());
+        assertEquals(FILAS + 3, resultado.get("filasLeidas").asLong());
+        assertEquals(FILAS, resultado.get("filasImportadas").asLong());
+        assertEquals(3, resultado.get("filasRechazadas").asLong());
+        assertEquals(0, BigDecimal.valueOf(100 + 2L * FILAS).compareTo(saldoDe(cuentaId)));
+        assertEquals(FILAS, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        logger.debug("Importación NDJSON: {} filas, {} filas/s", FILAS, Math.round(resultado.get("filasPorSegundo").asDouble()));
+
+        String progreso = mockMvc.perform(get("/movimientos/import/imp-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(progreso.contains("COMPLETADA"));
+    }
+
+    @Test
+    void importarCsv_ShouldComputeRunningSaldoAndRejectInvalidRows() throws Exception {
+        Long cuentaId = crearCuenta("IMPORT-CSV", BigDecimal.ZERO);
+        String csv = "cuentaId,fecha,tipoMovimiento,valor\n"
+                + cuentaId + ",2020-01-01T10:00:00,DEPOSITO,50.00\n"
+                + cuentaId + ",2020-01-02T10:00:00,RETIRO,80.00\n"
+                + cuentaId + ",2020-01-03T10:00:00,OTRO,10.00\n"
+                + cuentaId + ",2020-01-04T10:00:00,DEPOSITO,abc\n"
+                + cuentaId + ",2020-01-05T10:00:00,RETIRO,20.00\n";
+
+        JsonNode resultado = importar("text/csv", "imp-csv", csv);
+
+        assertEquals(2, resultado.get("filasImportadas").asLong());
+        assertEquals(3, resultado.get("filasRechazadas").asLong());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(saldoDe(cuentaId)));
+        assertTrue(movimientoRepositoryPort.findByCuentaId(cuentaId).stream()
+                .anyMatch(m -> m.getSaldo().compareTo(BigDecimal.valueOf(30)) == 0 && m.getFecha().getYear() == 2020));
+    }
+
+    @Test
+    void importar_FallaAlAcreditarUnaCuenta_CadaNetoSeAplicaUnaVez() throws Exception {
+        List<Long> cuentas = List.of(
+                crearCuenta("IMPORT-NETO-1", BigDecimal.valueOf(100)),
+                crearCuenta("IMPORT-NETO-2", BigDecimal.valueOf(200)),
+                crearCuenta("IMPORT-NETO-3", BigDecimal.valueOf(300)));
+        // La segunda acreditación falla una vez, como una caída momentánea de la base
+        AtomicInteger acreditaciones = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (acreditaciones.incrementAndGet() == 2) {
+                throw new IllegalStateException("conexión perdida");
+            }
+            return invocation.callRealMethod();
+        }).when(cuentaService).acreditarImportacion(anyLong(), any());
+
+        StringBuilder ndjson = new StringBuilder();
+        for (Long cuentaId : cuentas) {
+            for (int i = 0; i < 3; i++) {
+                ndjson.append("{\"cuentaId\":").append(cuentaId)
+                        .append(",\"fecha\":\"2020-01-01T10:00:00\",\"tipoMovimiento\":\"DEPOSITO\",\"valor\":10}\n");
+            }
+        }
+
+        JsonNode resultado = importar("application/x-ndjson", "imp-neto-parcial", ndjson.toString());
+
+        assertEquals("FALLIDA", resultado.get("estado").asText());
+        assertEquals(0, BigDecimal.valueOf(130).compareTo(saldoDe(cuentas.get(0))));
+        assertEquals(0, BigDecimal.valueOf(230).compareTo(saldoDe(cuentas.get(1))));
+        assertEquals(0, BigDecimal.valueOf(330).compareTo(saldoDe(cuentas.get(2))));
+        assertEquals(3, resultado.get("cuentasActualizadas").asInt());
+        assertEquals(4, acreditaciones.get());
+    }
+
+    private JsonNode importar(String contentType, String importacionId, String contenido) throws Exception {
+        String respuesta = mockMvc.perform(post("/movimientos/import")
+                        .param("importacionId", importacionId)
+                        .contentType(contentType)
+                        .content(contenido))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(respuesta).get("data");
+    }
+
+    private Long crearCuenta(String numeroCuenta, BigDecimal saldo) {
+        Cuenta cuenta = new Cuenta(1L, numeroCuenta, "Ahorros", saldo, saldo, "ACTIVA");
+        return cuentaRepositoryPort.save(cuenta).getId();
+    }
+
+    private BigDecimal saldoDe(Long cuentaId) {
+        return cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo();
+    }
+}
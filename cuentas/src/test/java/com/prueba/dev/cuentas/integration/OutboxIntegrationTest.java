@@ -0,0 +1,164 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
+import com.prueba.dev.cuentas.application.service.OutboxService;
+import com.prueba.dev.cuentas.domain.port.OutboxRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.outbox.RelayOutbox;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import com.prueba.dev.eventos.binario.ConvertidorEventos;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del outbox sobre H2: el evento de cuenta creada se registra en la
+ * transacción de la cuenta y el relay lo publica con confirmaciones del broker.
+ * El broker se simula confirmando cada envío; el relay se ejecuta a mano porque su intervalo es de una hora.
+ * Los eventos se publican en el formato binario.
+ */
+@SpringBootTest(properties = {"cuentas.outbox.habilitado=true", "cuentas.outbox.intervalo-ms=3600000",
+        "cuentas.publicacion.reintentos=1", "cuentas.publicacion.espera-reintento=10ms",
+        "cuentas.mensajeria.formato=binario"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRepositoryPort outboxRepositoryPort;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private RelayOutbox relayOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConvertidorEventos convertidorEventos;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final RabbitOperations operaciones = mock(RabbitOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        reset(operaciones);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenAnswer(invocacion -> invocacion.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operaciones));
+        relayOutbox.publicarPendientes();
+        reset(operaciones);
+        confirmarEnvios(true);
+    }
+
+    /**
+     * Simula la confirmación del broker tanto en el canal del lote como en los reenvíos.
+     */
+    private void confirmarEnvios(boolean ack) {
+        Answer<Void> confirmacion = invocacion -> {
+            invocacion.<CorrelationData>getArgument(3).getFuture()
+                    .complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        };
+        doAnswer(confirmacion).when(operaciones).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        doAnswer(confirmacion).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void crearCuenta_RegistraElEventoYElRelayLoPublica() throws Exception {
+        mockMvc.perform(post("/cuentas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CuentaRequest(7L, "OUTBOX-1", "Ahorros", BigDecimal.valueOf(50), "ACTIVA"))))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, outboxRepositoryPort.contarPendientes());
+        verifyNoInteractions(operaciones);
+
+        assertEquals(1, relayOutbox.publicarPendientes());
+
+        verify(operaciones).send(eq("cliente.exchange"), eq("cliente.routingkey"), argThat((Message mensaje) ->
+                mensaje.getMessageProperties().getMessageId().startsWith("cuentas-outbox-")
+                        && ConvertidorEventos.CONTENT_TYPE.equals(mensaje.getMessageProperties().getContentType())
+                        && mensaje.getMessageProperties().getHeader("__TypeId__") == null
+                        && "OUTBOX-1".equals(((CuentaCreadaEvent) convertidorEventos.fromMessage(mensaje)).getNumeroCuenta())),
+                any(CorrelationData.class));
+        assertEquals(0, outboxRepositoryPort.contarPendientes());
+        assertTrue(meterRegistry.get("cuentas.outbox.publicados").counter().count() >= 1);
+        assertTrue(meterRegistry.get("cuentas.outbox.retraso").timer().count() >= 1);
+        assertTrue(meterRegistry.get("cuentas.publicacion.confirmacion").timer().count() >= 1);
+        assertEquals(0, meterRegistry.get("cuentas.publicacion.en_vuelo").gauge().value());
+    }
+
+    @Test
+    void transaccionRevertida_NoDejaEvento() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.registrar("cliente.exchange", "cliente.routingkey", new CuentaCreadaEvent(7L, 99L, "FANTASMA"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepositoryPort.contarPendientes());
+        assertEquals(0, relayOutbox.publicarPendientes());
+        verifyNoInteractions(operaciones);
+    }
+
+    @Test
+    void loteRechazado_QuedaPendienteYSeReintenta() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (long i = 1; i <= 3; i++) {
+                outboxService.registrar("cliente.exchange", "cliente.routingkey", new CuentaCreadaEvent(7L, i, "LOTE-" + i));
+            }
+        });
+        confirmarEnvios(false);
+
+        // Cada mensaje se envía y se reenvía una vez antes de dar el lote por fallido
+        assertThrows(AmqpException.class, () -> relayOutbox.publicarPendientes());
+        assertEquals(3, outboxRepositoryPort.contarPendientes());
+        verify(operaciones, times(3)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        verify(rabbitTemplate, times(3)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        confirmarEnvios(true);
+        assertEquals(3, relayOutbox.publicarPendientes());
+        assertEquals(0, outboxRepositoryPort.contarPendientes());
+        verify(operaciones, times(6)).send(eq("cliente.exchange"), eq("cliente.routingkey"), any(Message.class), any(CorrelationData.class));
+        assertEquals(0, meterRegistry.get("cuentas.publicacion.en_vuelo").gauge().value());
+    }
+}
@@ -0,0 +1,127 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Pruebas de la paginación por cursor sobre H2.
+ * Recorrer todas las páginas debe entregar cada fila una sola vez y en orden.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaginacionIntegrationTest {
+
+    private static final int MOVIMIENTOS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void movimientosPorCuenta_RecorreTodasLasPaginasSinRepetir() throws Exception {
+        Long cuentaId = crearCuenta("PAG-MOV");
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, BigDecimal.valueOf(101 + i));
+            // Grupos de diez movimientos con la misma fecha: el ID desempata
+            movimiento.setFecha(base.plusMinutes(i / 10));
+            movimientos.add(movimiento);
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+
+        List<Integer> tamanios = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        LocalDateTime fechaAnterior = null;
+        Long idAnterior = null;
+        String cursor = null;
+        do {
+            JsonNode pagina = pagina(get("/movimientos/cuenta/{id}", cuentaId), cursor, "50");
+            tamanios.add(pagina.get("elementos").size());
+            for (JsonNode elemento : pagina.get("elementos")) {
+                LocalDateTime fecha = LocalDateTime.parse(elemento.get("fecha").asText());
+                long id = elemento.get("id").asLong();
+                assertTrue(vistos.add(id));
+                if (fechaAnterior != null) {
+                    assertTrue(fecha.isBefore(fechaAnterior) || (fecha.equals(fechaAnterior) && id < idAnterior));
+                }
+                fechaAnterior = fecha;
+                idAnterior = id;
+            }
+            cursor = pagina.get("siguienteCursor").isNull() ? null : pagina.get("siguienteCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(List.of(50, 50, 20), tamanios);
+        assertEquals(MOVIMIENTOS, vistos.size());
+    }
+
+    @Test
+    void cuentas_PaginanPorIdAscendente() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            crearCuenta("PAG-CTA-" + i);
+        }
+
+        JsonNode primera = pagina(get("/cuentas"), null, "2");
+        JsonNode segunda = pagina(get("/cuentas"), primera.get("siguienteCursor").asText(), "2");
+
+        assertEquals(2, primera.get("elementos").size());
+        assertEquals(2, segunda.get("elementos").size());
+        assertTrue(segunda.get("elementos").get(0).get("id").asLong() > primera.get("elementos").get(1).get("id").asLong());
+    }
+
+    @Test
+    void cursorInvalido_SeRechaza() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/movimientos").param("cursor", "no-es-un-cursor")).andReturn();
+
+        assertEquals(500, resultado.getResponse().getStatus());
+        assertTrue(resultado.getResponse().getContentAsString().contains("Cursor de paginaci"));
+    }
+
+    private JsonNode pagina(MockHttpServletRequestBuilder solicitud,
+                            String cursor, String limite) throws Exception {
+        solicitud.param("limite", limite);
+        if (cursor != null) {
+            solicitud.param("cursor", cursor);
+        }
+        MvcResult resultado = mockMvc.perform(solicitud).andReturn();
+        assertEquals(200, resultado.getResponse().getStatus(), resultado.getResponse().getContentAsString());
+        JsonNode respuesta = objectMapper.readTree(resultado.getResponse().getContentAsString());
+        return respuesta.get("data");
+    }
+
+    private Long crearCuenta(String numero) {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        return cuentaRepositoryPort.save(new Cuenta(1L, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+    }
+}
@@ -0,0 +1,168 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.prueba.dev.cuentas.CuentasApplication;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Somete a la misma carga de lecturas la pila servlet (Tomcat y JPA) y la pila
+ * reactiva (Netty y R2DBC). Cada pila arranca su propio contexto en un puerto libre
+ * con su propia base H2 sembrada con los mismos datos, y un WebClient envía
+ * solicitudes concurrentes alternando consulta de cuenta y página de movimientos.
+ * Cada respuesta de ambas pilas debe traer los mismos datos que la pila servlet
+ * devuelve sin carga. También registra solicitudes por segundo y p99, sin
+ * compararlos: dependen de la máquina, y r2dbc-h2 ejecuta las consultas de forma
+ * síncrona en el hilo que se suscribe, así que sobre H2 la pila reactiva bloquea
+ * los hilos de Netty. La comparación representativa es contra MySQL con r2dbc-mysql.
+ * Corre con el perfil de Maven carga: mvn test -pl cuentas -am -Pcarga.
+ */
+@Tag("carga")
+class PilaReactivaCargaIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PilaReactivaCargaIntegrationTest.class);
+
+    private static final long CLIENTE_ID = 2525L;
+    private static final int SOLICITUDES = 2_000;
+    private static final int CONCURRENCIA = 64;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactiva;
+
+    @BeforeAll
+    static void arrancar() {
+        servlet = arrancar("servlet",
+                "--spring.datasource.url=jdbc:h2:mem:carga-servlet;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        reactiva = arrancar("reactive",
+                "--spring.datasource.url=jdbc:h2:mem:carga-reactiva;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--cuentas.reactivo.url=r2dbc:h2:mem:///carga-reactiva?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--cuentas.reactivo.usuario=sa");
+    }
+
+    @AfterAll
+    static void detener() {
+        if (servlet != null) {
+            servlet.close();
+        }
+        if (reactiva != null) {
+            reactiva.close();
+        }
+    }
+
+    @Test
+    void pilaReactiva_BajoCargaDevuelveLosMismosDatosQueLaPilaServlet() {
+        Long cuentaId = sembrar(servlet);
+        assertEquals(cuentaId, sembrar(reactiva), "ambas bases deben asignar el mismo ID a la cuenta sembrada");
+        Map<String, JsonNode> esperadas = Map.of(
+                uriCuenta(cuentaId), leer(cliente(servlet).get().uri(uriCuenta(cuentaId)).retrieve().bodyToMono(String.class).block()),
+                uriMovimientos(cuentaId), leer(cliente(servlet).get().uri(uriMovimientos(cuentaId)).retrieve().bodyToMono(String.class).block()));
+        assertEquals(50, esperadas.get(uriMovimientos(cuentaId)).at("/data/elementos").size());
+
+        // Calentamiento para no cargar a la primera pila con la compilación JIT
+        ejecutar(servlet, cuentaId, esperadas);
+        ejecutar(reactiva, cuentaId, esperadas);
+        Resultado conServlet = ejecutar(servlet, cuentaId, esperadas);
+        Resultado conReactiva = ejecutar(reactiva, cuentaId, esperadas);
+
+        logger.info("Servlet (Tomcat, JPA): {} solicitudes/s, p99 {} ms",
+                Math.round(conServlet.porSegundo()), String.format("%.1f", conServlet.p99Ms()));
+        logger.info("Reactiva (Netty, R2DBC): {} solicitudes/s, p99 {} ms",
+                Math.round(conReactiva.porSegundo()), String.format("%.1f", conReactiva.p99Ms()));
+    }
+
+    private static ConfigurableApplicationContext arrancar(String tipo, String... argumentos) {
+        List<String> todos = new ArrayList<>(List.of(argumentos));
+        todos.add("--spring.main.web-application-type=" + tipo);
+        todos.add("--server.port=0");
+        todos.add("--logging.level.com.prueba.dev.cuentas.integration=INFO");
+        return new SpringApplicationBuilder(CuentasApplication.class)
+                .profiles("test")
+                .run(todos.toArray(String[]::new));
+    }
+
+    private static Long sembrar(ConfigurableApplicationContext contexto) {
+        BigDecimal saldo = BigDecimal.valueOf(1_000);
+        Long cuentaId = contexto.getBean(CuentaRepositoryPort.class)
+                .save(new Cuenta(CLIENTE_ID, "CARGA-1", "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(i + 1)));
+            movimiento.setFecha(LocalDateTime.of(2024, 2, 1, 12, 0).plusMinutes(i));
+            movimientos.add(movimiento);
+        }
+        contexto.getBean(MovimientoRepositoryPort.class).saveAll(movimientos);
+        return cuentaId;
+    }
+
+    /**
+     * Envía SOLICITUDES solicitudes con CONCURRENCIA en vuelo, alternando la consulta
+     * de la cuenta y una página de 50 movimientos, y compara cada respuesta con la esperada.
+     * @return Solicitudes por segundo y p99 de las latencias.
+     */
+    private static Resultado ejecutar(ConfigurableApplicationContext contexto, Long cuentaId, Map<String, JsonNode> esperadas) {
+        WebClient cliente = cliente(contexto);
+        long inicio = System.nanoTime();
+        List<Long> latencias = Flux.range(0, SOLICITUDES)
+                .flatMap(i -> {
+                    long comienzo = System.nanoTime();
+                    String uri = i % 2 == 0 ? uriCuenta(cuentaId) : uriMovimientos(cuentaId);
+                    return cliente.get().uri(uri).retrieve().bodyToMono(String.class)
+                            .map(cuerpo -> {
+                                long latencia = System.nanoTime() - comienzo;
+                                assertEquals(esperadas.get(uri), leer(cuerpo), "respuesta de " + uri);
+                                return latencia;
+                            });
+                }, CONCURRENCIA)
+                .sort()
+                .collectList()
+                .block();
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        assertEquals(SOLICITUDES, latencias.size());
+        return new Resultado(SOLICITUDES / segundos, latencias.get((int) (latencias.size() * 0.99) - 1) / 1_000_000.0);
+    }
+
+    private static WebClient cliente(ConfigurableApplicationContext contexto) {
+        return WebClient.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static String uriCuenta(Long cuentaId) {
+        return "/cuentas/" + cuentaId;
+    }
+
+    private static String uriMovimientos(Long cuentaId) {
+        return "/movimientos/cuenta/" + cuentaId + "?limite=50";
+    }
+
+    private static JsonNode leer(String cuerpo) {
+        try {
+            return OBJECT_MAPPER.readTree(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Respuesta que no es JSON: " + cuerpo, e);
+        }
+    }
+
+    private record Resultado(double porSegundo, double p99Ms) {}
+}
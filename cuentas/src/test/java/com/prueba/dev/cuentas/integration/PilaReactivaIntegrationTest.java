@@ -0,0 +1,203 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.CuentaRequest;
+import com.prueba.dev.cuentas.application.service.MovimientoReactivoApplicationService;
+import com.prueba.dev.cuentas.application.service.ReporteEstadoCuentaService;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.infrastructure.controller.CuentaController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la pila reactiva: WebFlux con lecturas R2DBC sobre H2 embebido.
+ * La URL R2DBC y la JDBC apuntan a la misma base en memoria, así que JPA crea el
+ * esquema y los datos sembrados por los puertos bloqueantes se leen por R2DBC.
+ */
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:pila-reactiva;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "cuentas.reactivo.url=r2dbc:h2:mem:///pila-reactiva?options=MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "cuentas.reactivo.usuario=sa"})
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class PilaReactivaIntegrationTest {
+
+    private static final long CLIENTE_ID = 2424L;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private MovimientoReactivoApplicationService movimientoReactivoApplicationService;
+
+    @Autowired
+    private ReporteEstadoCuentaService reporteEstadoCuentaService;
+
+    @Test
+    void contexto_UsaLasAdaptacionesReactivasEnLugarDeLosControladoresServlet() {
+        assertNotNull(applicationContext.getBean(DatabaseClient.class));
+        assertEquals(0, applicationContext.getBeanNamesForType(CuentaController.class).length);
+    }
+
+    @Test
+    void crearYObtenerCuenta_MismosEstadosQueLaPilaServlet() throws Exception {
+        byte[] creada = webTestClient.post().uri("/cuentas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CuentaRequest(CLIENTE_ID, "RX-CREAR", "Ahorros", BigDecimal.valueOf(100), "ACTIVA"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().returnResult().getResponseBody();
+        long id = objectMapper.readTree(creada).at("/data/id").asLong();
+
+        webTestClient.get().uri("/cuentas/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(true)
+                .jsonPath("$.data.numeroCuenta").isEqualTo("RX-CREAR")
+                .jsonPath("$.data.saldoActual").isEqualTo(100.0);
+
+        webTestClient.get().uri("/cuentas/{id}", Long.MAX_VALUE).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.status").isEqualTo(false);
+
+        webTestClient.post().uri(uri -> uri.path("/cuentas/{id}/deposito").queryParam("valor", "25").build(id))
+                .header("Idempotency-Key", "rx-deposito-1")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.data.saldo").isEqualTo(125.0);
+
+        webTestClient.get().uri("/cuentas/{id}", id).exchange()
+                .expectBody().jsonPath("$.data.saldoActual").isEqualTo(125.0);
+    }
+
+    @Test
+    void paginasDeMovimientos_RecorrenTodosConElCursor() throws Exception {
+        Long cuentaId = sembrarCuenta("RX-PAGINAS", 7);
+
+        List<Long> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            String actual = cursor;
+            byte[] cuerpo = webTestClient.get().uri(uri -> {
+                        uri.path("/movimientos/cuenta/{id}").queryParam("limite", 3);
+                        if (actual != null) {
+                            uri.queryParam("cursor", actual);
+                        }
+                        return uri.build(cuentaId);
+                    })
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().returnResult().getResponseBody();
+            JsonNode pagina = objectMapper.readTree(cuerpo).get("data");
+            pagina.get("elementos").forEach(movimiento -> vistos.add(movimiento.get("id").asLong()));
+            cursor = pagina.get("siguienteCursor").isNull() ? null : pagina.get("siguienteCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(7, vistos.size());
+        assertEquals(7, vistos.stream().distinct().count());
+
+        webTestClient.get().uri("/movimientos?cursor=no-es-un-cursor").exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.status").isEqualTo(false);
+    }
+
+    @Test
+    void estadoDeCuenta_MismoJsonQueElReporteServlet() throws Exception {
+        sembrarCuenta("RX-REPORTE-1", 600);
+        sembrarCuenta("RX-REPORTE-2", 3);
+
+        byte[] reactivo = webTestClient.get()
+                .uri("/cuentas/reportes?clienteId={c}&fechaInicio=2024-03-01&fechaFin=2024-03-31", CLIENTE_ID + 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().returnResult().getResponseBody();
+
+        ByteArrayOutputStream servlet = new ByteArrayOutputStream();
+        reporteEstadoCuentaService.escribirEstadoCuenta(CLIENTE_ID + 1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), servlet);
+
+        JsonNode esperado = objectMapper.readTree(servlet.toByteArray());
+        JsonNode obtenido = objectMapper.readTree(reactivo);
+        assertEquals(esperado, obtenido);
+        assertEquals(2, obtenido.at("/data/cuentas").size());
+        assertEquals(600, obtenido.at("/data/cuentas/0/movimientos").size());
+    }
+
+    @Test
+    void exportacion_LeeSegunLaDemandaDelSuscriptor() {
+        Long cuentaId = sembrarCuenta("RX-EXPORTAR", 700);
+
+        // 700 movimientos en fragmentos de 256 líneas: cada pedido de un buffer entrega solo uno
+        StepVerifier.create(movimientoReactivoApplicationService.exportarMovimientos(cuentaId, DefaultDataBufferFactory.sharedInstance), 1)
+                .assertNext(buffer -> assertEquals(256, lineas(buffer)))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .assertNext(buffer -> assertEquals(256, lineas(buffer)))
+                .thenRequest(1)
+                .assertNext(buffer -> assertEquals(188, lineas(buffer)))
+                .verifyComplete();
+
+        String ndjson = webTestClient.get().uri("/movimientos/cuenta/{id}/export", cuentaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertEquals(700, ndjson.split("\n").length);
+    }
+
+    private Long sembrarCuenta(String numero, int movimientos) {
+        long clienteId = numero.startsWith("RX-REPORTE") ? CLIENTE_ID + 1 : CLIENTE_ID;
+        BigDecimal saldo = BigDecimal.valueOf(1_000);
+        Long cuentaId = cuentaRepositoryPort.save(new Cuenta(clienteId, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> filas = new ArrayList<>();
+        for (int i = 0; i < movimientos; i++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(i + 1)));
+            movimiento.setFecha(LocalDateTime.of(2024, 3, 1 + i % 28, 12, 0).plusSeconds(i));
+            filas.add(movimiento);
+        }
+        movimientoRepositoryPort.saveAll(filas);
+        return cuentaId;
+    }
+
+    private static long lineas(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count();
+    }
+}
@@ -0,0 +1,149 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.prueba.dev.cuentas.application.service.CuentaApplicationService;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia del camino de posteo de saldos sobre H2.
+ * Verifica que depósitos y retiros concurrentes no pierden actualizaciones; los
+ * postings por segundo quedan en el log en nivel debug.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PostingConcurrencyIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingConcurrencyIntegrationTest.class);
+
+    private static final int HILOS = 8;
+    private static final int POSTINGS_POR_HILO = 50;
+    private static final int TOTAL = HILOS * POSTINGS_POR_HILO;
+
+    @Autowired
+    private CuentaApplicationService cuentaApplicationService;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void depositosConcurrentes_NoPierdenActualizaciones() throws Exception {
+        Long cuentaId = crearCuenta("CONC-DEP", BigDecimal.ZERO);
+
+        double postingsPorSegundo = ejecutarConcurrente(() -> cuentaApplicationService.depositar(cuentaId, BigDecimal.ONE));
+
+        assertEquals(0, BigDecimal.valueOf(TOTAL).compareTo(saldoDe(cuentaId)));
+        assertEquals(TOTAL, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+        logger.debug("Posting atómico: {} depósitos concurrentes, {} postings/s", TOTAL, Math.round(postingsPorSegundo));
+    }
+
+    @Test
+    void retirosConcurrentes_NuncaDejanSaldoNegativo() throws Exception {
+        int disponibles = 100;
+        Long cuentaId = crearCuenta("CONC-RET", BigDecimal.valueOf(disponibles));
+        AtomicInteger rechazados = new AtomicInteger();
+
+        ejecutarConcurrente(() -> {
+            try {
+                cuentaApplicationService.retirar(cuentaId, BigDecimal.ONE);
+            } catch (SaldoInsuficienteException e) {
+                rechazados.incrementAndGet();
+            }
+        });
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldoDe(cuentaId)));
+        assertEquals(TOTAL - disponibles, rechazados.get());
+        assertEquals(disponibles, movimientoRepositoryPort.findByCuentaId(cuentaId).size());
+    }
+
+    @Test
+    void postingAtomico_NoPierdeActualizacionesDondeLeerModificarGuardarSi() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // Esquema anterior: leer la cuenta, sumar en Java y guardar la entidad completa
+        Long legacyId = crearCuenta("CONC-LEGACY", BigDecimal.ZERO);
+        AtomicInteger errores = new AtomicInteger();
+        double antes = ejecutarConcurrente(() -> {
+            try {
+                tx.executeWithoutResult(status -> {
+                    Cuenta cuenta = cuentaRepositoryPort.findById(legacyId).orElseThrow();
+                    BigDecimal nuevoSaldo = cuenta.getSaldo().add(BigDecimal.ONE);
+                    cuenta.setSaldo(nuevoSaldo);
+                    cuentaRepositoryPort.save(cuenta);
+                    movimientoRepositoryPort.save(new Movimiento(legacyId, "DEPOSITO", BigDecimal.ONE, nuevoSaldo));
+                });
+            } catch (RuntimeException e) {
+                errores.incrementAndGet();
+            }
+        });
+        int perdidas = TOTAL - errores.get() - saldoDe(legacyId).intValue();
+
+        Long atomicoId = crearCuenta("CONC-ATOMICO", BigDecimal.ZERO);
+        double despues = ejecutarConcurrente(() -> cuentaApplicationService.depositar(atomicoId, BigDecimal.ONE));
+
+        logger.debug("Leer-modificar-guardar: {} postings/s, {} actualizaciones perdidas, {} errores",
+                Math.round(antes), perdidas, errores.get());
+        logger.debug("UPDATE condicional: {} postings/s", Math.round(despues));
+        assertEquals(0, BigDecimal.valueOf(TOTAL).compareTo(saldoDe(atomicoId)));
+    }
+
+    private Long crearCuenta(String numeroCuenta, BigDecimal saldo) {
+        Cuenta cuenta = new Cuenta(1L, numeroCuenta, "Ahorros", saldo, saldo, "ACTIVA");
+        return cuentaRepositoryPort.save(cuenta).getId();
+    }
+
+    private BigDecimal saldoDe(Long cuentaId) {
+        return cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo();
+    }
+
+    /**
+     * Ejecuta la operación TOTAL veces repartida en HILOS hilos.
+     * @return Operaciones por segundo.
+     */
+    private double ejecutarConcurrente(Runnable operacion) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            long inicio = System.nanoTime();
+            for (int h = 0; h < HILOS; h++) {
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < POSTINGS_POR_HILO; i++) {
+                        operacion.run();
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            return TOTAL / ((System.nanoTime() - inicio) / 1_000_000_000.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.MovimientoDTO;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.respuestas.GenericResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Pruebas del formato de respuesta con datos anidados frente al formato anterior
+ * con JSON dentro de un texto, negociado con el encabezado Accept.
+ * Verifica que el formato anidado envía menos bytes; el costo de serialización
+ * de cada formato se mide con GenericResponseBenchmark del módulo benchmarks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RespuestaEstructuradaIntegrationTest {
+
+    private static final int MOVIMIENTOS = 500;
+    private static final int LISTADO_GRANDE = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void listado_FormatoAnteriorSeNegociaConAccept() throws Exception {
+        Long cuentaId = crearCuentaConMovimientos("RESP-LISTADO");
+
+        MvcResult estructurado = mockMvc.perform(get("/movimientos/cuenta/{id}", cuentaId)
+                .param("limite", String.valueOf(MOVIMIENTOS))
+                .accept(MediaType.APPLICATION_JSON)).andReturn();
+        MvcResult legado = mockMvc.perform(get("/movimientos/cuenta/{id}", cuentaId)
+                .param("limite", String.valueOf(MOVIMIENTOS))
+                .accept(GenericResponse.TIPO_LEGADO)).andReturn();
+
+        JsonNode datos = objectMapper.readTree(estructurado.getResponse().getContentAsByteArray()).get("data");
+        JsonNode respuestaLegada = objectMapper.readTree(legado.getResponse().getContentAsByteArray());
+        assertEquals(MOVIMIENTOS, datos.get("elementos").size());
+        assertTrue(legado.getResponse().getContentType().startsWith(GenericResponse.TIPO_LEGADO));
+        assertNull(respuestaLegada.get("data"));
+        assertEquals(datos, objectMapper.readTree(respuestaLegada.get("message").asText()));
+
+        int bytesEstructurado = estructurado.getResponse().getContentAsByteArray().length;
+        int bytesLegado = legado.getResponse().getContentAsByteArray().length;
+        assertTrue(bytesEstructurado < bytesLegado);
+    }
+
+    @Test
+    void errores_ConservanElMensajeEnAmbosFormatos() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/movimientos/{id}", Long.MAX_VALUE)
+                .accept(GenericResponse.TIPO_LEGADO)).andReturn();
+
+        JsonNode respuesta = objectMapper.readTree(resultado.getResponse().getContentAsByteArray());
+        assertFalse(respuesta.get("status").asBoolean());
+        assertTrue(respuesta.get("message").asText().length() > 0);
+        assertNull(respuesta.get("data"));
+    }
+
+    @Test
+    void serializacion_ListadoGrande_AnidadoUsaMenosBytes() throws Exception {
+        List<MovimientoDTO> movimientos = new ArrayList<>();
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (long i = 1; i <= LISTADO_GRANDE; i++) {
+            movimientos.add(new MovimientoDTO(i, 1L, fecha.plusSeconds(i), "DEPOSITO", BigDecimal.TEN, BigDecimal.valueOf(100 + i)));
+        }
+
+        assertTrue(serializarAnidado(movimientos) < serializarLegado(movimientos));
+    }
+
+    private int serializarAnidado(List<MovimientoDTO> movimientos) throws Exception {
+        return objectMapper.writeValueAsBytes(GenericResponse.conDatos(movimientos)).length;
+    }
+
+    private int serializarLegado(List<MovimientoDTO> movimientos) throws Exception {
+        String datos = objectMapper.writeValueAsString(movimientos);
+        return objectMapper.writeValueAsBytes(new GenericResponse(true, datos)).length;
+    }
+
+    private Long crearCuentaConMovimientos(String numero) {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        Long cuentaId = cuentaRepositoryPort.save(new Cuenta(1L, numero, "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            movimientos.add(new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(i + 1))));
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+        return cuentaId;
+    }
+}
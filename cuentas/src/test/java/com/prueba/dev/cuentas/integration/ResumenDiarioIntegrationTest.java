@@ -0,0 +1,154 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.application.dto.request.MovimientoRequest;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.model.ResumenDiario;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.ResumenDiarioRepositoryPort;
+import com.prueba.dev.cuentas.domain.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Pruebas del resumen diario de movimientos sobre H2.
+ * El resumen debe coincidir con los movimientos tras registrar, modificar y eliminar,
+ * y el reporte agregado debe encadenar los saldos de apertura y cierre.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResumenDiarioIntegrationTest {
+
+    private static final long CLIENTE_ID = 5151L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Autowired
+    private ResumenDiarioRepositoryPort resumenRepositoryPort;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void resumen_CoincideConMovimientos_YEncadenaSaldosPorPeriodo() throws Exception {
+        Long cuentaId = cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, "RD-AHORROS", "Ahorros",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(100), "ACTIVA")).getId();
+        List<Movimiento> historicos = List.of(
+                movimiento(cuentaId, "DEPOSITO", 50, LocalDateTime.of(2024, 1, 10, 9, 0)),
+                movimiento(cuentaId, "DEPOSITO", 20, LocalDateTime.of(2024, 2, 5, 9, 0)),
+                movimiento(cuentaId, "RETIRO", 30, LocalDateTime.of(2024, 2, 5, 18, 0)),
+                movimiento(cuentaId, "TRANSFERENCIA", 10, LocalDateTime.of(2024, 2, 20, 12, 0)),
+                movimiento(cuentaId, "DEPOSITO", 5, LocalDateTime.of(2024, 3, 1, 0, 0)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cuentaService.registrarHistorico(historicos);
+            cuentaService.acreditarImportacion(cuentaId, BigDecimal.valueOf(35));
+        });
+
+        assertEquals(201, mockMvc.perform(post("/cuentas/{id}/deposito", cuentaId).param("valor", "7")).andReturn().getResponse().getStatus());
+        MovimientoRequest cambio = new MovimientoRequest(cuentaId, "DEPOSITO", BigDecimal.valueOf(25));
+        assertEquals(200, mockMvc.perform(put("/movimientos/{id}", historicos.get(1).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(cambio))).andReturn().getResponse().getStatus());
+        assertEquals(200, mockMvc.perform(delete("/movimientos/{id}", historicos.get(3).getId())).andReturn().getResponse().getStatus());
+
+        assertEquals(desdeMovimientos(cuentaId), desdeResumen(LocalDate.of(2000, 1, 1), LocalDate.now()));
+
+        JsonNode diario = reporte("2024-02-01", "2024-02-29", "DIA");
+        assertEquals("DIA", diario.get("agrupacion").asText());
+        JsonNode dias = diario.get("cuentas").get(0).get("periodos");
+        assertEquals(1, dias.size());
+        assertEquals("2024-02-05", dias.get(0).get("periodo").asText());
+        assertEquals(1, dias.get(0).get("depositos").asLong());
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(dias.get(0).get("totalDepositos").decimalValue()));
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(dias.get(0).get("saldoApertura").decimalValue()));
+        assertEquals(0, BigDecimal.valueOf(145).compareTo(dias.get(0).get("saldoCierre").decimalValue()));
+
+        JsonNode meses = reporte("2024-01-01", "2024-03-31", "MES").get("cuentas").get(0).get("periodos");
+        assertEquals(3, meses.size());
+        assertEquals("2024-01-01", meses.get(0).get("periodo").asText());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(meses.get(0).get("saldoApertura").decimalValue()));
+        for (int i = 1; i < meses.size(); i++) {
+            assertEquals(0, meses.get(i - 1).get("saldoCierre").decimalValue().compareTo(meses.get(i).get("saldoApertura").decimalValue()));
+        }
+        assertEquals(0, meses.get(1).get("transferencias").asLong());
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(meses.get(2).get("saldoCierre").decimalValue()));
+    }
+
+    private JsonNode reporte(String inicio, String fin, String agrupacion) throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/cuentas/reportes")
+                .param("clienteId", String.valueOf(CLIENTE_ID))
+                .param("fechaInicio", inicio)
+                .param("fechaFin", fin)
+                .param("agrupacion", agrupacion)).andReturn();
+        assertEquals(200, resultado.getResponse().getStatus());
+        return objectMapper.readTree(resultado.getResponse().getContentAsByteArray()).get("data");
+    }
+
+    private Map<String, String> desdeMovimientos(Long cuentaId) {
+        Map<String, BigDecimal> totales = new TreeMap<>();
+        Map<String, Long> cantidades = new TreeMap<>();
+        for (Movimiento movimiento : movimientoRepositoryPort.findByCuentaId(cuentaId)) {
+            String clave = movimiento.getFecha().toLocalDate() + "/" + movimiento.getTipoMovimiento();
+            totales.merge(clave, movimiento.getValor(), BigDecimal::add);
+            cantidades.merge(clave, 1L, Long::sum);
+        }
+        Map<String, String> resultado = new TreeMap<>();
+        totales.forEach((clave, total) -> resultado.put(clave, cantidades.get(clave) + "x" + total.stripTrailingZeros().toPlainString()));
+        return resultado;
+    }
+
+    private Map<String, String> desdeResumen(LocalDate inicio, LocalDate fin) {
+        Map<String, String> resultado = new TreeMap<>();
+        for (ResumenDiario resumen : resumenRepositoryPort.findByClienteIdAndFechaBetween(CLIENTE_ID, inicio, fin)) {
+            if (resumen.getCantidad() > 0) {
+                resultado.put(resumen.getFecha() + "/" + resumen.getTipoMovimiento(),
+                        resumen.getCantidad() + "x" + resumen.getTotal().stripTrailingZeros().toPlainString());
+            }
+        }
+        return resultado;
+    }
+
+    private Movimiento movimiento(Long cuentaId, String tipo, long valor, LocalDateTime fecha) {
+        Movimiento movimiento = new Movimiento(cuentaId, tipo, BigDecimal.valueOf(valor), BigDecimal.ZERO);
+        movimiento.setFecha(fecha);
+        return movimiento;
+    }
+}
@@ -0,0 +1,114 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Pruebas del estado de cuenta asíncrono sobre H2.
+ * El archivo descargado debe coincidir con el reporte síncrono, comprimido o no.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrabajoReporteIntegrationTest {
+
+    private static final long CLIENTE_ID = 6262L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void trabajo_GeneraArchivoIgualAlReporteSincrono() throws Exception {
+        BigDecimal saldo = BigDecimal.valueOf(100);
+        Long cuentaId = cuentaRepositoryPort.save(new Cuenta(CLIENTE_ID, "TR-AHORROS", "Ahorros", saldo, saldo, "ACTIVA")).getId();
+        List<Movimiento> movimientos = new ArrayList<>();
+        for (int dia = 1; dia <= 28; dia++) {
+            Movimiento movimiento = new Movimiento(cuentaId, "DEPOSITO", BigDecimal.ONE, saldo.add(BigDecimal.valueOf(dia)));
+            movimiento.setFecha(LocalDateTime.of(2024, 2, dia, 12, 0));
+            movimientos.add(movimiento);
+        }
+        movimientoRepositoryPort.saveAll(movimientos);
+
+        MvcResult solicitud = mockMvc.perform(post("/cuentas/reportes/trabajos")
+                .param("clienteId", String.valueOf(CLIENTE_ID))
+                .param("fechaInicio", "2024-02-01")
+                .param("fechaFin", "2024-02-29")).andReturn();
+        assertEquals(202, solicitud.getResponse().getStatus());
+        String id = objectMapper.readTree(solicitud.getResponse().getContentAsByteArray()).get("data").get("id").asText();
+        assertEquals("/cuentas/reportes/trabajos/" + id, solicitud.getResponse().getHeader(HttpHeaders.LOCATION));
+
+        JsonNode trabajo = esperar(id);
+        assertEquals("COMPLETADO", trabajo.get("estado").asText());
+        assertEquals(28, trabajo.get("movimientos").asLong());
+
+        JsonNode sincrono = objectMapper.readTree(mockMvc.perform(get("/cuentas/reportes")
+                .param("clienteId", String.valueOf(CLIENTE_ID))
+                .param("fechaInicio", "2024-02-01")
+                .param("fechaFin", "2024-02-29")).andReturn().getResponse().getContentAsByteArray());
+
+        MvcResult comprimido = mockMvc.perform(get("/cuentas/reportes/trabajos/{id}/resultado", id)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")).andReturn();
+        assertEquals(200, comprimido.getResponse().getStatus());
+        assertEquals("gzip", comprimido.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(trabajo.get("bytesComprimidos").asLong(), comprimido.getResponse().getContentAsByteArray().length);
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido.getResponse().getContentAsByteArray()))) {
+            assertEquals(sincrono, objectMapper.readTree(entrada));
+        }
+
+        MvcResult plano = mockMvc.perform(get("/cuentas/reportes/trabajos/{id}/resultado", id)).andReturn();
+        assertNull(plano.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(sincrono, objectMapper.readTree(plano.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void trabajo_Inexistente_DevuelveNotFound() throws Exception {
+        assertEquals(404, mockMvc.perform(get("/cuentas/reportes/trabajos/{id}", "no-existe")).andReturn().getResponse().getStatus());
+        assertEquals(404, mockMvc.perform(get("/cuentas/reportes/trabajos/{id}/resultado", "no-existe")).andReturn().getResponse().getStatus());
+    }
+
+    private JsonNode esperar(String id) throws Exception {
+        long limite = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < limite) {
+            JsonNode trabajo = objectMapper.readTree(mockMvc.perform(get("/cuentas/reportes/trabajos/{id}", id))
+                    .andReturn().getResponse().getContentAsByteArray()).get("data");
+            if (trabajo.hasNonNull("terminado")) {
+                return trabajo;
+            }
+            Thread.sleep(20);
+        }
+        fail("El trabajo " + id + " no terminó");
+        return null;
+    }
+}
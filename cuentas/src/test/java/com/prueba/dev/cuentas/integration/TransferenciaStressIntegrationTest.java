@@ -0,0 +1,117 @@
+package com.prueba.dev.cuentas.integration;
+
+import com.prueba.dev.cuentas.application.dto.request.TransferenciaRequest;
+import com.prueba.dev.cuentas.application.service.CuentaApplicationService;
+import com.prueba.dev.cuentas.domain.exception.SaldoInsuficienteException;
+import com.prueba.dev.cuentas.domain.model.Cuenta;
+import com.prueba.dev.cuentas.domain.model.Movimiento;
+import com.prueba.dev.cuentas.domain.port.CuentaRepositoryPort;
+import com.prueba.dev.cuentas.domain.port.MovimientoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de estrés de transferencias sobre un conjunto pequeño de cuentas calientes en H2.
+ * Muchas transferencias cruzadas en ambos sentidos no deben producir deadlocks,
+ * deben conservar el dinero total y nunca dejar saldos negativos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferenciaStressIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferenciaStressIntegrationTest.class);
+
+    private static final int CUENTAS = 4;
+    private static final int HILOS = 8;
+    private static final int TRANSFERENCIAS_POR_HILO = 50;
+    private static final BigDecimal SALDO_INICIAL = BigDecimal.valueOf(100);
+
+    @Autowired
+    private CuentaApplicationService cuentaApplicationService;
+
+    @Autowired
+    private CuentaRepositoryPort cuentaRepositoryPort;
+
+    @Autowired
+    private MovimientoRepositoryPort movimientoRepositoryPort;
+
+    @Test
+    void transferenciasCruzadas_NoProducenDeadlocksNiPierdenDinero() throws Exception {
+        List<Long> cuentas = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            Cuenta cuenta = new Cuenta(1L, "TRANSF-" + i, "Ahorros", SALDO_INICIAL, SALDO_INICIAL, "ACTIVA");
+            cuentas.add(cuentaRepositoryPort.save(cuenta).getId());
+        }
+        AtomicInteger realizadas = new AtomicInteger();
+        AtomicInteger sinSaldo = new AtomicInteger();
+        AtomicInteger deadlocks = new AtomicInteger();
+        AtomicInteger otrosErrores = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int h = 0; h < HILOS; h++) {
+            tareas.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERENCIAS_POR_HILO; i++) {
+                    int origen = random.nextInt(CUENTAS);
+                    int destino = (origen + 1 + random.nextInt(CUENTAS - 1)) % CUENTAS;
+                    try {
+                        cuentaApplicationService.transferir(new TransferenciaRequest(
+                                cuentas.get(origen), cuentas.get(destino), BigDecimal.valueOf(1 + random.nextInt(20))));
+                        realizadas.incrementAndGet();
+                    } catch (SaldoInsuficienteException e) {
+                        sinSaldo.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        deadlocks.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        otrosErrores.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        executor.shutdownNow();
+
+        logger.debug("Transferencias: {} realizadas, {} sin saldo, {} deadlocks/reintentos, {} otros errores, {} transferencias/s",
+                realizadas.get(), sinSaldo.get(), deadlocks.get(), otrosErrores.get(), Math.round(HILOS * TRANSFERENCIAS_POR_HILO / segundos));
+
+        assertEquals(0, deadlocks.get());
+        assertEquals(0, otrosErrores.get());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long cuentaId : cuentas) {
+            BigDecimal saldo = cuentaRepositoryPort.findById(cuentaId).orElseThrow().getSaldo();
+            assertTrue(saldo.signum() >= 0);
+            total = total.add(saldo);
+        }
+        assertEquals(0, SALDO_INICIAL.multiply(BigDecimal.valueOf(CUENTAS)).compareTo(total));
+
+        // Cada transferencia deja exactamente dos movimientos con el mismo ID
+        Map<String, Long> patas = cuentas.stream()
+                .flatMap(id -> movimientoRepositoryPort.findByCuentaId(id).stream())
+                .collect(Collectors.groupingBy(Movimiento::getTransferenciaId, Collectors.counting()));
+        assertEquals(realizadas.get(), patas.size());
+        assertTrue(patas.values().stream().allMatch(n -> n == 2));
+    }
+}
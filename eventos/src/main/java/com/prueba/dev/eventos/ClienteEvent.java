@@ -0,0 +1,61 @@
+package com.prueba.dev.eventos;
+
+/**
+ * Evento publicado por clientes cuando se crea, actualiza o elimina un cliente.
+ * El microservicio de cuentas lo usa para mantener su réplica local de clientes;
+ * la exportación de la réplica escribe una línea con esta misma forma por cliente.
+ * Lleva el estado completo del cliente, salvo en ELIMINADO, que solo trae el ID.
+ */
+public class ClienteEvent {
+
+    public static final String CREADO = "CREADO";
+    public static final String ACTUALIZADO = "ACTUALIZADO";
+    public static final String ELIMINADO = "ELIMINADO";
+
+    private String tipo;
+    private Long clienteId;
+    private String nombre;
+    private String estado;
+
+    public ClienteEvent() {}
+
+    public ClienteEvent(String tipo, Long clienteId, String nombre, String estado) {
+        this.tipo = tipo;
+        this.clienteId = clienteId;
+        this.nombre = nombre;
+        this.estado = estado;
+    }
+
+    // Getters and setters
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+}
@@ -1,7 +1,7 @@
-package com.prueba.dev.clientes.application.dto.event;
+package com.prueba.dev.eventos;
 
 /**
- * Evento recibido cuando se crea una cuenta.
+ * Evento publicado por cuentas cuando se crea una cuenta; clientes lo usa para su contador de cuentas.
  */
 public class CuentaCreadaEvent {
 
@@ -0,0 +1,76 @@
+package com.prueba.dev.eventos.binario;
+
+import com.prueba.dev.eventos.ClienteEvent;
+
+/**
+ * Esquema de ClienteEvent.
+ * Versión 1: máscara de presencia, tipo y estado por diccionario, clienteId y nombre.
+ */
+public class CodecCliente implements CodecEvento<ClienteEvent> {
+
+    public static final int TIPO = 2;
+
+    // Solo se agregan valores al final: el código de cada uno es su posición
+    private static final String[] TIPOS = {ClienteEvent.CREADO, ClienteEvent.ACTUALIZADO, ClienteEvent.ELIMINADO};
+    private static final String[] ESTADOS = {"ACTIVO", "INACTIVO", "BLOQUEADO"};
+
+    private static final int TIPO_EVENTO = 1;
+    private static final int CLIENTE_ID = 1 << 1;
+    private static final int NOMBRE = 1 << 2;
+    private static final int ESTADO = 1 << 3;
+
+    @Override
+    public int tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<ClienteEvent> clase() {
+        return ClienteEvent.class;
+    }
+
+    @Override
+    public void escribir(ClienteEvent evento, SalidaBinaria salida) {
+        int presentes = (evento.getTipo() != null ? TIPO_EVENTO : 0)
+                | (evento.getClienteId() != null ? CLIENTE_ID : 0)
+                | (evento.getNombre() != null ? NOMBRE : 0)
+                | (evento.getEstado() != null ? ESTADO : 0);
+        salida.escribirVarLong(presentes);
+        if (evento.getTipo() != null) {
+            salida.escribirTextoCodificado(evento.getTipo(), TIPOS);
+        }
+        if (evento.getClienteId() != null) {
+            salida.escribirLong(evento.getClienteId());
+        }
+        if (evento.getNombre() != null) {
+            salida.escribirTexto(evento.getNombre());
+        }
+        if (evento.getEstado() != null) {
+            salida.escribirTextoCodificado(evento.getEstado(), ESTADOS);
+        }
+    }
+
+    @Override
+    public ClienteEvent leer(EntradaBinaria entrada, int version) {
+        int presentes = entrada.leerVarInt();
+        ClienteEvent evento = new ClienteEvent();
+        if ((presentes & TIPO_EVENTO) != 0) {
+            evento.setTipo(entrada.leerTextoCodificado(TIPOS));
+        }
+        if ((presentes & CLIENTE_ID) != 0) {
+            evento.setClienteId(entrada.leerLong());
+        }
+        if ((presentes & NOMBRE) != 0) {
+            evento.setNombre(entrada.leerTexto());
+        }
+        if ((presentes & ESTADO) != 0) {
+            evento.setEstado(entrada.leerTextoCodificado(ESTADOS));
+        }
+        return evento;
+    }
+}
@@ -0,0 +1,64 @@
+package com.prueba.dev.eventos.binario;
+
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+
+/**
+ * Esquema de CuentaCreadaEvent.
+ * Versión 1: máscara de presencia, clienteId, cuentaId y numeroCuenta.
+ */
+public class CodecCuentaCreada implements CodecEvento<CuentaCreadaEvent> {
+
+    public static final int TIPO = 1;
+
+    private static final int CLIENTE_ID = 1;
+    private static final int CUENTA_ID = 1 << 1;
+    private static final int NUMERO_CUENTA = 1 << 2;
+
+    @Override
+    public int tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<CuentaCreadaEvent> clase() {
+        return CuentaCreadaEvent.class;
+    }
+
+    @Override
+    public void escribir(CuentaCreadaEvent evento, SalidaBinaria salida) {
+        int presentes = (evento.getClienteId() != null ? CLIENTE_ID : 0)
+                | (evento.getCuentaId() != null ? CUENTA_ID : 0)
+                | (evento.getNumeroCuenta() != null ? NUMERO_CUENTA : 0);
+        salida.escribirVarLong(presentes);
+        if (evento.getClienteId() != null) {
+            salida.escribirLong(evento.getClienteId());
+        }
+        if (evento.getCuentaId() != null) {
+            salida.escribirLong(evento.getCuentaId());
+        }
+        if (evento.getNumeroCuenta() != null) {
+            salida.escribirTexto(evento.getNumeroCuenta());
+        }
+    }
+
+    @Override
+    public CuentaCreadaEvent leer(EntradaBinaria entrada, int version) {
+        int presentes = entrada.leerVarInt();
+        CuentaCreadaEvent evento = new CuentaCreadaEvent();
+        if ((presentes & CLIENTE_ID) != 0) {
+            evento.setClienteId(entrada.leerLong());
+        }
+        if ((presentes & CUENTA_ID) != 0) {
+            evento.setCuentaId(entrada.leerLong());
+        }
+        if ((presentes & NUMERO_CUENTA) != 0) {
+            evento.setNumeroCuenta(entrada.leerTexto());
+        }
+        return evento;
+    }
+}
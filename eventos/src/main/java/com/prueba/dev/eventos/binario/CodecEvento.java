@@ -0,0 +1,41 @@
+package com.prueba.dev.eventos.binario;
+
+/**
+ * Esquema binario de un tipo de evento.
+ * El tipo identifica el esquema en el mensaje y no debe cambiar nunca. Los
+ * campos de una versión nueva solo se agregan al final: un lector anterior
+ * ignora los bytes que sobran y uno nuevo no lee lo que una versión vieja no escribió.
+ * @param <T> La clase del evento.
+ */
+public interface CodecEvento<T> {
+
+    /**
+     * @return Identificador del esquema en el mensaje.
+     */
+    int tipo();
+
+    /**
+     * @return Versión del esquema que escribe este codec.
+     */
+    int version();
+
+    /**
+     * @return La clase del evento.
+     */
+    Class<T> clase();
+
+    /**
+     * Escribe los campos del evento, sin el encabezado de tipo y versión.
+     * @param evento El evento.
+     * @param salida El destino.
+     */
+    void escribir(T evento, SalidaBinaria salida);
+
+    /**
+     * Lee los campos de un evento.
+     * @param entrada El origen, ya posicionado después del encabezado.
+     * @param version Versión con la que se escribió el evento.
+     * @return El evento.
+     */
+    T leer(EntradaBinaria entrada, int version);
+}
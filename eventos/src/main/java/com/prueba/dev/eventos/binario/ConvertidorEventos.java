@@ -0,0 +1,99 @@
+package com.prueba.dev.eventos.binario;
+
+import com.prueba.dev.eventos.ClienteEvent;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convertidor de mensajes de eventos entre microservicios.
+ * Publica en binario los eventos con esquema registrado cuando el formato es
+ * BINARIO, y el resto en JSON con el convertidor delegado. Al recibir decide
+ * por el content-type: {@value #CONTENT_TYPE} se lee con el esquema indicado en
+ * el propio mensaje y cualquier otro pasa al convertidor JSON.
+ *
+ * El cuerpo binario es: tipo de esquema (varint), versión (varint) y los campos del codec.
+ */
+public class ConvertidorEventos implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/x-prueba-evento";
+
+    private final MessageConverter json;
+    private final FormatoEventos formato;
+    private final Map<Class<?>, CodecEvento<?>> porClase = new HashMap<>();
+    private final Map<Integer, CodecEvento<?>> porTipo = new HashMap<>();
+
+    public ConvertidorEventos(MessageConverter json, FormatoEventos formato, List<CodecEvento<?>> codecs) {
+        this.json = json;
+        this.formato = formato;
+        for (CodecEvento<?> codec : codecs) {
+            if (porTipo.put(codec.tipo(), codec) != null) {
+                throw new IllegalArgumentException("Tipo de esquema repetido: " + codec.tipo());
+            }
+            porClase.put(codec.clase(), codec);
+        }
+    }
+
+    /**
+     * Convertidor con los esquemas de {@link CuentaCreadaEvent} y {@link ClienteEvent}
+     * y JSON de Jackson para lo demás.
+     * @param formato Formato de publicación.
+     * @return El convertidor.
+     */
+    public static ConvertidorEventos estandar(FormatoEventos formato) {
+        return new ConvertidorEventos(new Jackson2JsonMessageConverter(), formato,
+                List.of(new CodecCuentaCreada(), new CodecCliente()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        CodecEvento<Object> codec = (CodecEvento<Object>) porClase.get(object.getClass());
+        if (formato != FormatoEventos.BINARIO || codec == null) {
+            return json.toMessage(object, messageProperties);
+        }
+        SalidaBinaria salida = new SalidaBinaria();
+        salida.escribirVarLong(codec.tipo());
+        salida.escribirVarLong(codec.version());
+        codec.escribir(object, salida);
+        byte[] cuerpo = salida.toByteArray();
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(cuerpo.length);
+        return new Message(cuerpo, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!esBinario(message.getMessageProperties().getContentType())) {
+            return json.fromMessage(message);
+        }
+        try {
+            EntradaBinaria entrada = new EntradaBinaria(message.getBody());
+            int tipo = entrada.leerVarInt();
+            CodecEvento<?> codec = porTipo.get(tipo);
+            if (codec == null) {
+                throw new MessageConversionException("Esquema de evento desconocido: " + tipo);
+            }
+            return codec.leer(entrada, entrada.leerVarInt());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Evento binario mal formado: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Indica si un content-type corresponde al formato binario, con o sin parámetros.
+     * @param contentType El content-type del mensaje.
+     * @return true si es {@value #CONTENT_TYPE}.
+     */
+    public static boolean esBinario(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, CONTENT_TYPE, 0, CONTENT_TYPE.length())
+                && (contentType.length() == CONTENT_TYPE.length() || contentType.charAt(CONTENT_TYPE.length()) == ';');
+    }
+}
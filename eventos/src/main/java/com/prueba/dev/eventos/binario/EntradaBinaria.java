@@ -0,0 +1,89 @@
+package com.prueba.dev.eventos.binario;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lectura del formato binario que escribe {@link SalidaBinaria}.
+ * Un mensaje truncado o mal formado lanza IllegalArgumentException.
+ */
+public final class EntradaBinaria {
+
+    private final byte[] bytes;
+    private final int limite;
+    private int posicion;
+
+    public EntradaBinaria(byte[] bytes) {
+        this.bytes = bytes;
+        this.limite = bytes.length;
+    }
+
+    /**
+     * Lee un entero no negativo escrito como varint.
+     * @return El valor.
+     */
+    public long leerVarLong() {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            if (posicion >= limite) {
+                throw new IllegalArgumentException("Evento binario truncado en la posición " + posicion);
+            }
+            byte b = bytes[posicion++];
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint de más de 10 bytes en la posición " + posicion);
+    }
+
+    /**
+     * Lee un varint que debe caber en un int.
+     * @return El valor.
+     */
+    public int leerVarInt() {
+        long valor = leerVarLong();
+        if (valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Valor fuera de rango: " + valor);
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Lee un entero con signo escrito en zigzag.
+     * @return El valor.
+     */
+    public long leerLong() {
+        long zigzag = leerVarLong();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Lee un texto con su longitud como prefijo.
+     * @return El texto.
+     */
+    public String leerTexto() {
+        int longitud = leerVarInt();
+        if (longitud > limite - posicion) {
+            throw new IllegalArgumentException("Texto de " + longitud + " bytes excede el evento en la posición " + posicion);
+        }
+        String texto = new String(bytes, posicion, longitud, StandardCharsets.UTF_8);
+        posicion += longitud;
+        return texto;
+    }
+
+    /**
+     * Lee un texto escrito con {@link SalidaBinaria#escribirTextoCodificado}.
+     * @param diccionario El mismo diccionario, o una versión más nueva, del escritor.
+     * @return El texto.
+     */
+    public String leerTextoCodificado(String[] diccionario) {
+        int codigo = leerVarInt();
+        if (codigo == 0) {
+            return leerTexto();
+        }
+        if (codigo > diccionario.length) {
+            throw new IllegalArgumentException("Código " + codigo + " fuera del diccionario");
+        }
+        return diccionario[codigo - 1];
+    }
+}
@@ -0,0 +1,11 @@
+package com.prueba.dev.eventos.binario;
+
+/**
+ * Formato con el que un servicio publica sus eventos.
+ * Al recibir se aceptan ambos según el content-type del mensaje, así que los
+ * consumidores se actualizan primero y los publicadores cambian de formato después.
+ */
+public enum FormatoEventos {
+    JSON,
+    BINARIO
+}
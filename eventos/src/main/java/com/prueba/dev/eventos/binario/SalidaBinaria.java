@@ -0,0 +1,111 @@
+package com.prueba.dev.eventos.binario;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escritura del formato binario de eventos sobre un arreglo que crece según se necesite.
+ * Los enteros van como varint (7 bits por byte, el bit alto indica que sigue otro
+ * byte) y los textos como longitud varint seguida de sus bytes UTF-8, de modo que
+ * un ID pequeño ocupa uno o dos bytes y no hay nombres de campo en el mensaje.
+ */
+public final class SalidaBinaria {
+
+    private byte[] bytes;
+    private int posicion;
+
+    public SalidaBinaria() {
+        this(32);
+    }
+
+    public SalidaBinaria(int capacidadInicial) {
+        this.bytes = new byte[capacidadInicial];
+    }
+
+    /**
+     * Escribe un entero no negativo como varint.
+     * @param valor El valor; los negativos ocupan diez bytes, para ellos usar escribirLong.
+     */
+    public void escribirVarLong(long valor) {
+        asegurar(10);
+        while ((valor & ~0x7FL) != 0) {
+            bytes[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        bytes[posicion++] = (byte) valor;
+    }
+
+    /**
+     * Escribe un entero con signo en zigzag, para que los negativos pequeños también ocupen poco.
+     * @param valor El valor.
+     */
+    public void escribirLong(long valor) {
+        escribirVarLong((valor << 1) ^ (valor >> 63));
+    }
+
+    /**
+     * Escribe un texto con su longitud en bytes como prefijo.
+     * @param texto El texto, no nulo; los nulos se marcan en la máscara de presencia del evento.
+     */
+    public void escribirTexto(String texto) {
+        int longitud = texto.length();
+        if (esAscii(texto, longitud)) {
+            // Un byte por carácter: se copia sin pasar por un arreglo intermedio
+            escribirVarLong(longitud);
+            asegurar(longitud);
+            for (int i = 0; i < longitud; i++) {
+                bytes[posicion++] = (byte) texto.charAt(i);
+            }
+            return;
+        }
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        escribirVarLong(utf8.length);
+        asegurar(utf8.length);
+        System.arraycopy(utf8, 0, bytes, posicion, utf8.length);
+        posicion += utf8.length;
+    }
+
+    /**
+     * Escribe un texto de un conjunto conocido como su posición en el diccionario.
+     * Un valor fuera del diccionario se escribe como 0 seguido del texto completo,
+     * así que agregar valores nuevos no rompe a los lectores anteriores.
+     * @param texto El texto, no nulo.
+     * @param diccionario Los valores frecuentes; solo se pueden agregar al final.
+     */
+    public void escribirTextoCodificado(String texto, String[] diccionario) {
+        for (int i = 0; i < diccionario.length; i++) {
+            if (diccionario[i].equals(texto)) {
+                escribirVarLong(i + 1L);
+                return;
+            }
+        }
+        escribirVarLong(0);
+        escribirTexto(texto);
+    }
+
+    /**
+     * @return Copia de los bytes escritos.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, posicion);
+    }
+
+    public int tamanio() {
+        return posicion;
+    }
+
+    private static boolean esAscii(String texto, int longitud) {
+        for (int i = 0; i < longitud; i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void asegurar(int adicionales) {
+        if (posicion + adicionales > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, posicion + adicionales));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.prueba.dev.eventos.binario;
+
+import com.prueba.dev.eventos.ClienteEvent;
+import com.prueba.dev.eventos.CuentaCreadaEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConvertidorEventosTest {
+
+    private final ConvertidorEventos binario = ConvertidorEventos.estandar(FormatoEventos.BINARIO);
+    private final ConvertidorEventos json = ConvertidorEventos.estandar(FormatoEventos.JSON);
+
+    @Test
+    void cuentaCreada_IdaYVueltaEnBinario() {
+        Message mensaje = binario.toMessage(new CuentaCreadaEvent(7L, 123_456L, "478758"), new MessageProperties());
+
+        assertEquals(ConvertidorEventos.CONTENT_TYPE, mensaje.getMessageProperties().getContentType());
+        assertNull(mensaje.getMessageProperties().getHeader("__TypeId__"));
+        // tipo, versión, máscara, 7, 123456 en zigzag (3 bytes) y el número con su longitud
+        assertEquals(14, mensaje.getBody().length);
+        CuentaCreadaEvent leido = (CuentaCreadaEvent) binario.fromMessage(mensaje);
+        assertEquals(7L, leido.getClienteId());
+        assertEquals(123_456L, leido.getCuentaId());
+        assertEquals("478758", leido.getNumeroCuenta());
+
+        Message enJson = json.toMessage(new CuentaCreadaEvent(7L, 123_456L, "478758"), new MessageProperties());
+        assertTrue(enJson.getBody().length > 3 * mensaje.getBody().length, "JSON: " + enJson.getBody().length + " bytes");
+    }
+
+    @Test
+    void clienteEvent_NulosValoresFueraDeDiccionarioYTextoNoAscii() {
+        ClienteEvent original = new ClienteEvent(ClienteEvent.ACTUALIZADO, -3L, "José Ñúñez 日本", "SUSPENDIDO");
+        ClienteEvent leido = (ClienteEvent) binario.fromMessage(binario.toMessage(original, new MessageProperties()));
+        assertEquals(ClienteEvent.ACTUALIZADO, leido.getTipo());
+        assertEquals(-3L, leido.getClienteId());
+        assertEquals("José Ñúñez 日本", leido.getNombre());
+        assertEquals("SUSPENDIDO", leido.getEstado());
+
+        ClienteEvent eliminado = (ClienteEvent) binario.fromMessage(binario.toMessage(
+                new ClienteEvent(ClienteEvent.ELIMINADO, Long.MAX_VALUE, null, null), new MessageProperties()));
+        assertEquals(ClienteEvent.ELIMINADO, eliminado.getTipo());
+        assertEquals(Long.MAX_VALUE, eliminado.getClienteId());
+        assertNull(eliminado.getNombre());
+        assertNull(eliminado.getEstado());
+    }
+
+    @Test
+    void mensajeJson_SeLeeConElConvertidorJsonAunquePubliqueEnBinario() {
+        Message enJson = json.toMessage(new CuentaCreadaEvent(1L, 2L, "X-1"), new MessageProperties());
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, enJson.getMessageProperties().getContentType());
+
+        CuentaCreadaEvent leido = (CuentaCreadaEvent) binario.fromMessage(enJson);
+        assertEquals("X-1", leido.getNumeroCuenta());
+        // Y un consumidor que aún publica JSON lee los mensajes binarios
+        Message enBinario = binario.toMessage(new CuentaCreadaEvent(1L, 2L, "X-1"), new MessageProperties());
+        assertEquals("X-1", ((CuentaCreadaEvent) json.fromMessage(enBinario)).getNumeroCuenta());
+    }
+
+    @Test
+    void versionMasNueva_IgnoraLosCamposAgregadosAlFinal() {
+        Message mensaje = binario.toMessage(new CuentaCreadaEvent(1L, 2L, "X-1"), new MessageProperties());
+        byte[] cuerpo = Arrays.copyOf(mensaje.getBody(), mensaje.getBody().length + 3);
+        cuerpo[1] = 2;
+        cuerpo[cuerpo.length - 3] = 2;
+        cuerpo[cuerpo.length - 2] = 'o';
+        cuerpo[cuerpo.length - 1] = 'k';
+
+        CuentaCreadaEvent leido = (CuentaCreadaEvent) binario.fromMessage(new Message(cuerpo, mensaje.getMessageProperties()));
+        assertEquals("X-1", leido.getNumeroCuenta());
+    }
+
+    @Test
+    void mensajeTruncadoOEsquemaDesconocido_FallaLaConversion() {
+        Message mensaje = binario.toMessage(new CuentaCreadaEvent(1L, 2L, "X-1"), new MessageProperties());
+        byte[] truncado = Arrays.copyOf(mensaje.getBody(), mensaje.getBody().length - 2);
+        assertThrows(MessageConversionException.class,
+                () -> binario.fromMessage(new Message(truncado, mensaje.getMessageProperties())));
+
+        byte[] desconocido = mensaje.getBody().clone();
+        desconocido[0] = 99;
+        assertThrows(MessageConversionException.class,
+                () -> binario.fromMessage(new Message(desconocido, mensaje.getMessageProperties())));
+    }
+
+    @Test
+    void esBinario_AceptaParametrosPeroNoOtrosTipos() {
+        assertTrue(ConvertidorEventos.esBinario("application/x-prueba-evento"));
+        assertTrue(ConvertidorEventos.esBinario("Application/X-Prueba-Evento; v=1"));
+        assertFalse(ConvertidorEventos.esBinario("application/x-prueba-eventos"));
+        assertFalse(ConvertidorEventos.esBinario(MessageProperties.CONTENT_TYPE_JSON));
+        assertFalse(ConvertidorEventos.esBinario(null));
+    }
+}
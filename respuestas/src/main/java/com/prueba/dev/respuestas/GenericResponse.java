@@ -0,0 +1,68 @@
+package com.prueba.dev.respuestas;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Respuesta genérica para todas las operaciones de la API.
+ * status: true si la operación fue exitosa, false en caso contrario.
+ * message: Mensaje de error.
+ * data: Datos de respuesta, serializados como JSON anidado.
+ *
+ * Los clientes que aún esperan los datos como texto JSON dentro de message
+ * pueden pedirlo con Accept: {@value #TIPO_LEGADO}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GenericResponse {
+
+    /**
+     * Tipo de contenido del formato anterior, con los datos como texto en message.
+     */
+    public static final String TIPO_LEGADO = "application/vnd.pruebadev.legado+json";
+
+    private boolean status;
+    private String message;
+    private Object data;
+
+    public GenericResponse() {}
+
+    public GenericResponse(boolean status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Crea una respuesta exitosa con datos.
+     * @param data Los datos de la respuesta.
+     * @return La respuesta genérica.
+     */
+    public static GenericResponse conDatos(Object data) {
+        GenericResponse response = new GenericResponse();
+        response.status = true;
+        response.data = data;
+        return response;
+    }
+
+    public boolean isStatus() {
+        return status;
+    }
+
+    public void setStatus(boolean status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,51 @@
+package com.prueba.dev.respuestas;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Convierte la respuesta al formato anterior cuando el cliente lo negocia con
+ * Accept: application/vnd.pruebadev.legado+json.
+ * En ese formato los datos viajan como texto JSON dentro de message; en el
+ * formato por defecto viajan anidados en data y se serializan una sola vez.
+ */
+@RestControllerAdvice
+public class RespuestaLegadaAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final MediaType TIPO_LEGADO = MediaType.parseMediaType(GenericResponse.TIPO_LEGADO);
+
+    private final ObjectMapper objectMapper;
+
+    public RespuestaLegadaAdvice(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof GenericResponse respuesta) || respuesta.getData() == null
+                || !TIPO_LEGADO.equalsTypeAndSubtype(selectedContentType)) {
+            return body;
+        }
+        try {
+            respuesta.setMessage(objectMapper.writeValueAsString(respuesta.getData()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta en el formato anterior", e);
+        }
+        respuesta.setData(null);
+        return respuesta;
+    }
+}
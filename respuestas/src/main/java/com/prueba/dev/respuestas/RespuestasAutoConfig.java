@@ -0,0 +1,21 @@
+package com.prueba.dev.respuestas;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registra {@link RespuestaLegadaAdvice} en los servicios servlet que dependen de este módulo,
+ * que no lo encuentran por escaneo porque vive fuera de su paquete.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RespuestasAutoConfig {
+
+    @Bean
+    public RespuestaLegadaAdvice respuestaLegadaAdvice(ObjectMapper objectMapper) {
+        return new RespuestaLegadaAdvice(objectMapper);
+    }
+}